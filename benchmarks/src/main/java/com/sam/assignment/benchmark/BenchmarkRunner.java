@@ -0,0 +1,38 @@
+package com.sam.assignment.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the standard JMH command line options, defaulting to the GC profiler
+ * (allocation rate) and a JSON result file so results can be compared across versions.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(
+        final String[] args) throws CommandLineOptionException, RunnerException {
+
+        final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        final OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(commandLineOptions);
+        if (!commandLineOptions.getResultFormat().hasValue())
+            builder.resultFormat(ResultFormatType.JSON);
+        if (!commandLineOptions.getResult().hasValue())
+            builder.result("jmh-result.json");
+        if (commandLineOptions.getProfilers().isEmpty())
+            builder.addProfiler(GCProfiler.class);
+
+        final Options options = builder.build();
+        new Runner(options).run();
+    }
+
+}
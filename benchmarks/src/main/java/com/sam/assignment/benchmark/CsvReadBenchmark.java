@@ -0,0 +1,58 @@
+package com.sam.assignment.benchmark;
+
+import com.sam.assignment.model.CompactOrg;
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.Parameter;
+import com.sam.assignment.service.CsvFileReaderImpl;
+import com.sam.assignment.service.MappedCsvFileReaderImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures CSV ingest with the streaming and the memory-mapped readers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CsvReadBenchmark {
+
+    @Benchmark
+    public Map<String, Employee> readEmployeeDetails(
+        final OrgFileState state) throws IOException {
+
+        return new CsvFileReaderImpl().readEmployeeDetails(parameter(state), state.validationUtil);
+    }
+
+    @Benchmark
+    public Map<String, Employee> readEmployeeDetailsMapped(
+        final OrgFileState state) throws IOException {
+
+        return new MappedCsvFileReaderImpl().readEmployeeDetails(parameter(state), state.validationUtil);
+    }
+
+    @Benchmark
+    public CompactOrg readCompactOrg(
+        final OrgFileState state) throws IOException {
+
+        return new CsvFileReaderImpl().readCompactOrg(parameter(state), state.validationUtil);
+    }
+
+    private static Parameter parameter(
+        final OrgFileState state) {
+
+        return new Parameter(state.file.toString(), BigDecimal.valueOf(20), BigDecimal.valueOf(50), 4);
+    }
+
+}
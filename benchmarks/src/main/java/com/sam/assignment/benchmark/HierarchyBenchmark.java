@@ -0,0 +1,101 @@
+package com.sam.assignment.benchmark;
+
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.Parameter;
+import com.sam.assignment.service.OrgHierarchyImpl;
+import com.sam.assignment.util.ValidationMode;
+import com.sam.assignment.util.ValidationUtil;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the hierarchy build and the three analyses of {@link OrgHierarchyImpl}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HierarchyBenchmark {
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    public int employees;
+
+    @Param({"FLAT", "DEEP_CHAIN", "BALANCED", "SKEWED_FAN_OUT"})
+    public OrgShape shape;
+
+    @Param({"OFF"})
+    public ValidationMode validationMode;
+
+    private final OrgHierarchyImpl<Employee> orgHierarchy = new OrgHierarchyImpl<>();
+    private final Parameter parameter = new Parameter("synthetic.csv", BigDecimal.valueOf(20), BigDecimal.valueOf(50), 4);
+    private ValidationUtil validationUtil;
+    private Map<String, Employee> builtEmployees;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        validationUtil = new ValidationUtil(
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            validationMode,
+            100
+        );
+        builtEmployees = SyntheticOrgGenerator.employees(employees, shape);
+        orgHierarchy.buildHierarchy(builtEmployees, validationUtil, parameter);
+    }
+
+    /**
+     * Fresh, unlinked employees for every build invocation, since the build mutates them.
+     */
+    @State(Scope.Thread)
+    public static class UnlinkedEmployees {
+
+        public Map<String, Employee> employees;
+
+        @Setup(Level.Invocation)
+        public void setUp(
+            final HierarchyBenchmark benchmark) {
+
+            employees = SyntheticOrgGenerator.employees(benchmark.employees, benchmark.shape);
+        }
+    }
+
+    @Benchmark
+    public Employee buildHierarchy(
+        final UnlinkedEmployees unlinked) {
+
+        return orgHierarchy.buildHierarchy(unlinked.employees, validationUtil, parameter);
+    }
+
+    @Benchmark
+    public List<Employee> populateLeastPaidManagers() {
+        return orgHierarchy.populateLeastPaidManagers(builtEmployees);
+    }
+
+    @Benchmark
+    public List<Employee> populateOverPaidManagers() {
+        return orgHierarchy.populateOverPaidManagers(builtEmployees);
+    }
+
+    @Benchmark
+    public List<Employee> populateMaxReportingLineLength() {
+        return orgHierarchy.populateMaxReportingLineLength(builtEmployees, validationUtil, parameter);
+    }
+
+}
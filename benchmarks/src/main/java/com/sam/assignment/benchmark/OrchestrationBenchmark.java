@@ -0,0 +1,49 @@
+package com.sam.assignment.benchmark;
+
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.Response;
+import com.sam.assignment.service.CsvFileReaderImpl;
+import com.sam.assignment.service.OrchestrationService;
+import com.sam.assignment.service.OrgHierarchyImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the end-to-end orchestration, from CSV file to validated response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class OrchestrationBenchmark {
+
+    private static OrchestrationService orchestrationService(
+        final OrgFileState state) {
+
+        return new OrchestrationService(state.validationUtil, new CsvFileReaderImpl(), new OrgHierarchyImpl<>());
+    }
+
+    @Benchmark
+    public Response<Employee> doOrchestration(
+        final OrgFileState state) throws IOException {
+
+        return orchestrationService(state).doOrchestration(state.arguments());
+    }
+
+    @Benchmark
+    public Response<Employee> doCompactOrchestration(
+        final OrgFileState state) throws IOException {
+
+        return orchestrationService(state).doCompactOrchestration(state.arguments());
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.sam.assignment.benchmark;
+
+import com.sam.assignment.util.ValidationMode;
+import com.sam.assignment.util.ValidationUtil;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Benchmark state holding a synthetic organization written to a temporary CSV file.
+ */
+@State(Scope.Benchmark)
+public class OrgFileState {
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    public int employees;
+
+    @Param({"FLAT", "DEEP_CHAIN", "BALANCED", "SKEWED_FAN_OUT"})
+    public OrgShape shape;
+
+    @Param({"OFF"})
+    public ValidationMode validationMode;
+
+    public Path file;
+    public ValidationUtil validationUtil;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("synthetic-org-" + shape + "-" + employees + "-", ".csv");
+        SyntheticOrgGenerator.writeCsv(file, employees, shape);
+        validationUtil = new ValidationUtil(
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            validationMode,
+            100
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * @return the application arguments for the given pay percentages and reporting line threshold
+     */
+    public String[] arguments() {
+        return new String[] {file.toString(), "20", "50", "4", "--validation-mode=" + validationMode};
+    }
+
+}
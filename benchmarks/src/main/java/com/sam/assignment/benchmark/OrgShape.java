@@ -0,0 +1,28 @@
+package com.sam.assignment.benchmark;
+
+/**
+ * Shapes of the synthetic organizations generated for the benchmarks.
+ */
+public enum OrgShape {
+
+    /**
+     * Every employee reports directly to the CEO.
+     */
+    FLAT,
+
+    /**
+     * Employees form long manager chains of {@link SyntheticOrgGenerator#MAX_CHAIN_LENGTH} levels below the CEO.
+     */
+    DEEP_CHAIN,
+
+    /**
+     * A complete tree where every manager has {@link SyntheticOrgGenerator#BALANCED_FAN_OUT} direct subordinates.
+     */
+    BALANCED,
+
+    /**
+     * A few managers have very large spans of control while most have small ones.
+     */
+    SKEWED_FAN_OUT
+
+}
@@ -0,0 +1,95 @@
+package com.sam.assignment.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the end-to-end wall time of one application launch, from JVM start to exit, by running the shaded
+ * application jar in a new process. The validator, the AppCDS archive built by the {@code appcds} profile and
+ * additional JVM options can be varied. The jar is read from the {@code startup.jar} system property, by
+ * default {@code target/swiss-re-assignment-1.0-SNAPSHOT.jar} relative to the working directory, and the
+ * archive is expected next to it with the {@code .jsa} extension.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 20)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    @Param({"1000"})
+    public int employees;
+
+    @Param({"precompiled", "reflective"})
+    public String validator;
+
+    @Param({"false", "true"})
+    public boolean appCds;
+
+    @Param({""})
+    public String jvmOptions;
+
+    private Path file;
+    private List<String> command;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final Path jar = Path.of(System.getProperty("startup.jar", "target/swiss-re-assignment-1.0-SNAPSHOT.jar"));
+        final String jarName = jar.getFileName().toString();
+        final Path archive = jar.resolveSibling(jarName.substring(0, jarName.length() - ".jar".length()) + ".jsa");
+        if (!Files.isRegularFile(jar))
+            throw new IllegalStateException("Application jar not found, run mvn -B package | jar : " + jar.toAbsolutePath());
+        if (appCds && !Files.isRegularFile(archive))
+            throw new IllegalStateException("AppCDS archive not found, run mvn -B package -Pappcds | archive : " + archive.toAbsolutePath());
+
+        file = Files.createTempFile("startup-org-" + employees + "-", ".csv");
+        SyntheticOrgGenerator.writeCsv(file, employees, OrgShape.BALANCED);
+
+        command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (appCds)
+            command.add("-XX:SharedArchiveFile=" + archive);
+        if (!jvmOptions.isBlank())
+            command.addAll(Arrays.asList(jvmOptions.trim().split("\\s+")));
+        command.addAll(List.of("-jar", jar.toString(), file.toString(), "20", "50", "4", "--validator=" + validator));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int launch() throws IOException, InterruptedException {
+        final Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .start();
+        final int exitCode = process.waitFor();
+        if (exitCode != 0)
+            throw new IllegalStateException("Application launch failed | exit-code : " + exitCode + " | command : " + command);
+
+        return exitCode;
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.sam.assignment.benchmark;
+
+import com.sam.assignment.model.Employee;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates deterministic synthetic organizations of a given size and {@link OrgShape}, either as a
+ * CSV file in the application's input format or as an in-memory employee map.
+ */
+public final class SyntheticOrgGenerator {
+
+    /**
+     * Maximum reporting line length of the {@link OrgShape#DEEP_CHAIN} shape, the validation limit of an Employee.
+     */
+    public static final int MAX_CHAIN_LENGTH = 1000;
+
+    /**
+     * Direct subordinates per manager in the {@link OrgShape#BALANCED} shape.
+     */
+    public static final int BALANCED_FAN_OUT = 8;
+
+    private static final long SEED = 20240501L;
+    private static final String[] FIRST_NAMES = {"Joe", "Martin", "Bob", "Alice", "Brett", "Carol", "Dave", "Erin"};
+    private static final String[] LAST_NAMES = {"Doe", "Chekov", "Ronstad", "Hasacat", "Hardleaf", "White", "Black"};
+
+    private SyntheticOrgGenerator() {
+    }
+
+    /**
+     * @param ordinal the employee ordinal, where 0 is the CEO
+     * @return the 10 character employee ID of the ordinal
+     */
+    public static String id(
+        final int ordinal) {
+
+        final String digits = Integer.toString(ordinal);
+        return "0000000000".substring(digits.length()) + digits;
+    }
+
+    /**
+     * Writes a synthetic organization as a CSV file.
+     *
+     * @param file  the target file
+     * @param size  the number of employees
+     * @param shape the shape of the organization
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeCsv(
+        final Path file,
+        final int size,
+        final OrgShape shape) throws IOException {
+
+        final int[] managers = managers(size, shape);
+        final long[] salaries = salaries(size);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("Id,firstName,lastName,salary,managerId\n");
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                writer.write(id(ordinal));
+                writer.write(',');
+                writer.write(FIRST_NAMES[ordinal % FIRST_NAMES.length]);
+                writer.write(',');
+                writer.write(LAST_NAMES[ordinal % LAST_NAMES.length]);
+                writer.write(',');
+                writer.write(BigDecimal.valueOf(salaries[ordinal], 2).toPlainString());
+                writer.write(',');
+                if (managers[ordinal] >= 0)
+                    writer.write(id(managers[ordinal]));
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Creates a synthetic organization as an employee map, without linking the hierarchy.
+     *
+     * @param size  the number of employees
+     * @param shape the shape of the organization
+     * @return the employees indexed by their IDs
+     */
+    public static Map<String, Employee> employees(
+        final int size,
+        final OrgShape shape) {
+
+        final int[] managers = managers(size, shape);
+        final long[] salaries = salaries(size);
+        final Map<String, Employee> employees = new HashMap<>(size * 4 / 3 + 1);
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            final Employee employee = new Employee(
+                id(ordinal),
+                FIRST_NAMES[ordinal % FIRST_NAMES.length],
+                LAST_NAMES[ordinal % LAST_NAMES.length],
+                managers[ordinal] < 0 ? null : id(managers[ordinal]),
+                BigDecimal.valueOf(salaries[ordinal], 2),
+                BigDecimal.ZERO,
+                0
+            );
+            employees.put(employee.getId(), employee);
+        }
+
+        return employees;
+    }
+
+    /**
+     * @return the manager ordinal of every employee, or -1 for the CEO
+     */
+    private static int[] managers(
+        final int size,
+        final OrgShape shape) {
+
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final int[] managers = new int[size];
+        if (size > 0)
+            managers[0] = -1;
+
+        for (int ordinal = 1; ordinal < size; ordinal++) {
+            managers[ordinal] = switch (shape) {
+                case FLAT -> 0;
+                case DEEP_CHAIN -> (ordinal - 1) % MAX_CHAIN_LENGTH == 0 ? 0 : ordinal - 1;
+                case BALANCED -> (ordinal - 1) / BALANCED_FAN_OUT;
+                case SKEWED_FAN_OUT -> {
+                    final double skew = random.nextDouble();
+                    yield (int) (ordinal * skew * skew * skew);
+                }
+            };
+        }
+
+        return managers;
+    }
+
+    /**
+     * @return salaries in cents, between 30,000.00 and 150,000.00
+     */
+    private static long[] salaries(
+        final int size) {
+
+        final SplittableRandom random = new SplittableRandom(SEED + 1);
+        final long[] salaries = new long[size];
+        for (int ordinal = 0; ordinal < size; ordinal++)
+            salaries[ordinal] = random.nextLong(3_000_000L, 15_000_000L);
+
+        return salaries;
+    }
+
+}
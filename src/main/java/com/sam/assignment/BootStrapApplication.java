@@ -1,14 +1,29 @@
 package com.sam.assignment;
 
 import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.ListDelta;
 import com.sam.assignment.model.Response;
+import com.sam.assignment.model.ResponseDelta;
+import com.sam.assignment.model.ResultWindow;
 import com.sam.assignment.service.*;
+import com.sam.assignment.util.ArgumentUtil;
+import com.sam.assignment.util.ResultFormat;
+import com.sam.assignment.util.ResultWindowUtil;
+import com.sam.assignment.util.RunMetrics;
+import com.sam.assignment.util.ValidationMode;
 import com.sam.assignment.util.ValidationUtil;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import jakarta.validation.ValidatorFactory;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
 public class BootStrapApplication {
 
@@ -17,7 +32,8 @@ public class BootStrapApplication {
      * It initializes the necessary services and orchestrates the reading of employee data,
      * validation, and building of the organizational hierarchy.
      *
-     * @param args command line arguments, expected to contain the file path and parameters for processing
+     * @param args command line arguments, expected to contain the file path and parameters for processing,
+     *             optionally followed by {@code --name=value} flags such as {@code --validation-mode=SHALLOW}
      */
     public static void main(String[] args) {
         log.info(
@@ -25,55 +41,78 @@ public class BootStrapApplication {
         );
 
         try {
-            final ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
-            final Validator validator = factory.getValidator();
-
-            final ValidationUtil validationUtil = new ValidationUtil(validator);
+            final ValidationUtil validationUtil = validationUtil(args);
             final OrgHierarchy<Employee> orgHierarchy = new OrgHierarchyImpl<>();
-            final CsvFileReader csvFileReader = new CsvFileReaderImpl();
+            final CsvFileReader csvFileReader = new ShardedCsvFileReaderImpl(
+                "mapped".equalsIgnoreCase(ArgumentUtil.optionValue(args, "csv-reader", "stream"))
+                    ? new MappedCsvFileReaderImpl()
+                    : new CsvFileReaderImpl(),
+                Integer.parseInt(ArgumentUtil.optionValue(
+                    args,
+                    "ingest-threads",
+                    String.valueOf(Runtime.getRuntime().availableProcessors())
+                ))
+            );
+            final String metricsOut = ArgumentUtil.optionValue(args, "metrics-out", null);
+            final boolean metricsJfr = Boolean.parseBoolean(ArgumentUtil.optionValue(args, "metrics-jfr", Boolean.FALSE.toString()));
+            final RunMetrics runMetrics = metricsJfr || Objects.nonNull(metricsOut)
+                || Boolean.parseBoolean(ArgumentUtil.optionValue(args, "metrics", Boolean.FALSE.toString()))
+                ? RunMetrics.enabled(metricsJfr)
+                : RunMetrics.DISABLED;
             final OrchestrationService orchestrationService = new OrchestrationService(
                 validationUtil,
                 csvFileReader,
-                orgHierarchy
+                orgHierarchy,
+                new CompactOrgHierarchy(),
+                new OrgSnapshotStore(),
+                runMetrics
             );
 
-            Response<Employee> response = orchestrationService.doOrchestration(args);
-            response.getLeastPaidManagers()
-                .forEach(employee -> {
-                    log.info(
-                        "Manager : {} {} | earns : {} | less than required : {} | Manager Salary : {}",
-                        employee.getFirstName(),
-                        employee.getLastName(),
-                        employee.getDifferenceOfSubordinatesAverageSalary().abs(),
-                        employee.getSalary().add(employee.getDifferenceOfSubordinatesAverageSalary().abs()),
-                        employee.getSalary()
-                    );
-                });
-
-            response.getOverPaidManagers()
-                .forEach(employee -> {
-                    log.info(
-                        "Manager : {} {} | earns : {} | more than required : {} | Manager Salary : {}",
-                        employee.getFirstName(),
-                        employee.getLastName(),
-                        employee.getDifferenceOfSubordinatesAverageSalary().abs(),
-                        employee.getSalary().subtract(employee.getDifferenceOfSubordinatesAverageSalary()),
-                        employee.getSalary()
-                    );
-                });
-
-            response.getMaxReportingLineLengthEmployees()
-                .forEach(employee -> {
-                    log.info(
-                        "Employee : {} {} | has reporting line too long-by : {} | actual-reporting-line : {} | threshold-reporting-lone : {}",
-                        employee.getFirstName(),
-                        employee.getLastName(),
-                        (employee.getReportingLineLength() - response.getApplicationParameter().getMaxSubordinatesCount()),
-                        employee.getReportingLineLength(),
-                        response.getApplicationParameter().getMaxSubordinatesCount()
-                    );
-                });
+            final Integer servePort;
+            try {
+                servePort = ArgumentUtil.portValue(args, "serve");
+            } catch (IllegalArgumentException e) {
+                log.error("Invalid command line arguments. error-message : {}", e.getMessage());
+                return;
+            }
+            if (Objects.nonNull(servePort)) {
+                serve(validationUtil, csvFileReader, servePort, args);
+                return;
+            }
 
+            if (Boolean.parseBoolean(ArgumentUtil.optionValue(args, "incremental", Boolean.FALSE.toString()))) {
+                runIncremental(orchestrationService, args);
+                return;
+            }
+
+            final String backend = ArgumentUtil.optionValue(args, "backend", "object");
+            final boolean compactBackend = "compact".equalsIgnoreCase(backend)
+                || Objects.nonNull(ArgumentUtil.optionValue(args, "snapshot-in", null))
+                || Objects.nonNull(ArgumentUtil.optionValue(args, "snapshot-out", null));
+            final ResultWindow window = orchestrationService.populateResultWindow(args);
+            final boolean scenarioSweep = ArgumentUtil.isScenarioSweep(args);
+            final boolean forest = Boolean.parseBoolean(ArgumentUtil.optionValue(args, "forest", Boolean.FALSE.toString()));
+            try (ResultWriter resultWriter = ResultWriter.open(
+                ResultFormat.valueOf(ArgumentUtil.optionValue(args, "result-format", ResultFormat.LOG.name()).toUpperCase()),
+                ArgumentUtil.optionValue(args, "result-out", null)
+            )) {
+                final List<Response<Employee>> responses = forest
+                    ? orchestrationService.doForestOrchestration(args)
+                    : scenarioSweep
+                    ? orchestrationService.doScenarioOrchestration(args)
+                    : List.of("external".equalsIgnoreCase(backend)
+                        ? orchestrationService.doExternalOrchestration(args)
+                        : "streaming".equalsIgnoreCase(backend)
+                        ? orchestrationService.doStreamingOrchestration(args)
+                        : compactBackend
+                        ? orchestrationService.doCompactOrchestration(args)
+                        : orchestrationService.doOrchestration(args));
+                try (RunMetrics.Phase ignored = runMetrics.phase("result-write")) {
+                    for (Response<Employee> response : responses)
+                        writeResponse(resultWriter, response, window);
+                }
+            }
+            reportMetrics(runMetrics, metricsOut);
         } catch (Exception e) {
             log.error(
                 "An unexpected error occurred. error-message : {}",
@@ -87,4 +126,214 @@ public class BootStrapApplication {
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * Creates the validation utility. The precompiled constraints are used unless
+     * {@code --validator=reflective} is given, so that Hibernate Validator is only bootstrapped on request.
+     *
+     * @param args the application arguments
+     * @return the validation utility of the configured validator, mode and sample rate
+     */
+    private static ValidationUtil validationUtil(
+        final String[] args) {
+
+        final ValidationMode mode = ValidationMode.valueOf(
+            ArgumentUtil.optionValue(args, "validation-mode", ValidationMode.FULL.name()).toUpperCase()
+        );
+        final int sampleRate = Integer.parseInt(ArgumentUtil.optionValue(args, "validation-sample-rate", "100"));
+        if (!"reflective".equalsIgnoreCase(ArgumentUtil.optionValue(args, "validator", "precompiled")))
+            return new ValidationUtil(mode, sampleRate);
+
+        final ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
+        final Validator validator = factory.getValidator();
+        return new ValidationUtil(validator, mode, sampleRate);
+    }
+
+    /**
+     * Runs the resident query server until the JVM is shut down.
+     *
+     * @param validationUtil utility for validating employee data and query parameters
+     * @param csvFileReader  service for reading employee details from a CSV file
+     * @param servePort      the port to listen on
+     * @param args           command line arguments holding the optional server flags
+     */
+    private static void serve(
+        final ValidationUtil validationUtil,
+        final CsvFileReader csvFileReader,
+        final int servePort,
+        final String[] args) throws Exception {
+
+        final OrgQueryService orgQueryService = new OrgQueryService(
+            csvFileReader,
+            new CompactOrgHierarchy(),
+            validationUtil,
+            Path.of(ArgumentUtil.optionValue(args, "serve-data-root", ".")),
+            Integer.parseInt(ArgumentUtil.optionValue(args, "serve-cache-size", "4")),
+            Integer.parseInt(ArgumentUtil.optionValue(args, "serve-analysis-cache-size", "64"))
+        );
+        final OrgQueryServer orgQueryServer = new OrgQueryServer(
+            orgQueryService,
+            ArgumentUtil.optionValue(args, "serve-host", InetAddress.getLoopbackAddress().getHostAddress()),
+            servePort,
+            Integer.parseInt(ArgumentUtil.optionValue(
+                args,
+                "serve-threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())
+            ))
+        );
+
+        Runtime.getRuntime().addShutdownHook(new Thread(orgQueryServer::stop));
+        orgQueryServer.start();
+        orgQueryServer.awaitStop();
+    }
+
+    /**
+     * Keeps the hierarchy resident and re-analyses it incrementally every {@code --incremental-interval}
+     * minutes until the JVM is shut down, logging the changed entries of the response lists. A failed
+     * re-analysis is logged and leaves the resident hierarchy as it was.
+     *
+     * @param orchestrationService the service keeping the hierarchy resident between the runs
+     * @param args                 the application arguments, including the optional {@code --changes} file
+     */
+    private static void runIncremental(
+        final OrchestrationService orchestrationService,
+        final String[] args) throws InterruptedException {
+
+        final long intervalMinutes = Long.parseLong(ArgumentUtil.optionValue(args, "incremental-interval", "60").trim());
+        if (intervalMinutes < 1)
+            throw new IllegalArgumentException("Incremental interval must be at least 1 minute");
+
+        while (true) {
+            try {
+                logResponseDelta(orchestrationService.doIncrementalOrchestration(args));
+            } catch (IOException | RuntimeException e) {
+                log.error(
+                    "Incremental re-analysis failed, the resident hierarchy is kept. error-message : {}",
+                    e.getMessage(),
+                    e
+                );
+            }
+            TimeUnit.MINUTES.sleep(intervalMinutes);
+        }
+    }
+
+    private static void logResponseDelta(
+        final ResponseDelta<Employee> responseDelta) {
+
+        if (responseDelta.getLeastPaidManagers().isEmpty()
+                && responseDelta.getOverPaidManagers().isEmpty()
+                && responseDelta.getMaxReportingLineLengthEmployees().isEmpty()) {
+            log.info("Incremental analysis results | no list has changed");
+            return;
+        }
+
+        log.info(
+            "Incremental analysis results | ceo-id : {} | changed-list-count : {}",
+            Objects.nonNull(responseDelta.getCeo()) ? responseDelta.getCeo().getId() : "",
+            (responseDelta.getLeastPaidManagers().isEmpty() ? 0 : 1)
+                + (responseDelta.getOverPaidManagers().isEmpty() ? 0 : 1)
+                + (responseDelta.getMaxReportingLineLengthEmployees().isEmpty() ? 0 : 1)
+        );
+        logListDelta(ResultWriter.LEAST_PAID_MANAGERS, responseDelta.getLeastPaidManagers());
+        logListDelta(ResultWriter.OVER_PAID_MANAGERS, responseDelta.getOverPaidManagers());
+        logListDelta(ResultWriter.MAX_REPORTING_LINE_LENGTH_EMPLOYEES, responseDelta.getMaxReportingLineLengthEmployees());
+    }
+
+    private static void logListDelta(
+        final String list,
+        final ListDelta<Employee> listDelta) {
+
+        if (listDelta.isEmpty())
+            return;
+
+        log.info(
+            "Incremental list changes | list : {} | added-count : {} | removed-count : {} | updated-count : {}",
+            list,
+            listDelta.getAdded().size(),
+            listDelta.getRemovedIds().size(),
+            listDelta.getUpdated().size()
+        );
+        listDelta.getAdded().forEach(employee -> log.info(
+            "Incremental list change | list : {} | change : added | employee-id : {}", list, employee.getId()
+        ));
+        listDelta.getRemovedIds().forEach(employeeId -> log.info(
+            "Incremental list change | list : {} | change : removed | employee-id : {}", list, employeeId
+        ));
+        listDelta.getUpdated().forEach(employee -> log.info(
+            "Incremental list change | list : {} | change : updated | employee-id : {}", list, employee.getId()
+        ));
+    }
+
+    /**
+     * Reports the flagged employees of a response through the result writer and logs a summary of the
+     * response, followed by the cursor of the next page of every list that filled its page.
+     *
+     * @param resultWriter the writer reporting the flagged employees
+     * @param response     the response of one analysis
+     * @param window       the window the response lists were selected with
+     */
+    private static void writeResponse(
+        final ResultWriter resultWriter,
+        final Response<Employee> response,
+        final ResultWindow window) throws IOException {
+
+        log.info(
+            "Analysis results | manager-least-pay-percentage : {} | manager-over-pay-percentage : {} | threshold-reporting-line-length : {}"
+                + " | least-paid-manager-count : {} | over-paid-manager-count : {} | max-reporting-line-length-employee-count : {}",
+            response.getApplicationParameter().getManagerLeastPayPercentage(),
+            response.getApplicationParameter().getManagerOverPayPercentage(),
+            response.getApplicationParameter().getMaxSubordinatesCount(),
+            response.getLeastPaidManagers().size(),
+            response.getOverPaidManagers().size(),
+            response.getMaxReportingLineLengthEmployees().size()
+        );
+
+        resultWriter.write(response);
+
+        logNextPage(ResultWriter.LEAST_PAID_MANAGERS, response.getLeastPaidManagers(), window);
+        logNextPage(ResultWriter.OVER_PAID_MANAGERS, response.getOverPaidManagers(), window);
+        logNextPage(ResultWriter.MAX_REPORTING_LINE_LENGTH_EMPLOYEES, response.getMaxReportingLineLengthEmployees(), window);
+    }
+
+    /**
+     * Logs the recorded phases and writes the run report if a report file is given.
+     *
+     * @param runMetrics the metrics of the run
+     * @param metricsOut the run report file path, or {@code null}
+     */
+    private static void reportMetrics(
+        final RunMetrics runMetrics,
+        final String metricsOut) throws IOException {
+
+        if (!runMetrics.isEnabled())
+            return;
+
+        runMetrics.getPhases().forEach(phase -> log.info(
+            "Phase metrics | phase : {} | wall-millis : {} | cpu-millis : {} | allocated-bytes : {}",
+            phase.getName(),
+            TimeUnit.NANOSECONDS.toMillis(phase.getWallNanos()),
+            TimeUnit.NANOSECONDS.toMillis(phase.getCpuNanos()),
+            phase.getAllocatedBytes()
+        ));
+        log.info(
+            "Ingest metrics | employee-count : {} | ingest-rows-per-second : {}",
+            runMetrics.getCounter("employee-count"),
+            runMetrics.getCounter("ingest-rows-per-second")
+        );
+
+        if (Objects.nonNull(metricsOut)) {
+            runMetrics.writeReport(metricsOut);
+            log.info("Successfully wrote run report | file-path : {}", metricsOut);
+        }
+    }
+
+    private static void logNextPage(
+        final String list,
+        final List<Employee> page,
+        final ResultWindow window) {
+
+        final String nextPageAfter = ResultWindowUtil.nextPageAfter(page, window);
+        if (Objects.nonNull(nextPageAfter))
+            log.info("Next page | list : {} | page-after : {}", list, nextPageAfter);
+    }
+
+}
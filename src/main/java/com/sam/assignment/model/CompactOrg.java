@@ -0,0 +1,385 @@
+package com.sam.assignment.model;
+
+import com.sam.assignment.util.LongIntHashMap;
+import com.sam.assignment.util.PackedIdUtil;
+import com.sam.assignment.util.SalaryBand;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Columnar (struct-of-arrays) representation of the organization. Every employee is addressed by a
+ * dense ordinal; IDs are stored packed in a {@code long}, names as references into an interned
+ * name dictionary and salaries as {@code long} cents. Once linked, the hierarchy is held in
+ * manager / first-subordinate / next-sibling ordinal arrays together with the reporting line lengths.
+ * <p>
+ * The ID index and packed manager IDs are only needed while rows are being added and linked, and
+ * are released by {@link #link(int[], int[], int[], int[], int)}. {@link Employee} objects are
+ * materialized on demand through {@link #toEmployee(int)}.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class CompactOrg {
+
+    /**
+     * Ordinal of an absent employee (e.g. the manager of the CEO).
+     */
+    public static final int NO_EMPLOYEE = -1;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private int size;
+    private long[] ids;
+    private int[] firstNames;
+    private int[] lastNames;
+    private long[] salaryCents;
+    private long[] managerIds;
+
+    private final List<String> names = new ArrayList<>();
+    private Map<String, Integer> nameIndex = new HashMap<>();
+    private LongIntHashMap idIndex;
+
+    private int[] managers;
+    private int[] firstSubordinates;
+    private int[] nextSiblings;
+    private int[] reportingLineLengths;
+    private int ceo = NO_EMPLOYEE;
+
+    public CompactOrg(
+        final int expectedSize) {
+
+        final int capacity = Math.max(MIN_CAPACITY, expectedSize);
+        ids = new long[capacity];
+        firstNames = new int[capacity];
+        lastNames = new int[capacity];
+        salaryCents = new long[capacity];
+        managerIds = new long[capacity];
+        idIndex = new LongIntHashMap(capacity);
+    }
+
+    /**
+     * Restores a linked organization from its columns, e.g. when reloading a snapshot. The arrays are
+     * used as they are and must all hold exactly one element per employee.
+     *
+     * @param names                the interned name dictionary
+     * @param ids                  the packed ID of each employee
+     * @param firstNames           the first name reference of each employee
+     * @param lastNames            the last name reference of each employee
+     * @param salaryCents          the salary in cents of each employee
+     * @param managers             the manager ordinal of each employee
+     * @param firstSubordinates    the first direct subordinate of each employee
+     * @param nextSiblings         the next employee with the same manager
+     * @param reportingLineLengths the reporting line length of each employee
+     * @param ceo                  the ordinal of the CEO
+     * @return the linked organization
+     */
+    public static CompactOrg restore(
+        final List<String> names,
+        final long[] ids,
+        final int[] firstNames,
+        final int[] lastNames,
+        final long[] salaryCents,
+        final int[] managers,
+        final int[] firstSubordinates,
+        final int[] nextSiblings,
+        final int[] reportingLineLengths,
+        final int ceo) {
+
+        final int size = ids.length;
+        if (firstNames.length != size || lastNames.length != size || salaryCents.length != size
+            || managers.length != size || firstSubordinates.length != size || nextSiblings.length != size
+            || reportingLineLengths.length != size)
+            throw new IllegalArgumentException("Every column must hold one element per employee");
+
+        final CompactOrg org = new CompactOrg(0);
+        org.size = size;
+        org.ids = ids;
+        org.firstNames = firstNames;
+        org.lastNames = lastNames;
+        org.salaryCents = salaryCents;
+        org.names.addAll(names);
+        org.managers = managers;
+        org.firstSubordinates = firstSubordinates;
+        org.nextSiblings = nextSiblings;
+        org.reportingLineLengths = reportingLineLengths;
+        org.ceo = ceo;
+        org.managerIds = null;
+        org.idIndex = null;
+        org.nameIndex = null;
+        return org;
+    }
+
+    /**
+     * Adds an employee, or replaces the employee with the same ID (the last record wins).
+     *
+     * @param employee the employee to add
+     * @return the ordinal of the employee
+     */
+    public int add(
+        final Employee employee) {
+
+        return add(
+            employee.getId(),
+            employee.getFirstName(),
+            employee.getLastName(),
+            SalaryBand.toCents(employee.getSalary()),
+            employee.getManagerId()
+        );
+    }
+
+    /**
+     * Adds an employee, or replaces the employee with the same ID (the last record wins).
+     *
+     * @param id          the employee ID
+     * @param firstName   the first name
+     * @param lastName    the last name
+     * @param salaryCents the salary in cents
+     * @param managerId   the manager ID, or {@code null} for the CEO
+     * @return the ordinal of the employee
+     */
+    public int add(
+        final String id,
+        final String firstName,
+        final String lastName,
+        final long salaryCents,
+        final String managerId) {
+
+        if (Objects.isNull(idIndex))
+            throw new IllegalStateException("Employees cannot be added after the hierarchy is linked");
+
+        final long packedId = PackedIdUtil.encode(id);
+        if (packedId == PackedIdUtil.NO_ID)
+            throw new IllegalArgumentException("Employee ID cannot be empty");
+
+        int ordinal = idIndex.get(packedId);
+        if (ordinal == LongIntHashMap.MISSING) {
+            ensureCapacity(size + 1);
+            ordinal = size++;
+            idIndex.put(packedId, ordinal);
+        }
+
+        ids[ordinal] = packedId;
+        firstNames[ordinal] = intern(firstName);
+        lastNames[ordinal] = intern(lastName);
+        this.salaryCents[ordinal] = salaryCents;
+        managerIds[ordinal] = PackedIdUtil.encode(managerId);
+        return ordinal;
+    }
+
+    /**
+     * Resolves the ordinal of the employee with the given packed ID. Only available before linking.
+     *
+     * @param packedId the packed employee ID
+     * @return the ordinal, or {@link #NO_EMPLOYEE} if there is no such employee
+     */
+    public int ordinalOf(
+        final long packedId) {
+
+        if (Objects.isNull(idIndex))
+            throw new IllegalStateException("The ID index is released once the hierarchy is linked");
+
+        final int ordinal = idIndex.get(packedId);
+        return ordinal == LongIntHashMap.MISSING ? NO_EMPLOYEE : ordinal;
+    }
+
+    /**
+     * Installs the linked hierarchy and releases the state that is only needed while loading.
+     *
+     * @param managers             the manager ordinal of each employee
+     * @param firstSubordinates    the first direct subordinate of each employee
+     * @param nextSiblings         the next employee with the same manager
+     * @param reportingLineLengths the reporting line length of each employee
+     * @param ceo                  the ordinal of the CEO
+     */
+    public void link(
+        final int[] managers,
+        final int[] firstSubordinates,
+        final int[] nextSiblings,
+        final int[] reportingLineLengths,
+        final int ceo) {
+
+        this.managers = managers;
+        this.firstSubordinates = firstSubordinates;
+        this.nextSiblings = nextSiblings;
+        this.reportingLineLengths = reportingLineLengths;
+        this.ceo = ceo;
+
+        ids = Arrays.copyOf(ids, size);
+        firstNames = Arrays.copyOf(firstNames, size);
+        lastNames = Arrays.copyOf(lastNames, size);
+        salaryCents = Arrays.copyOf(salaryCents, size);
+        managerIds = null;
+        idIndex = null;
+        nameIndex = null;
+    }
+
+    /**
+     * @return whether {@link #link(int[], int[], int[], int[], int)} has been called
+     */
+    public boolean isLinked() {
+        return Objects.nonNull(managers);
+    }
+
+    /**
+     * Materializes the employee at the given ordinal. Subordinates are not materialized.
+     *
+     * @param ordinal the employee ordinal
+     * @return a new Employee holding the employee's details and reporting line length
+     */
+    public Employee toEmployee(
+        final int ordinal) {
+
+        return new Employee(
+            getId(ordinal),
+            getFirstName(ordinal),
+            getLastName(ordinal),
+            getManagerId(ordinal),
+            BigDecimal.valueOf(salaryCents[ordinal], 2),
+            BigDecimal.ZERO,
+            isLinked() ? reportingLineLengths[ordinal] : 0
+        );
+    }
+
+    /**
+     * @return the number of bytes held by the per-employee columns, excluding the shared name dictionary
+     */
+    public long columnBytes() {
+        long bytes = (long) ids.length * Long.BYTES
+            + (long) firstNames.length * Integer.BYTES
+            + (long) lastNames.length * Integer.BYTES
+            + (long) salaryCents.length * Long.BYTES;
+        if (Objects.nonNull(managerIds))
+            bytes += (long) managerIds.length * Long.BYTES;
+        if (isLinked())
+            bytes += ((long) managers.length + firstSubordinates.length + nextSiblings.length
+                + reportingLineLengths.length) * Integer.BYTES;
+        return bytes;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getPackedId(
+        final int ordinal) {
+        return ids[ordinal];
+    }
+
+    public String getId(
+        final int ordinal) {
+        return PackedIdUtil.decode(ids[ordinal]);
+    }
+
+    public String getFirstName(
+        final int ordinal) {
+        return names.get(firstNames[ordinal]);
+    }
+
+    public String getLastName(
+        final int ordinal) {
+        return names.get(lastNames[ordinal]);
+    }
+
+    /**
+     * @return the reference of the employee's first name into the name dictionary
+     */
+    public int getFirstNameRef(
+        final int ordinal) {
+        return firstNames[ordinal];
+    }
+
+    /**
+     * @return the reference of the employee's last name into the name dictionary
+     */
+    public int getLastNameRef(
+        final int ordinal) {
+        return lastNames[ordinal];
+    }
+
+    /**
+     * @return the interned names, indexed by name reference
+     */
+    public List<String> getNames() {
+        return Collections.unmodifiableList(names);
+    }
+
+    public long getSalaryCents(
+        final int ordinal) {
+        return salaryCents[ordinal];
+    }
+
+    /**
+     * @return the packed manager ID of the employee; only available before linking
+     */
+    public long getPackedManagerId(
+        final int ordinal) {
+
+        if (Objects.isNull(managerIds))
+            throw new IllegalStateException("Packed manager IDs are released once the hierarchy is linked");
+
+        return managerIds[ordinal];
+    }
+
+    public String getManagerId(
+        final int ordinal) {
+
+        if (!isLinked())
+            return PackedIdUtil.decode(managerIds[ordinal]);
+
+        return managers[ordinal] == NO_EMPLOYEE ? null : getId(managers[ordinal]);
+    }
+
+    public int getManager(
+        final int ordinal) {
+        return managers[ordinal];
+    }
+
+    public int getFirstSubordinate(
+        final int ordinal) {
+        return firstSubordinates[ordinal];
+    }
+
+    public int getNextSibling(
+        final int ordinal) {
+        return nextSiblings[ordinal];
+    }
+
+    public int getReportingLineLength(
+        final int ordinal) {
+        return reportingLineLengths[ordinal];
+    }
+
+    public int getCeo() {
+        return ceo;
+    }
+
+    private int intern(
+        final String name) {
+
+        return nameIndex.computeIfAbsent(name, key -> {
+            names.add(key);
+            return names.size() - 1;
+        });
+    }
+
+    private void ensureCapacity(
+        final int required) {
+
+        if (required <= ids.length)
+            return;
+
+        final int capacity = Math.max(required, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        firstNames = Arrays.copyOf(firstNames, capacity);
+        lastNames = Arrays.copyOf(lastNames, capacity);
+        salaryCents = Arrays.copyOf(salaryCents, capacity);
+        managerIds = Arrays.copyOf(managerIds, capacity);
+    }
+
+}
@@ -14,10 +14,13 @@ import java.util.List;
  * Represents an employee in the organization.
  * Contains fields for employee ID, first name, last name, manager ID, salary,
  * difference of subordinates' average salary, reporting line length, and a list of subordinates.
+ * <p>
+ * Employees are identified by their immutable ID alone, so equality and hashing neither depend on the
+ * mutable analysis fields nor walk the subordinates; the hash is computed once and cached.
  */
 @Data
 @AllArgsConstructor
-@EqualsAndHashCode
+@EqualsAndHashCode(onlyExplicitlyIncluded = true, cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
 @ToString
 public class Employee implements Serializable {
 
@@ -27,6 +30,7 @@ public class Employee implements Serializable {
         @NotEmpty(message = "Employee ID cannot be empty")
         @Size(min = 10, max = 10, message = "Employee ID must be exactly 10 characters")
         @Pattern(regexp = "^[a-zA-Z0-9]+$", message = "Employee ID must be alphanumeric")
+        @EqualsAndHashCode.Include
         private final String id;
 
         @NotEmpty(message = "Employee First Name cannot be empty")
@@ -0,0 +1,58 @@
+package com.sam.assignment.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Represents a single change to the employee records: the insert or update of an employee, or the
+ * deletion of an employee by ID. A change of an employee's manager is an update.
+ */
+@Data
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class EmployeeChange implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The kind of change.
+     */
+    public enum Type {
+        UPSERT,
+        DELETE
+    }
+
+    private final Type type;
+
+    private final String id;
+
+    private final Employee employee;
+
+    /**
+     * @param employee the inserted or updated employee
+     * @return a change inserting or replacing the employee with the same ID
+     */
+    public static EmployeeChange upsert(
+        final Employee employee) {
+
+        return new EmployeeChange(Type.UPSERT, employee.getId(), employee);
+    }
+
+    /**
+     * @param id the ID of the deleted employee
+     * @return a change deleting the employee with the given ID
+     */
+    public static EmployeeChange delete(
+        final String id) {
+
+        return new EmployeeChange(Type.DELETE, id, null);
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.sam.assignment.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Represents the changed entries of one {@link Response} list between two analyses: the entries that
+ * joined the list, the IDs of the entries that left it and the entries that stayed but changed.
+ *
+ * @param <T> the type of employee (e.g., Employee)
+ */
+@Data
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class ListDelta<T> implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final List<T> added;
+
+    private final List<String> removedIds;
+
+    private final List<T> updated;
+
+    /**
+     * @return whether the list did not change
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && removedIds.isEmpty() && updated.isEmpty();
+    }
+
+}
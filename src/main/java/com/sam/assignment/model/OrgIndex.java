@@ -0,0 +1,353 @@
+package com.sam.assignment.model;
+
+import com.sam.assignment.util.LongIntHashMap;
+import com.sam.assignment.util.PackedIdUtil;
+import com.sam.assignment.util.SalaryBand;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Read-only index over a built hierarchy for constant-time structural queries. It is built in one
+ * depth-first traversal of every root and holds, per employee ordinal:
+ * <ul>
+ *     <li>the Euler-tour entry number and subtree size, so "does A report to B" is a range check</li>
+ *     <li>the depth below the root, the subtree's head count, salary total in cents and maximum depth,
+ *     and the span of control (number of direct subordinates)</li>
+ *     <li>a binary-lifting table for the k-th manager in O(log depth)</li>
+ * </ul>
+ * Employees that cannot be reached from a root (only possible in a cyclic hierarchy) are not indexed.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class OrgIndex {
+
+    private final int size;
+    private final int[] managers;
+    private final int[] entries;
+    private final int[] depths;
+    private final int[] subtreeSizes;
+    private final long[] subtreeSalaryCents;
+    private final int[] subtreeMaxDepths;
+    private final int[] spansOfControl;
+    private final int[][] ancestors;
+    private final IntFunction<String> idResolver;
+    private final ToIntFunction<String> ordinalResolver;
+
+    private OrgIndex(
+        final int[] managers,
+        final int[] firstSubordinates,
+        final int[] nextSiblings,
+        final long[] salaryCents,
+        final IntFunction<String> idResolver,
+        final ToIntFunction<String> ordinalResolver) {
+
+        this.size = managers.length;
+        this.managers = managers;
+        this.idResolver = idResolver;
+        this.ordinalResolver = ordinalResolver;
+        entries = new int[size];
+        depths = new int[size];
+        subtreeSizes = new int[size];
+        subtreeSalaryCents = new long[size];
+        subtreeMaxDepths = new int[size];
+        spansOfControl = new int[size];
+
+        // preorder traversal of every root; the preorder position is the Euler-tour entry number
+        Arrays.fill(entries, CompactOrg.NO_EMPLOYEE);
+        final int[] preorder = new int[size];
+        int visited = 0;
+        int maxDepth = 0;
+        final int[] stack = new int[size];
+        for(int root = 0; root < size; root++) {
+            if(managers[root] != CompactOrg.NO_EMPLOYEE)
+                continue;
+
+            int top = 0;
+            stack[top++] = root;
+            while(top > 0) {
+                final int ordinal = stack[--top];
+                entries[ordinal] = visited;
+                preorder[visited++] = ordinal;
+                depths[ordinal] = managers[ordinal] == CompactOrg.NO_EMPLOYEE ? 0 : depths[managers[ordinal]] + 1;
+                maxDepth = Math.max(maxDepth, depths[ordinal]);
+                for(int subordinate = firstSubordinates[ordinal]; subordinate != CompactOrg.NO_EMPLOYEE; subordinate = nextSiblings[subordinate]) {
+                    spansOfControl[ordinal]++;
+                    stack[top++] = subordinate;
+                }
+            }
+        }
+
+        // every descendant follows its ancestors in preorder, so a reverse sweep rolls the subtrees up
+        for(int position = visited - 1; position >= 0; position--) {
+            final int ordinal = preorder[position];
+            subtreeSizes[ordinal]++;
+            subtreeSalaryCents[ordinal] = Math.addExact(subtreeSalaryCents[ordinal], salaryCents[ordinal]);
+            final int manager = managers[ordinal];
+            if(manager != CompactOrg.NO_EMPLOYEE) {
+                subtreeSizes[manager] += subtreeSizes[ordinal];
+                subtreeSalaryCents[manager] = Math.addExact(subtreeSalaryCents[manager], subtreeSalaryCents[ordinal]);
+                subtreeMaxDepths[manager] = Math.max(subtreeMaxDepths[manager], subtreeMaxDepths[ordinal] + 1);
+            }
+        }
+
+        final int levels = Math.max(1, 32 - Integer.numberOfLeadingZeros(maxDepth));
+        ancestors = new int[levels][];
+        ancestors[0] = managers;
+        for(int level = 1; level < levels; level++) {
+            final int[] previous = ancestors[level - 1];
+            final int[] current = new int[size];
+            for(int ordinal = 0; ordinal < size; ordinal++)
+                current[ordinal] = previous[ordinal] == CompactOrg.NO_EMPLOYEE
+                    ? CompactOrg.NO_EMPLOYEE
+                    : previous[previous[ordinal]];
+            ancestors[level] = current;
+        }
+    }
+
+    /**
+     * Indexes a linked columnar organization. Ordinals are the organization's ordinals.
+     *
+     * @param org the linked organization
+     * @return the index
+     */
+    public static OrgIndex of(
+        final CompactOrg org) {
+
+        if(Objects.isNull(org) || !org.isLinked())
+            throw new IllegalArgumentException("Only a linked organization can be indexed");
+
+        final int size = org.size();
+        final int[] managers = new int[size];
+        final int[] firstSubordinates = new int[size];
+        final int[] nextSiblings = new int[size];
+        final long[] salaryCents = new long[size];
+        final LongIntHashMap ordinalsById = new LongIntHashMap(size);
+        for(int ordinal = 0; ordinal < size; ordinal++) {
+            managers[ordinal] = org.getManager(ordinal);
+            firstSubordinates[ordinal] = org.getFirstSubordinate(ordinal);
+            nextSiblings[ordinal] = org.getNextSibling(ordinal);
+            salaryCents[ordinal] = org.getSalaryCents(ordinal);
+            ordinalsById.put(org.getPackedId(ordinal), ordinal);
+        }
+
+        return new OrgIndex(
+            managers,
+            firstSubordinates,
+            nextSiblings,
+            salaryCents,
+            org::getId,
+            id -> {
+                final int ordinal = ordinalsById.get(PackedIdUtil.encode(id));
+                return ordinal == LongIntHashMap.MISSING ? CompactOrg.NO_EMPLOYEE : ordinal;
+            }
+        );
+    }
+
+    /**
+     * Indexes the object hierarchy below a CEO returned by {@code OrgHierarchy#buildHierarchy}. Ordinals
+     * are assigned in breadth-first order from the CEO, which has ordinal 0.
+     *
+     * @param ceo the root of the built hierarchy
+     * @return the index
+     */
+    public static OrgIndex of(
+        final Employee ceo) {
+
+        if(Objects.isNull(ceo))
+            throw new IllegalArgumentException("CEO cannot be null");
+
+        final Map<String, Integer> ordinalsById = new HashMap<>();
+        final List<Employee> employees = new ArrayList<>();
+        final List<Integer> managerList = new ArrayList<>();
+        employees.add(ceo);
+        managerList.add(CompactOrg.NO_EMPLOYEE);
+        ordinalsById.put(ceo.getId(), 0);
+        for(int ordinal = 0; ordinal < employees.size(); ordinal++) {
+            for(Employee subordinate : employees.get(ordinal).getSubordinates()) {
+                if(Objects.nonNull(ordinalsById.putIfAbsent(subordinate.getId(), employees.size())))
+                    continue;
+                employees.add(subordinate);
+                managerList.add(ordinal);
+            }
+        }
+
+        final int size = employees.size();
+        final int[] managers = new int[size];
+        final int[] firstSubordinates = new int[size];
+        final int[] nextSiblings = new int[size];
+        final long[] salaryCents = new long[size];
+        Arrays.fill(firstSubordinates, CompactOrg.NO_EMPLOYEE);
+        for(int ordinal = size - 1; ordinal >= 0; ordinal--) {
+            managers[ordinal] = managerList.get(ordinal);
+            salaryCents[ordinal] = Objects.isNull(employees.get(ordinal).getSalary())
+                ? 0
+                : SalaryBand.toCents(employees.get(ordinal).getSalary());
+            nextSiblings[ordinal] = managers[ordinal] == CompactOrg.NO_EMPLOYEE
+                ? CompactOrg.NO_EMPLOYEE
+                : firstSubordinates[managers[ordinal]];
+            if(managers[ordinal] != CompactOrg.NO_EMPLOYEE)
+                firstSubordinates[managers[ordinal]] = ordinal;
+        }
+
+        return new OrgIndex(
+            managers,
+            firstSubordinates,
+            nextSiblings,
+            salaryCents,
+            ordinal -> employees.get(ordinal).getId(),
+            id -> ordinalsById.getOrDefault(id, CompactOrg.NO_EMPLOYEE)
+        );
+    }
+
+    /**
+     * @param employeeId the employee ID
+     * @return the ordinal of the employee
+     * @throws NoSuchElementException if the employee is not indexed
+     */
+    public int ordinalOf(
+        final String employeeId) {
+
+        if(Objects.isNull(employeeId) || employeeId.isBlank())
+            throw new IllegalArgumentException("Employee ID cannot be empty");
+
+        final int ordinal = ordinalResolver.applyAsInt(employeeId);
+        if(ordinal == CompactOrg.NO_EMPLOYEE || entries[ordinal] == CompactOrg.NO_EMPLOYEE)
+            throw new NoSuchElementException("Employee not found | employee-id : " + employeeId);
+
+        return ordinal;
+    }
+
+    /**
+     * @param ordinal the employee ordinal
+     * @return the employee ID
+     */
+    public String getId(
+        final int ordinal) {
+
+        return idResolver.apply(ordinal);
+    }
+
+    /**
+     * @return the number of ordinals, including employees that are not indexed
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param ordinal        the employee ordinal
+     * @param managerOrdinal the ordinal of the potential manager
+     * @return whether the employee reports directly or indirectly to the manager
+     */
+    public boolean reportsTo(
+        final int ordinal,
+        final int managerOrdinal) {
+
+        return ordinal != managerOrdinal
+            && entries[managerOrdinal] <= entries[ordinal]
+            && entries[ordinal] < entries[managerOrdinal] + subtreeSizes[managerOrdinal];
+    }
+
+    /**
+     * @param ordinal the employee ordinal
+     * @param k       the number of levels to go up, 1 for the direct manager
+     * @return the ordinal of the k-th manager above the employee, or {@link CompactOrg#NO_EMPLOYEE} if the
+     *         reporting line is shorter than {@code k}
+     */
+    public int kthManager(
+        final int ordinal,
+        final int k) {
+
+        if(k < 0)
+            throw new IllegalArgumentException("Level cannot be negative | level : " + k);
+
+        if(k > depths[ordinal])
+            return CompactOrg.NO_EMPLOYEE;
+
+        int ancestor = ordinal;
+        for(int level = 0; ancestor != CompactOrg.NO_EMPLOYEE && (k >>> level) != 0; level++)
+            if(((k >>> level) & 1) != 0)
+                ancestor = ancestors[level][ancestor];
+
+        return ancestor;
+    }
+
+    /**
+     * @param ordinal the employee ordinal
+     * @return the ordinal of the employee's manager, or {@link CompactOrg#NO_EMPLOYEE} for a root
+     */
+    public int getManager(
+        final int ordinal) {
+
+        return managers[ordinal];
+    }
+
+    /**
+     * @param ordinal the employee ordinal
+     * @return the Euler-tour entry number of the employee
+     */
+    public int getEntry(
+        final int ordinal) {
+
+        return entries[ordinal];
+    }
+
+    /**
+     * @param ordinal the employee ordinal
+     * @return the number of managers above the employee
+     */
+    public int getDepth(
+        final int ordinal) {
+
+        return depths[ordinal];
+    }
+
+    /**
+     * @param ordinal the employee ordinal
+     * @return the number of employees in the employee's subtree, including the employee
+     */
+    public int getSubtreeSize(
+        final int ordinal) {
+
+        return subtreeSizes[ordinal];
+    }
+
+    /**
+     * @param ordinal the employee ordinal
+     * @return the salary total in cents of the employee's subtree, including the employee
+     */
+    public long getSubtreeSalaryCents(
+        final int ordinal) {
+
+        return subtreeSalaryCents[ordinal];
+    }
+
+    /**
+     * @param ordinal the employee ordinal
+     * @return the number of levels below the employee, 0 for an employee without subordinates
+     */
+    public int getSubtreeMaxDepth(
+        final int ordinal) {
+
+        return subtreeMaxDepths[ordinal];
+    }
+
+    /**
+     * @param ordinal the employee ordinal
+     * @return the number of direct subordinates of the employee
+     */
+    public int getSpanOfControl(
+        final int ordinal) {
+
+        return spansOfControl[ordinal];
+    }
+
+}
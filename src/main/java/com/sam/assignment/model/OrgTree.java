@@ -0,0 +1,31 @@
+package com.sam.assignment.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Represents one independent tree of an organizational forest: its root employee, whether the tree is
+ * orphaned, i.e. its root names a manager that is not among the employees, and the number of employees
+ * in it, including the root.
+ */
+@Data
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class OrgTree implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final Employee root;
+
+    private final boolean orphaned;
+
+    private final int employeeCount;
+
+}
@@ -0,0 +1,309 @@
+package com.sam.assignment.model;
+
+import com.sam.assignment.util.LongIntHashMap;
+import com.sam.assignment.util.PackedIdUtil;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Map of employees indexed by their IDs, keyed by the packed {@code long} form of the ID instead of the
+ * {@code String}. The employees are held in a dense array addressed by ordinal, together with their packed
+ * IDs and packed manager IDs, and a {@link LongIntHashMap} maps each packed ID to its ordinal, so lookups
+ * neither hash a {@code String} nor allocate, and the hierarchy can be linked through
+ * {@link #managerOrdinal(int)} without any lookup by {@code String}.
+ * <p>
+ * Keys must be IDs that can be packed ({@link PackedIdUtil#MAX_LENGTH} alphanumeric characters at most);
+ * other keys are never contained and cannot be put. Ordinals are stable while employees are only added
+ * or replaced; removing an employee moves the last employee into its ordinal. Iteration follows the
+ * ordinals, i.e. insertion order until the first removal.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class PackedEmployeeMap extends AbstractMap<String, Employee> {
+
+    /**
+     * Ordinal of an absent employee, e.g. the manager of the CEO or a manager missing from the map.
+     */
+    public static final int NO_EMPLOYEE = -1;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private Employee[] employees;
+    private String[] keys;
+    private long[] ids;
+    private long[] managerIds;
+    private final LongIntHashMap index;
+    private int size;
+    private EntrySet entrySet;
+
+    public PackedEmployeeMap(
+        final int expectedSize) {
+
+        final int capacity = Math.max(MIN_CAPACITY, expectedSize);
+        employees = new Employee[capacity];
+        keys = new String[capacity];
+        ids = new long[capacity];
+        managerIds = new long[capacity];
+        index = new LongIntHashMap(capacity);
+    }
+
+    /**
+     * @param employees a map of employees indexed by their IDs
+     * @return the given map if it is a packed map already, otherwise a packed copy of it
+     * @throws IllegalArgumentException if an ID cannot be packed
+     */
+    public static PackedEmployeeMap of(
+        final Map<String, Employee> employees) {
+
+        if (employees instanceof PackedEmployeeMap packedEmployees)
+            return packedEmployees;
+
+        final PackedEmployeeMap packedEmployees = new PackedEmployeeMap(employees.size());
+        packedEmployees.putAll(employees);
+        return packedEmployees;
+    }
+
+    /**
+     * Adds the employee under its own ID, or replaces the employee with the same ID in its ordinal.
+     *
+     * @param employee the employee
+     * @return whether the ID was not contained yet
+     * @throws IllegalArgumentException if the ID or manager ID cannot be packed
+     */
+    public boolean add(
+        final Employee employee) {
+
+        return Objects.isNull(put(employee.getId(), employee));
+    }
+
+    @Override
+    public Employee put(
+        final String id,
+        final Employee employee) {
+
+        if (Objects.isNull(employee))
+            throw new IllegalArgumentException("Employee cannot be null");
+
+        final long packedId = PackedIdUtil.encode(id);
+        if (packedId == PackedIdUtil.NO_ID)
+            throw new IllegalArgumentException("Employee ID cannot be empty");
+
+        final long packedManagerId = PackedIdUtil.encode(employee.getManagerId());
+        final int existing = index.get(packedId);
+        if (existing != LongIntHashMap.MISSING) {
+            final Employee previous = employees[existing];
+            employees[existing] = employee;
+            managerIds[existing] = packedManagerId;
+            return previous;
+        }
+
+        if (size == employees.length) {
+            employees = Arrays.copyOf(employees, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+            managerIds = Arrays.copyOf(managerIds, size * 2);
+        }
+        employees[size] = employee;
+        keys[size] = id;
+        ids[size] = packedId;
+        managerIds[size] = packedManagerId;
+        index.put(packedId, size++);
+        return null;
+    }
+
+    @Override
+    public Employee get(
+        final Object id) {
+
+        final int ordinal = ordinalOf(id);
+        return ordinal == NO_EMPLOYEE ? null : employees[ordinal];
+    }
+
+    @Override
+    public boolean containsKey(
+        final Object id) {
+
+        return ordinalOf(id) != NO_EMPLOYEE;
+    }
+
+    @Override
+    public Employee remove(
+        final Object id) {
+
+        final int ordinal = ordinalOf(id);
+        return ordinal == NO_EMPLOYEE ? null : removeAt(ordinal);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(employees, 0, size, null);
+        Arrays.fill(keys, 0, size, null);
+        for (int ordinal = 0; ordinal < size; ordinal++)
+            index.remove(ids[ordinal]);
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, Employee>> entrySet() {
+        if (Objects.isNull(entrySet))
+            entrySet = new EntrySet();
+        return entrySet;
+    }
+
+    /**
+     * @param id an employee ID
+     * @return the ordinal of the employee, or {@link #NO_EMPLOYEE} if it is not contained
+     */
+    public int ordinalOf(
+        final Object id) {
+
+        if (!(id instanceof String stringId))
+            return NO_EMPLOYEE;
+
+        final long packedId = PackedIdUtil.tryEncode(stringId);
+        if (packedId == PackedIdUtil.NO_ID || packedId == PackedIdUtil.NOT_PACKABLE)
+            return NO_EMPLOYEE;
+
+        final int ordinal = index.get(packedId);
+        return ordinal == LongIntHashMap.MISSING ? NO_EMPLOYEE : ordinal;
+    }
+
+    /**
+     * @param ordinal the ordinal of an employee
+     * @return the employee
+     */
+    public Employee employeeAt(
+        final int ordinal) {
+
+        return employees[Objects.checkIndex(ordinal, size)];
+    }
+
+    /**
+     * @param ordinal the ordinal of an employee
+     * @return whether the employee has a manager ID
+     */
+    public boolean hasManager(
+        final int ordinal) {
+
+        return managerIds[Objects.checkIndex(ordinal, size)] != PackedIdUtil.NO_ID;
+    }
+
+    /**
+     * @param ordinal the ordinal of an employee
+     * @return the ordinal of the employee's manager, or {@link #NO_EMPLOYEE} if the employee has no manager
+     *         ID or the manager is not contained
+     */
+    public int managerOrdinal(
+        final int ordinal) {
+
+        final long managerId = managerIds[Objects.checkIndex(ordinal, size)];
+        if (managerId == PackedIdUtil.NO_ID)
+            return NO_EMPLOYEE;
+
+        final int managerOrdinal = index.get(managerId);
+        return managerOrdinal == LongIntHashMap.MISSING ? NO_EMPLOYEE : managerOrdinal;
+    }
+
+    /**
+     * Removes the employee of the ordinal and moves the last employee into it.
+     */
+    private Employee removeAt(
+        final int ordinal) {
+
+        final Employee removed = employees[ordinal];
+        index.remove(ids[ordinal]);
+        final int last = --size;
+        if (ordinal != last) {
+            employees[ordinal] = employees[last];
+            keys[ordinal] = keys[last];
+            ids[ordinal] = ids[last];
+            managerIds[ordinal] = managerIds[last];
+            index.put(ids[ordinal], ordinal);
+        }
+        employees[last] = null;
+        keys[last] = null;
+        return removed;
+    }
+
+    /**
+     * The entries in ordinal order. Entries are snapshots and do not support {@code setValue}.
+     */
+    private final class EntrySet extends AbstractSet<Entry<String, Employee>> {
+
+        @Override
+        public Iterator<Entry<String, Employee>> iterator() {
+            return new Iterator<>() {
+
+                private int cursor;
+                private boolean removable;
+
+                @Override
+                public boolean hasNext() {
+                    return cursor < size;
+                }
+
+                @Override
+                public Entry<String, Employee> next() {
+                    if (cursor >= size)
+                        throw new NoSuchElementException();
+
+                    removable = true;
+                    final int ordinal = cursor++;
+                    return new SimpleImmutableEntry<>(keys[ordinal], employees[ordinal]);
+                }
+
+                @Override
+                public void remove() {
+                    if (!removable)
+                        throw new IllegalStateException();
+
+                    removable = false;
+                    removeAt(--cursor);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(
+            final Object entry) {
+
+            return entry instanceof Entry<?, ?> candidate
+                && Objects.equals(get(candidate.getKey()), candidate.getValue())
+                && containsKey(candidate.getKey());
+        }
+
+        @Override
+        public boolean remove(
+            final Object entry) {
+
+            if (!contains(entry))
+                return false;
+
+            PackedEmployeeMap.this.remove(((Entry<?, ?>) entry).getKey());
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            PackedEmployeeMap.this.clear();
+        }
+    }
+
+}
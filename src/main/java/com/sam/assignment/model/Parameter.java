@@ -15,7 +15,8 @@ import java.math.BigDecimal;
 
 /**
  * Represents the parameters for the application, including file path,
- * manager least pay percentage, manager over pay percentage, and max subordinates count.
+ * manager least pay percentage, manager over pay percentage, max subordinates count and
+ * whether the hierarchy is built and analysed in parallel.
  */
 @Data
 @AllArgsConstructor
@@ -24,7 +25,7 @@ import java.math.BigDecimal;
 public class Parameter implements Serializable {
 
     @Serial
-    private static final long serialVersionUID = 2L;
+    private static final long serialVersionUID = 3L;
 
     @NotEmpty(message = "File path cannot be empty")
     private final String filePath;
@@ -40,4 +41,15 @@ public class Parameter implements Serializable {
     @DecimalMax(value = "999", message = "Reporting line length cannot be more than 999")
     private final Integer maxSubordinatesCount;
 
+    private final boolean parallel;
+
+    public Parameter(
+        final String filePath,
+        final BigDecimal managerLeastPayPercentage,
+        final BigDecimal managerOverPayPercentage,
+        final Integer maxSubordinatesCount) {
+
+        this(filePath, managerLeastPayPercentage, managerOverPayPercentage, maxSubordinatesCount, false);
+    }
+
 }
@@ -0,0 +1,36 @@
+package com.sam.assignment.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Represents the changed entries of a {@link Response} after an incremental re-analysis, together with
+ * the current CEO and application parameters.
+ *
+ * @param <T> the type of employee (e.g., Employee)
+ */
+@Data
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class ResponseDelta<T> implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final T ceo;
+
+    private final Parameter applicationParameter;
+
+    private final ListDelta<T> leastPaidManagers;
+
+    private final ListDelta<T> overPaidManagers;
+
+    private final ListDelta<T> maxReportingLineLengthEmployees;
+
+}
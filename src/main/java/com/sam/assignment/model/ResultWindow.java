@@ -0,0 +1,95 @@
+package com.sam.assignment.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Represents which part of every {@link Response} list is wanted, so that only that part is selected,
+ * materialized, validated and reported. A window is either unbounded (every entry), a top-K window (the
+ * {@code top} most severe entries, most severe first) or a page (at most {@code pageSize} entries in ID
+ * order whose IDs follow the {@code pageAfter} cursor, or the first page without a cursor).
+ */
+@Data
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@EqualsAndHashCode
+@ToString
+public class ResultWindow implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The window holding every entry.
+     */
+    public static final ResultWindow ALL = new ResultWindow(null, null, null);
+
+    private final Integer top;
+
+    private final Integer pageSize;
+
+    private final String pageAfter;
+
+    /**
+     * @param top the number of most severe entries to keep
+     * @return the top-K window
+     */
+    public static ResultWindow top(
+        final int top) {
+
+        if (top < 0)
+            throw new IllegalArgumentException("Top cannot be negative | top : " + top);
+
+        return new ResultWindow(top, null, null);
+    }
+
+    /**
+     * @param pageSize  the maximum number of entries of the page
+     * @param pageAfter the ID of the last entry of the previous page, or {@code null} for the first page
+     * @return the page window
+     */
+    public static ResultWindow page(
+        final int pageSize,
+        final String pageAfter) {
+
+        if (pageSize < 1)
+            throw new IllegalArgumentException("Page size must be at least 1 | page-size : " + pageSize);
+
+        return new ResultWindow(null, pageSize, pageAfter);
+    }
+
+    /**
+     * @return whether the window keeps the most severe entries
+     */
+    public boolean isTop() {
+        return Objects.nonNull(top);
+    }
+
+    /**
+     * @return whether the window is a page in ID order
+     */
+    public boolean isPage() {
+        return Objects.nonNull(pageSize);
+    }
+
+    /**
+     * @return whether the window holds every entry
+     */
+    public boolean isUnbounded() {
+        return !isTop() && !isPage();
+    }
+
+    /**
+     * @return the maximum number of entries of the window, or {@link Integer#MAX_VALUE} if it is unbounded
+     */
+    public int limit() {
+        return isTop() ? top : isPage() ? pageSize : Integer.MAX_VALUE;
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.sam.assignment.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Represents the aggregates of the subtree rooted at an employee: the number of employees in it,
+ * including the root, the total of their salaries, the number of levels below the root and the
+ * root's span of control (number of direct subordinates).
+ */
+@Data
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class SubtreeSummary implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final String employeeId;
+
+    private final int employeeCount;
+
+    private final BigDecimal salaryTotal;
+
+    private final int maxDepth;
+
+    private final int spanOfControl;
+
+}
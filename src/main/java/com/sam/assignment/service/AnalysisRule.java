@@ -0,0 +1,66 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.Parameter;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A per-employee rule evaluated by the fused analysis pass of {@link OrgHierarchy#analyse}. Every rule
+ * sees each employee once, after the employee's salary band and reporting line length are populated,
+ * so new rules join the same traversal instead of adding another scan over the organization.
+ * Rules are evaluated concurrently when {@link Parameter#isParallel()} is set and must then be thread-safe.
+ */
+@FunctionalInterface
+public interface AnalysisRule {
+
+    /**
+     * Matches managers who are paid less than their subordinates' salary band allows.
+     */
+    AnalysisRule LEAST_PAID_MANAGER = (employee, applicationParameter) ->
+        employee.getDifferenceOfSubordinatesAverageSalary().signum() < 0;
+
+    /**
+     * Matches managers who are paid more than their subordinates' salary band allows.
+     */
+    AnalysisRule OVER_PAID_MANAGER = (employee, applicationParameter) ->
+        employee.getDifferenceOfSubordinatesAverageSalary().signum() > 0;
+
+    /**
+     * Matches employees whose reporting line is longer than the configured threshold.
+     */
+    AnalysisRule MAX_REPORTING_LINE_LENGTH = (employee, applicationParameter) ->
+        employee.getReportingLineLength() > applicationParameter.getMaxSubordinatesCount();
+
+    /**
+     * The rules of the {@link com.sam.assignment.model.Response} lists, in the order of those lists.
+     */
+    List<AnalysisRule> RESPONSE_RULES = List.of(
+        LEAST_PAID_MANAGER,
+        OVER_PAID_MANAGER,
+        MAX_REPORTING_LINE_LENGTH
+    );
+
+    /**
+     * The severity order of each {@link com.sam.assignment.model.Response} list, most severe first and ties
+     * broken by ID: the most underpaid and the most overpaid managers by the size of their difference,
+     * and the employees with the longest reporting lines.
+     */
+    List<Comparator<Employee>> RESPONSE_RANKINGS = List.of(
+        Comparator.comparing(Employee::getDifferenceOfSubordinatesAverageSalary).thenComparing(Employee::getId),
+        Comparator.comparing(Employee::getDifferenceOfSubordinatesAverageSalary).reversed().thenComparing(Employee::getId),
+        Comparator.comparing(Employee::getReportingLineLength).reversed().thenComparing(Employee::getId)
+    );
+
+    /**
+     * @param employee             the employee to evaluate
+     * @param applicationParameter parameters for application-specific calculations
+     * @return whether the employee is reported by this rule
+     */
+    boolean matches(
+        final Employee employee,
+        final Parameter applicationParameter
+    );
+
+}
@@ -0,0 +1,73 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.Response;
+import com.sam.assignment.util.SalaryBand;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Streams the results in a compact little-endian binary layout: a header ({@code magic, version}) followed
+ * by one block per response. A block holds the parameters ({@code manager-least-pay-percentage,
+ * manager-over-pay-percentage} as strings, {@code threshold-reporting-line-length} as an {@code int}) and
+ * the three lists in the order of {@link ResultWriter#LIST_NAMES}, each as an {@code int} entry count
+ * followed by its entries.
+ * <p>
+ * An entry holds the {@code id, first-name, last-name} and {@code manager-id} strings, the {@code salary}
+ * and {@code difference-of-subordinates-average-salary} as {@code long} cents and the
+ * {@code reporting-line-length} as an {@code int}. Strings are an {@code int} UTF-8 byte length followed by
+ * the bytes, with the length {@code -1} for a missing value.
+ */
+public class BinaryResultWriterImpl implements ResultWriter {
+
+    /**
+     * "ORGR" in ASCII.
+     */
+    static final int MAGIC = 0x4F524752;
+    static final int VERSION = 1;
+
+    private final ResultOutput output;
+
+    /**
+     * @param filePath the result file path, replaced if it exists
+     * @throws IOException if the result file cannot be created
+     */
+    public BinaryResultWriterImpl(
+        final String filePath) throws IOException {
+
+        this.output = new ResultOutput(filePath);
+        output.putIntLittleEndian(MAGIC);
+        output.putIntLittleEndian(VERSION);
+    }
+
+    @Override
+    public void write(
+        final Response<Employee> response) throws IOException {
+
+        final List<List<Employee>> lists = ResultWriter.lists(response);
+        output.putLengthPrefixedUtf8(response.getApplicationParameter().getManagerLeastPayPercentage().toPlainString());
+        output.putLengthPrefixedUtf8(response.getApplicationParameter().getManagerOverPayPercentage().toPlainString());
+        output.putIntLittleEndian(response.getApplicationParameter().getMaxSubordinatesCount());
+
+        for(List<Employee> employees : lists) {
+            output.putIntLittleEndian(employees.size());
+            for(Employee employee : employees) {
+                output.putLengthPrefixedUtf8(employee.getId());
+                output.putLengthPrefixedUtf8(employee.getFirstName());
+                output.putLengthPrefixedUtf8(employee.getLastName());
+                output.putLengthPrefixedUtf8(employee.getManagerId());
+                output.putLongLittleEndian(SalaryBand.toCents(employee.getSalary()));
+                output.putLongLittleEndian(SalaryBand.toCents(employee.getDifferenceOfSubordinatesAverageSalary()));
+                output.putIntLittleEndian(employee.getReportingLineLength());
+                output.row();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+
+}
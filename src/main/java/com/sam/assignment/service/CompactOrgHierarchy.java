@@ -0,0 +1,346 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.CompactOrg;
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.Parameter;
+import com.sam.assignment.model.Response;
+import com.sam.assignment.model.ResultWindow;
+import com.sam.assignment.util.OrdinalTopK;
+import com.sam.assignment.util.PackedIdUtil;
+import com.sam.assignment.util.ReportingLineUtil;
+import com.sam.assignment.util.SalaryBand;
+import com.sam.assignment.util.ValidationUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Builds and analyses the organizational hierarchy over a {@link CompactOrg}, producing the same
+ * results as {@link OrgHierarchyImpl} without an {@link Employee} object graph. Employees are only
+ * materialized for the CEO and for the employees reported in the {@link Response}.
+ */
+@Slf4j
+public class CompactOrgHierarchy {
+
+    private static final Comparator<Employee> EMPLOYEE_ORDER = Comparator.comparing(Employee::getId);
+
+    /**
+     * Links every employee to its manager and computes all reporting line lengths.
+     *
+     * @param org the organization to link
+     * @return the CEO, or {@code null} if there is no employee without a manager
+     * @throws IllegalArgumentException if a manager cannot be found
+     * @throws IllegalStateException    if a reporting line contains a cycle
+     */
+    public Employee buildHierarchy(
+        final CompactOrg org) {
+
+        final int size = org.size();
+        final int[] managers = new int[size];
+        int ceo = CompactOrg.NO_EMPLOYEE;
+        for(int ordinal = 0; ordinal < size; ordinal++) {
+            final long packedManagerId = org.getPackedManagerId(ordinal);
+            if(packedManagerId == PackedIdUtil.NO_ID) {
+                managers[ordinal] = CompactOrg.NO_EMPLOYEE;
+                ceo = ordinal;
+            } else {
+                final int manager = org.ordinalOf(packedManagerId);
+                if(manager == CompactOrg.NO_EMPLOYEE)
+                    throw new IllegalArgumentException(
+                        "Manager not found | employee-id : " + org.getId(ordinal) +
+                        " | manager-id : " + PackedIdUtil.decode(packedManagerId)
+                    );
+
+                managers[ordinal] = manager;
+            }
+        }
+
+        final int[] firstSubordinates = new int[size];
+        final int[] nextSiblings = new int[size];
+        Arrays.fill(firstSubordinates, CompactOrg.NO_EMPLOYEE);
+        Arrays.fill(nextSiblings, CompactOrg.NO_EMPLOYEE);
+        for(int ordinal = size - 1; ordinal >= 0; ordinal--) {
+            final int manager = managers[ordinal];
+            if(manager != CompactOrg.NO_EMPLOYEE) {
+                nextSiblings[ordinal] = firstSubordinates[manager];
+                firstSubordinates[manager] = ordinal;
+            }
+        }
+
+        final int[] reportingLineLengths = ReportingLineUtil.computeReportingLineLengths(
+            managers,
+            org::getId
+        );
+
+        org.link(managers, firstSubordinates, nextSiblings, reportingLineLengths, ceo);
+        log.info(
+            "Linked compact organization. employee-count : {} | column-bytes-per-employee : {}",
+            size,
+            size == 0 ? 0 : org.columnBytes() / size
+        );
+        return ceo == CompactOrg.NO_EMPLOYEE ? null : org.toEmployee(ceo);
+    }
+
+    /**
+     * Evaluates every manager's salary band and every employee's reporting line length in one pass,
+     * materializing only the flagged employees. Every list is sorted by employee ID.
+     *
+     * @param org                  the linked organization
+     * @param ceo                  the CEO returned by {@link #buildHierarchy(CompactOrg)}
+     * @param validationUtil       utility for validating the materialized employees
+     * @param applicationParameter parameters for application-specific calculations
+     * @return the response holding the CEO and the flagged employees
+     */
+    public Response<Employee> populateResponse(
+        final CompactOrg org,
+        final Employee ceo,
+        final ValidationUtil validationUtil,
+        final Parameter applicationParameter) {
+
+        return populateResponse(org, ceo, validationUtil, applicationParameter, ResultWindow.ALL);
+    }
+
+    /**
+     * Evaluates the organization like {@link #populateResponse(CompactOrg, Employee, ValidationUtil, Parameter)},
+     * but selects only the window of every response list with bounded heaps of ordinals, so only the
+     * employees of the window are materialized and validated.
+     *
+     * @param org                  the linked organization
+     * @param ceo                  the CEO returned by {@link #buildHierarchy(CompactOrg)}
+     * @param validationUtil       utility for validating the materialized employees
+     * @param applicationParameter parameters for application-specific calculations
+     * @param window               the wanted part of every response list
+     * @return the response holding the CEO and the flagged employees of the window
+     */
+    public Response<Employee> populateResponse(
+        final CompactOrg org,
+        final Employee ceo,
+        final ValidationUtil validationUtil,
+        final Parameter applicationParameter,
+        final ResultWindow window) {
+
+        return populateResponse(org, ceo, subordinatesAverageCents(org), validationUtil, applicationParameter, window);
+    }
+
+    /**
+     * Evaluates many scenarios against one linked organization. The subordinates' average salaries and
+     * the reporting line lengths do not depend on the parameters, so they are computed once, and every
+     * scenario is a comparison pass of its own. Scenarios are evaluated in parallel and each response
+     * holds its own materialized employees, including its own copy of the CEO.
+     *
+     * @param org            the linked organization
+     * @param validationUtil utility for validating the materialized employees
+     * @param scenarios      the parameters of every scenario
+     * @return one response per scenario, in the order of {@code scenarios}
+     */
+    public List<Response<Employee>> populateResponses(
+        final CompactOrg org,
+        final ValidationUtil validationUtil,
+        final List<Parameter> scenarios) {
+
+        return populateResponses(org, validationUtil, scenarios, ResultWindow.ALL);
+    }
+
+    /**
+     * Evaluates many scenarios like {@link #populateResponses(CompactOrg, ValidationUtil, List)}, selecting
+     * only the window of every response list.
+     *
+     * @param org            the linked organization
+     * @param validationUtil utility for validating the materialized employees
+     * @param scenarios      the parameters of every scenario
+     * @param window         the wanted part of every response list
+     * @return one response per scenario, in the order of {@code scenarios}
+     */
+    public List<Response<Employee>> populateResponses(
+        final CompactOrg org,
+        final ValidationUtil validationUtil,
+        final List<Parameter> scenarios,
+        final ResultWindow window) {
+
+        if(Objects.isNull(scenarios) || scenarios.isEmpty())
+            throw new IllegalArgumentException("Scenarios cannot be null or empty");
+
+        final long[] subordinatesAverageCents = subordinatesAverageCents(org);
+        return scenarios.parallelStream()
+            .map(scenario -> populateResponse(
+                org,
+                org.getCeo() == CompactOrg.NO_EMPLOYEE ? null : org.toEmployee(org.getCeo()),
+                subordinatesAverageCents,
+                validationUtil,
+                scenario,
+                window
+            ))
+            .toList();
+    }
+
+    /**
+     * @return the average salary in cents of the direct subordinates of every manager, or zero for
+     *         employees without subordinates
+     */
+    static long[] subordinatesAverageCents(
+        final CompactOrg org) {
+
+        if(!org.isLinked())
+            throw new IllegalStateException("The organization must be linked before it is analysed");
+
+        final int size = org.size();
+        final int[] subordinatesCounts = new int[size];
+        final long[] subordinatesAverageCents = new long[size];
+        for(int ordinal = 0; ordinal < size; ordinal++) {
+            final int manager = org.getManager(ordinal);
+            if(manager != CompactOrg.NO_EMPLOYEE) {
+                subordinatesCounts[manager]++;
+                subordinatesAverageCents[manager] = Math.addExact(subordinatesAverageCents[manager], org.getSalaryCents(ordinal));
+            }
+        }
+
+        for(int ordinal = 0; ordinal < size; ordinal++)
+            subordinatesAverageCents[ordinal] = SalaryBand.averageCents(subordinatesAverageCents[ordinal], subordinatesCounts[ordinal]);
+
+        return subordinatesAverageCents;
+    }
+
+    private Response<Employee> populateResponse(
+        final CompactOrg org,
+        final Employee ceo,
+        final long[] subordinatesAverageCents,
+        final ValidationUtil validationUtil,
+        final Parameter applicationParameter,
+        final ResultWindow window) {
+
+        if(!window.isUnbounded())
+            return populateWindowedResponse(org, ceo, subordinatesAverageCents, validationUtil, applicationParameter, window);
+
+        final int size = org.size();
+        final SalaryBand salaryBand = SalaryBand.of(applicationParameter);
+        final List<Employee> leastPaidManagers = new ArrayList<>();
+        final List<Employee> overPaidManagers = new ArrayList<>();
+        final List<Employee> maxReportingLineLengthEmployees = new ArrayList<>();
+        for(int ordinal = 0; ordinal < size; ordinal++) {
+            Employee employee = null;
+            if(org.getFirstSubordinate(ordinal) != CompactOrg.NO_EMPLOYEE) {
+                final long differenceCents = salaryBand.differenceCents(
+                    org.getSalaryCents(ordinal),
+                    subordinatesAverageCents[ordinal]
+                );
+
+                if(differenceCents != 0) {
+                    employee = materialize(org, ordinal, ceo);
+                    employee.setDifferenceOfSubordinatesAverageSalary(BigDecimal.valueOf(differenceCents, 2));
+                    (differenceCents < 0 ? leastPaidManagers : overPaidManagers).add(employee);
+                }
+            }
+
+            if(org.getReportingLineLength(ordinal) > applicationParameter.getMaxSubordinatesCount()) {
+                employee = Objects.isNull(employee) ? materialize(org, ordinal, ceo) : employee;
+                maxReportingLineLengthEmployees.add(employee);
+            }
+
+            if(Objects.nonNull(employee))
+                validationUtil.validate(employee);
+        }
+
+        // ordinals follow the file order; the lists are sorted by ID like those of the other backends
+        leastPaidManagers.sort(EMPLOYEE_ORDER);
+        overPaidManagers.sort(EMPLOYEE_ORDER);
+        maxReportingLineLengthEmployees.sort(EMPLOYEE_ORDER);
+        return new Response<>(
+            ceo,
+            applicationParameter,
+            Collections.unmodifiableList(leastPaidManagers),
+            Collections.unmodifiableList(overPaidManagers),
+            Collections.unmodifiableList(maxReportingLineLengthEmployees)
+        );
+    }
+
+    /**
+     * Offers every flagged ordinal to a bounded heap per response list, ordered by severity for a top-K
+     * window or by ID for a page, and materializes only the selected ordinals. The severity and the ID
+     * sort key are computed once per flagged ordinal and kept in the heap.
+     */
+    private Response<Employee> populateWindowedResponse(
+        final CompactOrg org,
+        final Employee ceo,
+        final long[] subordinatesAverageCents,
+        final ValidationUtil validationUtil,
+        final Parameter applicationParameter,
+        final ResultWindow window) {
+
+        final SalaryBand salaryBand = SalaryBand.of(applicationParameter);
+        final IntToLongFunction difference = ordinal -> org.getFirstSubordinate(ordinal) == CompactOrg.NO_EMPLOYEE
+            ? 0
+            : salaryBand.differenceCents(org.getSalaryCents(ordinal), subordinatesAverageCents[ordinal]);
+        final List<OrdinalTopK> selections = List.of(
+            new OrdinalTopK(window.limit()),
+            new OrdinalTopK(window.limit()),
+            new OrdinalTopK(window.limit())
+        );
+
+        // the sort keys compare IDs like String.compareTo, without decoding them
+        final long pageAfterKey = Objects.isNull(window.getPageAfter())
+            ? -1
+            : PackedIdUtil.floorSortKey(window.getPageAfter());
+        final boolean top = window.isTop();
+        for(int ordinal = 0; ordinal < org.size(); ordinal++) {
+            final long differenceCents = difference.applyAsLong(ordinal);
+            final int reportingLineLength = org.getReportingLineLength(ordinal);
+            final boolean tooLong = reportingLineLength > applicationParameter.getMaxSubordinatesCount();
+            if(differenceCents == 0 && !tooLong)
+                continue;
+
+            final long idKey = PackedIdUtil.sortKey(org.getPackedId(ordinal));
+            if(idKey <= pageAfterKey)
+                continue;
+
+            if(differenceCents < 0)
+                selections.get(0).offer(ordinal, top ? differenceCents : 0, idKey);
+            else if(differenceCents > 0)
+                selections.get(1).offer(ordinal, top ? -differenceCents : 0, idKey);
+            if(tooLong)
+                selections.get(2).offer(ordinal, top ? -reportingLineLength : 0, idKey);
+        }
+
+        final Map<Integer, Employee> materialized = new HashMap<>();
+        final List<List<Employee>> lists = new ArrayList<>();
+        for(OrdinalTopK selection : selections) {
+            final List<Employee> employees = new ArrayList<>();
+            for(int ordinal : selection.drainSorted()) {
+                employees.add(materialized.computeIfAbsent(ordinal, selected -> {
+                    final Employee employee = materialize(org, selected, ceo);
+                    final long differenceCents = difference.applyAsLong(selected);
+                    if(differenceCents != 0)
+                        employee.setDifferenceOfSubordinatesAverageSalary(BigDecimal.valueOf(differenceCents, 2));
+                    validationUtil.validate(employee);
+                    return employee;
+                }));
+            }
+            lists.add(Collections.unmodifiableList(employees));
+        }
+
+        return new Response<>(
+            ceo,
+            applicationParameter,
+            lists.get(0),
+            lists.get(1),
+            lists.get(2)
+        );
+    }
+
+    private static Employee materialize(
+        final CompactOrg org,
+        final int ordinal,
+        final Employee ceo) {
+
+        return ordinal == org.getCeo() && Objects.nonNull(ceo) ? ceo : org.toEmployee(ordinal);
+    }
+
+}
@@ -1,14 +1,23 @@
 package com.sam.assignment.service;
 
+import com.sam.assignment.model.CompactOrg;
 import com.sam.assignment.model.Employee;
 import com.sam.assignment.model.Parameter;
 import com.sam.assignment.util.ValidationUtil;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.ObjLongConsumer;
 
 public interface CsvFileReader {
 
+    /**
+     * The file path that reads the CSV records from the standard input, e.g. when piped from an export job.
+     */
+    String STANDARD_INPUT = "-";
+
     /**
      * Reads employee details from a CSV file and returns a map of employee IDs to Employee objects.
      *
@@ -20,4 +29,80 @@ public interface CsvFileReader {
     Map<String, Employee> readEmployeeDetails(
         final Parameter applicationParameter,
         final ValidationUtil validationUtil) throws IOException;
+
+    /**
+     * Reads employee details from a CSV file into a columnar {@link CompactOrg}.
+     * The default implementation converts the result of {@link #readEmployeeDetails(Parameter, ValidationUtil)}.
+     *
+     * @param applicationParameter the parameters for the application, including the file path
+     * @param validationUtil       utility for validating employee data
+     * @return the employees in columnar form, not yet linked
+     * @throws IOException if an error occurs while reading the file
+     */
+    default CompactOrg readCompactOrg(
+        final Parameter applicationParameter,
+        final ValidationUtil validationUtil) throws IOException {
+
+        final Map<String, Employee> employees = readEmployeeDetails(applicationParameter, validationUtil);
+        final CompactOrg org = new CompactOrg(employees.size());
+        employees.values().forEach(org::add);
+        return org;
+    }
+
+    /**
+     * Streams every parsed and validated employee of a CSV file to the consumer, together with its
+     * record number, without retaining it. Duplicate IDs are handed over as they occur.
+     * The default implementation hands over the result of {@link #readEmployeeDetails(Parameter, ValidationUtil)},
+     * numbering the employees in the order of that map.
+     *
+     * @param applicationParameter the parameters for the application, including the file path
+     * @param validationUtil       utility for validating employee data
+     * @param consumer             receives every employee and its record number
+     * @throws IOException if an error occurs while reading the file
+     */
+    default void streamEmployeeDetails(
+        final Parameter applicationParameter,
+        final ValidationUtil validationUtil,
+        final ObjLongConsumer<Employee> consumer) throws IOException {
+
+        long recordNumber = 1;
+        for(Employee employee : readEmployeeDetails(applicationParameter, validationUtil).values())
+            consumer.accept(employee, ++recordNumber);
+    }
+
+    /**
+     * Publishes every parsed and validated employee of a CSV file, in the order of
+     * {@link #streamEmployeeDetails(Parameter, ValidationUtil, ObjLongConsumer)}, so subscribers process
+     * the employees while the file is still being read. Submitting blocks while the buffer of a subscriber
+     * is full, so a slow subscriber slows the reader down instead of letting the employees pile up. The
+     * publisher is closed at the end of the file, or exceptionally if reading fails.
+     *
+     * @param applicationParameter the parameters for the application, including the file path
+     * @param validationUtil       utility for validating employee data
+     * @param publisher            receives every employee
+     * @throws IOException           if an error occurs while reading the file
+     * @throws CancellationException if every subscriber cancelled its subscription before the end of the file
+     */
+    default void publishEmployeeDetails(
+        final Parameter applicationParameter,
+        final ValidationUtil validationUtil,
+        final SubmissionPublisher<Employee> publisher) throws IOException {
+
+        try {
+            streamEmployeeDetails(
+                applicationParameter,
+                validationUtil,
+                (employee, recordNumber) -> {
+                    if(!publisher.hasSubscribers())
+                        throw new CancellationException("Every subscriber cancelled | record-number : " + recordNumber);
+
+                    publisher.submit(employee);
+                }
+            );
+            publisher.close();
+        } catch (IOException | RuntimeException e) {
+            publisher.closeExceptionally(e);
+            throw e;
+        }
+    }
 }
@@ -1,23 +1,53 @@
 package com.sam.assignment.service;
 
+import com.sam.assignment.model.CompactOrg;
 import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.PackedEmployeeMap;
 import com.sam.assignment.model.Parameter;
 import com.sam.assignment.util.ValidationUtil;
 import lombok.extern.slf4j.Slf4j;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Objects;
+import java.util.function.ObjLongConsumer;
 
 @Slf4j
 public class CsvFileReaderImpl implements CsvFileReader {
 
+    static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    private static final int INFLATED_BUFFER_COUNT = 4;
+
+    private final Charset charset;
+    private final int bufferSize;
+
+    public CsvFileReaderImpl() {
+        this(StandardCharsets.UTF_8, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CsvFileReaderImpl(
+        final Charset charset,
+        final int bufferSize) {
+
+        if(Objects.isNull(charset))
+            throw new IllegalArgumentException("Charset cannot be null");
+
+        if(bufferSize < 1)
+            throw new IllegalArgumentException("Buffer size must be positive");
+
+        this.charset = charset;
+        this.bufferSize = bufferSize;
+    }
+
     /**
      * Reads employee details from a CSV file and returns a map of employee IDs to Employee objects.
+     * The file is streamed through a reusable byte buffer and every record is tokenized in place by
+     * an {@link EmployeeCsvParser}, so no per-line String or split array is created. The employees are
+     * indexed by packed ID in a {@link PackedEmployeeMap}, in file order.
      *
      * @param applicationParameter the parameters for the application, including the file path
      * @param validationUtil       utility for validating employee data
@@ -29,31 +59,15 @@ public class CsvFileReaderImpl implements CsvFileReader {
         final Parameter applicationParameter,
         final ValidationUtil validationUtil) throws IOException {
 
-        final Map<String, Employee> employees = new ConcurrentHashMap<>();
-        int count = 0;
-        try (BufferedReader br = new BufferedReader(new FileReader(applicationParameter.getFilePath()))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                count = count + 1;
-                if(count == 1)
-                    continue;
-
-                String[] parts = line.split(",");
-                Employee employee = new Employee(
-                    parts[0].trim(),
-                    parts[1].trim(),
-                    parts[2].trim(),
-                    parts.length == 4 ? null : parts[4].trim(),
-                    BigDecimal.valueOf(Double.parseDouble(parts[3].trim()))
-                            .setScale(2, RoundingMode.HALF_UP),
-                    BigDecimal.ZERO,
-                    0
-                );
-
-                validationUtil.validate(employee);
-                employees.put(employee.getId(), employee);
+        final PackedEmployeeMap employees = new PackedEmployeeMap(0);
+        readRecords(
+            applicationParameter.getFilePath(),
+            validationUtil,
+            (employee, recordNumber) -> {
+                if(!employees.add(employee))
+                    logDuplicate(employee, recordNumber);
             }
-        }
+        );
 
         log.info(
             "Successfully read Employee records from CSV File. total-record-count : {} | file-path : {}",
@@ -63,4 +77,142 @@ public class CsvFileReaderImpl implements CsvFileReader {
         return employees;
     }
 
+    /**
+     * Reads employee details from a CSV file straight into a columnar {@link CompactOrg}, so no
+     * {@link Employee} is retained once it has been parsed and validated.
+     *
+     * @param applicationParameter the parameters for the application, including the file path
+     * @param validationUtil       utility for validating employee data
+     * @return the employees in columnar form, not yet linked
+     * @throws IOException if an error occurs while reading the file
+     */
+    @Override
+    public CompactOrg readCompactOrg(
+        final Parameter applicationParameter,
+        final ValidationUtil validationUtil) throws IOException {
+
+        final CompactOrg org = new CompactOrg(0);
+        readRecords(
+            applicationParameter.getFilePath(),
+            validationUtil,
+            (employee, recordNumber) -> {
+                final int size = org.size();
+                if(org.add(employee) < size)
+                    logDuplicate(employee, recordNumber);
+            }
+        );
+
+        log.info(
+            "Successfully read Employee records from CSV File into compact organization. total-record-count : {} | file-path : {}",
+            org.size(),
+            applicationParameter.getFilePath()
+        );
+        return org;
+    }
+
+    /**
+     * Streams every parsed and validated employee to the consumer straight from the reusable byte buffer,
+     * in file order, so memory use does not grow with the file size.
+     *
+     * @param applicationParameter the parameters for the application, including the file path
+     * @param validationUtil       utility for validating employee data
+     * @param consumer             receives every employee and its record number
+     * @throws IOException if an error occurs while reading the file
+     */
+    @Override
+    public void streamEmployeeDetails(
+        final Parameter applicationParameter,
+        final ValidationUtil validationUtil,
+        final ObjLongConsumer<Employee> consumer) throws IOException {
+
+        readRecords(
+            applicationParameter.getFilePath(),
+            validationUtil,
+            consumer
+        );
+    }
+
+    /**
+     * Streams the file through a reusable byte buffer and hands every parsed and validated employee,
+     * together with its record number, to the consumer. The first record is the header and is skipped.
+     * A gzip-compressed file is inflated on a background thread by an {@link InflatingInputStream}, so it
+     * does not have to be decompressed to disk first.
+     */
+    private void readRecords(
+        final String filePath,
+        final ValidationUtil validationUtil,
+        final ObjLongConsumer<Employee> consumer) throws IOException {
+
+        final EmployeeCsvParser parser = new EmployeeCsvParser(charset);
+        long recordNumber = 0;
+        try (InputStream inputStream = InflatingInputStream.open(filePath, bufferSize, INFLATED_BUFFER_COUNT)) {
+            byte[] buffer = new byte[bufferSize];
+            ByteBuffer view = ByteBuffer.wrap(buffer);
+            int filled = 0;
+            boolean endOfFile = false;
+            while(!endOfFile) {
+                final int read = inputStream.read(buffer, filled, buffer.length - filled);
+                if(read < 0)
+                    endOfFile = true;
+                else
+                    filled += read;
+
+                int start = 0;
+                int end;
+                while((end = EmployeeCsvParser.findRecordEnd(view, start, filled)) >= 0) {
+                    readRecord(parser, view, start, end, ++recordNumber, validationUtil, consumer);
+                    start = end + 1;
+                }
+
+                if(endOfFile) {
+                    if(start < filled)
+                        readRecord(parser, view, start, filled, ++recordNumber, validationUtil, consumer);
+                } else {
+                    filled -= start;
+                    System.arraycopy(buffer, start, buffer, 0, filled);
+                    if(filled == buffer.length) {
+                        final byte[] grown = new byte[buffer.length * 2];
+                        System.arraycopy(buffer, 0, grown, 0, filled);
+                        buffer = grown;
+                        view = ByteBuffer.wrap(buffer);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses and validates one record. The first record is the header and is skipped.
+     */
+    private void readRecord(
+        final EmployeeCsvParser parser,
+        final ByteBuffer view,
+        final int start,
+        final int end,
+        final long recordNumber,
+        final ValidationUtil validationUtil,
+        final ObjLongConsumer<Employee> consumer) {
+
+        if(recordNumber == 1)
+            return;
+
+        final Employee employee = parser.parse(view, start, end, recordNumber);
+        if(Objects.isNull(employee))
+            return;
+
+        validationUtil.validate(employee);
+        consumer.accept(employee, recordNumber);
+    }
+
+    private static void logDuplicate(
+        final Employee employee,
+        final long recordNumber) {
+
+        log.warn(
+            "Duplicate employee ID found, the last record wins. employee-id : {} | record-number : {}",
+            employee.getId(),
+            recordNumber
+        );
+    }
+
 }
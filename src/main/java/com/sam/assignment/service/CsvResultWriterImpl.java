@@ -0,0 +1,70 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.Response;
+import com.sam.assignment.util.SalaryBand;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Streams the results as CSV: a header row followed by one row per flagged manager or employee, holding
+ * the parameters of its response, its list name and the employee fields. Amounts have two fraction digits.
+ */
+public class CsvResultWriterImpl implements ResultWriter {
+
+    static final String HEADER = "managerLeastPayPercentage,managerOverPayPercentage,thresholdReportingLineLength,"
+        + "list,id,firstName,lastName,managerId,salary,differenceOfSubordinatesAverageSalary,reportingLineLength\n";
+
+    private final ResultOutput output;
+
+    /**
+     * @param filePath the result file path, replaced if it exists
+     * @throws IOException if the result file cannot be created
+     */
+    public CsvResultWriterImpl(
+        final String filePath) throws IOException {
+
+        this.output = new ResultOutput(filePath);
+        output.putBytes(HEADER.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Override
+    public void write(
+        final Response<Employee> response) throws IOException {
+
+        final List<List<Employee>> lists = ResultWriter.lists(response);
+        final String parameters = response.getApplicationParameter().getManagerLeastPayPercentage().toPlainString() + ','
+            + response.getApplicationParameter().getManagerOverPayPercentage().toPlainString() + ','
+            + response.getApplicationParameter().getMaxSubordinatesCount() + ',';
+
+        for(int list = 0; list < lists.size(); list++) {
+            final byte[] prefix = (parameters + LIST_NAMES.get(list) + ',').getBytes(StandardCharsets.UTF_8);
+            for(Employee employee : lists.get(list)) {
+                output.putBytes(prefix);
+                output.putCsvField(employee.getId());
+                output.putByte(',');
+                output.putCsvField(employee.getFirstName());
+                output.putByte(',');
+                output.putCsvField(employee.getLastName());
+                output.putByte(',');
+                output.putCsvField(employee.getManagerId());
+                output.putByte(',');
+                output.putCents(SalaryBand.toCents(employee.getSalary()));
+                output.putByte(',');
+                output.putCents(SalaryBand.toCents(employee.getDifferenceOfSubordinatesAverageSalary()));
+                output.putByte(',');
+                output.putLong(employee.getReportingLineLength());
+                output.putByte('\n');
+                output.row();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+
+}
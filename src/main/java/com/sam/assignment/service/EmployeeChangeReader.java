@@ -0,0 +1,146 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.EmployeeChange;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reads a change file, i.e. the delta of the employee records since the previous run, into a batch of
+ * {@link EmployeeChange}s. The file has a header row and one change per row, in the layout of the employee
+ * CSV file preceded by the kind of change:
+ * <pre>
+ * change,Id,firstName,lastName,salary,managerId
+ * UPSERT,0000000400,Jane,Roe,52000,0000000124
+ * DELETE,0000000305
+ * </pre>
+ * An {@code UPSERT} inserts or replaces the employee, including a move to another manager, and a
+ * {@code DELETE} only needs the ID. The employee fields are parsed by an {@link EmployeeCsvParser}.
+ * <p>
+ * This class is not thread-safe; use one reader per thread.
+ */
+@Slf4j
+public class EmployeeChangeReader {
+
+    private static final byte COMMA = ',';
+
+    private final Charset charset;
+    private final EmployeeCsvParser parser;
+
+    public EmployeeChangeReader() {
+        this(StandardCharsets.UTF_8);
+    }
+
+    public EmployeeChangeReader(
+        final Charset charset) {
+
+        if(Objects.isNull(charset))
+            throw new IllegalArgumentException("Charset cannot be null");
+
+        this.charset = charset;
+        this.parser = new EmployeeCsvParser(charset);
+    }
+
+    /**
+     * Reads every change of a change file, in file order.
+     *
+     * @param filePath the change file path
+     * @return the changes of the file
+     * @throws IOException              if an error occurs while reading the file
+     * @throws IllegalArgumentException if a row holds an unknown kind of change or no employee ID
+     */
+    public List<EmployeeChange> readEmployeeChanges(
+        final String filePath) throws IOException {
+
+        final byte[] bytes = Files.readAllBytes(Path.of(filePath));
+        final ByteBuffer view = ByteBuffer.wrap(bytes);
+        final List<EmployeeChange> changes = new ArrayList<>();
+        long recordNumber = 0;
+        int start = 0;
+        while(start < bytes.length) {
+            int end = EmployeeCsvParser.findRecordEnd(view, start, bytes.length);
+            if(end < 0)
+                end = bytes.length;
+
+            if(++recordNumber > 1) {
+                final EmployeeChange change = readChange(view, start, end, recordNumber);
+                if(Objects.nonNull(change))
+                    changes.add(change);
+            }
+            start = end + 1;
+        }
+
+        log.info(
+            "Successfully read Employee changes from CSV File. total-change-count : {} | file-path : {}",
+            changes.size(),
+            filePath
+        );
+        return changes;
+    }
+
+    /**
+     * Reads one change, or returns {@code null} if the record is blank.
+     */
+    private EmployeeChange readChange(
+        final ByteBuffer view,
+        final int start,
+        final int end,
+        final long recordNumber) {
+
+        final int typeEnd = indexOf(view, COMMA, start, end);
+        final String type = text(view, start, typeEnd);
+        if(type.isEmpty() && typeEnd == end)
+            return null;
+
+        if(EmployeeChange.Type.DELETE.name().equalsIgnoreCase(type)) {
+            final int idEnd = typeEnd < end ? indexOf(view, COMMA, typeEnd + 1, end) : end;
+            final String id = typeEnd < end ? text(view, typeEnd + 1, idEnd) : "";
+            if(id.isEmpty())
+                throw new IllegalArgumentException("Employee ID is required | record-number : " + recordNumber);
+
+            return EmployeeChange.delete(id);
+        }
+
+        if(!EmployeeChange.Type.UPSERT.name().equalsIgnoreCase(type))
+            throw new IllegalArgumentException(
+                "Unknown employee change | record-number : " + recordNumber + " | change : " + type
+            );
+
+        final Employee employee = typeEnd < end ? parser.parse(view, typeEnd + 1, end, recordNumber) : null;
+        if(Objects.isNull(employee))
+            throw new IllegalArgumentException("Employee ID is required | record-number : " + recordNumber);
+
+        return EmployeeChange.upsert(employee);
+    }
+
+    private static int indexOf(
+        final ByteBuffer view,
+        final byte target,
+        final int start,
+        final int end) {
+
+        for(int position = start; position < end; position++)
+            if(view.get(position) == target)
+                return position;
+
+        return end;
+    }
+
+    private String text(
+        final ByteBuffer view,
+        final int start,
+        final int end) {
+
+        return new String(view.array(), start, end - start, charset).trim();
+    }
+
+}
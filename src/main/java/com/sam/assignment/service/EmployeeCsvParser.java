@@ -0,0 +1,321 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.Employee;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Objects;
+
+/**
+ * Byte-level tokenizer for employee CSV records ({@code Id,firstName,lastName,salary,managerId}).
+ * Fields are located directly in the input bytes, so no intermediate line, split array or trimmed
+ * Strings are created; only the final field Strings of each {@link Employee} are allocated.
+ * Double-quoted fields (with {@code ""} as an escaped quote) are supported, and salaries are
+ * converted exactly to cents with half-up rounding.
+ * <p>
+ * Instances keep per-record scratch state and are not thread-safe; use one parser per thread.
+ */
+public final class EmployeeCsvParser {
+
+    private static final byte COMMA = ',';
+    private static final byte QUOTE = '"';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte LINE_FEED = '\n';
+
+    private static final int ID = 0;
+    private static final int FIRST_NAME = 1;
+    private static final int LAST_NAME = 2;
+    private static final int SALARY = 3;
+    private static final int MANAGER_ID = 4;
+    private static final int FIELD_COUNT = 5;
+
+    private static final int MAX_SALARY_INTEGER_DIGITS = 16;
+
+    private final Charset charset;
+    private final int[] fieldStart = new int[FIELD_COUNT];
+    private final int[] fieldEnd = new int[FIELD_COUNT];
+    private final boolean[] fieldQuoted = new boolean[FIELD_COUNT];
+    private byte[] scratch = new byte[64];
+
+    public EmployeeCsvParser(
+        final Charset charset) {
+
+        if(Objects.isNull(charset))
+            throw new IllegalArgumentException("Charset cannot be null");
+
+        this.charset = charset;
+    }
+
+    /**
+     * Finds the line feed terminating the record that starts at the given position, ignoring line
+     * feeds inside quoted fields.
+     *
+     * @param buffer the buffer holding the CSV bytes
+     * @param start  the position of the first byte of the record
+     * @param limit  the position after the last readable byte
+     * @return the position of the terminating line feed, or -1 if the record is not complete before the limit
+     */
+    public static int findRecordEnd(
+        final ByteBuffer buffer,
+        final int start,
+        final int limit) {
+
+        boolean quoted = false;
+        for(int position = start; position < limit; position++) {
+            final byte current = buffer.get(position);
+            if(current == QUOTE)
+                quoted = !quoted;
+            else if(current == LINE_FEED && !quoted)
+                return position;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Parses one record into an {@link Employee}. A trailing carriage return is ignored.
+     *
+     * @param buffer       the buffer holding the CSV bytes
+     * @param start        the position of the first byte of the record
+     * @param end          the position after the last byte of the record, excluding the line feed
+     * @param recordNumber the number of the record in its source, used for error reporting
+     * @return the parsed employee, or {@code null} if the record is blank
+     * @throws IllegalArgumentException if the record does not contain four or five fields
+     * @throws NumberFormatException    if the salary is not a plain decimal number
+     */
+    public Employee parse(
+        final ByteBuffer buffer,
+        final int start,
+        final int end,
+        final long recordNumber) {
+
+        int recordEnd = end;
+        if(recordEnd > start && buffer.get(recordEnd - 1) == CARRIAGE_RETURN)
+            recordEnd--;
+
+        if(isBlank(buffer, start, recordEnd))
+            return null;
+
+        final int fieldCount = tokenize(buffer, start, recordEnd, recordNumber);
+        if(fieldCount < SALARY + 1)
+            throw new IllegalArgumentException(
+                "Malformed employee record, expected at least 4 fields | record-number : " + recordNumber +
+                " | field-count : " + fieldCount
+            );
+
+        final String managerId = fieldCount > MANAGER_ID ? text(buffer, MANAGER_ID) : null;
+        return new Employee(
+            text(buffer, ID),
+            text(buffer, FIRST_NAME),
+            text(buffer, LAST_NAME),
+            Objects.isNull(managerId) || managerId.isEmpty() ? null : managerId,
+            BigDecimal.valueOf(cents(buffer, recordNumber), 2),
+            BigDecimal.ZERO,
+            0
+        );
+    }
+
+    /**
+     * Converts a plain decimal number ({@code [+-]digits[.digits]}) to cents, rounding half-up on the
+     * third decimal digit without going through floating point.
+     *
+     * @param buffer the buffer holding the number
+     * @param start  the position of the first byte of the number
+     * @param end    the position after the last byte of the number
+     * @return the amount in cents
+     * @throws NumberFormatException if the bytes are not a plain decimal number or do not fit
+     */
+    public static long parseCents(
+        final ByteBuffer buffer,
+        final int start,
+        final int end) {
+
+        int position = start;
+        boolean negative = false;
+        if(position < end && (buffer.get(position) == '-' || buffer.get(position) == '+'))
+            negative = buffer.get(position++) == '-';
+
+        long units = 0;
+        int integerDigits = 0;
+        while(position < end && isDigit(buffer.get(position))) {
+            if(++integerDigits > MAX_SALARY_INTEGER_DIGITS)
+                throw numberFormatException(buffer, start, end);
+            units = units * 10 + (buffer.get(position++) - '0');
+        }
+
+        long fraction = 0;
+        int fractionDigits = 0;
+        boolean roundUp = false;
+        if(position < end && buffer.get(position) == '.') {
+            position++;
+            while(position < end && isDigit(buffer.get(position))) {
+                final int digit = buffer.get(position++) - '0';
+                if(fractionDigits < 2)
+                    fraction = fraction * 10 + digit;
+                else if(fractionDigits == 2)
+                    roundUp = digit >= 5;
+                fractionDigits++;
+            }
+        }
+
+        if(position != end || integerDigits + fractionDigits == 0)
+            throw numberFormatException(buffer, start, end);
+
+        for(int scale = Math.min(fractionDigits, 2); scale < 2; scale++)
+            fraction = fraction * 10;
+
+        final long cents = units * 100 + fraction + (roundUp ? 1 : 0);
+        return negative ? -cents : cents;
+    }
+
+    /**
+     * Splits the record into field boundaries, honouring double-quoted fields.
+     *
+     * @return the number of fields found (extra fields beyond the managerId are rejected)
+     */
+    private int tokenize(
+        final ByteBuffer buffer,
+        final int start,
+        final int end,
+        final long recordNumber) {
+
+        int field = 0;
+        int position = start;
+        while(true) {
+            if(field == FIELD_COUNT)
+                throw new IllegalArgumentException(
+                    "Malformed employee record, expected at most 5 fields | record-number : " + recordNumber
+                );
+
+            position = skipWhitespace(buffer, position, end);
+            if(position < end && buffer.get(position) == QUOTE) {
+                final int contentStart = ++position;
+                while(position < end) {
+                    if(buffer.get(position) == QUOTE) {
+                        if(position + 1 < end && buffer.get(position + 1) == QUOTE)
+                            position += 2;
+                        else
+                            break;
+                    } else {
+                        position++;
+                    }
+                }
+                if(position >= end)
+                    throw new IllegalArgumentException(
+                        "Malformed employee record, unterminated quoted field | record-number : " + recordNumber
+                    );
+
+                fieldStart[field] = contentStart;
+                fieldEnd[field] = position;
+                fieldQuoted[field] = true;
+                position = skipWhitespace(buffer, position + 1, end);
+                if(position < end && buffer.get(position) != COMMA)
+                    throw new IllegalArgumentException(
+                        "Malformed employee record, unexpected data after quoted field | record-number : " + recordNumber
+                    );
+            } else {
+                final int contentStart = position;
+                while(position < end && buffer.get(position) != COMMA)
+                    position++;
+
+                int contentEnd = position;
+                while(contentEnd > contentStart && isWhitespace(buffer.get(contentEnd - 1)))
+                    contentEnd--;
+
+                fieldStart[field] = contentStart;
+                fieldEnd[field] = contentEnd;
+                fieldQuoted[field] = false;
+            }
+
+            field++;
+            if(position >= end)
+                return field;
+            position++;
+        }
+    }
+
+    private String text(
+        final ByteBuffer buffer,
+        final int field) {
+
+        final int start = fieldStart[field];
+        final int length = fieldEnd[field] - start;
+        if(!fieldQuoted[field] && buffer.hasArray())
+            return new String(buffer.array(), buffer.arrayOffset() + start, length, charset);
+
+        ensureScratchCapacity(length);
+        int size = 0;
+        for(int position = start; position < fieldEnd[field]; position++) {
+            final byte current = buffer.get(position);
+            scratch[size++] = current;
+            if(current == QUOTE && fieldQuoted[field])
+                position++;
+        }
+
+        return new String(scratch, 0, size, charset);
+    }
+
+    private long cents(
+        final ByteBuffer buffer,
+        final long recordNumber) {
+
+        try {
+            return parseCents(buffer, fieldStart[SALARY], fieldEnd[SALARY]);
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException(e.getMessage() + " | record-number : " + recordNumber);
+        }
+    }
+
+    private void ensureScratchCapacity(
+        final int length) {
+
+        if(scratch.length < length)
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+    }
+
+    private static boolean isBlank(
+        final ByteBuffer buffer,
+        final int start,
+        final int end) {
+
+        return skipWhitespace(buffer, start, end) == end;
+    }
+
+    private static int skipWhitespace(
+        final ByteBuffer buffer,
+        final int start,
+        final int end) {
+
+        int position = start;
+        while(position < end && isWhitespace(buffer.get(position)))
+            position++;
+
+        return position;
+    }
+
+    private static boolean isWhitespace(
+        final byte value) {
+
+        return value == ' ' || value == '\t';
+    }
+
+    private static boolean isDigit(
+        final byte value) {
+
+        return value >= '0' && value <= '9';
+    }
+
+    private static NumberFormatException numberFormatException(
+        final ByteBuffer buffer,
+        final int start,
+        final int end) {
+
+        final StringBuilder value = new StringBuilder(end - start);
+        for(int position = start; position < end; position++)
+            value.append((char) (buffer.get(position) & 0xFF));
+
+        return new NumberFormatException("For input string: \"" + value + "\"");
+    }
+
+}
@@ -0,0 +1,522 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.Parameter;
+import com.sam.assignment.model.Response;
+import com.sam.assignment.util.LongIntHashMap;
+import com.sam.assignment.util.PackedIdUtil;
+import com.sam.assignment.util.ReportingLineUtil;
+import com.sam.assignment.util.SalaryBand;
+import com.sam.assignment.util.ValidationUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Builds and analyses an organization that does not fit in memory, keeping only a few primitive arrays
+ * per employee and the flagged employees on the heap. The analysis takes four passes:
+ * <ol>
+ *     <li>Spill: the CSV file is streamed once. Every employee gets its position in the file as ordinal and is
+ *     written as a definition record to the partition of its ID and, unless it is a root, as a reference
+ *     record to the partition of its manager's ID.</li>
+ *     <li>Join: the partitions are processed one at a time. The definitions of a partition are loaded into a
+ *     hash map, and its references, which only name managers defined in the same partition, resolve the
+ *     manager ordinal of every employee and are grouped by manager into the sum and count of the
+ *     subordinates' salaries, so every manager's salary band is evaluated within its partition.</li>
+ *     <li>Depth: the reporting line lengths are computed from the in-memory array of manager ordinals.</li>
+ *     <li>Materialize: the definitions are streamed again and only the CEO and the flagged employees become
+ *     {@link Employee} objects.</li>
+ * </ol>
+ * Besides one partition, the heap holds three {@code int}s per employee while the depths are computed
+ * (manager ordinals, reporting line lengths and the walk path), one bit per employee marking superseded
+ * duplicates, an ordinal and a difference per flagged manager, and the materialized flagged employees.
+ * As with the compact backend, IDs must fit a packed ID, the last record of a duplicate ID wins, and the
+ * response lists are ordered by employee ID.
+ */
+@Slf4j
+public class ExternalOrgHierarchy {
+
+    public static final int DEFAULT_PARTITION_COUNT = 64;
+
+    private static final int SPILL_BUFFER_SIZE = 1 << 16;
+
+    private final CsvFileReader csvFileReader;
+    private final Path spillDirectory;
+    private final int partitionCount;
+
+    /**
+     * @param csvFileReader  service for streaming employee details from a CSV file
+     * @param spillDirectory the directory under which the spill files of an analysis are created and deleted
+     * @param partitionCount the number of partitions, chosen so that one partition fits in memory
+     */
+    public ExternalOrgHierarchy(
+        final CsvFileReader csvFileReader,
+        final Path spillDirectory,
+        final int partitionCount) {
+
+        if(Objects.isNull(csvFileReader))
+            throw new IllegalArgumentException("CsvFileReader cannot be null");
+
+        if(Objects.isNull(spillDirectory))
+            throw new IllegalArgumentException("Spill directory cannot be null");
+
+        if(partitionCount < 1)
+            throw new IllegalArgumentException("Spill partition count must be at least 1");
+
+        this.csvFileReader = csvFileReader;
+        this.spillDirectory = spillDirectory;
+        this.partitionCount = partitionCount;
+    }
+
+    /**
+     * Reads, builds and analyses the organization of the CSV file through spill files, which are deleted
+     * before returning.
+     *
+     * @param applicationParameter parameters for application-specific calculations, including the file path
+     * @param validationUtil       utility for validating the employee records and the materialized employees
+     * @return the response holding the CEO and the flagged employees, every list ordered by employee ID
+     * @throws IOException              if the CSV file or the spill files cannot be read or written
+     * @throws IllegalArgumentException if an ID cannot be packed or a manager is not found
+     * @throws IllegalStateException    if a reporting line contains a cycle
+     */
+    public Response<Employee> populateResponse(
+        final Parameter applicationParameter,
+        final ValidationUtil validationUtil) throws IOException {
+
+        final Path directory = Files.createTempDirectory(spillDirectory, "org-spill-");
+        try {
+            final Spill spill = spill(directory, applicationParameter, validationUtil);
+            final BitSet superseded = supersededOrdinals(spill);
+            final int[] managerOrdinals = new int[spill.employeeCount];
+            final FlaggedManagers[] flaggedManagers = join(spill, superseded, managerOrdinals, SalaryBand.of(applicationParameter));
+
+            int ceo = ReportingLineUtil.NO_MANAGER;
+            for(int ordinal = 0; ordinal < spill.employeeCount; ordinal++)
+                if(managerOrdinals[ordinal] == ReportingLineUtil.NO_MANAGER && !superseded.get(ordinal))
+                    ceo = ordinal;
+
+            final long startNanos = System.nanoTime();
+            final int[] reportingLineLengths = ReportingLineUtil.computeReportingLineLengths(
+                managerOrdinals,
+                ordinal -> idOf(spill, ordinal)
+            );
+            log.info(
+                "Successfully computed reporting line lengths from manager ordinals | employee-count : {} | elapsed-millis : {}",
+                spill.employeeCount,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+            );
+
+            return materialize(spill, superseded, flaggedManagers, reportingLineLengths, ceo, validationUtil, applicationParameter);
+        } finally {
+            delete(directory);
+        }
+    }
+
+    /**
+     * Streams the CSV file into the definition and reference partitions.
+     */
+    private Spill spill(
+        final Path directory,
+        final Parameter applicationParameter,
+        final ValidationUtil validationUtil) throws IOException {
+
+        final long startNanos = System.nanoTime();
+        final Spill spill = new Spill(directory, partitionCount);
+        final DataOutputStream[] definitions = new DataOutputStream[partitionCount];
+        final DataOutputStream[] references = new DataOutputStream[partitionCount];
+        try {
+            for(int partition = 0; partition < partitionCount; partition++) {
+                definitions[partition] = output(spill.definitions(partition));
+                references[partition] = output(spill.references(partition));
+            }
+
+            csvFileReader.streamEmployeeDetails(applicationParameter, validationUtil, (employee, recordNumber) -> {
+                if(spill.employeeCount == Integer.MAX_VALUE)
+                    throw new IllegalArgumentException("Too many employees for one organization | record-number : " + recordNumber);
+
+                final long packedId = PackedIdUtil.encode(employee.getId());
+                if(packedId == PackedIdUtil.NO_ID)
+                    throw new IllegalArgumentException("Employee ID cannot be empty | record-number : " + recordNumber);
+
+                final long packedManagerId = PackedIdUtil.encode(employee.getManagerId());
+                final long salaryCents = SalaryBand.toCents(employee.getSalary());
+                final int ordinal = spill.employeeCount++;
+                try {
+                    final int definitionPartition = partition(packedId);
+                    final DataOutputStream definition = definitions[definitionPartition];
+                    definition.writeLong(packedId);
+                    definition.writeInt(ordinal);
+                    definition.writeLong(packedManagerId);
+                    definition.writeLong(salaryCents);
+                    definition.writeUTF(Objects.toString(employee.getFirstName(), ""));
+                    definition.writeUTF(Objects.toString(employee.getLastName(), ""));
+                    spill.definitionCounts[definitionPartition]++;
+
+                    if(packedManagerId != PackedIdUtil.NO_ID) {
+                        final int referencePartition = partition(packedManagerId);
+                        final DataOutputStream reference = references[referencePartition];
+                        reference.writeLong(packedManagerId);
+                        reference.writeInt(ordinal);
+                        reference.writeLong(salaryCents);
+                        reference.writeLong(packedId);
+                        spill.referenceCounts[referencePartition]++;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            close(definitions);
+            close(references);
+        }
+
+        log.info(
+            "Successfully spilled Employee records into partitions | employee-count : {} | partition-count : {} | elapsed-millis : {}",
+            spill.employeeCount,
+            partitionCount,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+        );
+        return spill;
+    }
+
+    /**
+     * @return the ordinals of the records that a later record with the same ID replaces
+     */
+    private BitSet supersededOrdinals(
+        final Spill spill) throws IOException {
+
+        final BitSet superseded = new BitSet(spill.employeeCount);
+        for(int partition = 0; partition < partitionCount; partition++) {
+            final LongIntHashMap ordinals = new LongIntHashMap(spill.definitionCounts[partition]);
+            try (DataInputStream definitions = input(spill.definitions(partition))) {
+                for(int record = 0; record < spill.definitionCounts[partition]; record++) {
+                    final Definition definition = new Definition(definitions);
+                    final int previous = ordinals.put(definition.packedId, definition.ordinal);
+                    if(previous != LongIntHashMap.MISSING) {
+                        superseded.set(previous);
+                        log.warn(
+                            "Duplicate employee ID found, the last record wins. employee-id : {}",
+                            PackedIdUtil.decode(definition.packedId)
+                        );
+                    }
+                }
+            }
+        }
+        return superseded;
+    }
+
+    /**
+     * Resolves the manager ordinal of every employee and evaluates the salary band of every manager,
+     * one partition at a time.
+     *
+     * @return the managers with a non-zero salary band difference, per partition in definition order
+     */
+    private FlaggedManagers[] join(
+        final Spill spill,
+        final BitSet superseded,
+        final int[] managerOrdinals,
+        final SalaryBand salaryBand) throws IOException {
+
+        final long startNanos = System.nanoTime();
+        Arrays.fill(managerOrdinals, ReportingLineUtil.NO_MANAGER);
+        final FlaggedManagers[] flaggedManagers = new FlaggedManagers[partitionCount];
+        int flaggedManagerCount = 0;
+        for(int partition = 0; partition < partitionCount; partition++) {
+            final int definitionCount = spill.definitionCounts[partition];
+            final LongIntHashMap slots = new LongIntHashMap(definitionCount);
+            final int[] ordinals = new int[definitionCount];
+            final long[] salaryCents = new long[definitionCount];
+            int slotCount = 0;
+            try (DataInputStream definitions = input(spill.definitions(partition))) {
+                for(int record = 0; record < definitionCount; record++) {
+                    final Definition definition = new Definition(definitions);
+                    if(superseded.get(definition.ordinal))
+                        continue;
+
+                    slots.put(definition.packedId, slotCount);
+                    ordinals[slotCount] = definition.ordinal;
+                    salaryCents[slotCount++] = definition.salaryCents;
+                }
+            }
+
+            final long[] subordinatesSalaryCents = new long[slotCount];
+            final int[] subordinatesCounts = new int[slotCount];
+            try (DataInputStream references = input(spill.references(partition))) {
+                for(int record = 0; record < spill.referenceCounts[partition]; record++) {
+                    final long packedManagerId = references.readLong();
+                    final int ordinal = references.readInt();
+                    final long subordinateSalaryCents = references.readLong();
+                    final long packedId = references.readLong();
+                    if(superseded.get(ordinal))
+                        continue;
+
+                    final int slot = slots.get(packedManagerId);
+                    if(slot == LongIntHashMap.MISSING)
+                        throw new IllegalArgumentException(
+                            "Manager not found | employee-id : " + PackedIdUtil.decode(packedId) +
+                            " | manager-id : " + PackedIdUtil.decode(packedManagerId)
+                        );
+
+                    managerOrdinals[ordinal] = ordinals[slot];
+                    subordinatesSalaryCents[slot] = Math.addExact(subordinatesSalaryCents[slot], subordinateSalaryCents);
+                    subordinatesCounts[slot]++;
+                }
+            }
+
+            flaggedManagers[partition] = new FlaggedManagers();
+            for(int slot = 0; slot < slotCount; slot++) {
+                if(subordinatesCounts[slot] == 0)
+                    continue;
+
+                final long difference = salaryBand.differenceCents(
+                    salaryCents[slot],
+                    SalaryBand.averageCents(subordinatesSalaryCents[slot], subordinatesCounts[slot])
+                );
+                if(difference != 0)
+                    flaggedManagers[partition].add(ordinals[slot], difference);
+            }
+            flaggedManagerCount += flaggedManagers[partition].count;
+        }
+
+        log.info(
+            "Successfully joined Employee records with their managers | employee-count : {} | flagged-manager-count : {} | elapsed-millis : {}",
+            spill.employeeCount,
+            flaggedManagerCount,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+        );
+        return flaggedManagers;
+    }
+
+    /**
+     * Streams the definitions again and materializes only the CEO and the flagged employees.
+     */
+    private Response<Employee> materialize(
+        final Spill spill,
+        final BitSet superseded,
+        final FlaggedManagers[] flaggedManagers,
+        final int[] reportingLineLengths,
+        final int ceoOrdinal,
+        final ValidationUtil validationUtil,
+        final Parameter applicationParameter) throws IOException {
+
+        Employee ceo = null;
+        final List<Employee> leastPaidManagers = new ArrayList<>();
+        final List<Employee> overPaidManagers = new ArrayList<>();
+        final List<Employee> maxReportingLineLengthEmployees = new ArrayList<>();
+        for(int partition = 0; partition < partitionCount; partition++) {
+            final FlaggedManagers flagged = flaggedManagers[partition];
+            int nextFlagged = 0;
+            try (DataInputStream definitions = input(spill.definitions(partition))) {
+                for(int record = 0; record < spill.definitionCounts[partition]; record++) {
+                    final Definition definition = new Definition(definitions);
+                    final int ordinal = definition.ordinal;
+                    final long difference = nextFlagged < flagged.count && flagged.ordinals[nextFlagged] == ordinal
+                        ? flagged.differenceCents[nextFlagged++]
+                        : 0;
+                    final boolean tooLong = reportingLineLengths[ordinal] > applicationParameter.getMaxSubordinatesCount();
+                    if(superseded.get(ordinal) || (ordinal != ceoOrdinal && difference == 0 && !tooLong))
+                        continue;
+
+                    final Employee employee = new Employee(
+                        PackedIdUtil.decode(definition.packedId),
+                        definition.firstName,
+                        definition.lastName,
+                        PackedIdUtil.decode(definition.packedManagerId),
+                        BigDecimal.valueOf(definition.salaryCents, 2),
+                        BigDecimal.ZERO,
+                        reportingLineLengths[ordinal]
+                    );
+                    if(ordinal == ceoOrdinal)
+                        ceo = employee;
+                    if(difference != 0) {
+                        employee.setDifferenceOfSubordinatesAverageSalary(BigDecimal.valueOf(difference, 2));
+                        (difference < 0 ? leastPaidManagers : overPaidManagers).add(employee);
+                    }
+                    if(tooLong)
+                        maxReportingLineLengthEmployees.add(employee);
+
+                    validationUtil.validate(employee);
+                }
+            }
+        }
+
+        final Comparator<Employee> idOrder = Comparator.comparing(Employee::getId);
+        leastPaidManagers.sort(idOrder);
+        overPaidManagers.sort(idOrder);
+        maxReportingLineLengthEmployees.sort(idOrder);
+        return new Response<>(
+            ceo,
+            applicationParameter,
+            Collections.unmodifiableList(leastPaidManagers),
+            Collections.unmodifiableList(overPaidManagers),
+            Collections.unmodifiableList(maxReportingLineLengthEmployees)
+        );
+    }
+
+    /**
+     * Resolves an ordinal to its employee ID by scanning the definitions, which is only needed to report
+     * a cyclic reporting line.
+     */
+    private String idOf(
+        final Spill spill,
+        final int ordinal) {
+
+        try {
+            for(int partition = 0; partition < partitionCount; partition++) {
+                try (DataInputStream definitions = input(spill.definitions(partition))) {
+                    for(int record = 0; record < spill.definitionCounts[partition]; record++) {
+                        final Definition definition = new Definition(definitions);
+                        if(definition.ordinal == ordinal)
+                            return PackedIdUtil.decode(definition.packedId);
+                    }
+                }
+            }
+            return String.valueOf(ordinal);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int partition(
+        final long packedId) {
+
+        return Math.floorMod(Long.hashCode(packedId * 0x9E3779B97F4A7C15L), partitionCount);
+    }
+
+    private static DataOutputStream output(
+        final Path path) throws IOException {
+
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), SPILL_BUFFER_SIZE));
+    }
+
+    private static DataInputStream input(
+        final Path path) throws IOException {
+
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(path), SPILL_BUFFER_SIZE));
+    }
+
+    private static void close(
+        final DataOutputStream[] outputs) throws IOException {
+
+        IOException failure = null;
+        for(DataOutputStream output : outputs) {
+            try {
+                if(Objects.nonNull(output))
+                    output.close();
+            } catch (IOException e) {
+                failure = Objects.isNull(failure) ? e : failure;
+            }
+        }
+
+        if(Objects.nonNull(failure))
+            throw failure;
+    }
+
+    private static void delete(
+        final Path directory) throws IOException {
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for(Path file : (Iterable<Path>) files::iterator)
+                Files.deleteIfExists(file);
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    /**
+     * The spill files of one analysis with their record counts.
+     */
+    private static final class Spill {
+
+        private final Path directory;
+        private final int[] definitionCounts;
+        private final int[] referenceCounts;
+        private int employeeCount;
+
+        private Spill(
+            final Path directory,
+            final int partitionCount) {
+
+            this.directory = directory;
+            this.definitionCounts = new int[partitionCount];
+            this.referenceCounts = new int[partitionCount];
+        }
+
+        private Path definitions(
+            final int partition) {
+
+            return directory.resolve("definitions-" + partition);
+        }
+
+        private Path references(
+            final int partition) {
+
+            return directory.resolve("references-" + partition);
+        }
+    }
+
+    /**
+     * The managers of one partition with a non-zero salary band difference, in definition order.
+     */
+    private static final class FlaggedManagers {
+
+        private int[] ordinals = new int[16];
+        private long[] differenceCents = new long[16];
+        private int count;
+
+        private void add(
+            final int ordinal,
+            final long difference) {
+
+            if(count == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, count * 2);
+                differenceCents = Arrays.copyOf(differenceCents, count * 2);
+            }
+            ordinals[count] = ordinal;
+            differenceCents[count++] = difference;
+        }
+    }
+
+    /**
+     * One definition record: the packed ID, ordinal, packed manager ID, salary in cents and names of an employee.
+     */
+    private static final class Definition {
+
+        private final long packedId;
+        private final int ordinal;
+        private final long packedManagerId;
+        private final long salaryCents;
+        private final String firstName;
+        private final String lastName;
+
+        private Definition(
+            final DataInputStream input) throws IOException {
+
+            this.packedId = input.readLong();
+            this.ordinal = input.readInt();
+            this.packedManagerId = input.readLong();
+            this.salaryCents = input.readLong();
+            this.firstName = input.readUTF();
+            this.lastName = input.readUTF();
+        }
+    }
+
+}
@@ -0,0 +1,485 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.EmployeeChange;
+import com.sam.assignment.model.ListDelta;
+import com.sam.assignment.model.Parameter;
+import com.sam.assignment.model.Response;
+import com.sam.assignment.model.ResponseDelta;
+import com.sam.assignment.util.ValidationUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Keeps a built organizational hierarchy and its analysis resident, and re-analyses it incrementally
+ * when employees are inserted, updated, deleted or moved to another manager. Only the salary bands of
+ * the affected managers and the reporting line lengths of the moved subtrees are recomputed, and only
+ * the changed entries of the {@link Response} lists are reported. The touched employees are validated
+ * without cascading into their subordinates, so a change near the CEO does not revalidate the whole
+ * hierarchy.
+ * <p>
+ * This class is not thread-safe.
+ */
+@Slf4j
+public class IncrementalOrgHierarchy {
+
+    private final OrgHierarchy<Employee> orgHierarchy;
+    private final ValidationUtil validationUtil;
+
+    private Map<String, Employee> employees;
+    private Parameter applicationParameter;
+    private Employee ceo;
+    private final List<TreeMap<String, Employee>> flaggedEmployees = new ArrayList<>();
+
+    /**
+     * @param orgHierarchy   service for the initial build and analysis of the hierarchy
+     * @param validationUtil utility for validating employee objects
+     */
+    public IncrementalOrgHierarchy(
+        final OrgHierarchy<Employee> orgHierarchy,
+        final ValidationUtil validationUtil) {
+
+        if(Objects.isNull(orgHierarchy))
+            throw new IllegalArgumentException("OrgHierarchy cannot be null");
+
+        if(Objects.isNull(validationUtil))
+            throw new IllegalArgumentException("ValidationUtil cannot be null");
+
+        this.orgHierarchy = orgHierarchy;
+        this.validationUtil = validationUtil;
+        for(int rule = 0; rule < AnalysisRule.RESPONSE_RULES.size(); rule++)
+            flaggedEmployees.add(new TreeMap<>());
+    }
+
+    /**
+     * @return whether a hierarchy has been loaded
+     */
+    public boolean isLoaded() {
+        return Objects.nonNull(employees);
+    }
+
+    /**
+     * @return the parameters the resident hierarchy was analysed with, or {@code null} if none is loaded
+     */
+    public Parameter getApplicationParameter() {
+        return applicationParameter;
+    }
+
+    /**
+     * Builds and analyses the hierarchy from scratch and keeps it resident. Every flagged employee is
+     * reported as added.
+     *
+     * @param employees            a map of all employees indexed by their IDs
+     * @param applicationParameter parameters for application-specific calculations
+     * @return the entries of the response lists, all reported as added
+     */
+    public ResponseDelta<Employee> load(
+        final Map<String, Employee> employees,
+        final Parameter applicationParameter) {
+
+        if(Objects.isNull(employees) || Objects.isNull(applicationParameter))
+            throw new IllegalArgumentException("Employees and application parameter cannot be null");
+
+        this.employees = null;
+        flaggedEmployees.forEach(Map::clear);
+
+        final Employee builtCeo = orgHierarchy.buildHierarchy(employees, validationUtil, applicationParameter);
+        final List<List<Employee>> analyses = orgHierarchy.analyse(
+            employees,
+            AnalysisRule.RESPONSE_RULES,
+            validationUtil,
+            applicationParameter
+        );
+
+        final List<ListDelta<Employee>> deltas = new ArrayList<>(analyses.size());
+        for(int rule = 0; rule < analyses.size(); rule++) {
+            final TreeMap<String, Employee> flagged = flaggedEmployees.get(rule);
+            analyses.get(rule).forEach(employee -> flagged.put(employee.getId(), employee));
+            deltas.add(new ListDelta<>(analyses.get(rule), List.of(), List.of()));
+        }
+
+        this.employees = new HashMap<>(employees);
+        this.applicationParameter = applicationParameter;
+        this.ceo = builtCeo;
+        log.info("Loaded resident organizational hierarchy | employee-count : {}", employees.size());
+        return responseDelta(deltas);
+    }
+
+    /**
+     * Computes the changes that turn the resident employees into the given snapshot and applies them.
+     *
+     * @param snapshot a map of all employees of the new snapshot indexed by their IDs
+     * @return the changed entries of the response lists
+     */
+    public ResponseDelta<Employee> applySnapshot(
+        final Map<String, Employee> snapshot) {
+
+        requireLoaded();
+        final List<EmployeeChange> changes = new ArrayList<>();
+        snapshot.forEach((id, employee) -> {
+            if(!isSameRecord(employees.get(id), employee))
+                changes.add(EmployeeChange.upsert(employee));
+        });
+        employees.keySet()
+            .stream()
+            .filter(id -> !snapshot.containsKey(id))
+            .forEach(id -> changes.add(EmployeeChange.delete(id)));
+
+        return apply(changes);
+    }
+
+    /**
+     * Applies a batch of changes to the resident hierarchy and re-analyses the affected employees.
+     * When the batch holds several changes for the same ID, the last one wins. Changes that leave the
+     * resident records as they are, i.e. an unchanged record or the deletion of an unknown ID, are skipped,
+     * so applying the same batch again has no effect. The batch is checked before anything is changed, so
+     * a rejected batch leaves the resident hierarchy untouched.
+     *
+     * @param changes the changes to apply
+     * @return the changed entries of the response lists
+     * @throws IllegalArgumentException if a manager cannot be found or a deleted employee keeps subordinates
+     * @throws IllegalStateException    if the changes would create a cyclic reporting line
+     */
+    public ResponseDelta<Employee> apply(
+        final List<EmployeeChange> changes) {
+
+        requireLoaded();
+        if(Objects.isNull(changes))
+            throw new IllegalArgumentException("Employee changes cannot be null");
+
+        final Map<String, EmployeeChange> batch = new LinkedHashMap<>();
+        for(EmployeeChange change : changes) {
+            if(change.getType() == EmployeeChange.Type.UPSERT)
+                validationUtil.validateShallow(change.getEmployee());
+            batch.put(change.getId(), change);
+        }
+        batch.values().removeIf(change -> change.getType() == EmployeeChange.Type.DELETE
+            ? !employees.containsKey(change.getId())
+            : isSameRecord(employees.get(change.getId()), change.getEmployee()));
+        checkBatch(batch);
+
+        // previous flag-relevant values of every employee whose analysis may change
+        final Map<String, Employee> previous = new LinkedHashMap<>();
+        final Map<String, Employee> replaced = new HashMap<>();
+        for(EmployeeChange change : batch.values()) {
+            final Employee existing = employees.get(change.getId());
+            if(Objects.nonNull(existing)) {
+                previous.putIfAbsent(existing.getId(), existing);
+                replaced.put(existing.getId(), existing);
+            }
+
+            if(change.getType() == EmployeeChange.Type.DELETE) {
+                employees.remove(change.getId());
+            } else {
+                if(Objects.nonNull(existing))
+                    change.getEmployee().getSubordinates().addAll(existing.getSubordinates());
+                employees.put(change.getId(), change.getEmployee());
+                previous.putIfAbsent(change.getId(), null);
+            }
+        }
+
+        final Set<String> managersToEvaluate = new LinkedHashSet<>();
+        replaced.values().forEach(existing -> {
+            final Employee manager = StringUtils.isEmpty(existing.getManagerId())
+                ? null
+                : employees.get(existing.getManagerId());
+            if(Objects.nonNull(manager)) {
+                manager.getSubordinates().removeIf(subordinate -> subordinate == existing);
+                managersToEvaluate.add(manager.getId());
+            }
+            if(existing == ceo)
+                ceo = null;
+        });
+
+        final List<Employee> movedEmployees = new ArrayList<>();
+        for(EmployeeChange change : batch.values()) {
+            if(change.getType() == EmployeeChange.Type.DELETE)
+                continue;
+
+            final Employee employee = change.getEmployee();
+            final Employee existing = replaced.get(employee.getId());
+            if(StringUtils.isEmpty(employee.getManagerId())) {
+                ceo = employee;
+            } else {
+                final Employee manager = employees.get(employee.getManagerId());
+                manager.getSubordinates().add(employee);
+                managersToEvaluate.add(manager.getId());
+            }
+
+            if(!employee.getSubordinates().isEmpty())
+                managersToEvaluate.add(employee.getId());
+
+            if(Objects.nonNull(existing) && Objects.equals(existing.getManagerId(), employee.getManagerId())) {
+                employee.setReportingLineLength(existing.getReportingLineLength());
+                employee.setDifferenceOfSubordinatesAverageSalary(existing.getDifferenceOfSubordinatesAverageSalary());
+            } else {
+                movedEmployees.add(employee);
+            }
+        }
+
+        for(String managerId : managersToEvaluate) {
+            final Employee manager = employees.get(managerId);
+            if(Objects.isNull(manager))
+                continue;
+
+            previous.putIfAbsent(managerId, snapshotOf(manager));
+            manager.setDifferenceOfSubordinatesAverageSalary(BigDecimal.ZERO);
+            if(!manager.getSubordinates().isEmpty())
+                orgHierarchy.populateDifferenceOfSubordinatesAverageSalary(manager, applicationParameter);
+
+            validationUtil.validateShallow(manager);
+        }
+
+        for(Employee movedEmployee : movedEmployees)
+            updateReportingLineLengths(movedEmployee, previous);
+
+        final ResponseDelta<Employee> responseDelta = evaluate(previous);
+        log.info(
+            "Applied incremental changes to resident organizational hierarchy | change-count : {} | re-evaluated-employee-count : {}",
+            batch.size(),
+            previous.size()
+        );
+        return responseDelta;
+    }
+
+    /**
+     * @return a delta without changed entries, for a run in which nothing has changed
+     */
+    public ResponseDelta<Employee> unchanged() {
+        requireLoaded();
+        final List<ListDelta<Employee>> deltas = new ArrayList<>(AnalysisRule.RESPONSE_RULES.size());
+        for(int rule = 0; rule < AnalysisRule.RESPONSE_RULES.size(); rule++)
+            deltas.add(new ListDelta<>(List.of(), List.of(), List.of()));
+
+        return responseDelta(deltas);
+    }
+
+    /**
+     * @return the full response of the resident hierarchy, with every list sorted by employee ID
+     */
+    public Response<Employee> getResponse() {
+        requireLoaded();
+        return new Response<>(
+            ceo,
+            applicationParameter,
+            List.copyOf(flaggedEmployees.get(0).values()),
+            List.copyOf(flaggedEmployees.get(1).values()),
+            List.copyOf(flaggedEmployees.get(2).values())
+        );
+    }
+
+    /**
+     * Rejects batches that would leave an employee without its manager or create a cyclic reporting line.
+     */
+    private void checkBatch(
+        final Map<String, EmployeeChange> batch) {
+
+        for(EmployeeChange change : batch.values()) {
+            if(change.getType() == EmployeeChange.Type.DELETE) {
+                final Employee existing = employees.get(change.getId());
+                if(Objects.isNull(existing))
+                    continue;
+
+                for(Employee subordinate : existing.getSubordinates())
+                    if(!batch.containsKey(subordinate.getId()))
+                        throw new IllegalArgumentException(
+                            "Subordinates of a deleted employee must be deleted or moved | employee-id : " +
+                            change.getId() + " | subordinate-id : " + subordinate.getId()
+                        );
+                continue;
+            }
+
+            final String managerId = change.getEmployee().getManagerId();
+            if(StringUtils.isEmpty(managerId))
+                continue;
+
+            if(!existsAfter(managerId, batch))
+                throw new IllegalArgumentException(
+                    "Manager not found | employee-id : " + change.getId() + " | manager-id : " + managerId
+                );
+
+            final Employee existing = employees.get(change.getId());
+            if(Objects.nonNull(existing) && managerId.equals(existing.getManagerId()))
+                continue;
+
+            int hops = 0;
+            String currentId = managerId;
+            while(StringUtils.isNotEmpty(currentId)) {
+                if(currentId.equals(change.getId()) || ++hops > employees.size() + batch.size())
+                    throw new IllegalStateException(
+                        "Cyclic reporting line detected | employee-id : " + change.getId()
+                    );
+
+                currentId = managerIdAfter(currentId, batch);
+            }
+        }
+    }
+
+    private boolean existsAfter(
+        final String id,
+        final Map<String, EmployeeChange> batch) {
+
+        final EmployeeChange change = batch.get(id);
+        return Objects.isNull(change)
+            ? employees.containsKey(id)
+            : change.getType() == EmployeeChange.Type.UPSERT;
+    }
+
+    private String managerIdAfter(
+        final String id,
+        final Map<String, EmployeeChange> batch) {
+
+        final EmployeeChange change = batch.get(id);
+        if(Objects.nonNull(change))
+            return change.getType() == EmployeeChange.Type.UPSERT ? change.getEmployee().getManagerId() : null;
+
+        final Employee employee = employees.get(id);
+        return Objects.isNull(employee) ? null : employee.getManagerId();
+    }
+
+    /**
+     * Recomputes the reporting line length of a moved or inserted employee by walking up its manager
+     * chain, and pushes the new lengths down its subtree.
+     */
+    private void updateReportingLineLengths(
+        final Employee movedEmployee,
+        final Map<String, Employee> previous) {
+
+        int reportingLineLength = 0;
+        for(String managerId = movedEmployee.getManagerId();
+            StringUtils.isNotEmpty(managerId);
+            managerId = employees.get(managerId).getManagerId())
+            reportingLineLength++;
+
+        movedEmployee.setReportingLineLength(reportingLineLength);
+        validationUtil.validateShallow(movedEmployee);
+
+        final Deque<Employee> pending = new ArrayDeque<>(movedEmployee.getSubordinates());
+        while(!pending.isEmpty()) {
+            final Employee employee = pending.poll();
+            final int length = employees.get(employee.getManagerId()).getReportingLineLength() + 1;
+            if(employee.getReportingLineLength() == length)
+                continue;
+
+            previous.putIfAbsent(employee.getId(), snapshotOf(employee));
+            employee.setReportingLineLength(length);
+            validationUtil.validateShallow(employee);
+            pending.addAll(employee.getSubordinates());
+        }
+    }
+
+    /**
+     * Re-evaluates the response rules for every touched employee and updates the resident lists.
+     *
+     * @param previous the touched employees with their values before the changes, or {@code null} if they did not exist
+     */
+    private ResponseDelta<Employee> evaluate(
+        final Map<String, Employee> previous) {
+
+        final List<ListDelta<Employee>> deltas = new ArrayList<>(AnalysisRule.RESPONSE_RULES.size());
+        for(int rule = 0; rule < AnalysisRule.RESPONSE_RULES.size(); rule++) {
+            final TreeMap<String, Employee> flagged = flaggedEmployees.get(rule);
+            final List<Employee> added = new ArrayList<>();
+            final List<String> removedIds = new ArrayList<>();
+            final List<Employee> updated = new ArrayList<>();
+            for(Map.Entry<String, Employee> entry : previous.entrySet()) {
+                final Employee employee = employees.get(entry.getKey());
+                final boolean wasFlagged = flagged.containsKey(entry.getKey());
+                final boolean isFlagged = Objects.nonNull(employee) &&
+                    AnalysisRule.RESPONSE_RULES.get(rule).matches(employee, applicationParameter);
+
+                if(isFlagged && !wasFlagged)
+                    added.add(employee);
+                else if(wasFlagged && !isFlagged)
+                    removedIds.add(entry.getKey());
+                else if(isFlagged && isChanged(entry.getValue(), employee, flagged.get(entry.getKey())))
+                    updated.add(employee);
+
+                if(isFlagged)
+                    flagged.put(entry.getKey(), employee);
+                else
+                    flagged.remove(entry.getKey());
+            }
+
+            deltas.add(new ListDelta<>(
+                sorted(added),
+                removedIds.stream().sorted().toList(),
+                sorted(updated)
+            ));
+        }
+
+        return responseDelta(deltas);
+    }
+
+    private ResponseDelta<Employee> responseDelta(
+        final List<ListDelta<Employee>> deltas) {
+
+        return new ResponseDelta<>(ceo, applicationParameter, deltas.get(0), deltas.get(1), deltas.get(2));
+    }
+
+    private void requireLoaded() {
+        if(!isLoaded())
+            throw new IllegalStateException("The hierarchy must be loaded before it can be changed");
+    }
+
+    private static boolean isChanged(
+        final Employee before,
+        final Employee after,
+        final Employee flagged) {
+
+        return after != flagged
+            || Objects.isNull(before)
+            || before.getDifferenceOfSubordinatesAverageSalary().compareTo(after.getDifferenceOfSubordinatesAverageSalary()) != 0
+            || !Objects.equals(before.getReportingLineLength(), after.getReportingLineLength());
+    }
+
+    private static boolean isSameRecord(
+        final Employee existing,
+        final Employee employee) {
+
+        return Objects.nonNull(existing)
+            && Objects.equals(existing.getFirstName(), employee.getFirstName())
+            && Objects.equals(existing.getLastName(), employee.getLastName())
+            && Objects.equals(Objects.toString(existing.getManagerId(), ""), Objects.toString(employee.getManagerId(), ""))
+            && existing.getSalary().compareTo(employee.getSalary()) == 0;
+    }
+
+    /**
+     * @return a detached copy of the employee's analysed values, without subordinates
+     */
+    private static Employee snapshotOf(
+        final Employee employee) {
+
+        return new Employee(
+            employee.getId(),
+            employee.getFirstName(),
+            employee.getLastName(),
+            employee.getManagerId(),
+            employee.getSalary(),
+            employee.getDifferenceOfSubordinatesAverageSalary(),
+            employee.getReportingLineLength()
+        );
+    }
+
+    private static List<Employee> sorted(
+        final List<Employee> employees) {
+
+        employees.sort((left, right) -> left.getId().compareTo(right.getId()));
+        return Collections.unmodifiableList(employees);
+    }
+
+}
@@ -0,0 +1,234 @@
+package com.sam.assignment.service;
+
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.PushbackInputStream;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Inflates a gzip file on a background thread, so that inflating and tokenizing the CSV records overlap
+ * on different cores and the read throughput approaches the slower of both rather than their sum.
+ * <p>
+ * The inflater thread fills a bounded ring of reusable buffers and hands them over in order through a
+ * queue; the reading thread returns every buffer to the ring once it has been consumed, so at most
+ * {@code bufferCount} buffers are ever allocated and the inflater blocks while the reader lags behind.
+ * Concatenated gzip members, such as BGZF blocks, are read one after the other as a single stream.
+ * A failure of the inflater is rethrown by the next read.
+ * <p>
+ * This class is not thread-safe; it is meant to be read by one thread.
+ */
+final class InflatingInputStream extends InputStream {
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final Chunk END = new Chunk(new byte[0]);
+    private static final long CLOSE_TIMEOUT_MILLIS = 1_000;
+
+    private final InputStream source;
+    private final BlockingQueue<Chunk> freeChunks;
+    private final BlockingQueue<Chunk> filledChunks;
+    private final Thread inflater;
+    private final byte[] single = new byte[1];
+    private volatile IOException failure;
+    private Chunk current;
+    private int position;
+
+    private InflatingInputStream(
+        final InputStream source,
+        final int bufferSize,
+        final int bufferCount) {
+
+        this.source = source;
+        this.freeChunks = new ArrayBlockingQueue<>(bufferCount);
+        this.filledChunks = new ArrayBlockingQueue<>(bufferCount + 1);
+        for(int chunk = 0; chunk < bufferCount; chunk++)
+            freeChunks.add(new Chunk(new byte[bufferSize]));
+
+        this.inflater = new Thread(this::inflate, "csv-inflater");
+        inflater.setDaemon(true);
+        inflater.start();
+    }
+
+    /**
+     * Opens a CSV file for reading. A gzip file, recognized by its magic number, is inflated on a
+     * background thread; any other file is read as is. The {@link CsvFileReader#STANDARD_INPUT} file path
+     * reads the standard input, which is not closed with the returned stream.
+     *
+     * @param filePath    the file path
+     * @param bufferSize  the size of every inflated buffer
+     * @param bufferCount the number of inflated buffers in the ring
+     * @return the stream of the uncompressed file content
+     * @throws IOException if the file cannot be opened
+     */
+    static InputStream open(
+        final String filePath,
+        final int bufferSize,
+        final int bufferCount) throws IOException {
+
+        return open(
+            CsvFileReader.STANDARD_INPUT.equals(filePath)
+                ? new FilterInputStream(System.in) {
+                    @Override
+                    public void close() {
+                        // the standard input stays open
+                    }
+                }
+                : new FileInputStream(filePath),
+            bufferSize,
+            bufferCount
+        );
+    }
+
+    /**
+     * Opens a CSV stream for reading like {@link #open(String, int, int)}. The returned stream closes the
+     * given one.
+     *
+     * @param source      the stream of the file content
+     * @param bufferSize  the size of every inflated buffer
+     * @param bufferCount the number of inflated buffers in the ring
+     * @return the stream of the uncompressed file content
+     * @throws IOException if the stream cannot be read
+     */
+    static InputStream open(
+        final InputStream source,
+        final int bufferSize,
+        final int bufferCount) throws IOException {
+
+        final PushbackInputStream inputStream = new PushbackInputStream(source, 2);
+        try {
+            final byte[] magic = new byte[2];
+            final int read = inputStream.readNBytes(magic, 0, magic.length);
+            inputStream.unread(magic, 0, read);
+            if(read < magic.length || ((magic[0] & 0xff) | (magic[1] & 0xff) << 8) != GZIP_MAGIC)
+                return inputStream;
+
+            return new InflatingInputStream(new GZIPInputStream(inputStream, bufferSize), bufferSize, bufferCount);
+        } catch (IOException | RuntimeException e) {
+            inputStream.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @param filePath the file path
+     * @return whether the file starts with the gzip magic number
+     * @throws IOException if the file cannot be read
+     */
+    static boolean isGzip(
+        final String filePath) throws IOException {
+
+        try (InputStream inputStream = new FileInputStream(filePath)) {
+            final byte[] magic = inputStream.readNBytes(2);
+            return magic.length == 2 && ((magic[0] & 0xff) | (magic[1] & 0xff) << 8) == GZIP_MAGIC;
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(
+        final byte[] buffer,
+        final int offset,
+        final int length) throws IOException {
+
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        if(length == 0)
+            return 0;
+
+        while(Objects.isNull(current) || (current != END && position == current.length)) {
+            if(Objects.nonNull(current))
+                freeChunks.add(current);
+            current = takeFilledChunk();
+            position = 0;
+        }
+
+        if(current == END) {
+            if(Objects.nonNull(failure))
+                throw failure;
+            return -1;
+        }
+
+        final int count = Math.min(length, current.length - position);
+        System.arraycopy(current.data, position, buffer, offset, count);
+        position += count;
+        return count;
+    }
+
+    /**
+     * Stops the inflater thread and closes the compressed file. The source is closed before the inflater
+     * is joined, which ends a read blocked on a file. A read blocked on the standard input can neither be
+     * interrupted nor closed, so the join is bounded and the daemon inflater is abandoned after the timeout;
+     * it stops at the next chunk it hands over.
+     */
+    @Override
+    public void close() throws IOException {
+        inflater.interrupt();
+        try {
+            source.close();
+        } finally {
+            try {
+                inflater.join(CLOSE_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Chunk takeFilledChunk() throws IOException {
+        try {
+            return filledChunks.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for inflated CSV data");
+        }
+    }
+
+    /**
+     * Fills free buffers completely and hands them over until the end of the compressed file.
+     */
+    private void inflate() {
+        try {
+            int read = 0;
+            while(read >= 0) {
+                final Chunk chunk = freeChunks.take();
+                chunk.length = 0;
+                while(chunk.length < chunk.data.length
+                    && (read = source.read(chunk.data, chunk.length, chunk.data.length - chunk.length)) >= 0)
+                    chunk.length += read;
+                if(chunk.length > 0)
+                    filledChunks.put(chunk);
+            }
+        } catch (InterruptedException e) {
+            return;
+        } catch (IOException e) {
+            failure = e;
+        } catch (RuntimeException e) {
+            failure = new IOException("Unable to inflate the compressed CSV file", e);
+        }
+        filledChunks.add(END);
+    }
+
+    /**
+     * A reusable buffer and the number of inflated bytes it holds.
+     */
+    private static final class Chunk {
+
+        private final byte[] data;
+        private int length;
+
+        private Chunk(
+            final byte[] data) {
+
+            this.data = data;
+        }
+    }
+
+}
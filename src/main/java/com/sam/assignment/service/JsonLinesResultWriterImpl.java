@@ -0,0 +1,80 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.Response;
+import com.sam.assignment.util.SalaryBand;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Streams the results as JSON Lines: one JSON object per line and per flagged manager or employee, holding
+ * the parameters of its response, its list name and the employee fields under the names the query server
+ * uses. Amounts are numbers with two fraction digits and a missing manager ID is {@code null}.
+ */
+public class JsonLinesResultWriterImpl implements ResultWriter {
+
+    private static final byte[] ID = ",\"id\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FIRST_NAME = ",\"firstName\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LAST_NAME = ",\"lastName\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MANAGER_ID = ",\"managerId\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SALARY = ",\"salary\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DIFFERENCE = ",\"differenceOfSubordinatesAverageSalary\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] REPORTING_LINE_LENGTH = ",\"reportingLineLength\":".getBytes(StandardCharsets.US_ASCII);
+
+    private final ResultOutput output;
+
+    /**
+     * @param filePath the result file path, replaced if it exists
+     * @throws IOException if the result file cannot be created
+     */
+    public JsonLinesResultWriterImpl(
+        final String filePath) throws IOException {
+
+        this.output = new ResultOutput(filePath);
+    }
+
+    @Override
+    public void write(
+        final Response<Employee> response) throws IOException {
+
+        final List<List<Employee>> lists = ResultWriter.lists(response);
+        final String parameters = "{\"managerLeastPayPercentage\":"
+            + response.getApplicationParameter().getManagerLeastPayPercentage().toPlainString()
+            + ",\"managerOverPayPercentage\":"
+            + response.getApplicationParameter().getManagerOverPayPercentage().toPlainString()
+            + ",\"thresholdReportingLineLength\":"
+            + response.getApplicationParameter().getMaxSubordinatesCount();
+
+        for(int list = 0; list < lists.size(); list++) {
+            final byte[] prefix = (parameters + ",\"list\":\"" + LIST_NAMES.get(list) + '"').getBytes(StandardCharsets.UTF_8);
+            for(Employee employee : lists.get(list)) {
+                output.putBytes(prefix);
+                output.putBytes(ID);
+                output.putJsonString(employee.getId());
+                output.putBytes(FIRST_NAME);
+                output.putJsonString(employee.getFirstName());
+                output.putBytes(LAST_NAME);
+                output.putJsonString(employee.getLastName());
+                output.putBytes(MANAGER_ID);
+                output.putJsonString(employee.getManagerId());
+                output.putBytes(SALARY);
+                output.putCents(SalaryBand.toCents(employee.getSalary()));
+                output.putBytes(DIFFERENCE);
+                output.putCents(SalaryBand.toCents(employee.getDifferenceOfSubordinatesAverageSalary()));
+                output.putBytes(REPORTING_LINE_LENGTH);
+                output.putLong(employee.getReportingLineLength());
+                output.putByte('}');
+                output.putByte('\n');
+                output.row();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+
+}
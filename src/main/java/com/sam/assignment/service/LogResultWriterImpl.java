@@ -0,0 +1,64 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.Response;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Objects;
+
+/**
+ * Logs one line per flagged manager or employee. Every line is string-formatted, so this writer is meant
+ * for reading small results on the console; the file writers are much faster for large results.
+ */
+@Slf4j
+public class LogResultWriterImpl implements ResultWriter {
+
+    @Override
+    public void write(
+        final Response<Employee> response) {
+
+        if(Objects.isNull(response))
+            throw new IllegalArgumentException("Response cannot be null");
+
+        response.getLeastPaidManagers()
+            .forEach(employee -> {
+                log.info(
+                    "Manager : {} {} | earns : {} | less than required : {} | Manager Salary : {}",
+                    employee.getFirstName(),
+                    employee.getLastName(),
+                    employee.getDifferenceOfSubordinatesAverageSalary().abs(),
+                    employee.getSalary().add(employee.getDifferenceOfSubordinatesAverageSalary().abs()),
+                    employee.getSalary()
+                );
+            });
+
+        response.getOverPaidManagers()
+            .forEach(employee -> {
+                log.info(
+                    "Manager : {} {} | earns : {} | more than required : {} | Manager Salary : {}",
+                    employee.getFirstName(),
+                    employee.getLastName(),
+                    employee.getDifferenceOfSubordinatesAverageSalary().abs(),
+                    employee.getSalary().subtract(employee.getDifferenceOfSubordinatesAverageSalary()),
+                    employee.getSalary()
+                );
+            });
+
+        response.getMaxReportingLineLengthEmployees()
+            .forEach(employee -> {
+                log.info(
+                    "Employee : {} {} | has reporting line too long-by : {} | actual-reporting-line : {} | threshold-reporting-lone : {}",
+                    employee.getFirstName(),
+                    employee.getLastName(),
+                    (employee.getReportingLineLength() - response.getApplicationParameter().getMaxSubordinatesCount()),
+                    employee.getReportingLineLength(),
+                    response.getApplicationParameter().getMaxSubordinatesCount()
+                );
+            });
+    }
+
+    @Override
+    public void close() {
+    }
+
+}
@@ -0,0 +1,330 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.CompactOrg;
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.PackedEmployeeMap;
+import com.sam.assignment.model.Parameter;
+import com.sam.assignment.util.ValidationUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+/**
+ * Reads employee details by memory-mapping the CSV file, splitting it into line-aligned chunks and
+ * parsing the chunks in parallel on a {@link ForkJoinPool}. The chunk results are merged into the
+ * employee map in file order, so header handling and duplicate IDs (the last record wins) behave
+ * exactly as in {@link CsvFileReaderImpl}.
+ * <p>
+ * Chunks are split on line feeds, so quoted fields must not contain line feeds in this reader. A
+ * gzip-compressed file or the standard input cannot be mapped and is read by a streaming
+ * {@link CsvFileReaderImpl} instead.
+ */
+@Slf4j
+public class MappedCsvFileReaderImpl implements CsvFileReader {
+
+    private static final byte LINE_FEED = '\n';
+    private static final long MIN_CHUNK_SIZE = 1L << 22;
+    private static final long MAX_CHUNK_SIZE = 1L << 30;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int BOUNDARY_SCAN_WINDOW = 1 << 16;
+
+    private final Charset charset;
+    private final ForkJoinPool forkJoinPool;
+    private final long chunkSize;
+    private final CsvFileReaderImpl compressedFileReader;
+
+    public MappedCsvFileReaderImpl() {
+        this(StandardCharsets.UTF_8, ForkJoinPool.commonPool(), 0);
+    }
+
+    /**
+     * @param charset      the charset of the CSV file
+     * @param forkJoinPool the pool parsing the chunks
+     * @param chunkSize    the target chunk size in bytes, or 0 to derive it from the file size and pool parallelism
+     */
+    public MappedCsvFileReaderImpl(
+        final Charset charset,
+        final ForkJoinPool forkJoinPool,
+        final long chunkSize) {
+
+        if(Objects.isNull(charset))
+            throw new IllegalArgumentException("Charset cannot be null");
+
+        if(Objects.isNull(forkJoinPool))
+            throw new IllegalArgumentException("ForkJoinPool cannot be null");
+
+        if(chunkSize < 0 || chunkSize > MAX_CHUNK_SIZE)
+            throw new IllegalArgumentException("Chunk size must be between 0 and " + MAX_CHUNK_SIZE);
+
+        this.charset = charset;
+        this.forkJoinPool = forkJoinPool;
+        this.chunkSize = chunkSize;
+        this.compressedFileReader = new CsvFileReaderImpl(charset, CsvFileReaderImpl.DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Reads employee details from a CSV file and returns a map of employee IDs to Employee objects.
+     * The chunks are parsed in parallel and indexed by packed ID in a {@link PackedEmployeeMap}, in file order.
+     *
+     * @param applicationParameter the parameters for the application, including the file path
+     * @param validationUtil       utility for validating employee data
+     * @return a map where keys are employee IDs and values are Employee objects
+     * @throws IOException if an error occurs while reading the file
+     */
+    @Override
+    public Map<String, Employee> readEmployeeDetails(
+        final Parameter applicationParameter,
+        final ValidationUtil validationUtil) throws IOException {
+
+        if(isStreamOnly(applicationParameter.getFilePath()))
+            return compressedFileReader.readEmployeeDetails(applicationParameter, validationUtil);
+
+        final List<List<Employee>> chunkEmployees = readChunks(applicationParameter, validationUtil);
+        final int recordCount = chunkEmployees.stream().mapToInt(List::size).sum();
+        final PackedEmployeeMap employees = new PackedEmployeeMap(recordCount);
+        merge(chunkEmployees, employees::add);
+
+        log.info(
+            "Successfully read Employee records from CSV File. total-record-count : {} | chunk-count : {} | file-path : {}",
+            employees.size(),
+            chunkEmployees.size(),
+            applicationParameter.getFilePath()
+        );
+        return employees;
+    }
+
+    /**
+     * Reads employee details from a CSV file into a columnar {@link CompactOrg}. The chunks are parsed
+     * in parallel and appended to the organization in file order.
+     *
+     * @param applicationParameter the parameters for the application, including the file path
+     * @param validationUtil       utility for validating employee data
+     * @return the employees in columnar form, not yet linked
+     * @throws IOException if an error occurs while reading the file
+     */
+    @Override
+    public CompactOrg readCompactOrg(
+        final Parameter applicationParameter,
+        final ValidationUtil validationUtil) throws IOException {
+
+        if(isStreamOnly(applicationParameter.getFilePath()))
+            return compressedFileReader.readCompactOrg(applicationParameter, validationUtil);
+
+        final List<List<Employee>> chunkEmployees = readChunks(applicationParameter, validationUtil);
+        final CompactOrg org = new CompactOrg(chunkEmployees.stream().mapToInt(List::size).sum());
+        merge(chunkEmployees, employee -> {
+            final int size = org.size();
+            return org.add(employee) == size;
+        });
+
+        log.info(
+            "Successfully read Employee records from CSV File into compact organization. total-record-count : {} | chunk-count : {} | file-path : {}",
+            org.size(),
+            chunkEmployees.size(),
+            applicationParameter.getFilePath()
+        );
+        return org;
+    }
+
+    /**
+     * Maps the file and parses its chunks in parallel.
+     *
+     * @return the parsed employees of every chunk, in file order
+     */
+    private List<List<Employee>> readChunks(
+        final Parameter applicationParameter,
+        final ValidationUtil validationUtil) throws IOException {
+
+        try (FileInputStream inputStream = new FileInputStream(applicationParameter.getFilePath());
+             FileChannel channel = inputStream.getChannel()) {
+
+            final long[] boundaries = chunkBoundaries(channel);
+            final List<ForkJoinTask<List<Employee>>> tasks = new ArrayList<>(boundaries.length - 1);
+            for(int chunk = 0; chunk < boundaries.length - 1; chunk++)
+                tasks.add(forkJoinPool.submit(
+                    new ChunkParseTask(channel, boundaries[chunk], boundaries[chunk + 1], validationUtil)
+                ));
+
+            final List<List<Employee>> chunkEmployees = new ArrayList<>(tasks.size());
+            for(ForkJoinTask<List<Employee>> task : tasks)
+                chunkEmployees.add(join(task));
+
+            return chunkEmployees;
+        }
+    }
+
+    /**
+     * Hands the employees of every chunk to the sink in file order and reports duplicate IDs.
+     *
+     * @param chunkEmployees the parsed employees of every chunk, in file order
+     * @param sink           stores an employee and returns {@code false} if its ID was already present
+     */
+    private static void merge(
+        final List<List<Employee>> chunkEmployees,
+        final Predicate<Employee> sink) {
+
+        int duplicateCount = 0;
+        String firstDuplicateId = null;
+        for(List<Employee> chunk : chunkEmployees) {
+            for(Employee employee : chunk) {
+                if(!sink.test(employee)) {
+                    firstDuplicateId = Objects.isNull(firstDuplicateId) ? employee.getId() : firstDuplicateId;
+                    duplicateCount++;
+                }
+            }
+        }
+
+        if(duplicateCount > 0)
+            log.warn(
+                "Duplicate employee IDs found, the last record wins. duplicate-count : {} | first-duplicate-id : {}",
+                duplicateCount,
+                firstDuplicateId
+            );
+    }
+
+    /**
+     * Splits the file into chunks of roughly {@code chunkSize} bytes, moving every boundary forward to
+     * just after the next line feed.
+     *
+     * @return the chunk start offsets, followed by the file size
+     */
+    private long[] chunkBoundaries(
+        final FileChannel channel) throws IOException {
+
+        final long size = channel.size();
+        final long targetChunkSize = chunkSize > 0
+            ? chunkSize
+            : Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE,
+                size / ((long) forkJoinPool.getParallelism() * CHUNKS_PER_THREAD)));
+
+        final List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        long boundary = 0;
+        while(boundary + targetChunkSize < size) {
+            boundary = nextLineStart(channel, boundary + targetChunkSize, size);
+            if(boundary >= size)
+                break;
+            boundaries.add(boundary);
+        }
+        boundaries.add(size);
+
+        return boundaries.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * @return the offset just after the first line feed at or after {@code from}, or the file size if there is none
+     */
+    private static long nextLineStart(
+        final FileChannel channel,
+        final long from,
+        final long size) throws IOException {
+
+        for(long windowStart = from; windowStart < size; windowStart += BOUNDARY_SCAN_WINDOW) {
+            final int windowSize = (int) Math.min(BOUNDARY_SCAN_WINDOW, size - windowStart);
+            final MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowSize);
+            for(int position = 0; position < windowSize; position++)
+                if(window.get(position) == LINE_FEED)
+                    return windowStart + position + 1;
+        }
+
+        return size;
+    }
+
+    /**
+     * @return whether the file path is the standard input or a gzip file, which cannot be mapped
+     */
+    private static boolean isStreamOnly(
+        final String filePath) throws IOException {
+
+        return CsvFileReader.STANDARD_INPUT.equals(filePath) || InflatingInputStream.isGzip(filePath);
+    }
+
+    private static List<Employee> join(
+        final ForkJoinTask<List<Employee>> task) throws IOException {
+
+        try {
+            return task.join();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Maps and parses one line-aligned chunk. The chunk starting at offset 0 skips the header record.
+     */
+    private final class ChunkParseTask extends RecursiveTask<List<Employee>> {
+
+        private final transient FileChannel channel;
+        private final long start;
+        private final long end;
+        private final transient ValidationUtil validationUtil;
+
+        private ChunkParseTask(
+            final FileChannel channel,
+            final long start,
+            final long end,
+            final ValidationUtil validationUtil) {
+
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+            this.validationUtil = validationUtil;
+        }
+
+        @Override
+        protected List<Employee> compute() {
+            final MappedByteBuffer buffer;
+            try {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            final EmployeeCsvParser parser = new EmployeeCsvParser(charset);
+            final List<Employee> employees = new ArrayList<>();
+            final int limit = buffer.limit();
+            long recordNumber = 0;
+            int recordStart = 0;
+            while(recordStart < limit) {
+                int recordEnd = EmployeeCsvParser.findRecordEnd(buffer, recordStart, limit);
+                final int nextRecordStart = recordEnd < 0 ? limit : recordEnd + 1;
+                recordEnd = recordEnd < 0 ? limit : recordEnd;
+                recordNumber++;
+
+                if(start != 0 || recordNumber != 1) {
+                    final Employee employee;
+                    try {
+                        employee = parser.parse(buffer, recordStart, recordEnd, recordNumber);
+                    } catch (NumberFormatException e) {
+                        throw new NumberFormatException(e.getMessage() + " | chunk-byte-offset : " + start);
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException(e.getMessage() + " | chunk-byte-offset : " + start, e);
+                    }
+
+                    if(Objects.nonNull(employee)) {
+                        validationUtil.validate(employee);
+                        employees.add(employee);
+                    }
+                }
+                recordStart = nextRecordStart;
+            }
+
+            return employees;
+        }
+    }
+
+}
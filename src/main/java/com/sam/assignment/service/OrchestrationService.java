@@ -1,22 +1,52 @@
 package com.sam.assignment.service;
 
+import com.sam.assignment.model.CompactOrg;
 import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.EmployeeChange;
+import com.sam.assignment.model.OrgTree;
 import com.sam.assignment.model.Parameter;
 import com.sam.assignment.model.Response;
+import com.sam.assignment.model.ResponseDelta;
+import com.sam.assignment.model.ResultWindow;
+import com.sam.assignment.util.ArgumentUtil;
+import com.sam.assignment.util.ResultWindowUtil;
+import com.sam.assignment.util.RunMetrics;
 import com.sam.assignment.util.ValidationUtil;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public class OrchestrationService {
 
+    /**
+     * The number of employees buffered between the reader and the streaming hierarchy build.
+     */
+    private static final int STREAMING_BUFFER_CAPACITY = 1 << 13;
+
     private final ValidationUtil validationUtil;
     private final CsvFileReader csvFileReader;
     private final OrgHierarchy<Employee> orgHierarchy;
+    private final CompactOrgHierarchy compactOrgHierarchy;
+    private final OrgSnapshotStore orgSnapshotStore;
+    private final RunMetrics runMetrics;
+    private final EmployeeChangeReader employeeChangeReader = new EmployeeChangeReader();
+    private IncrementalOrgHierarchy incrementalOrgHierarchy;
+    private String appliedChangesState;
 
     /**
      * Constructs an OrchestrationService with the provided dependencies.
@@ -30,6 +60,46 @@ public class OrchestrationService {
         final CsvFileReader csvFileReader,
         final OrgHierarchy<Employee> orgHierarchy) {
 
+        this(validationUtil, csvFileReader, orgHierarchy, new CompactOrgHierarchy(), new OrgSnapshotStore());
+    }
+
+    /**
+     * Constructs an OrchestrationService with the provided dependencies.
+     *
+     * @param validationUtil      utility for validating application parameters
+     * @param csvFileReader       service for reading employee details from a CSV file
+     * @param orgHierarchy        service for building the organizational hierarchy
+     * @param compactOrgHierarchy service for building the hierarchy over the columnar organization model
+     * @param orgSnapshotStore    service for writing and reloading binary snapshots of the columnar organization model
+     */
+    public OrchestrationService(
+        final ValidationUtil validationUtil,
+        final CsvFileReader csvFileReader,
+        final OrgHierarchy<Employee> orgHierarchy,
+        final CompactOrgHierarchy compactOrgHierarchy,
+        final OrgSnapshotStore orgSnapshotStore) {
+
+        this(validationUtil, csvFileReader, orgHierarchy, compactOrgHierarchy, orgSnapshotStore, RunMetrics.DISABLED);
+    }
+
+    /**
+     * Constructs an OrchestrationService with the provided dependencies.
+     *
+     * @param validationUtil      utility for validating application parameters
+     * @param csvFileReader       service for reading employee details from a CSV file
+     * @param orgHierarchy        service for building the organizational hierarchy
+     * @param compactOrgHierarchy service for building the hierarchy over the columnar organization model
+     * @param orgSnapshotStore    service for writing and reloading binary snapshots of the columnar organization model
+     * @param runMetrics          recorder of the phase timings, ingest throughput and hierarchy shape of the run
+     */
+    public OrchestrationService(
+        final ValidationUtil validationUtil,
+        final CsvFileReader csvFileReader,
+        final OrgHierarchy<Employee> orgHierarchy,
+        final CompactOrgHierarchy compactOrgHierarchy,
+        final OrgSnapshotStore orgSnapshotStore,
+        final RunMetrics runMetrics) {
+
         if(Objects.isNull(validationUtil))
             throw new IllegalArgumentException("ValidationUtil cannot be null");
 
@@ -39,6 +109,9 @@ public class OrchestrationService {
         this.validationUtil = validationUtil;
         this.csvFileReader = csvFileReader;
         this.orgHierarchy = orgHierarchy;
+        this.compactOrgHierarchy = compactOrgHierarchy;
+        this.orgSnapshotStore = orgSnapshotStore;
+        this.runMetrics = Objects.isNull(runMetrics) ? RunMetrics.DISABLED : runMetrics;
     }
 
     /**
@@ -49,10 +122,28 @@ public class OrchestrationService {
      * @return a Parameter object containing the validated application parameters
      */
     private Parameter populateParameter(
-        final String[] applicationArguments) {
+        final String[] arguments) {
+
+        final List<Parameter> applicationParameters = populateParameters(arguments);
+        if(applicationParameters.size() != 1)
+            throw new IllegalArgumentException("Multiple scenarios are only supported by the scenario orchestration");
 
-        if (Objects.isNull(applicationArguments)
-                || applicationArguments.length != 4) {
+        return applicationParameters.get(0);
+    }
+
+    /**
+     * Populates the application parameters of every scenario from the provided command line arguments.
+     * The percentage and threshold arguments may each hold a comma-separated list of values, and one
+     * scenario is populated for every combination of them. Every scenario is validated.
+     *
+     * @param applicationArguments command line arguments containing file path and parameters
+     * @return the validated application parameters of every scenario
+     */
+    private List<Parameter> populateParameters(
+        final String[] arguments) {
+
+        final String[] applicationArguments = ArgumentUtil.positionalArguments(arguments);
+        if (applicationArguments.length != 4) {
             log.error(
                 "Please provide below mandatory application arguments : " +
                 "\n1. File-Path \n2. Manager-Least-Pay-Percentage \n3. Manager-More-Pay-Percentage \n4. Threshold-Reporting-Line-Length."
@@ -69,21 +160,61 @@ public class OrchestrationService {
             applicationArguments[3]
         );
 
-        Parameter applicationParameter = new Parameter(
-            applicationArguments[0],
-            BigDecimal.valueOf(Long.parseLong(applicationArguments[1])),
-            BigDecimal.valueOf(Long.parseLong(applicationArguments[2])),
-            Integer.parseInt(applicationArguments[3])
+        final boolean parallel = Boolean.parseBoolean(
+            ArgumentUtil.optionValue(arguments, "parallel", Boolean.FALSE.toString())
         );
-        validationUtil.validate(applicationParameter);
+        final List<Parameter> applicationParameters = new ArrayList<>();
+        for(String managerLeastPayPercentage : applicationArguments[1].split(",")) {
+            for(String managerOverPayPercentage : applicationArguments[2].split(",")) {
+                for(String maxSubordinatesCount : applicationArguments[3].split(",")) {
+                    Parameter applicationParameter = new Parameter(
+                        applicationArguments[0],
+                        BigDecimal.valueOf(Long.parseLong(managerLeastPayPercentage.trim())),
+                        BigDecimal.valueOf(Long.parseLong(managerOverPayPercentage.trim())),
+                        Integer.parseInt(maxSubordinatesCount.trim()),
+                        parallel
+                    );
+                    validationUtil.validate(applicationParameter);
+                    applicationParameters.add(applicationParameter);
+                }
+            }
+        }
+
+        return applicationParameters;
+    }
+
+    /**
+     * Populates the window of the response lists from the optional flags {@code --top=<k>}, which keeps
+     * the k most severe entries of every list, or {@code --page-size=<n>} with an optional
+     * {@code --page-after=<employee-id>} cursor, which keeps a page of every list in ID order.
+     *
+     * @param applicationArguments command line arguments holding the optional flags
+     * @return the window of the response lists, {@link ResultWindow#ALL} without any of the flags
+     */
+    public ResultWindow populateResultWindow(
+        final String[] applicationArguments) {
 
-        return applicationParameter;
+        final String top = ArgumentUtil.optionValue(applicationArguments, "top", null);
+        final String pageSize = ArgumentUtil.optionValue(applicationArguments, "page-size", null);
+        final String pageAfter = ArgumentUtil.optionValue(applicationArguments, "page-after", null);
+        if(Objects.nonNull(top) && Objects.nonNull(pageSize))
+            throw new IllegalArgumentException("Top and page size cannot be combined");
+
+        if(Objects.nonNull(pageAfter) && Objects.isNull(pageSize))
+            throw new IllegalArgumentException("Page after requires a page size");
+
+        if(Objects.nonNull(top))
+            return ResultWindow.top(Integer.parseInt(top.trim()));
+
+        return Objects.nonNull(pageSize)
+            ? ResultWindow.page(Integer.parseInt(pageSize.trim()), pageAfter)
+            : ResultWindow.ALL;
     }
 
     /**
      * Orchestrates the process of reading employee details from a CSV file,
      * building the organizational hierarchy, and returning a response with the CEO
-     * and various calculated details.
+     * and various calculated details. All response lists are filled in a single analysis pass.
      *
      * @param applicationArguments command line arguments containing file path and parameters
      * @return a Response object containing the CEO and other calculated details
@@ -92,41 +223,596 @@ public class OrchestrationService {
     public Response<Employee> doOrchestration(
         final String[] applicationArguments) throws IOException {
 
-        final Parameter applicationParameter = populateParameter(
-            applicationArguments
+        final Parameter applicationParameter;
+        final ResultWindow window;
+        try (RunMetrics.Phase ignored = runMetrics.phase("parse-arguments")) {
+            applicationParameter = populateParameter(
+                applicationArguments
+            );
+            window = populateResultWindow(
+                applicationArguments
+            );
+        }
+
+        final RunMetrics.Phase csvRead = runMetrics.phase("csv-read");
+        final Map<String, Employee> employees;
+        try (csvRead) {
+            employees = csvFileReader.readEmployeeDetails(
+                applicationParameter,
+                validationUtil
+            );
+        }
+        recordIngest(csvRead, employees.size());
+
+        final Employee ceo;
+        try (RunMetrics.Phase ignored = runMetrics.phase("hierarchy-build")) {
+            ceo = orgHierarchy.buildHierarchy(
+                employees,
+                validationUtil,
+                applicationParameter
+            );
+        }
+        log.info(
+            "Successfully built the organizational hierarchy with CEO details | ID : {}, Name : {} {}",
+            Objects.nonNull(ceo) ? ceo.getId() : "",
+            Objects.nonNull(ceo) ? ceo.getFirstName() : "",
+            Objects.nonNull(ceo) ? ceo.getLastName() : ""
         );
 
-        final Map<String, Employee> employees = csvFileReader.readEmployeeDetails(
+        final Response<Employee> response;
+        try (RunMetrics.Phase ignored = runMetrics.phase("analysis")) {
+            final List<List<Employee>> analyses = orgHierarchy.analyse(
+                employees,
+                AnalysisRule.RESPONSE_RULES,
+                validationUtil,
+                applicationParameter
+            );
+
+            response = new Response<>(
+                ceo,
+                applicationParameter,
+                ResultWindowUtil.apply(analyses.get(0), window, AnalysisRule.RESPONSE_RANKINGS.get(0)),
+                ResultWindowUtil.apply(analyses.get(1), window, AnalysisRule.RESPONSE_RANKINGS.get(1)),
+                ResultWindowUtil.apply(analyses.get(2), window, AnalysisRule.RESPONSE_RANKINGS.get(2))
+            );
+        }
+        recordShape(employees.values());
+
+        try (RunMetrics.Phase ignored = runMetrics.phase("response-validation")) {
+            validationUtil.validate(response);
+        }
+        logValidationSummary();
+        return response;
+    }
+
+    /**
+     * Orchestrates the same process as {@link #doOrchestration(String[])} over the columnar
+     * {@link CompactOrg} model, which keeps only a few primitive columns per employee and materializes
+     * Employee objects just for the CEO and the employees reported in the response.
+     * <p>
+     * With {@code --snapshot-in=<path>} the linked organization is reloaded from a binary snapshot
+     * instead of reading and linking the CSV file, and with {@code --snapshot-out=<path>} the linked
+     * organization is written to a snapshot before it is analysed.
+     *
+     * @param applicationArguments command line arguments containing file path and parameters
+     * @return a Response object containing the CEO and other calculated details
+     * @throws IOException if an error occurs while reading the CSV file
+     */
+    public Response<Employee> doCompactOrchestration(
+        final String[] applicationArguments) throws IOException {
+
+        final Parameter applicationParameter;
+        final ResultWindow window;
+        try (RunMetrics.Phase ignored = runMetrics.phase("parse-arguments")) {
+            applicationParameter = populateParameter(
+                applicationArguments
+            );
+            window = populateResultWindow(
+                applicationArguments
+            );
+        }
+
+        final CompactOrg org = loadCompactOrg(
             applicationParameter,
-            validationUtil
+            applicationArguments
         );
+        final Employee ceo = org.getCeo() == CompactOrg.NO_EMPLOYEE ? null : org.toEmployee(org.getCeo());
 
-        final Employee ceo = orgHierarchy.buildHierarchy(
-            employees,
-            validationUtil,
-            applicationParameter
-        );
         log.info(
-            "Successfully built the organizational hierarchy with CEO details | ID : {}, Name : {} {}",
+            "Successfully built the compact organizational hierarchy with CEO details | ID : {}, Name : {} {}",
             Objects.nonNull(ceo) ? ceo.getId() : "",
             Objects.nonNull(ceo) ? ceo.getFirstName() : "",
             Objects.nonNull(ceo) ? ceo.getLastName() : ""
         );
 
-        Response<Employee> response = new Response<>(
-            ceo,
+        final Response<Employee> response;
+        try (RunMetrics.Phase ignored = runMetrics.phase("analysis")) {
+            response = compactOrgHierarchy.populateResponse(
+                org,
+                ceo,
+                validationUtil,
+                applicationParameter,
+                window
+            );
+        }
+
+        try (RunMetrics.Phase ignored = runMetrics.phase("response-validation")) {
+            validationUtil.validate(response);
+        }
+        logValidationSummary();
+        return response;
+    }
+
+    /**
+     * Orchestrates the same process as {@link #doOrchestration(String[])} out of core, for files whose
+     * organization does not fit in memory. The rows are partitioned by ID and manager ID into spill files
+     * under {@code --spill-dir=<path>} (the temporary directory by default), which are joined one of the
+     * {@code --spill-partitions=<n>} partitions at a time, and only the flagged employees are materialized.
+     *
+     * @param applicationArguments command line arguments containing file path and parameters
+     * @return a Response object containing the CEO and other calculated details
+     * @throws IOException if an error occurs while reading the CSV file or the spill files
+     * @see ExternalOrgHierarchy
+     */
+    public Response<Employee> doExternalOrchestration(
+        final String[] applicationArguments) throws IOException {
+
+        final Parameter applicationParameter;
+        final ResultWindow window;
+        final ExternalOrgHierarchy externalOrgHierarchy;
+        try (RunMetrics.Phase ignored = runMetrics.phase("parse-arguments")) {
+            applicationParameter = populateParameter(
+                applicationArguments
+            );
+            window = populateResultWindow(
+                applicationArguments
+            );
+            externalOrgHierarchy = new ExternalOrgHierarchy(
+                csvFileReader,
+                Path.of(ArgumentUtil.optionValue(applicationArguments, "spill-dir", System.getProperty("java.io.tmpdir"))),
+                Integer.parseInt(ArgumentUtil.optionValue(
+                    applicationArguments,
+                    "spill-partitions",
+                    String.valueOf(ExternalOrgHierarchy.DEFAULT_PARTITION_COUNT)
+                ).trim())
+            );
+        }
+
+        final Response<Employee> analysed;
+        try (RunMetrics.Phase ignored = runMetrics.phase("external-analysis")) {
+            analysed = externalOrgHierarchy.populateResponse(
+                applicationParameter,
+                validationUtil
+            );
+        }
+
+        final Response<Employee> response = new Response<>(
+            analysed.getCeo(),
+            applicationParameter,
+            ResultWindowUtil.apply(analysed.getLeastPaidManagers(), window, AnalysisRule.RESPONSE_RANKINGS.get(0)),
+            ResultWindowUtil.apply(analysed.getOverPaidManagers(), window, AnalysisRule.RESPONSE_RANKINGS.get(1)),
+            ResultWindowUtil.apply(analysed.getMaxReportingLineLengthEmployees(), window, AnalysisRule.RESPONSE_RANKINGS.get(2))
+        );
+        log.info(
+            "Successfully analysed the organizational hierarchy out of core with CEO details | ID : {}, Name : {} {}",
+            Objects.nonNull(response.getCeo()) ? response.getCeo().getId() : "",
+            Objects.nonNull(response.getCeo()) ? response.getCeo().getFirstName() : "",
+            Objects.nonNull(response.getCeo()) ? response.getCeo().getLastName() : ""
+        );
+
+        try (RunMetrics.Phase ignored = runMetrics.phase("response-validation")) {
+            validationUtil.validate(response);
+        }
+        logValidationSummary();
+        return response;
+    }
+
+    /**
+     * Orchestrates the same process as {@link #doOrchestration(String[])} as a pipeline: the CSV file is
+     * published employee by employee while a {@link StreamingOrgHierarchy} links the employees into the
+     * hierarchy on another thread, in any order, so the hierarchy is built while the rows are still
+     * arriving and the response is ready right after the end of the file. The file path
+     * {@link CsvFileReader#STANDARD_INPUT} reads the rows piped into the standard input.
+     *
+     * @param applicationArguments command line arguments containing file path and parameters
+     * @return a Response object containing the CEO and other calculated details
+     * @throws IOException if an error occurs while reading the CSV file
+     */
+    public Response<Employee> doStreamingOrchestration(
+        final String[] applicationArguments) throws IOException {
+
+        final Parameter applicationParameter;
+        final ResultWindow window;
+        try (RunMetrics.Phase ignored = runMetrics.phase("parse-arguments")) {
+            applicationParameter = populateParameter(
+                applicationArguments
+            );
+            window = populateResultWindow(
+                applicationArguments
+            );
+        }
+
+        final StreamingOrgHierarchy streamingOrgHierarchy = new StreamingOrgHierarchy(
+            validationUtil,
+            applicationParameter
+        );
+        final ExecutorService subscriberExecutor = Executors.newSingleThreadExecutor();
+        final RunMetrics.Phase streamingBuild = runMetrics.phase("streaming-build");
+        try (streamingBuild; SubmissionPublisher<Employee> publisher = new SubmissionPublisher<>(
+            subscriberExecutor,
+            STREAMING_BUFFER_CAPACITY
+        )) {
+            publisher.subscribe(streamingOrgHierarchy);
+            csvFileReader.publishEmployeeDetails(
+                applicationParameter,
+                validationUtil,
+                publisher
+            );
+        } catch (CancellationException e) {
+            // the subscriber failed, its failure is rethrown when the response is awaited
+        } finally {
+            subscriberExecutor.shutdown();
+        }
+
+        final Response<Employee> analysed;
+        try (RunMetrics.Phase ignored = runMetrics.phase("end-of-stream-analysis")) {
+            analysed = streamingOrgHierarchy.awaitResponse();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while awaiting the streaming hierarchy build");
+        }
+        recordIngest(streamingBuild, streamingOrgHierarchy.size());
+
+        final Response<Employee> response = new Response<>(
+            analysed.getCeo(),
             applicationParameter,
-            orgHierarchy.populateLeastPaidManagers(employees),
-            orgHierarchy.populateOverPaidManagers(employees),
-            orgHierarchy.populateMaxReportingLineLength(
+            ResultWindowUtil.apply(analysed.getLeastPaidManagers(), window, AnalysisRule.RESPONSE_RANKINGS.get(0)),
+            ResultWindowUtil.apply(analysed.getOverPaidManagers(), window, AnalysisRule.RESPONSE_RANKINGS.get(1)),
+            ResultWindowUtil.apply(analysed.getMaxReportingLineLengthEmployees(), window, AnalysisRule.RESPONSE_RANKINGS.get(2))
+        );
+        log.info(
+            "Successfully built the organizational hierarchy from the stream with CEO details | ID : {}, Name : {} {}",
+            Objects.nonNull(response.getCeo()) ? response.getCeo().getId() : "",
+            Objects.nonNull(response.getCeo()) ? response.getCeo().getFirstName() : "",
+            Objects.nonNull(response.getCeo()) ? response.getCeo().getLastName() : ""
+        );
+
+        try (RunMetrics.Phase ignored = runMetrics.phase("response-validation")) {
+            validationUtil.validate(response);
+        }
+        logValidationSummary();
+        return response;
+    }
+
+    /**
+     * Orchestrates the same process as {@link #doOrchestration(String[])} for an organization holding
+     * several independent trees, such as a group file of legal entities. The hierarchy is built as a
+     * forest in which every employee without a manager roots a tree and every employee whose manager is
+     * missing roots an orphaned tree, and the trees are then analysed as independent partitions in
+     * parallel. Reporting line lengths are counted from the root of each tree.
+     *
+     * @param applicationArguments command line arguments containing file path and parameters
+     * @return one response per tree, ordered by root employee ID, with the root as the CEO
+     * @throws IOException if an error occurs while reading the CSV file
+     */
+    public List<Response<Employee>> doForestOrchestration(
+        final String[] applicationArguments) throws IOException {
+
+        final Parameter applicationParameter;
+        final ResultWindow window;
+        try (RunMetrics.Phase ignored = runMetrics.phase("parse-arguments")) {
+            applicationParameter = populateParameter(
+                applicationArguments
+            );
+            window = populateResultWindow(
+                applicationArguments
+            );
+        }
+
+        final RunMetrics.Phase csvRead = runMetrics.phase("csv-read");
+        final Map<String, Employee> employees;
+        try (csvRead) {
+            employees = csvFileReader.readEmployeeDetails(
+                applicationParameter,
+                validationUtil
+            );
+        }
+        recordIngest(csvRead, employees.size());
+
+        final List<OrgTree> forest;
+        try (RunMetrics.Phase ignored = runMetrics.phase("forest-build")) {
+            forest = orgHierarchy.buildForest(
                 employees,
                 validationUtil,
                 applicationParameter
-            )
+            );
+        }
+        for(OrgTree tree : forest)
+            if(tree.isOrphaned())
+                log.warn(
+                    "Orphaned tree found, its root's manager is missing. root-id : {} | manager-id : {} | employee-count : {}",
+                    tree.getRoot().getId(),
+                    tree.getRoot().getManagerId(),
+                    tree.getEmployeeCount()
+                );
+        log.info(
+            "Successfully built the organizational forest | tree-count : {} | orphaned-tree-count : {} | employee-count : {}",
+            forest.size(),
+            forest.stream().filter(OrgTree::isOrphaned).count(),
+            employees.size()
         );
 
-        validationUtil.validate(response);
-        return response;
+        final List<Response<Employee>> responses = new ArrayList<>(forest.size());
+        try (RunMetrics.Phase ignored = runMetrics.phase("partitioned-analysis")) {
+            final List<List<List<Employee>>> analyses = orgHierarchy.analyseForest(
+                forest,
+                AnalysisRule.RESPONSE_RULES,
+                validationUtil,
+                applicationParameter
+            );
+
+            for(int tree = 0; tree < forest.size(); tree++) {
+                final List<List<Employee>> treeAnalyses = analyses.get(tree);
+                responses.add(new Response<>(
+                    forest.get(tree).getRoot(),
+                    applicationParameter,
+                    ResultWindowUtil.apply(treeAnalyses.get(0), window, AnalysisRule.RESPONSE_RANKINGS.get(0)),
+                    ResultWindowUtil.apply(treeAnalyses.get(1), window, AnalysisRule.RESPONSE_RANKINGS.get(1)),
+                    ResultWindowUtil.apply(treeAnalyses.get(2), window, AnalysisRule.RESPONSE_RANKINGS.get(2))
+                ));
+                log.info(
+                    "Successfully analysed the organizational tree | root-id : {} | orphaned : {} | employee-count : {}",
+                    forest.get(tree).getRoot().getId(),
+                    forest.get(tree).isOrphaned(),
+                    forest.get(tree).getEmployeeCount()
+                );
+            }
+        }
+        recordShape(employees.values());
+
+        try (RunMetrics.Phase ignored = runMetrics.phase("response-validation")) {
+            responses.forEach(validationUtil::validate);
+        }
+        logValidationSummary();
+        return responses;
+    }
+
+    /**
+     * Orchestrates a sweep of scenarios over one loaded hierarchy. The percentage and threshold arguments
+     * may each hold a comma-separated list of values (e.g. {@code 10,20,30}), and one scenario is evaluated
+     * for every combination of them. The organization is read (or reloaded from a snapshot) and linked
+     * once, the subordinates' averages and reporting line lengths are computed once, and every scenario
+     * is then a comparison pass of its own.
+     *
+     * @param applicationArguments command line arguments containing file path and parameters
+     * @return one response per scenario, in the order of the combinations of the argument values
+     * @throws IOException if an error occurs while reading the CSV file or snapshot
+     */
+    public List<Response<Employee>> doScenarioOrchestration(
+        final String[] applicationArguments) throws IOException {
+
+        final List<Parameter> applicationParameters;
+        final ResultWindow window;
+        try (RunMetrics.Phase ignored = runMetrics.phase("parse-arguments")) {
+            applicationParameters = populateParameters(
+                applicationArguments
+            );
+            window = populateResultWindow(
+                applicationArguments
+            );
+        }
+
+        final CompactOrg org = loadCompactOrg(
+            applicationParameters.get(0),
+            applicationArguments
+        );
+
+        final List<Response<Employee>> responses;
+        try (RunMetrics.Phase ignored = runMetrics.phase("analysis")) {
+            responses = compactOrgHierarchy.populateResponses(
+                org,
+                validationUtil,
+                applicationParameters,
+                window
+            );
+        }
+        log.info(
+            "Successfully evaluated scenarios over the compact organizational hierarchy | scenario-count : {} | employee-count : {}",
+            responses.size(),
+            org.size()
+        );
+
+        try (RunMetrics.Phase ignored = runMetrics.phase("response-validation")) {
+            responses.forEach(validationUtil::validate);
+        }
+        logValidationSummary();
+        return responses;
+    }
+
+    /**
+     * Orchestrates an incremental re-analysis. The first call, and every call with different application
+     * parameters, builds and analyses the hierarchy from scratch and keeps it resident. Later calls apply
+     * only the changes to the resident hierarchy and report the changed entries of the response lists:
+     * with {@code --changes=<path>} the changes are read from a change file, see {@link EmployeeChangeReader},
+     * so the CSV file is not read again; otherwise the CSV file is read as a new snapshot and diffed
+     * against the resident hierarchy. A change file whose modification time and size are those of the
+     * last applied one is not read again, and the call reports no changes.
+     *
+     * @param applicationArguments command line arguments containing file path and parameters
+     * @return the changed entries of the response lists since the previous call
+     * @throws IOException if an error occurs while reading the CSV file or the change file
+     */
+    public ResponseDelta<Employee> doIncrementalOrchestration(
+        final String[] applicationArguments) throws IOException {
+
+        final Parameter applicationParameter = populateParameter(
+            applicationArguments
+        );
+        final String changesPath = ArgumentUtil.optionValue(applicationArguments, "changes", null);
+        final boolean resident = Objects.nonNull(incrementalOrgHierarchy) &&
+            applicationParameter.equals(incrementalOrgHierarchy.getApplicationParameter());
+
+        final ResponseDelta<Employee> responseDelta;
+        if(resident && Objects.nonNull(changesPath)) {
+            final String changesState = changesState(changesPath);
+            if(changesState.equals(appliedChangesState)) {
+                log.info("Change file is unchanged since it was applied, nothing to re-analyse | file-path : {}", changesPath);
+                return incrementalOrgHierarchy.unchanged();
+            }
+
+            final RunMetrics.Phase changeRead = runMetrics.phase("change-read");
+            final List<EmployeeChange> changes;
+            try (changeRead) {
+                changes = employeeChangeReader.readEmployeeChanges(changesPath);
+            }
+            recordIngest(changeRead, changes.size());
+
+            try (RunMetrics.Phase ignored = runMetrics.phase("incremental-analysis")) {
+                responseDelta = incrementalOrgHierarchy.apply(changes);
+            }
+            appliedChangesState = changesState;
+        } else {
+            final RunMetrics.Phase csvRead = runMetrics.phase("csv-read");
+            final Map<String, Employee> employees;
+            try (csvRead) {
+                employees = csvFileReader.readEmployeeDetails(
+                    applicationParameter,
+                    validationUtil
+                );
+            }
+            recordIngest(csvRead, employees.size());
+
+            try (RunMetrics.Phase ignored = runMetrics.phase("incremental-analysis")) {
+                if(resident) {
+                    responseDelta = incrementalOrgHierarchy.applySnapshot(employees);
+                } else {
+                    incrementalOrgHierarchy = new IncrementalOrgHierarchy(orgHierarchy, validationUtil);
+                    appliedChangesState = null;
+                    responseDelta = incrementalOrgHierarchy.load(employees, applicationParameter);
+                }
+            }
+        }
+
+        logValidationSummary();
+        return responseDelta;
+    }
+
+    /**
+     * @return the path, modification time and size of a change file, which tell whether it was rewritten
+     */
+    private static String changesState(
+        final String changesPath) throws IOException {
+
+        final Path path = Path.of(changesPath);
+        return changesPath + " | " + Files.getLastModifiedTime(path).toMillis() + " | " + Files.size(path);
+    }
+
+    /**
+     * Reads and links the columnar organization, or reloads it from the snapshot given by
+     * {@code --snapshot-in}, and writes it to the snapshot given by {@code --snapshot-out}.
+     */
+    private CompactOrg loadCompactOrg(
+        final Parameter applicationParameter,
+        final String[] applicationArguments) throws IOException {
+
+        final String snapshotIn = ArgumentUtil.optionValue(applicationArguments, "snapshot-in", null);
+        final String snapshotOut = ArgumentUtil.optionValue(applicationArguments, "snapshot-out", null);
+
+        final CompactOrg org;
+        if(Objects.nonNull(snapshotIn)) {
+            try (RunMetrics.Phase ignored = runMetrics.phase("snapshot-read")) {
+                org = orgSnapshotStore.read(snapshotIn);
+            }
+        } else {
+            final RunMetrics.Phase csvRead = runMetrics.phase("csv-read");
+            try (csvRead) {
+                org = csvFileReader.readCompactOrg(
+                    applicationParameter,
+                    validationUtil
+                );
+            }
+            recordIngest(csvRead, org.size());
+
+            try (RunMetrics.Phase ignored = runMetrics.phase("hierarchy-build")) {
+                compactOrgHierarchy.buildHierarchy(org);
+            }
+        }
+        recordShape(org);
+
+        if(Objects.nonNull(snapshotOut)) {
+            try (RunMetrics.Phase ignored = runMetrics.phase("snapshot-write")) {
+                orgSnapshotStore.write(org, snapshotOut);
+            }
+        }
+
+        return org;
+    }
+
+    /**
+     * Records the employee count and the rows per second of an ingest phase.
+     */
+    private void recordIngest(
+        final RunMetrics.Phase ingest,
+        final int rowCount) {
+
+        if(!runMetrics.isEnabled())
+            return;
+
+        runMetrics.count("employee-count", rowCount);
+        runMetrics.count("ingest-rows-per-second", rowCount * 1_000_000_000L / Math.max(1, ingest.getWallNanos()));
+    }
+
+    /**
+     * Records the fan-out (number of direct subordinates) and reporting line length histograms of an
+     * analysed object hierarchy. The reporting line lengths are only populated by the analysis.
+     */
+    private void recordShape(
+        final Collection<Employee> employees) {
+
+        if(!runMetrics.isEnabled())
+            return;
+
+        final RunMetrics.Histogram fanOut = runMetrics.histogram("fan-out");
+        final RunMetrics.Histogram reportingLineLength = runMetrics.histogram("reporting-line-length");
+        for(Employee employee : employees) {
+            fanOut.record(employee.getSubordinates().size());
+            reportingLineLength.record(employee.getReportingLineLength());
+        }
+    }
+
+    /**
+     * Records the fan-out (number of direct subordinates) and reporting line length histograms of a linked
+     * columnar organization.
+     */
+    private void recordShape(
+        final CompactOrg org) {
+
+        if(!runMetrics.isEnabled())
+            return;
+
+        final RunMetrics.Histogram fanOut = runMetrics.histogram("fan-out");
+        final RunMetrics.Histogram reportingLineLength = runMetrics.histogram("reporting-line-length");
+        for(int ordinal = 0; ordinal < org.size(); ordinal++) {
+            int subordinateCount = 0;
+            for(int subordinate = org.getFirstSubordinate(ordinal); subordinate != CompactOrg.NO_EMPLOYEE;
+                subordinate = org.getNextSibling(subordinate))
+                subordinateCount++;
+            fanOut.record(subordinateCount);
+            reportingLineLength.record(org.getReportingLineLength(ordinal));
+        }
+    }
+
+    private void logValidationSummary() {
+        runMetrics.count("validation-nanos", validationUtil.getValidationNanos());
+        runMetrics.count("validated-object-count", validationUtil.getValidatedCount());
+        runMetrics.count("skipped-object-count", validationUtil.getSkippedCount());
+        log.info(
+            "Validation summary | mode : {} | validated-object-count : {} | skipped-object-count : {} | elapsed-millis : {}",
+            validationUtil.getMode(),
+            validationUtil.getValidatedCount(),
+            validationUtil.getSkippedCount(),
+            TimeUnit.NANOSECONDS.toMillis(validationUtil.getValidationNanos())
+        );
     }
 
 }
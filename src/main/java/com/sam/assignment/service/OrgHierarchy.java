@@ -1,11 +1,12 @@
 package com.sam.assignment.service;
 
 import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.OrgTree;
 import com.sam.assignment.model.Parameter;
+import com.sam.assignment.util.SalaryBand;
 import com.sam.assignment.util.ValidationUtil;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -26,6 +27,42 @@ public interface OrgHierarchy<T extends Employee> {
         final Parameter applicationParameter
     );
 
+    /**
+     * Builds the organizational hierarchy from a map of employees as a forest, for organizations with
+     * several independent roots. Every employee without a manager roots a tree, and so does every
+     * employee whose manager cannot be found, as the root of an orphaned tree.
+     *
+     * @param employees            a map of all employees indexed by their IDs
+     * @param validationUtil       utility for validating employee objects
+     * @param applicationParameter parameters for application-specific calculations
+     * @return every tree of the forest, ordered by root employee ID
+     * @throws IllegalStateException if a reporting line contains a cycle
+     */
+    List<OrgTree> buildForest(
+        final Map<String, Employee> employees,
+        final ValidationUtil validationUtil,
+        final Parameter applicationParameter
+    );
+
+    /**
+     * Evaluates all given rules for every tree of a forest built by
+     * {@link #buildForest(Map, ValidationUtil, Parameter)}, each tree as an independent partition. The
+     * reporting line lengths are counted from the root of each tree.
+     *
+     * @param forest               the trees to analyse
+     * @param rules                the rules to evaluate for every employee
+     * @param validationUtil       utility for validating employee objects
+     * @param applicationParameter parameters for application-specific calculations
+     * @return for each tree, in the order of {@code forest}, and for each rule, in the order of
+     *         {@code rules}, the employees of the tree it matched
+     */
+    List<List<List<Employee>>> analyseForest(
+        final List<OrgTree> forest,
+        final List<AnalysisRule> rules,
+        final ValidationUtil validationUtil,
+        final Parameter applicationParameter
+    );
+
     /**
      * Populates the maximum reporting line length for each employee in the organization.
      *
@@ -40,6 +77,23 @@ public interface OrgHierarchy<T extends Employee> {
         final Parameter applicationParameter
     );
 
+    /**
+     * Evaluates all given rules in a single pass over the employees. The pass populates every
+     * employee's reporting line length and validates the employee before the rules are applied.
+     *
+     * @param employees            a map of all employees indexed by their IDs
+     * @param rules                the rules to evaluate for every employee
+     * @param validationUtil       utility for validating employee objects
+     * @param applicationParameter parameters for application-specific calculations
+     * @return for each rule, in the order of {@code rules}, the employees it matched
+     */
+    List<List<Employee>> analyse(
+        final Map<String, Employee> employees,
+        final List<AnalysisRule> rules,
+        final ValidationUtil validationUtil,
+        final Parameter applicationParameter
+    );
+
     /**
      * Populates the difference of subordinates' average salary for each manager.
      *
@@ -50,31 +104,43 @@ public interface OrgHierarchy<T extends Employee> {
         final Employee manager,
         final Parameter applicationParameter) {
 
-        BigDecimal subordinatesAverageSalary = BigDecimal.valueOf(manager.getSubordinates()
-            .stream()
-            .mapToDouble(employee -> {
-                if(Objects.isNull(employee.getSalary()))
-                    return 0.0;
+        long subordinatesSalarySumCents = 0;
+        for(Employee subordinate : manager.getSubordinates())
+            if(Objects.nonNull(subordinate.getSalary()))
+                subordinatesSalarySumCents = Math.addExact(subordinatesSalarySumCents, SalaryBand.toCents(subordinate.getSalary()));
+
+        populateDifferenceOfSubordinatesAverageSalary(
+            manager,
+            subordinatesSalarySumCents,
+            manager.getSubordinates().size(),
+            SalaryBand.of(applicationParameter)
+        );
+    }
 
-                return employee.getSalary().doubleValue();
-            })
-            .average()
-            .orElse(0.0)
-        ).setScale(2, RoundingMode.HALF_UP);
-
-        BigDecimal minSalary = subordinatesAverageSalary
-                .multiply(applicationParameter.getManagerLeastPayPercentage()
-                        .add(BigDecimal.valueOf(100)))
-                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-        BigDecimal maxSalary = subordinatesAverageSalary
-                .multiply(applicationParameter.getManagerOverPayPercentage()
-                        .add(BigDecimal.valueOf(100)))
-                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-
-        if(manager.getSalary().compareTo(minSalary) < 0)
-            manager.setDifferenceOfSubordinatesAverageSalary(manager.getSalary().subtract(minSalary));
-        else if(manager.getSalary().compareTo(maxSalary) > 0)
-            manager.setDifferenceOfSubordinatesAverageSalary(manager.getSalary().subtract(maxSalary));
+    /**
+     * Populates the difference of subordinates' average salary for a manager from a pre-aggregated
+     * salary sum in cents and subordinate count, so callers can accumulate both in a single pass. The
+     * band is evaluated in fixed-point cents and a {@link BigDecimal} is only created for a manager
+     * whose salary lies outside the band.
+     *
+     * @param manager                    the manager whose salary band is to be evaluated
+     * @param subordinatesSalarySumCents the sum of the salaries of all direct subordinates, in cents
+     * @param subordinatesCount          the number of direct subordinates
+     * @param salaryBand                 the salary band of the application parameters
+     */
+    default void populateDifferenceOfSubordinatesAverageSalary(
+        final Employee manager,
+        final long subordinatesSalarySumCents,
+        final int subordinatesCount,
+        final SalaryBand salaryBand) {
+
+        final long differenceCents = salaryBand.differenceCents(
+            SalaryBand.toCents(manager.getSalary()),
+            SalaryBand.averageCents(subordinatesSalarySumCents, subordinatesCount)
+        );
+
+        if(differenceCents != 0)
+            manager.setDifferenceOfSubordinatesAverageSalary(BigDecimal.valueOf(differenceCents, 2));
     }
 
     /**
@@ -129,16 +195,27 @@ public interface OrgHierarchy<T extends Employee> {
      * @param employee  the employee whose reporting line length is to be calculated
      * @param employees a map of all employees indexed by their IDs
      * @return the length of the reporting line
+     * @throws IllegalArgumentException if a manager in the reporting line cannot be found
+     * @throws IllegalStateException    if the reporting line contains a cycle
      */
     default Integer getReportingLineLength(
         final Employee employee,
         final Map<String, Employee> employees) {
 
-        Integer reportingLineLength = 0;
+        int reportingLineLength = 0;
         Employee currentEmployee = employee;
         while(currentEmployee.getManagerId() != null) {
-            currentEmployee = employees.get(currentEmployee.getManagerId());
-            reportingLineLength++;
+            final String managerId = currentEmployee.getManagerId();
+            currentEmployee = employees.get(managerId);
+            if(Objects.isNull(currentEmployee))
+                throw new IllegalArgumentException(
+                    "Manager not found | employee-id : " + employee.getId() + " | manager-id : " + managerId
+                );
+
+            if(++reportingLineLength > employees.size())
+                throw new IllegalStateException(
+                    "Cyclic reporting line detected | employee-id : " + employee.getId()
+                );
         }
 
         return reportingLineLength;
@@ -1,23 +1,56 @@
 package com.sam.assignment.service;
 
 import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.OrgTree;
+import com.sam.assignment.model.PackedEmployeeMap;
 import com.sam.assignment.model.Parameter;
+import com.sam.assignment.util.ReportingLineUtil;
+import com.sam.assignment.util.SalaryBand;
 import com.sam.assignment.util.ValidationUtil;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
 
 public class OrgHierarchyImpl<T extends Employee> implements OrgHierarchy<Employee> {
 
     /**
-     * Calculates the length of the reporting line for a given employee.
+     * The order of the employees in every analysis result, and of the subordinates linked in parallel.
+     */
+    private static final Comparator<Employee> EMPLOYEE_ORDER = Comparator.comparing(Employee::getId);
+
+    /**
+     * Root ordinal of an employee not yet assigned to a tree, and of one whose reporting line is being walked.
+     */
+    private static final int UNASSIGNED_ROOT = -1;
+    private static final int VISITING_ROOT = -2;
+
+    /**
+     * Builds the organizational hierarchy in two phases. The first phase links every employee to
+     * its manager and accumulates the running salary sum and count of each manager's direct
+     * subordinates. The second phase evaluates each manager's salary band exactly once from those
+     * accumulators, so a manager with k subordinates costs O(k) instead of O(k²).
+     * <p>
+     * Employees are addressed by the ordinals of a {@link PackedEmployeeMap}, so managers are found by
+     * packed ID and the accumulators are primitive arrays; any other map is copied into one first.
+     * <p>
+     * When {@link Parameter#isParallel()} is set, the hierarchy is built in parallel instead, see
+     * {@link #buildHierarchyInParallel(Map, ValidationUtil, Parameter)}.
      *
-     * @param employee  the employee whose reporting line length is to be calculated
-     * @param employees a map of all employees indexed by their IDs
-     * @return the length of the reporting line
+     * @param employees          a map of all employees indexed by their IDs
+     * @param validationUtil     utility for validating employee objects
+     * @param applicationParameter parameters for application-specific calculations
+     * @return the root employee (CEO) of the organizational hierarchy
      */
     @Override
     public Employee buildHierarchy(
@@ -25,34 +58,207 @@ public class OrgHierarchyImpl<T extends Employee> implements OrgHierarchy<Employ
         final ValidationUtil validationUtil,
         final Parameter applicationParameter) {
 
-        AtomicReference<Employee> ceo = new AtomicReference<>();
-        employees.forEach((id, employee) -> {
+        if(applicationParameter.isParallel())
+            return buildHierarchyInParallel(employees, validationUtil, applicationParameter);
 
-            if(StringUtils.isEmpty(employee.getManagerId())) {
-                ceo.set(employee);
-            } else {
-                Employee manager = employees.get(employee.getManagerId());
-                if(Objects.nonNull(manager)) {
-                    manager.getSubordinates().add(employee);
-                    populateDifferenceOfSubordinatesAverageSalary(
-                        manager,
-                        applicationParameter
-                    );
+        final PackedEmployeeMap packedEmployees = PackedEmployeeMap.of(employees);
+        link(packedEmployees, validationUtil, applicationParameter);
+
+        Employee ceo = null;
+        for(int ordinal = 0; ordinal < packedEmployees.size(); ordinal++)
+            if(!packedEmployees.hasManager(ordinal))
+                ceo = packedEmployees.employeeAt(ordinal);
+
+        return ceo;
+    }
+
+    /**
+     * Builds the organizational hierarchy as a forest. The employees are linked and the salary bands
+     * evaluated as in the sequential {@link #buildHierarchy(Map, ValidationUtil, Parameter)}, then every
+     * employee is assigned to the root of its tree by walking up its reporting line until an employee
+     * whose root is already known, so every employee is visited once. A root is an employee without a
+     * manager, or an employee whose manager cannot be found, which roots an orphaned tree.
+     *
+     * @param employees            a map of all employees indexed by their IDs
+     * @param validationUtil       utility for validating employee objects
+     * @param applicationParameter parameters for application-specific calculations
+     * @return every tree of the forest, ordered by root employee ID
+     * @throws IllegalStateException if a reporting line contains a cycle
+     */
+    @Override
+    public List<OrgTree> buildForest(
+        final Map<String, Employee> employees,
+        final ValidationUtil validationUtil,
+        final Parameter applicationParameter) {
+
+        final PackedEmployeeMap packedEmployees = PackedEmployeeMap.of(employees);
+        link(packedEmployees, validationUtil, applicationParameter);
+
+        final int size = packedEmployees.size();
+        final int[] rootOrdinals = new int[size];
+        Arrays.fill(rootOrdinals, UNASSIGNED_ROOT);
+        final int[] treeSizes = new int[size];
+        final int[] reportingLine = new int[size];
+        for(int ordinal = 0; ordinal < size; ordinal++) {
+            int current = ordinal;
+            int depth = 0;
+            while(rootOrdinals[current] == UNASSIGNED_ROOT) {
+                rootOrdinals[current] = VISITING_ROOT;
+                reportingLine[depth++] = current;
+                final int managerOrdinal = packedEmployees.hasManager(current)
+                    ? packedEmployees.managerOrdinal(current)
+                    : PackedEmployeeMap.NO_EMPLOYEE;
+                if(managerOrdinal == PackedEmployeeMap.NO_EMPLOYEE) {
+                    rootOrdinals[current] = current;
+                    break;
                 }
 
-                validationUtil.validate(manager);
+                current = managerOrdinal;
             }
-        });
 
-        return ceo.get();
+            if(rootOrdinals[current] == VISITING_ROOT)
+                throw new IllegalStateException(
+                    "Cyclic reporting line detected | employee-id : " + packedEmployees.employeeAt(current).getId()
+                );
+
+            final int rootOrdinal = rootOrdinals[current];
+            for(int step = 0; step < depth; step++)
+                rootOrdinals[reportingLine[step]] = rootOrdinal;
+            treeSizes[rootOrdinal] += depth;
+        }
+
+        final List<OrgTree> forest = new ArrayList<>();
+        for(int ordinal = 0; ordinal < size; ordinal++)
+            if(rootOrdinals[ordinal] == ordinal)
+                forest.add(new OrgTree(
+                    packedEmployees.employeeAt(ordinal),
+                    packedEmployees.hasManager(ordinal),
+                    treeSizes[ordinal]
+                ));
+
+        forest.sort(Comparator.comparing(OrgTree::getRoot, EMPLOYEE_ORDER));
+        return Collections.unmodifiableList(forest);
     }
 
     /**
-     * Calculates the length of the reporting line for a given employee.
+     * Evaluates all given rules for every tree of the forest, each tree as an independent partition on
+     * the common {@link java.util.concurrent.ForkJoinPool}. A partition walks its own tree depth first from
+     * the root through the linked subordinates, sets each reporting line length from the one of the
+     * manager, validates the employee and applies every rule to it. No two partitions touch the same
+     * employee, so the trees scale with the number of cores. The rules may be evaluated concurrently and
+     * must therefore be thread-safe. Every result is sorted by employee ID.
      *
-     * @param employee  the employee whose reporting line length is to be calculated
-     * @param employees a map of all employees indexed by their IDs
-     * @return the length of the reporting line
+     * @param forest               the trees to analyse
+     * @param rules                the rules to evaluate for every employee
+     * @param validationUtil       utility for validating employee objects
+     * @param applicationParameter parameters for application-specific calculations
+     * @return for each tree, in the order of {@code forest}, and for each rule, in the order of
+     *         {@code rules}, the employees of the tree it matched
+     */
+    @Override
+    public List<List<List<Employee>>> analyseForest(
+        final List<OrgTree> forest,
+        final List<AnalysisRule> rules,
+        final ValidationUtil validationUtil,
+        final Parameter applicationParameter) {
+
+        if(Objects.isNull(forest))
+            throw new IllegalArgumentException("Forest cannot be null");
+
+        if(Objects.isNull(rules) || rules.isEmpty())
+            throw new IllegalArgumentException("Analysis rules cannot be null or empty");
+
+        final AnalysisRule[] ruleArray = rules.toArray(new AnalysisRule[0]);
+        return forest.parallelStream()
+            .map(tree -> analyseTree(tree, ruleArray, validationUtil, applicationParameter))
+            .toList();
+    }
+
+    private static List<List<Employee>> analyseTree(
+        final OrgTree tree,
+        final AnalysisRule[] ruleArray,
+        final ValidationUtil validationUtil,
+        final Parameter applicationParameter) {
+
+        final List<List<Employee>> matches = new ArrayList<>(ruleArray.length);
+        for(int rule = 0; rule < ruleArray.length; rule++)
+            matches.add(new ArrayList<>());
+
+        final Deque<Employee> pending = new ArrayDeque<>();
+        tree.getRoot().setReportingLineLength(0);
+        pending.push(tree.getRoot());
+        while(!pending.isEmpty()) {
+            final Employee employee = pending.pop();
+            validationUtil.validate(employee);
+
+            for(int rule = 0; rule < ruleArray.length; rule++)
+                if(ruleArray[rule].matches(employee, applicationParameter))
+                    matches.get(rule).add(employee);
+
+            for(Employee subordinate : employee.getSubordinates()) {
+                subordinate.setReportingLineLength(employee.getReportingLineLength() + 1);
+                pending.push(subordinate);
+            }
+        }
+
+        return sortedResults(matches);
+    }
+
+    /**
+     * Links every employee of the packed map to its manager and accumulates the running salary sum and
+     * count of each manager's direct subordinates, then evaluates each manager's salary band once from
+     * those accumulators. Employees whose manager cannot be found are not linked.
+     */
+    private void link(
+        final PackedEmployeeMap packedEmployees,
+        final ValidationUtil validationUtil,
+        final Parameter applicationParameter) {
+
+        final int size = packedEmployees.size();
+        final SalaryBand salaryBand = SalaryBand.of(applicationParameter);
+        final long[] subordinatesSalarySumCents = new long[size];
+        final int[] subordinatesCounts = new int[size];
+        for(int ordinal = 0; ordinal < size; ordinal++) {
+            if(!packedEmployees.hasManager(ordinal))
+                continue;
+
+            final Employee employee = packedEmployees.employeeAt(ordinal);
+            final int managerOrdinal = packedEmployees.managerOrdinal(ordinal);
+            if(managerOrdinal != PackedEmployeeMap.NO_EMPLOYEE) {
+                packedEmployees.employeeAt(managerOrdinal).getSubordinates().add(employee);
+                if(Objects.nonNull(employee.getSalary()))
+                    subordinatesSalarySumCents[managerOrdinal] = Math.addExact(
+                        subordinatesSalarySumCents[managerOrdinal],
+                        SalaryBand.toCents(employee.getSalary())
+                    );
+                subordinatesCounts[managerOrdinal]++;
+            }
+        }
+
+        for(int ordinal = 0; ordinal < size; ordinal++) {
+            if(subordinatesCounts[ordinal] == 0)
+                continue;
+
+            final Employee manager = packedEmployees.employeeAt(ordinal);
+            populateDifferenceOfSubordinatesAverageSalary(
+                manager,
+                subordinatesSalarySumCents[ordinal],
+                subordinatesCounts[ordinal],
+                salaryBand
+            );
+
+            validationUtil.validate(manager);
+        }
+    }
+
+    /**
+     * Populates the reporting line length of every employee and returns the employees whose reporting
+     * line is longer than the configured threshold.
+     *
+     * @param employees          a map of all employees indexed by their IDs
+     * @param validationUtil     utility for validating employee objects
+     * @param applicationParameter parameters for application-specific calculations
+     * @return a list of employees whose reporting line is longer than the threshold
      */
     @Override
     public List<Employee> populateMaxReportingLineLength(
@@ -60,20 +266,276 @@ public class OrgHierarchyImpl<T extends Employee> implements OrgHierarchy<Employ
         final ValidationUtil validationUtil,
         final Parameter applicationParameter) {
 
-        return employees.values()
-            .stream()
-            .map(employee -> {
-                Integer reportingLineLength = getReportingLineLength(employee, employees);
-                employee.setReportingLineLength(reportingLineLength);
-                validationUtil.validate(employee);
+        return analyse(
+            employees,
+            List.of(AnalysisRule.MAX_REPORTING_LINE_LENGTH),
+            validationUtil,
+            applicationParameter
+        ).get(0);
+    }
+
+    /**
+     * Evaluates all given rules in a single pass over the employees. Employees are addressed by the
+     * ordinals of a {@link PackedEmployeeMap} and the reporting line lengths are computed once per
+     * employee into a primitive array, instead of walking the manager chain separately for every
+     * employee. The pass then sets each length, validates the employee and applies every rule to it, so
+     * the number of scans over the organization does not grow with the number of rules. Every result is sorted by employee ID.
+     * <p>
+     * When {@link Parameter#isParallel()} is set, the analysis runs in parallel instead, see
+     * {@link #analyseInParallel(Map, List, ValidationUtil, Parameter)}.
+     *
+     * @param employees            a map of all employees indexed by their IDs
+     * @param rules                the rules to evaluate for every employee
+     * @param validationUtil       utility for validating employee objects
+     * @param applicationParameter parameters for application-specific calculations
+     * @return for each rule, in the order of {@code rules}, the employees it matched
+     */
+    @Override
+    public List<List<Employee>> analyse(
+        final Map<String, Employee> employees,
+        final List<AnalysisRule> rules,
+        final ValidationUtil validationUtil,
+        final Parameter applicationParameter) {
+
+        if(Objects.isNull(rules) || rules.isEmpty())
+            throw new IllegalArgumentException("Analysis rules cannot be null or empty");
 
-                if(reportingLineLength > applicationParameter.getMaxSubordinatesCount())
-                    return employee;
+        if(applicationParameter.isParallel())
+            return analyseInParallel(employees, rules, validationUtil, applicationParameter);
 
-                return null;
-            })
-            .filter(Objects::nonNull)
-            .toList();
+        final PackedEmployeeMap packedEmployees = PackedEmployeeMap.of(employees);
+        final int size = packedEmployees.size();
+        final int[] managerOrdinals = new int[size];
+        for(int ordinal = 0; ordinal < size; ordinal++) {
+            if(!packedEmployees.hasManager(ordinal)) {
+                managerOrdinals[ordinal] = ReportingLineUtil.NO_MANAGER;
+            } else {
+                final int managerOrdinal = packedEmployees.managerOrdinal(ordinal);
+                if(managerOrdinal == PackedEmployeeMap.NO_EMPLOYEE)
+                    throw new IllegalArgumentException(
+                        "Manager not found | employee-id : " + packedEmployees.employeeAt(ordinal).getId() +
+                        " | manager-id : " + packedEmployees.employeeAt(ordinal).getManagerId()
+                    );
+
+                managerOrdinals[ordinal] = managerOrdinal;
+            }
+        }
+
+        final int[] reportingLineLengths = ReportingLineUtil.computeReportingLineLengths(
+            managerOrdinals,
+            ordinal -> packedEmployees.employeeAt(ordinal).getId()
+        );
+
+        final AnalysisRule[] ruleArray = rules.toArray(new AnalysisRule[0]);
+        final List<List<Employee>> matches = new ArrayList<>(ruleArray.length);
+        for(int rule = 0; rule < ruleArray.length; rule++)
+            matches.add(new ArrayList<>());
+
+        for(int ordinal = 0; ordinal < size; ordinal++) {
+            final Employee employee = packedEmployees.employeeAt(ordinal);
+            employee.setReportingLineLength(reportingLineLengths[ordinal]);
+            validationUtil.validate(employee);
+
+            for(int rule = 0; rule < ruleArray.length; rule++)
+                if(ruleArray[rule].matches(employee, applicationParameter))
+                    matches.get(rule).add(employee);
+        }
+
+        return sortedResults(matches);
+    }
+
+    /**
+     * Builds the organizational hierarchy in parallel on the common {@link java.util.concurrent.ForkJoinPool}.
+     * Employees are ordered by ID and every subordinate is placed into a children index with a lock-free
+     * per-manager cursor. Each manager then links its own subordinates, in ID order, and evaluates its
+     * salary band from a reduction over them, so no two tasks ever touch the same subordinate list. The
+     * managers are validated in a second pass, once the hierarchy is complete, because a FULL validation
+     * reads the subordinate lists of the whole subtree. Employees whose manager cannot be found are not
+     * linked, as in the sequential build. If several employees have no manager, the one with the highest
+     * ID is returned as the CEO.
+     *
+     * @param employees          a map of all employees indexed by their IDs
+     * @param validationUtil     utility for validating employee objects
+     * @param applicationParameter parameters for application-specific calculations
+     * @return the root employee (CEO) of the organizational hierarchy
+     */
+    private Employee buildHierarchyInParallel(
+        final Map<String, Employee> employees,
+        final ValidationUtil validationUtil,
+        final Parameter applicationParameter) {
+
+        final ParallelIndex index = new ParallelIndex(employees);
+        final Employee[] orderedEmployees = index.orderedEmployees;
+        final SalaryBand salaryBand = SalaryBand.of(applicationParameter);
+
+        IntStream.range(0, orderedEmployees.length)
+            .parallel()
+            .filter(ordinal -> index.childStarts[ordinal + 1] > index.childStarts[ordinal])
+            .forEach(managerOrdinal -> {
+                final Employee manager = orderedEmployees[managerOrdinal];
+                long subordinatesSalarySumCents = 0;
+                for(int child = index.childStarts[managerOrdinal]; child < index.childStarts[managerOrdinal + 1]; child++) {
+                    final Employee subordinate = orderedEmployees[index.children[child]];
+                    manager.getSubordinates().add(subordinate);
+                    if(Objects.nonNull(subordinate.getSalary()))
+                        subordinatesSalarySumCents = Math.addExact(subordinatesSalarySumCents, SalaryBand.toCents(subordinate.getSalary()));
+                }
+
+                populateDifferenceOfSubordinatesAverageSalary(
+                    manager,
+                    subordinatesSalarySumCents,
+                    index.childStarts[managerOrdinal + 1] - index.childStarts[managerOrdinal],
+                    salaryBand
+                );
+            });
+
+        // a FULL validation cascades into the subordinate lists, so it only starts once every list is linked
+        IntStream.range(0, orderedEmployees.length)
+            .parallel()
+            .filter(ordinal -> index.childStarts[ordinal + 1] > index.childStarts[ordinal])
+            .forEach(managerOrdinal -> validationUtil.validate(orderedEmployees[managerOrdinal]));
+
+        final OptionalInt ceo = IntStream.range(0, orderedEmployees.length)
+            .parallel()
+            .filter(ordinal -> index.managerOrdinals[ordinal] == ReportingLineUtil.NO_MANAGER)
+            .reduce((first, second) -> second);
+
+        return ceo.isPresent() ? orderedEmployees[ceo.getAsInt()] : null;
+    }
+
+    /**
+     * Evaluates all given rules in parallel. The reporting line lengths are computed level by level
+     * from the roots and set on every employee first, and the validation and the rules are then applied
+     * in one fused parallel pass whose partial results are combined in employee ID order, so the output
+     * is identical to the sequential analysis. The rules may be evaluated concurrently and must therefore
+     * be thread-safe.
+     *
+     * @param employees            a map of all employees indexed by their IDs
+     * @param rules                the rules to evaluate for every employee
+     * @param validationUtil       utility for validating employee objects
+     * @param applicationParameter parameters for application-specific calculations
+     * @return for each rule, in the order of {@code rules}, the employees it matched, sorted by ID
+     */
+    private List<List<Employee>> analyseInParallel(
+        final Map<String, Employee> employees,
+        final List<AnalysisRule> rules,
+        final ValidationUtil validationUtil,
+        final Parameter applicationParameter) {
+
+        final ParallelIndex index = new ParallelIndex(employees);
+        final Employee[] orderedEmployees = index.orderedEmployees;
+        for(int ordinal = 0; ordinal < orderedEmployees.length; ordinal++)
+            if(index.managerOrdinals[ordinal] == ParallelIndex.MISSING_MANAGER)
+                throw new IllegalArgumentException(
+                    "Manager not found | employee-id : " + orderedEmployees[ordinal].getId() +
+                    " | manager-id : " + orderedEmployees[ordinal].getManagerId()
+                );
+
+        final int[] reportingLineLengths = ReportingLineUtil.computeReportingLineLengthsByLevel(
+            index.managerOrdinals,
+            index.childStarts,
+            index.children,
+            ordinal -> orderedEmployees[ordinal].getId()
+        );
+
+        // every length is set before any validation, which cascades into the subordinates of the employee
+        IntStream.range(0, orderedEmployees.length)
+            .parallel()
+            .forEach(ordinal -> orderedEmployees[ordinal].setReportingLineLength(reportingLineLengths[ordinal]));
+
+        final AnalysisRule[] ruleArray = rules.toArray(new AnalysisRule[0]);
+        final List<List<Employee>> matches = IntStream.range(0, orderedEmployees.length)
+            .parallel()
+            .collect(
+                () -> {
+                    final List<List<Employee>> partial = new ArrayList<>(ruleArray.length);
+                    for(int rule = 0; rule < ruleArray.length; rule++)
+                        partial.add(new ArrayList<>());
+                    return partial;
+                },
+                (partial, ordinal) -> {
+                    final Employee employee = orderedEmployees[ordinal];
+                    validationUtil.validate(employee);
+
+                    for(int rule = 0; rule < ruleArray.length; rule++)
+                        if(ruleArray[rule].matches(employee, applicationParameter))
+                            partial.get(rule).add(employee);
+                },
+                (left, right) -> {
+                    for(int rule = 0; rule < ruleArray.length; rule++)
+                        left.get(rule).addAll(right.get(rule));
+                }
+            );
+
+        return sortedResults(matches);
+    }
+
+    private static List<List<Employee>> sortedResults(
+        final List<List<Employee>> matches) {
+
+        final List<List<Employee>> results = new ArrayList<>(matches.size());
+        for(List<Employee> ruleMatches : matches) {
+            ruleMatches.sort(EMPLOYEE_ORDER);
+            results.add(Collections.unmodifiableList(ruleMatches));
+        }
+
+        return Collections.unmodifiableList(results);
+    }
+
+    /**
+     * Employees ordered by ID, with the ordinal of each employee's manager and a children index
+     * (direct subordinates grouped by manager, in ID order), all built in parallel.
+     */
+    private static final class ParallelIndex {
+
+        /**
+         * Manager ordinal of an employee whose manager is not among the employees.
+         */
+        private static final int MISSING_MANAGER = -2;
+
+        private final Employee[] orderedEmployees;
+        private final int[] managerOrdinals;
+        private final int[] childStarts;
+        private final int[] children;
+
+        private ParallelIndex(
+            final Map<String, Employee> employees) {
+
+            orderedEmployees = employees.values().toArray(new Employee[0]);
+            Arrays.parallelSort(orderedEmployees, EMPLOYEE_ORDER);
+            final int size = orderedEmployees.length;
+            final String[] ids = new String[size];
+            Arrays.parallelSetAll(ids, ordinal -> orderedEmployees[ordinal].getId());
+
+            managerOrdinals = new int[size];
+            final AtomicIntegerArray childCounts = new AtomicIntegerArray(size + 1);
+            IntStream.range(0, size).parallel().forEach(ordinal -> {
+                final String managerId = orderedEmployees[ordinal].getManagerId();
+                if(StringUtils.isEmpty(managerId)) {
+                    managerOrdinals[ordinal] = ReportingLineUtil.NO_MANAGER;
+                } else {
+                    final int managerOrdinal = Arrays.binarySearch(ids, managerId);
+                    managerOrdinals[ordinal] = managerOrdinal < 0 ? MISSING_MANAGER : managerOrdinal;
+                    if(managerOrdinal >= 0)
+                        childCounts.incrementAndGet(managerOrdinal + 1);
+                }
+            });
+
+            childStarts = new int[size + 1];
+            Arrays.parallelSetAll(childStarts, childCounts::get);
+            Arrays.parallelPrefix(childStarts, Integer::sum);
+
+            final AtomicIntegerArray cursors = new AtomicIntegerArray(childStarts);
+            children = new int[childStarts[size]];
+            IntStream.range(0, size).parallel().forEach(ordinal -> {
+                if(managerOrdinals[ordinal] >= 0)
+                    children[cursors.getAndIncrement(managerOrdinals[ordinal])] = ordinal;
+            });
+
+            IntStream.range(0, size)
+                .parallel()
+                .forEach(ordinal -> Arrays.sort(children, childStarts[ordinal], childStarts[ordinal + 1]));
+        }
     }
 
 }
@@ -0,0 +1,371 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.ResultWindow;
+import com.sam.assignment.model.SubtreeSummary;
+import com.sam.assignment.util.ResultWindowUtil;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves the queries of an {@link OrgQueryService} over HTTP, so clients query resident organizations
+ * instead of starting the application for every question. All endpoints take the CSV file path as the
+ * {@code file} query parameter and answer with JSON:
+ * <ul>
+ *     <li>{@code GET /managers/least-paid?file=&least=&over=}</li>
+ *     <li>{@code GET /managers/over-paid?file=&least=&over=}</li>
+ *     <li>{@code GET /employees/max-reporting-line-length?file=&threshold=}</li>
+ *     <li>{@code GET /employees/reporting-chain?file=&id=}</li>
+ *     <li>{@code GET /employees/subtree?file=&id=}</li>
+ *     <li>{@code GET /employees/manager?file=&id=&level=}</li>
+ *     <li>{@code GET /employees/reports-to?file=&id=&manager-id=}</li>
+ * </ul>
+ * The three list endpoints also take either {@code top=<k>}, which answers the k most severe entries, or
+ * {@code page-size=<n>} with an optional {@code page-after=<employee-id>} cursor, which answers a page in
+ * ID order and sets the {@code X-Next-Page-After} header when the page is full.
+ * <p>
+ * Invalid queries are answered with status 400 and unknown files or employees with status 404, each
+ * with an {@code error} message. Unexpected failures are answered with status 500 and logged, without
+ * their message. Requests are handled on a fixed pool of platform threads.
+ * <p>
+ * The server has no authentication and is bound to the loopback address unless another host is given.
+ */
+@Slf4j
+public class OrgQueryServer {
+
+    private final OrgQueryService orgQueryService;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    /**
+     * Creates a server bound to the loopback address.
+     *
+     * @param orgQueryService the service answering the queries
+     * @param port            the port to listen on, or 0 for an ephemeral port
+     * @param threads         the number of request handling threads
+     * @throws IOException if the server cannot be bound to the port
+     */
+    public OrgQueryServer(
+        final OrgQueryService orgQueryService,
+        final int port,
+        final int threads) throws IOException {
+
+        this(orgQueryService, InetAddress.getLoopbackAddress().getHostAddress(), port, threads);
+    }
+
+    /**
+     * @param orgQueryService the service answering the queries
+     * @param host            the host name or address to bind to
+     * @param port            the port to listen on, or 0 for an ephemeral port
+     * @param threads         the number of request handling threads
+     * @throws IOException if the server cannot be bound to the host and port
+     */
+    public OrgQueryServer(
+        final OrgQueryService orgQueryService,
+        final String host,
+        final int port,
+        final int threads) throws IOException {
+
+        if(Objects.isNull(orgQueryService))
+            throw new IllegalArgumentException("OrgQueryService cannot be null");
+
+        if(Objects.isNull(host) || host.isBlank())
+            throw new IllegalArgumentException("Server host cannot be empty");
+
+        if(threads < 1)
+            throw new IllegalArgumentException("Server threads must be at least 1");
+
+        this.orgQueryService = orgQueryService;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getByName(host), port), 0);
+        this.executor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(executor);
+        server.createContext("/managers/least-paid", exchange -> handle(exchange, query -> toJson(exchange, query,
+            orgQueryService.findLeastPaidManagers(query.get("file"), decimal(query, "least"), decimal(query, "over")),
+            AnalysisRule.RESPONSE_RANKINGS.get(0)
+        )));
+        server.createContext("/managers/over-paid", exchange -> handle(exchange, query -> toJson(exchange, query,
+            orgQueryService.findOverPaidManagers(query.get("file"), decimal(query, "least"), decimal(query, "over")),
+            AnalysisRule.RESPONSE_RANKINGS.get(1)
+        )));
+        server.createContext("/employees/max-reporting-line-length", exchange -> handle(exchange, query -> toJson(exchange, query,
+            orgQueryService.findMaxReportingLineLengthEmployees(query.get("file"), integer(query, "threshold")),
+            AnalysisRule.RESPONSE_RANKINGS.get(2)
+        )));
+        server.createContext("/employees/reporting-chain", exchange -> handle(exchange, query -> toJson(
+            orgQueryService.findReportingChain(query.get("file"), query.get("id"))
+        )));
+        server.createContext("/employees/subtree", exchange -> handle(exchange, query -> toJson(
+            orgQueryService.findSubtreeSummary(query.get("file"), query.get("id"))
+        )));
+        server.createContext("/employees/manager", exchange -> handle(exchange, query -> toJson(
+            orgQueryService.findManager(query.get("file"), query.get("id"), integer(query, "level"))
+        )));
+        server.createContext("/employees/reports-to", exchange -> handle(exchange, query ->
+            "{\"reportsTo\":" + orgQueryService.reportsTo(query.get("file"), query.get("id"), query.get("manager-id")) + "}"
+        ));
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+        log.info(
+            "Successfully started organization query server | host : {} | port : {}",
+            server.getAddress().getAddress().getHostAddress(),
+            getPort()
+        );
+    }
+
+    /**
+     * Stops accepting requests, waits briefly for the requests in flight and releases {@link #awaitStop()}.
+     */
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+        stopped.countDown();
+        log.info("Successfully stopped organization query server | port : {}", getPort());
+    }
+
+    /**
+     * Blocks until {@link #stop()} is called.
+     *
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public void awaitStop() throws InterruptedException {
+        stopped.await();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * @return the port the server listens on
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(
+        final HttpExchange exchange,
+        final Query query) throws IOException {
+
+        int status = 200;
+        String body;
+        try {
+            if(!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+                status = 405;
+                body = error("Method not allowed | method : " + exchange.getRequestMethod());
+            } else {
+                body = query.answer(queryParameters(exchange.getRequestURI().getRawQuery()));
+            }
+        } catch (NoSuchElementException e) {
+            status = 404;
+            body = error(e.getMessage());
+        } catch (FileNotFoundException | NoSuchFileException e) {
+            status = 404;
+            body = error("Organization file not found");
+        } catch (IllegalArgumentException e) {
+            status = 400;
+            body = error(e.getMessage());
+        } catch (Exception e) {
+            log.error(
+                "Failed to answer query. request-uri : {} | error-message : {}",
+                exchange.getRequestURI(),
+                e.getMessage(),
+                e
+            );
+            status = 500;
+            body = error("Internal server error");
+        }
+
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+
+    private static Map<String, String> queryParameters(
+        final String rawQuery) {
+
+        final Map<String, String> parameters = new HashMap<>();
+        if(Objects.isNull(rawQuery) || rawQuery.isEmpty())
+            return parameters;
+
+        for(String pair : rawQuery.split("&")) {
+            final int separator = pair.indexOf('=');
+            if(separator > 0)
+                parameters.put(
+                    URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8)
+                );
+        }
+        return parameters;
+    }
+
+    private static BigDecimal decimal(
+        final Map<String, String> query,
+        final String name) {
+
+        try {
+            return new BigDecimal(required(query, name).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Query parameter is not a number | name : " + name);
+        }
+    }
+
+    private static int integer(
+        final Map<String, String> query,
+        final String name) {
+
+        try {
+            return Integer.parseInt(required(query, name).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Query parameter is not an integer | name : " + name);
+        }
+    }
+
+    private static String required(
+        final Map<String, String> query,
+        final String name) {
+
+        final String value = query.get(name);
+        if(Objects.isNull(value) || value.isBlank())
+            throw new IllegalArgumentException("Query parameter is required | name : " + name);
+
+        return value;
+    }
+
+    private static String toJson(
+        final HttpExchange exchange,
+        final Map<String, String> query,
+        final List<Employee> employeesById,
+        final Comparator<Employee> ranking) {
+
+        final ResultWindow window;
+        if(query.containsKey("top") && query.containsKey("page-size"))
+            throw new IllegalArgumentException("Top and page size cannot be combined");
+        else if(query.containsKey("top"))
+            window = ResultWindow.top(integer(query, "top"));
+        else if(query.containsKey("page-size"))
+            window = ResultWindow.page(integer(query, "page-size"), query.get("page-after"));
+        else
+            window = ResultWindow.ALL;
+
+        final List<Employee> employees = ResultWindowUtil.apply(employeesById, window, ranking);
+        final String nextPageAfter = ResultWindowUtil.nextPageAfter(employees, window);
+        if(Objects.nonNull(nextPageAfter))
+            exchange.getResponseHeaders().set("X-Next-Page-After", nextPageAfter);
+
+        return toJson(employees);
+    }
+
+    private static String toJson(
+        final List<Employee> employees) {
+
+        final StringBuilder json = new StringBuilder(64 + employees.size() * 128).append('[');
+        for(int employee = 0; employee < employees.size(); employee++) {
+            if(employee > 0)
+                json.append(',');
+            appendEmployee(json, employees.get(employee));
+        }
+        return json.append(']').toString();
+    }
+
+    private static String toJson(
+        final Employee employee) {
+
+        final StringBuilder json = new StringBuilder(128);
+        appendEmployee(json, employee);
+        return json.toString();
+    }
+
+    private static String toJson(
+        final SubtreeSummary subtreeSummary) {
+
+        final StringBuilder json = new StringBuilder(128).append('{');
+        appendField(json, "employeeId", subtreeSummary.getEmployeeId()).append(',');
+        json.append("\"employeeCount\":").append(subtreeSummary.getEmployeeCount()).append(',');
+        json.append("\"salaryTotal\":").append(subtreeSummary.getSalaryTotal().toPlainString()).append(',');
+        json.append("\"maxDepth\":").append(subtreeSummary.getMaxDepth()).append(',');
+        json.append("\"spanOfControl\":").append(subtreeSummary.getSpanOfControl());
+        return json.append('}').toString();
+    }
+
+    private static void appendEmployee(
+        final StringBuilder json,
+        final Employee employee) {
+
+        json.append('{');
+        appendField(json, "id", employee.getId()).append(',');
+        appendField(json, "firstName", employee.getFirstName()).append(',');
+        appendField(json, "lastName", employee.getLastName()).append(',');
+        appendField(json, "managerId", employee.getManagerId()).append(',');
+        json.append("\"salary\":").append(employee.getSalary().toPlainString()).append(',');
+        json.append("\"differenceOfSubordinatesAverageSalary\":")
+            .append(employee.getDifferenceOfSubordinatesAverageSalary().toPlainString()).append(',');
+        json.append("\"reportingLineLength\":").append(employee.getReportingLineLength());
+        json.append('}');
+    }
+
+    private static StringBuilder appendField(
+        final StringBuilder json,
+        final String name,
+        final String value) {
+
+        json.append('"').append(name).append("\":");
+        if(Objects.isNull(value) || value.isEmpty())
+            return json.append("null");
+
+        json.append('"');
+        for(int index = 0; index < value.length(); index++) {
+            final char character = value.charAt(index);
+            if(character == '"' || character == '\\')
+                json.append('\\').append(character);
+            else if(character < 0x20)
+                json.append(String.format("\\u%04x", (int) character));
+            else
+                json.append(character);
+        }
+        return json.append('"');
+    }
+
+    private static String error(
+        final String message) {
+
+        return appendField(new StringBuilder("{"), "error", Objects.toString(message, "")).append('}').toString();
+    }
+
+    /**
+     * Answers one query from its decoded query parameters.
+     */
+    @FunctionalInterface
+    private interface Query {
+
+        String answer(
+            final Map<String, String> query) throws IOException;
+    }
+
+}
@@ -0,0 +1,525 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.CompactOrg;
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.OrgIndex;
+import com.sam.assignment.model.Parameter;
+import com.sam.assignment.model.SubtreeSummary;
+import com.sam.assignment.util.SalaryBand;
+import com.sam.assignment.util.ValidationUtil;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers queries over organizations that are kept resident between calls, so a long-running process
+ * pays for reading, validating and linking a file only once. Organizations are cached in their columnar
+ * {@link CompactOrg} form, keyed by file path and revalidated against the modification time and size of
+ * every file read for it on every query: the file itself, or each shard of a directory or glob, see
+ * {@link ShardedCsvFileReaderImpl}, so a shard rewritten, added or removed is picked up. The cache holds
+ * a bounded number of organizations and evicts the least recently used one; each organization in turn
+ * keeps a bounded number of recent analysis results.
+ * <p>
+ * Loading an organization precomputes the subordinates' average salaries, the employees ordered by
+ * reporting line length and an {@link OrgIndex}. Repeated queries are then answered from the cache,
+ * reporting chains in O(depth), k-th managers in O(log depth) and reporting and subtree queries in O(1).
+ * <p>
+ * File paths are resolved against a data root, and paths outside of it, including through symbolic links,
+ * are rejected. A file that cannot be parsed or linked is rejected without echoing its content.
+ * <p>
+ * This class is thread-safe. Concurrent queries for a file that is not yet resident wait for a single load.
+ */
+@Slf4j
+public class OrgQueryService {
+
+    private static final Comparator<Employee> EMPLOYEE_ORDER = Comparator.comparing(Employee::getId);
+
+    private final CsvFileReader csvFileReader;
+    private final CompactOrgHierarchy compactOrgHierarchy;
+    private final ValidationUtil validationUtil;
+    private final Path dataRoot;
+    private final int maxAnalysesPerOrg;
+    private final Map<String, ResidentOrgLoad> residentOrgs;
+
+    /**
+     * @param csvFileReader       service for reading employee details from a CSV file
+     * @param compactOrgHierarchy service for linking the columnar organization model
+     * @param validationUtil      utility for validating employee data and query parameters
+     * @param dataRoot            the directory every queried file path is resolved against and confined to
+     * @param maxResidentOrgs     the maximum number of organizations kept resident
+     * @param maxAnalysesPerOrg   the maximum number of analysis results kept per organization
+     * @throws IOException if the data root does not exist
+     */
+    public OrgQueryService(
+        final CsvFileReader csvFileReader,
+        final CompactOrgHierarchy compactOrgHierarchy,
+        final ValidationUtil validationUtil,
+        final Path dataRoot,
+        final int maxResidentOrgs,
+        final int maxAnalysesPerOrg) throws IOException {
+
+        if(Objects.isNull(csvFileReader))
+            throw new IllegalArgumentException("CsvFileReader cannot be null");
+
+        if(Objects.isNull(compactOrgHierarchy))
+            throw new IllegalArgumentException("CompactOrgHierarchy cannot be null");
+
+        if(Objects.isNull(validationUtil))
+            throw new IllegalArgumentException("ValidationUtil cannot be null");
+
+        if(Objects.isNull(dataRoot))
+            throw new IllegalArgumentException("Data root cannot be null");
+
+        if(maxResidentOrgs < 1 || maxAnalysesPerOrg < 1)
+            throw new IllegalArgumentException("Cache sizes must be at least 1");
+
+        this.csvFileReader = csvFileReader;
+        this.compactOrgHierarchy = compactOrgHierarchy;
+        this.validationUtil = validationUtil;
+        this.dataRoot = dataRoot.toRealPath();
+        this.maxAnalysesPerOrg = maxAnalysesPerOrg;
+        this.residentOrgs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(
+                final Map.Entry<String, ResidentOrgLoad> eldest) {
+
+                return size() > maxResidentOrgs;
+            }
+        };
+    }
+
+    /**
+     * @param filePath                  the CSV file path
+     * @param managerLeastPayPercentage the minimum percentage a manager should earn above the subordinates' average
+     * @param managerOverPayPercentage  the maximum percentage a manager may earn above the subordinates' average
+     * @return the managers who earn less than the band, ordered by ID
+     * @throws IOException if the file cannot be read
+     */
+    public List<Employee> findLeastPaidManagers(
+        final String filePath,
+        final BigDecimal managerLeastPayPercentage,
+        final BigDecimal managerOverPayPercentage) throws IOException {
+
+        return findSalaryBandViolations(filePath, managerLeastPayPercentage, managerOverPayPercentage).get(0);
+    }
+
+    /**
+     * @param filePath                  the CSV file path
+     * @param managerLeastPayPercentage the minimum percentage a manager should earn above the subordinates' average
+     * @param managerOverPayPercentage  the maximum percentage a manager may earn above the subordinates' average
+     * @return the managers who earn more than the band, ordered by ID
+     * @throws IOException if the file cannot be read
+     */
+    public List<Employee> findOverPaidManagers(
+        final String filePath,
+        final BigDecimal managerLeastPayPercentage,
+        final BigDecimal managerOverPayPercentage) throws IOException {
+
+        return findSalaryBandViolations(filePath, managerLeastPayPercentage, managerOverPayPercentage).get(1);
+    }
+
+    /**
+     * @param filePath                     the CSV file path
+     * @param thresholdReportingLineLength the maximum reporting line length
+     * @return the employees whose reporting line is longer than the threshold, ordered by ID
+     * @throws IOException if the file cannot be read
+     */
+    public List<Employee> findMaxReportingLineLengthEmployees(
+        final String filePath,
+        final int thresholdReportingLineLength) throws IOException {
+
+        validationUtil.validate(new Parameter(filePath, BigDecimal.ZERO, BigDecimal.ZERO, thresholdReportingLineLength));
+
+        final ResidentOrg residentOrg = residentOrg(filePath);
+        final String key = "max-reporting-line-length | " + thresholdReportingLineLength;
+        List<Employee> employees = residentOrg.analysis(key);
+        if(Objects.isNull(employees)) {
+            final List<Employee> flagged = new ArrayList<>();
+            for(int ordinal : residentOrg.ordinalsByReportingLineLength) {
+                if(residentOrg.org.getReportingLineLength(ordinal) <= thresholdReportingLineLength)
+                    break;
+                flagged.add(residentOrg.org.toEmployee(ordinal));
+            }
+
+            flagged.sort(EMPLOYEE_ORDER);
+            employees = Collections.unmodifiableList(flagged);
+            residentOrg.putAnalysis(key, employees);
+        }
+
+        return employees;
+    }
+
+    /**
+     * @param filePath   the CSV file path
+     * @param employeeId the employee ID
+     * @return the employee followed by every manager up to and including the CEO
+     * @throws IOException            if the file cannot be read
+     * @throws NoSuchElementException if there is no employee with the ID
+     */
+    public List<Employee> findReportingChain(
+        final String filePath,
+        final String employeeId) throws IOException {
+
+        final ResidentOrg residentOrg = residentOrg(filePath);
+        final List<Employee> chain = new ArrayList<>();
+        for(int ordinal = residentOrg.orgIndex.ordinalOf(employeeId); ordinal != CompactOrg.NO_EMPLOYEE; ordinal = residentOrg.org.getManager(ordinal))
+            chain.add(residentOrg.org.toEmployee(ordinal));
+
+        return Collections.unmodifiableList(chain);
+    }
+
+    /**
+     * @param filePath   the CSV file path
+     * @param employeeId the employee ID
+     * @param level      the number of levels to go up, 1 for the direct manager
+     * @return the k-th manager above the employee
+     * @throws IOException            if the file cannot be read
+     * @throws NoSuchElementException if there is no employee with the ID or the reporting line is shorter than the level
+     */
+    public Employee findManager(
+        final String filePath,
+        final String employeeId,
+        final int level) throws IOException {
+
+        final ResidentOrg residentOrg = residentOrg(filePath);
+        final int manager = residentOrg.orgIndex.kthManager(residentOrg.orgIndex.ordinalOf(employeeId), level);
+        if(manager == CompactOrg.NO_EMPLOYEE)
+            throw new NoSuchElementException("Manager not found | employee-id : " + employeeId + " | level : " + level);
+
+        return residentOrg.org.toEmployee(manager);
+    }
+
+    /**
+     * @param filePath   the CSV file path
+     * @param employeeId the employee ID
+     * @param managerId  the ID of the potential manager
+     * @return whether the employee reports directly or indirectly to the manager
+     * @throws IOException            if the file cannot be read
+     * @throws NoSuchElementException if there is no employee with either ID
+     */
+    public boolean reportsTo(
+        final String filePath,
+        final String employeeId,
+        final String managerId) throws IOException {
+
+        final OrgIndex orgIndex = residentOrg(filePath).orgIndex;
+        return orgIndex.reportsTo(orgIndex.ordinalOf(employeeId), orgIndex.ordinalOf(managerId));
+    }
+
+    /**
+     * @param filePath   the CSV file path
+     * @param employeeId the ID of the subtree's root
+     * @return the head count, salary total, depth and span of control of the subtree rooted at the employee
+     * @throws IOException            if the file cannot be read
+     * @throws NoSuchElementException if there is no employee with the ID
+     */
+    public SubtreeSummary findSubtreeSummary(
+        final String filePath,
+        final String employeeId) throws IOException {
+
+        final OrgIndex orgIndex = residentOrg(filePath).orgIndex;
+        final int ordinal = orgIndex.ordinalOf(employeeId);
+        return new SubtreeSummary(
+            orgIndex.getId(ordinal),
+            orgIndex.getSubtreeSize(ordinal),
+            BigDecimal.valueOf(orgIndex.getSubtreeSalaryCents(ordinal), 2),
+            orgIndex.getSubtreeMaxDepth(ordinal),
+            orgIndex.getSpanOfControl(ordinal)
+        );
+    }
+
+    /**
+     * @return the number of organizations currently resident
+     */
+    public int residentOrgCount() {
+        synchronized (residentOrgs) {
+            return residentOrgs.size();
+        }
+    }
+
+    private List<List<Employee>> findSalaryBandViolations(
+        final String filePath,
+        final BigDecimal managerLeastPayPercentage,
+        final BigDecimal managerOverPayPercentage) throws IOException {
+
+        final Parameter applicationParameter = new Parameter(filePath, managerLeastPayPercentage, managerOverPayPercentage, 0);
+        validationUtil.validate(applicationParameter);
+
+        final ResidentOrg residentOrg = residentOrg(filePath);
+        // 10 and 10.0 are the same band, so the percentages are keyed without trailing zeros
+        final String key = "salary-band | " + managerLeastPayPercentage.stripTrailingZeros().toPlainString() +
+            " | " + managerOverPayPercentage.stripTrailingZeros().toPlainString();
+        List<List<Employee>> violations = residentOrg.analysis(key);
+        if(Objects.isNull(violations)) {
+            final SalaryBand salaryBand = SalaryBand.of(applicationParameter);
+            final CompactOrg org = residentOrg.org;
+            final List<Employee> leastPaidManagers = new ArrayList<>();
+            final List<Employee> overPaidManagers = new ArrayList<>();
+            for(int ordinal = 0; ordinal < org.size(); ordinal++) {
+                if(org.getFirstSubordinate(ordinal) == CompactOrg.NO_EMPLOYEE)
+                    continue;
+
+                final long differenceCents = salaryBand.differenceCents(
+                    org.getSalaryCents(ordinal),
+                    residentOrg.subordinatesAverageCents[ordinal]
+                );
+                if(differenceCents != 0) {
+                    final Employee manager = org.toEmployee(ordinal);
+                    manager.setDifferenceOfSubordinatesAverageSalary(BigDecimal.valueOf(differenceCents, 2));
+                    (differenceCents < 0 ? leastPaidManagers : overPaidManagers).add(manager);
+                }
+            }
+
+            leastPaidManagers.sort(EMPLOYEE_ORDER);
+            overPaidManagers.sort(EMPLOYEE_ORDER);
+            violations = List.of(
+                Collections.unmodifiableList(leastPaidManagers),
+                Collections.unmodifiableList(overPaidManagers)
+            );
+            residentOrg.putAnalysis(key, violations);
+        }
+
+        return violations;
+    }
+
+    /**
+     * Returns the resident organization of a file, loading it if it is not resident or if the file
+     * changed since it was loaded.
+     */
+    private ResidentOrg residentOrg(
+        final String filePath) throws IOException {
+
+        final Path path = resolve(filePath);
+        final String residentPath = path.toString();
+        final List<FileState> fileStates = fileStates(filePath, path);
+
+        final ResidentOrgLoad load;
+        synchronized (residentOrgs) {
+            final ResidentOrgLoad resident = residentOrgs.get(residentPath);
+            if(Objects.nonNull(resident) && resident.fileStates.equals(fileStates)) {
+                load = resident;
+            } else {
+                load = new ResidentOrgLoad(fileStates, new FutureTask<>(() -> load(filePath, residentPath)));
+                residentOrgs.put(residentPath, load);
+            }
+        }
+
+        load.task.run();
+        try {
+            return load.task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading organization | file-path : " + filePath, e);
+        } catch (ExecutionException e) {
+            synchronized (residentOrgs) {
+                residentOrgs.remove(residentPath, load);
+            }
+            if(e.getCause() instanceof IOException ioException)
+                throw ioException;
+            if(e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Resolves a queried file path against the data root.
+     *
+     * @throws IllegalArgumentException if the file path is empty, invalid or outside the data root
+     * @throws IOException              if the real path of the file cannot be resolved
+     */
+    private Path resolve(
+        final String filePath) throws IOException {
+
+        if(Objects.isNull(filePath) || filePath.isBlank())
+            throw new IllegalArgumentException("File path cannot be empty");
+
+        final Path path;
+        try {
+            path = dataRoot.resolve(filePath).normalize();
+        } catch (InvalidPathException e) {
+            throw new IllegalArgumentException("File path is invalid | file-path : " + filePath);
+        }
+
+        if(!path.startsWith(dataRoot) || (Files.exists(path) && !path.toRealPath().startsWith(dataRoot)))
+            throw new IllegalArgumentException("File path is outside the data root | file-path : " + filePath);
+
+        return path;
+    }
+
+    /**
+     * Returns the state of every file read for a resolved file path: the file itself, or every shard of
+     * a directory or glob in file name order.
+     *
+     * @throws IllegalArgumentException if a shard is outside the data root
+     * @throws IOException              if a file does not exist or no shard matches the file path
+     */
+    private List<FileState> fileStates(
+        final String filePath,
+        final Path path) throws IOException {
+
+        final List<Path> shards = ShardedCsvFileReaderImpl.resolveShards(path.toString());
+        final List<Path> files = Objects.isNull(shards) ? List.of(path) : shards;
+        final List<FileState> fileStates = new ArrayList<>(files.size());
+        for(Path file : files) {
+            if(!file.toRealPath().startsWith(dataRoot))
+                throw new IllegalArgumentException("File path is outside the data root | file-path : " + filePath);
+
+            fileStates.add(new FileState(file.toString(), Files.getLastModifiedTime(file), Files.size(file)));
+        }
+        return fileStates;
+    }
+
+    /**
+     * Loads and links the organization of a file. A file that cannot be parsed or linked is rejected with
+     * the queried file path only, as the causes may quote the file content; they are logged instead.
+     */
+    private ResidentOrg load(
+        final String filePath,
+        final String residentPath) throws IOException {
+
+        final long startNanos = System.nanoTime();
+        final CompactOrg org;
+        try {
+            org = csvFileReader.readCompactOrg(
+                new Parameter(residentPath, BigDecimal.ZERO, BigDecimal.ZERO, 0),
+                validationUtil
+            );
+            compactOrgHierarchy.buildHierarchy(org);
+        } catch (RuntimeException e) {
+            log.warn(
+                "Failed to load resident organization. file-path : {} | error-message : {}",
+                residentPath,
+                e.getMessage()
+            );
+            throw new IllegalArgumentException("Organization file is invalid | file-path : " + filePath);
+        }
+        final ResidentOrg residentOrg = new ResidentOrg(org, maxAnalysesPerOrg);
+
+        log.info(
+            "Successfully loaded resident organization. employee-count : {} | file-path : {} | elapsed-millis : {}",
+            org.size(),
+            residentPath,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+        );
+        return residentOrg;
+    }
+
+    /**
+     * A pending or completed load of a file, together with the state of the files it was started for.
+     */
+    private static final class ResidentOrgLoad {
+
+        private final List<FileState> fileStates;
+        private final FutureTask<ResidentOrg> task;
+
+        private ResidentOrgLoad(
+            final List<FileState> fileStates,
+            final FutureTask<ResidentOrg> task) {
+
+            this.fileStates = fileStates;
+            this.task = task;
+        }
+    }
+
+    /**
+     * The path, modification time and size of one file read for an organization.
+     */
+    @EqualsAndHashCode
+    private static final class FileState {
+
+        private final String path;
+        private final FileTime lastModified;
+        private final long size;
+
+        private FileState(
+            final String path,
+            final FileTime lastModified,
+            final long size) {
+
+            this.path = path;
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+    }
+
+    /**
+     * A linked organization with its precomputed indexes and its most recent analysis results.
+     */
+    private static final class ResidentOrg {
+
+        private final CompactOrg org;
+        private final OrgIndex orgIndex;
+        private final long[] subordinatesAverageCents;
+        private final int[] ordinalsByReportingLineLength;
+        private final Map<String, Object> analyses;
+
+        private ResidentOrg(
+            final CompactOrg org,
+            final int maxAnalyses) {
+
+            final int size = org.size();
+            this.org = org;
+            this.orgIndex = OrgIndex.of(org);
+            this.subordinatesAverageCents = CompactOrgHierarchy.subordinatesAverageCents(org);
+
+            // counting sort by reporting line length, longest first
+            int maxLength = 0;
+            for(int ordinal = 0; ordinal < size; ordinal++)
+                maxLength = Math.max(maxLength, org.getReportingLineLength(ordinal));
+            final int[] starts = new int[maxLength + 2];
+            for(int ordinal = 0; ordinal < size; ordinal++)
+                starts[maxLength - org.getReportingLineLength(ordinal) + 1]++;
+            for(int length = 1; length < starts.length; length++)
+                starts[length] += starts[length - 1];
+            ordinalsByReportingLineLength = new int[size];
+            for(int ordinal = 0; ordinal < size; ordinal++)
+                ordinalsByReportingLineLength[starts[maxLength - org.getReportingLineLength(ordinal)]++] = ordinal;
+
+            analyses = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(
+                    final Map.Entry<String, Object> eldest) {
+
+                    return size() > maxAnalyses;
+                }
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T analysis(
+            final String key) {
+
+            synchronized (analyses) {
+                return (T) analyses.get(key);
+            }
+        }
+
+        private void putAnalysis(
+            final String key,
+            final Object analysis) {
+
+            synchronized (analyses) {
+                analyses.put(key, analysis);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,336 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.CompactOrg;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a linked {@link CompactOrg} to a versioned binary snapshot and reloads it through memory
+ * mapping, so repeated analyses skip CSV parsing, validation and linking.
+ * <p>
+ * The snapshot is little-endian and laid out as a header ({@code magic, version, employee-count, ceo,
+ * name-count, name-bytes}), the name dictionary (length-prefixed UTF-8), padding to a multiple of 8
+ * bytes, and the columns: packed IDs and salary cents as {@code long}s, followed by first and last name
+ * references, manager ordinals, first subordinates, next siblings and reporting line lengths as
+ * {@code int}s.
+ */
+@Slf4j
+public class OrgSnapshotStore {
+
+    /**
+     * "ORGS" in ASCII.
+     */
+    static final int MAGIC = 0x4F524753;
+    static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 6 * Integer.BYTES;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final int LONG_COLUMN_COUNT = 2;
+    private static final int INT_COLUMN_COUNT = 6;
+
+    /**
+     * Writes the snapshot of a linked organization, replacing an existing file. The snapshot is written to a
+     * temporary file in the same directory, forced to the disk and then atomically moved over the target, so
+     * a failed or interrupted write leaves the previous snapshot intact.
+     *
+     * @param org      the linked organization
+     * @param filePath the snapshot file path
+     * @throws IOException if the file cannot be written
+     */
+    public void write(
+        final CompactOrg org,
+        final String filePath) throws IOException {
+
+        if(Objects.isNull(org) || !org.isLinked())
+            throw new IllegalArgumentException("Only a linked organization can be written to a snapshot");
+
+        final long startNanos = System.nanoTime();
+        final List<byte[]> names = new ArrayList<>(org.getNames().size());
+        int nameBytes = 0;
+        for(String name : org.getNames()) {
+            final byte[] encoded = name.getBytes(StandardCharsets.UTF_8);
+            names.add(encoded);
+            nameBytes += Integer.BYTES + encoded.length;
+        }
+
+        final Path target = Path.of(filePath).toAbsolutePath();
+        final Path temporary = Files.createTempFile(target.getParent(), target.getFileName() + ".", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                writeSnapshot(org, names, nameBytes, channel);
+                channel.force(false);
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+
+        log.info(
+            "Successfully wrote organization snapshot. employee-count : {} | file-path : {} | elapsed-millis : {}",
+            org.size(),
+            filePath,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+        );
+    }
+
+    private static void writeSnapshot(
+        final CompactOrg org,
+        final List<byte[]> names,
+        final int nameBytes,
+        final FileChannel channel) throws IOException {
+
+        final SnapshotWriter writer = new SnapshotWriter(channel);
+        writer.putInt(MAGIC);
+        writer.putInt(VERSION);
+        writer.putInt(org.size());
+        writer.putInt(org.getCeo());
+        writer.putInt(names.size());
+        writer.putInt(nameBytes);
+        for(byte[] name : names) {
+            writer.putInt(name.length);
+            writer.putBytes(name);
+        }
+        for(int padding = padding(nameBytes); padding > 0; padding--)
+            writer.putBytes(new byte[1]);
+
+        final int size = org.size();
+        for(int ordinal = 0; ordinal < size; ordinal++)
+            writer.putLong(org.getPackedId(ordinal));
+        for(int ordinal = 0; ordinal < size; ordinal++)
+            writer.putLong(org.getSalaryCents(ordinal));
+        for(int ordinal = 0; ordinal < size; ordinal++)
+            writer.putInt(org.getFirstNameRef(ordinal));
+        for(int ordinal = 0; ordinal < size; ordinal++)
+            writer.putInt(org.getLastNameRef(ordinal));
+        for(int ordinal = 0; ordinal < size; ordinal++)
+            writer.putInt(org.getManager(ordinal));
+        for(int ordinal = 0; ordinal < size; ordinal++)
+            writer.putInt(org.getFirstSubordinate(ordinal));
+        for(int ordinal = 0; ordinal < size; ordinal++)
+            writer.putInt(org.getNextSibling(ordinal));
+        for(int ordinal = 0; ordinal < size; ordinal++)
+            writer.putInt(org.getReportingLineLength(ordinal));
+        writer.flush();
+    }
+
+    /**
+     * Reloads a snapshot by memory-mapping its sections and bulk-copying the columns.
+     *
+     * @param filePath the snapshot file path
+     * @return the linked organization
+     * @throws IOException if the file cannot be read, or is not a valid snapshot: a foreign file, an unsupported
+     *                     version, a truncated file, or a name or a column value outside the snapshot, so a
+     *                     corrupt file fails here rather than on access
+     */
+    public CompactOrg read(
+        final String filePath) throws IOException {
+
+        final long startNanos = System.nanoTime();
+        try (FileInputStream inputStream = new FileInputStream(filePath);
+             FileChannel channel = inputStream.getChannel()) {
+
+            final long fileSize = channel.size();
+            if(fileSize < HEADER_BYTES)
+                throw new IOException("Not an organization snapshot | file-path : " + filePath);
+
+            final ByteBuffer header = map(channel, 0, HEADER_BYTES);
+            if(header.getInt() != MAGIC)
+                throw new IOException("Not an organization snapshot | file-path : " + filePath);
+
+            final int version = header.getInt();
+            if(version != VERSION)
+                throw new IOException(
+                    "Unsupported organization snapshot version | version : " + version + " | file-path : " + filePath
+                );
+
+            final int size = header.getInt();
+            final int ceo = header.getInt();
+            final int nameCount = header.getInt();
+            final int nameBytes = header.getInt();
+            final long columnsOffset = HEADER_BYTES + (long) nameBytes + padding(nameBytes);
+            final long expectedSize = columnsOffset
+                + (long) size * (LONG_COLUMN_COUNT * Long.BYTES + INT_COLUMN_COUNT * Integer.BYTES);
+            if(size < 0 || nameCount < 0 || nameBytes < 0 || fileSize != expectedSize)
+                throw new IOException(
+                    "Truncated organization snapshot | file-path : " + filePath +
+                    " | expected-bytes : " + expectedSize + " | actual-bytes : " + fileSize
+                );
+
+            final ByteBuffer nameBuffer = map(channel, HEADER_BYTES, nameBytes);
+            final List<String> names = new ArrayList<>(nameCount);
+            for(int name = 0; name < nameCount; name++) {
+                final int length = nameBuffer.remaining() < Integer.BYTES ? -1 : nameBuffer.getInt();
+                if(length < 0 || length > nameBuffer.remaining())
+                    throw corrupt(filePath, "names", name, length);
+
+                final byte[] encoded = new byte[length];
+                nameBuffer.get(encoded);
+                names.add(new String(encoded, StandardCharsets.UTF_8));
+            }
+            if(nameBuffer.hasRemaining())
+                throw corrupt(filePath, "names", nameCount, nameBuffer.remaining());
+
+            long offset = columnsOffset;
+            final long[] ids = new long[size];
+            map(channel, offset, (long) size * Long.BYTES).asLongBuffer().get(ids);
+            offset += (long) size * Long.BYTES;
+            final long[] salaryCents = new long[size];
+            map(channel, offset, (long) size * Long.BYTES).asLongBuffer().get(salaryCents);
+            offset += (long) size * Long.BYTES;
+
+            final int[][] intColumns = new int[INT_COLUMN_COUNT][];
+            for(int column = 0; column < INT_COLUMN_COUNT; column++) {
+                intColumns[column] = new int[size];
+                map(channel, offset, (long) size * Integer.BYTES).asIntBuffer().get(intColumns[column]);
+                offset += (long) size * Integer.BYTES;
+            }
+
+            if(ceo < CompactOrg.NO_EMPLOYEE || ceo >= size)
+                throw corrupt(filePath, "ceo", 0, ceo);
+            checkRange(intColumns[0], 0, nameCount, "first-names", filePath);
+            checkRange(intColumns[1], 0, nameCount, "last-names", filePath);
+            checkRange(intColumns[2], CompactOrg.NO_EMPLOYEE, size, "managers", filePath);
+            checkRange(intColumns[3], CompactOrg.NO_EMPLOYEE, size, "first-subordinates", filePath);
+            checkRange(intColumns[4], CompactOrg.NO_EMPLOYEE, size, "next-siblings", filePath);
+            checkRange(intColumns[5], 0, size, "reporting-line-lengths", filePath);
+
+            final CompactOrg org = CompactOrg.restore(
+                names,
+                ids,
+                intColumns[0],
+                intColumns[1],
+                salaryCents,
+                intColumns[2],
+                intColumns[3],
+                intColumns[4],
+                intColumns[5],
+                ceo
+            );
+
+            log.info(
+                "Successfully loaded organization snapshot. employee-count : {} | file-path : {} | elapsed-millis : {}",
+                size,
+                filePath,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+            );
+            return org;
+        }
+    }
+
+    /**
+     * Checks that every value of a column lies in {@code [min, bound)}.
+     */
+    private static void checkRange(
+        final int[] column,
+        final int min,
+        final int bound,
+        final String columnName,
+        final String filePath) throws IOException {
+
+        for(int ordinal = 0; ordinal < column.length; ordinal++)
+            if(column[ordinal] < min || column[ordinal] >= bound)
+                throw corrupt(filePath, columnName, ordinal, column[ordinal]);
+    }
+
+    private static IOException corrupt(
+        final String filePath,
+        final String section,
+        final int index,
+        final long value) {
+
+        return new IOException(
+            "Corrupt organization snapshot | file-path : " + filePath +
+            " | section : " + section + " | index : " + index + " | value : " + value
+        );
+    }
+
+    private static MappedByteBuffer map(
+        final FileChannel channel,
+        final long offset,
+        final long length) throws IOException {
+
+        if(length > Integer.MAX_VALUE)
+            throw new IOException("Snapshot section too large to map | bytes : " + length);
+
+        final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static int padding(
+        final int nameBytes) {
+
+        return (Long.BYTES - (HEADER_BYTES + nameBytes) % Long.BYTES) % Long.BYTES;
+    }
+
+    /**
+     * Buffers little-endian values and writes them to the channel in large blocks.
+     */
+    private static final class SnapshotWriter {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        private SnapshotWriter(
+            final FileChannel channel) {
+
+            this.channel = channel;
+        }
+
+        private void putInt(
+            final int value) throws IOException {
+
+            ensureRemaining(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        private void putLong(
+            final long value) throws IOException {
+
+            ensureRemaining(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        private void putBytes(
+            final byte[] value) throws IOException {
+
+            int written = 0;
+            while(written < value.length) {
+                ensureRemaining(1);
+                final int length = Math.min(buffer.remaining(), value.length - written);
+                buffer.put(value, written, length);
+                written += length;
+            }
+        }
+
+        private void ensureRemaining(
+            final int bytes) throws IOException {
+
+            if(buffer.remaining() < bytes)
+                flush();
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while(buffer.hasRemaining())
+                channel.write(buffer);
+            buffer.clear();
+        }
+    }
+
+}
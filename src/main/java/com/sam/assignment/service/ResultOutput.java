@@ -0,0 +1,310 @@
+package com.sam.assignment.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes the values of result rows straight into a reusable byte buffer, which is written to the file in
+ * large blocks. Text is encoded as UTF-8 character by character and numbers digit by digit, so no
+ * intermediate String is created per row. Binary values are little-endian.
+ * <p>
+ * This class is not thread-safe.
+ */
+@Slf4j
+final class ResultOutput implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_BYTES_PER_CODE_POINT = 4;
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final String filePath;
+    private final OutputStream outputStream;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final long startNanos = System.nanoTime();
+    private int position;
+    private long rowCount;
+
+    ResultOutput(
+        final String filePath) throws IOException {
+
+        if(Objects.isNull(filePath) || filePath.isBlank())
+            throw new IllegalArgumentException("Result file path cannot be empty");
+
+        this.filePath = filePath;
+        this.outputStream = Files.newOutputStream(Path.of(filePath));
+    }
+
+    /**
+     * Counts a written row, for the summary logged on {@link #close()}.
+     */
+    void row() {
+        rowCount++;
+    }
+
+    void putByte(
+        final int value) throws IOException {
+
+        ensureRemaining(1);
+        buffer[position++] = (byte) value;
+    }
+
+    void putBytes(
+        final byte[] value) throws IOException {
+
+        if(value.length > buffer.length) {
+            flush();
+            outputStream.write(value);
+            return;
+        }
+
+        ensureRemaining(value.length);
+        System.arraycopy(value, 0, buffer, position, value.length);
+        position += value.length;
+    }
+
+    /**
+     * Puts a decimal integer.
+     */
+    void putLong(
+        final long value) throws IOException {
+
+        if(value == Long.MIN_VALUE) {
+            putUtf8(Long.toString(value));
+            return;
+        }
+
+        ensureRemaining(20);
+        long remaining = value;
+        if(remaining < 0) {
+            buffer[position++] = '-';
+            remaining = -remaining;
+        }
+
+        int end = position + digitCount(remaining);
+        position = end;
+        do {
+            buffer[--end] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        } while(remaining != 0);
+    }
+
+    /**
+     * Puts an amount of cents as a decimal number with two fraction digits, e.g. {@code -1500.05}.
+     */
+    void putCents(
+        final long cents) throws IOException {
+
+        if(cents < 0)
+            putByte('-');
+
+        final long magnitude = Math.abs(cents);
+        putLong(magnitude / 100);
+        ensureRemaining(3);
+        buffer[position++] = '.';
+        buffer[position++] = (byte) ('0' + magnitude / 10 % 10);
+        buffer[position++] = (byte) ('0' + magnitude % 10);
+    }
+
+    /**
+     * Puts text as UTF-8, without any quoting.
+     */
+    void putUtf8(
+        final String value) throws IOException {
+
+        for(int index = 0; index < value.length(); index++)
+            index = putChar(value, index);
+    }
+
+    /**
+     * Puts text as a CSV field, quoted only if it holds a separator, a quote or a line break.
+     */
+    void putCsvField(
+        final String value) throws IOException {
+
+        if(Objects.isNull(value))
+            return;
+
+        boolean quoted = false;
+        for(int index = 0; index < value.length() && !quoted; index++) {
+            final char character = value.charAt(index);
+            quoted = character == ',' || character == '"' || character == '\n' || character == '\r';
+        }
+
+        if(!quoted) {
+            putUtf8(value);
+            return;
+        }
+
+        putByte('"');
+        for(int index = 0; index < value.length(); index++) {
+            if(value.charAt(index) == '"')
+                putByte('"');
+            index = putChar(value, index);
+        }
+        putByte('"');
+    }
+
+    /**
+     * Puts text as a JSON string, or {@code null} for a missing or empty value.
+     */
+    void putJsonString(
+        final String value) throws IOException {
+
+        if(Objects.isNull(value) || value.isEmpty()) {
+            putByte('n');
+            putByte('u');
+            putByte('l');
+            putByte('l');
+            return;
+        }
+
+        putByte('"');
+        for(int index = 0; index < value.length(); index++) {
+            final char character = value.charAt(index);
+            if(character == '"' || character == '\\') {
+                putByte('\\');
+                putByte(character);
+            } else if(character < 0x20) {
+                ensureRemaining(6);
+                buffer[position++] = '\\';
+                buffer[position++] = 'u';
+                buffer[position++] = '0';
+                buffer[position++] = '0';
+                buffer[position++] = HEX_DIGITS[character >> 4];
+                buffer[position++] = HEX_DIGITS[character & 0xF];
+            } else {
+                index = putChar(value, index);
+            }
+        }
+        putByte('"');
+    }
+
+    void putIntLittleEndian(
+        final int value) throws IOException {
+
+        ensureRemaining(Integer.BYTES);
+        for(int shift = 0; shift < Integer.SIZE; shift += Byte.SIZE)
+            buffer[position++] = (byte) (value >>> shift);
+    }
+
+    void putLongLittleEndian(
+        final long value) throws IOException {
+
+        ensureRemaining(Long.BYTES);
+        for(int shift = 0; shift < Long.SIZE; shift += Byte.SIZE)
+            buffer[position++] = (byte) (value >>> shift);
+    }
+
+    /**
+     * Puts text as its UTF-8 byte length followed by the UTF-8 bytes, or the length {@code -1} for a
+     * missing value.
+     */
+    void putLengthPrefixedUtf8(
+        final String value) throws IOException {
+
+        if(Objects.isNull(value)) {
+            putIntLittleEndian(-1);
+            return;
+        }
+
+        int length = 0;
+        for(int index = 0; index < value.length(); index++) {
+            final char character = value.charAt(index);
+            if(character < 0x80)
+                length += 1;
+            else if(character < 0x800)
+                length += 2;
+            else if(Character.isHighSurrogate(character) && index + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(index + 1))) {
+                length += 4;
+                index++;
+            } else
+                length += 3;
+        }
+
+        putIntLittleEndian(length);
+        putUtf8(value);
+    }
+
+    void flush() throws IOException {
+        outputStream.write(buffer, 0, position);
+        position = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (outputStream) {
+            flush();
+        }
+
+        log.info(
+            "Successfully wrote analysis results. row-count : {} | file-path : {} | elapsed-millis : {}",
+            rowCount,
+            filePath,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+        );
+    }
+
+    /**
+     * Encodes the character at the index, together with the next one if they form a surrogate pair.
+     *
+     * @return the index of the last encoded character
+     */
+    private int putChar(
+        final String value,
+        final int index) throws IOException {
+
+        ensureRemaining(MAX_BYTES_PER_CODE_POINT);
+        final char character = value.charAt(index);
+        if(character < 0x80) {
+            buffer[position++] = (byte) character;
+            return index;
+        }
+
+        if(character < 0x800) {
+            buffer[position++] = (byte) (0xC0 | character >> 6);
+            buffer[position++] = (byte) (0x80 | character & 0x3F);
+            return index;
+        }
+
+        if(Character.isHighSurrogate(character) && index + 1 < value.length()
+            && Character.isLowSurrogate(value.charAt(index + 1))) {
+            final int codePoint = Character.toCodePoint(character, value.charAt(index + 1));
+            buffer[position++] = (byte) (0xF0 | codePoint >> 18);
+            buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+            buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+            buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+            return index + 1;
+        }
+
+        buffer[position++] = (byte) (0xE0 | character >> 12);
+        buffer[position++] = (byte) (0x80 | character >> 6 & 0x3F);
+        buffer[position++] = (byte) (0x80 | character & 0x3F);
+        return index;
+    }
+
+    private void ensureRemaining(
+        final int bytes) throws IOException {
+
+        if(buffer.length - position < bytes)
+            flush();
+    }
+
+    private static int digitCount(
+        final long value) {
+
+        int digits = 1;
+        for(long bound = 10; digits < 19 && value >= bound; bound *= 10)
+            digits++;
+        return digits;
+    }
+
+}
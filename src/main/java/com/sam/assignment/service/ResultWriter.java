@@ -0,0 +1,79 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.Response;
+import com.sam.assignment.util.ResultFormat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reports the flagged managers and employees of one or more responses, e.g. one per scenario of a sweep.
+ * Every entry is reported with the parameters of its response and the name of its list.
+ */
+public interface ResultWriter extends Closeable {
+
+    String LEAST_PAID_MANAGERS = "least-paid-managers";
+    String OVER_PAID_MANAGERS = "over-paid-managers";
+    String MAX_REPORTING_LINE_LENGTH_EMPLOYEES = "max-reporting-line-length-employees";
+
+    /**
+     * The list names, in the order the lists are reported.
+     */
+    List<String> LIST_NAMES = List.of(LEAST_PAID_MANAGERS, OVER_PAID_MANAGERS, MAX_REPORTING_LINE_LENGTH_EMPLOYEES);
+
+    /**
+     * Reports the flagged managers and employees of a response.
+     *
+     * @param response the response of one analysis
+     * @throws IOException if the results cannot be written
+     */
+    void write(
+        final Response<Employee> response) throws IOException;
+
+    /**
+     * @param response the response of one analysis
+     * @return the lists of the response, in the order of {@link #LIST_NAMES}
+     */
+    static List<List<Employee>> lists(
+        final Response<Employee> response) {
+
+        if(Objects.isNull(response))
+            throw new IllegalArgumentException("Response cannot be null");
+
+        return List.of(
+            response.getLeastPaidManagers(),
+            response.getOverPaidManagers(),
+            response.getMaxReportingLineLengthEmployees()
+        );
+    }
+
+    /**
+     * Opens the writer of a format.
+     *
+     * @param resultFormat the format of the results
+     * @param filePath     the result file path, replaced if it exists; ignored for {@link ResultFormat#LOG}
+     * @return the writer, which must be closed to complete the file
+     * @throws IOException if the result file cannot be created
+     */
+    static ResultWriter open(
+        final ResultFormat resultFormat,
+        final String filePath) throws IOException {
+
+        if(Objects.isNull(resultFormat))
+            throw new IllegalArgumentException("Result format cannot be null");
+
+        if(resultFormat != ResultFormat.LOG && (Objects.isNull(filePath) || filePath.isBlank()))
+            throw new IllegalArgumentException("Result file path is required | result-format : " + resultFormat);
+
+        return switch (resultFormat) {
+            case LOG -> new LogResultWriterImpl();
+            case CSV -> new CsvResultWriterImpl(filePath);
+            case JSONL -> new JsonLinesResultWriterImpl(filePath);
+            case BINARY -> new BinaryResultWriterImpl(filePath);
+        };
+    }
+
+}
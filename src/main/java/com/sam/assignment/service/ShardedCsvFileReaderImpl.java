@@ -0,0 +1,283 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.CompactOrg;
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.PackedEmployeeMap;
+import com.sam.assignment.model.Parameter;
+import com.sam.assignment.util.ValidationUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Reads an organization split into several CSV files, e.g. one per subsidiary or country. The file path
+ * may name a directory, whose {@code *.csv} files are read, or hold a glob in its last segment such as
+ * {@code data/org-*.csv}; any other path is a single file and is read by the delegate as is.
+ * <p>
+ * The shards are read concurrently on a fixed pool of platform threads, each by the delegate with its own
+ * buffer, so the ingest time is bounded by the largest shard rather than the sum of all shards. The shard
+ * results are merged in file name order into one {@link PackedEmployeeMap}, so managers are resolved across
+ * shards when the hierarchy is built. The same ID in two shards is accepted only if both records are
+ * identical, the first one being kept; conflicting records are rejected. Within a shard, duplicate IDs
+ * behave as in the delegate.
+ */
+@Slf4j
+public class ShardedCsvFileReaderImpl implements CsvFileReader {
+
+    private static final String SHARD_GLOB = "*.csv";
+    private static final String GLOB_CHARACTERS = "*?[{";
+
+    private final CsvFileReader delegate;
+    private final int threads;
+
+    public ShardedCsvFileReaderImpl() {
+        this(new CsvFileReaderImpl(), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param delegate the reader of a single shard
+     * @param threads  the maximum number of shards read at the same time
+     */
+    public ShardedCsvFileReaderImpl(
+        final CsvFileReader delegate,
+        final int threads) {
+
+        if(Objects.isNull(delegate))
+            throw new IllegalArgumentException("CsvFileReader cannot be null");
+
+        if(threads < 1)
+            throw new IllegalArgumentException("Ingest threads must be at least 1");
+
+        this.delegate = delegate;
+        this.threads = threads;
+    }
+
+    /**
+     * Reads employee details from every shard of the file path and merges them into one map of employee
+     * IDs to Employee objects.
+     *
+     * @param applicationParameter the parameters for the application, including the file path
+     * @param validationUtil       utility for validating employee data
+     * @return a map where keys are employee IDs and values are Employee objects
+     * @throws IOException              if an error occurs while reading a shard, or no shard matches the file path
+     * @throws IllegalArgumentException if two shards hold conflicting records of the same employee
+     */
+    @Override
+    public Map<String, Employee> readEmployeeDetails(
+        final Parameter applicationParameter,
+        final ValidationUtil validationUtil) throws IOException {
+
+        final List<Path> shards = resolveShards(applicationParameter.getFilePath());
+        if(Objects.isNull(shards))
+            return delegate.readEmployeeDetails(applicationParameter, validationUtil);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, shards.size()));
+        try {
+            final List<Future<Map<String, Employee>>> shardReads = new ArrayList<>(shards.size());
+            for(Path shard : shards) {
+                final Parameter shardParameter = new Parameter(
+                    shard.toString(),
+                    applicationParameter.getManagerLeastPayPercentage(),
+                    applicationParameter.getManagerOverPayPercentage(),
+                    applicationParameter.getMaxSubordinatesCount(),
+                    applicationParameter.isParallel()
+                );
+                shardReads.add(executor.submit(() -> delegate.readEmployeeDetails(shardParameter, validationUtil)));
+            }
+
+            final List<Map<String, Employee>> shardEmployees = new ArrayList<>(shards.size());
+            for(Future<Map<String, Employee>> shardRead : shardReads)
+                shardEmployees.add(await(shardRead));
+
+            final ShardMerge merge = new ShardMerge(shards, shardEmployees.stream().mapToInt(Map::size).sum());
+            for(int shard = 0; shard < shardEmployees.size(); shard++)
+                merge.add(shard, shardEmployees.get(shard));
+
+            final int crossShardManagerCount = merge.crossShardManagerCount();
+            log.info(
+                "Successfully read Employee records from CSV shards. total-record-count : {} | shard-count : {} | cross-shard-manager-count : {} | file-path : {}",
+                merge.employees.size(),
+                shards.size(),
+                crossShardManagerCount,
+                applicationParameter.getFilePath()
+            );
+            return merge.employees;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Reads a single file through the delegate, and the shards of any other file path through
+     * {@link #readEmployeeDetails(Parameter, ValidationUtil)}.
+     */
+    @Override
+    public CompactOrg readCompactOrg(
+        final Parameter applicationParameter,
+        final ValidationUtil validationUtil) throws IOException {
+
+        if(Objects.isNull(resolveShards(applicationParameter.getFilePath())))
+            return delegate.readCompactOrg(applicationParameter, validationUtil);
+
+        return CsvFileReader.super.readCompactOrg(applicationParameter, validationUtil);
+    }
+
+    /**
+     * Streams a single file through the delegate, and the merged shards of any other file path.
+     */
+    @Override
+    public void streamEmployeeDetails(
+        final Parameter applicationParameter,
+        final ValidationUtil validationUtil,
+        final ObjLongConsumer<Employee> consumer) throws IOException {
+
+        if(Objects.isNull(resolveShards(applicationParameter.getFilePath()))) {
+            delegate.streamEmployeeDetails(applicationParameter, validationUtil, consumer);
+            return;
+        }
+
+        CsvFileReader.super.streamEmployeeDetails(applicationParameter, validationUtil, consumer);
+    }
+
+    /**
+     * Resolves the shards of a file path in file name order.
+     *
+     * @param filePath a directory, a glob in the last path segment, or a single file
+     * @return the shard files, or {@code null} if the file path is a single file
+     * @throws IOException if the directory cannot be listed or no shard matches the file path
+     */
+    static List<Path> resolveShards(
+        final String filePath) throws IOException {
+
+        final int separator = Math.max(filePath.lastIndexOf('/'), filePath.lastIndexOf(File.separatorChar));
+        final String fileName = filePath.substring(separator + 1);
+        final boolean glob = fileName.chars().anyMatch(character -> GLOB_CHARACTERS.indexOf(character) >= 0);
+        final Path directory;
+        final String pattern;
+        if(glob) {
+            directory = Path.of(separator < 0 ? "." : filePath.substring(0, Math.max(separator, 1)));
+            pattern = fileName;
+        } else if(Files.isDirectory(Path.of(filePath))) {
+            directory = Path.of(filePath);
+            pattern = SHARD_GLOB;
+        } else {
+            return null;
+        }
+
+        final List<Path> shards = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, pattern)) {
+            for(Path file : files)
+                if(Files.isRegularFile(file))
+                    shards.add(file);
+        }
+        if(shards.isEmpty())
+            throw new FileNotFoundException("No CSV shard matches the file path : " + filePath);
+
+        shards.sort(null);
+        return shards;
+    }
+
+    private static Map<String, Employee> await(
+        final Future<Map<String, Employee>> shardRead) throws IOException {
+
+        try {
+            return shardRead.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading CSV shards");
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof IOException ioException)
+                throw ioException;
+            if(e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            if(e.getCause() instanceof Error error)
+                throw error;
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Merges the shard results into one map and remembers the shard of every ordinal, to detect duplicate
+     * IDs across shards and count the managers resolved across shards.
+     */
+    private static final class ShardMerge {
+
+        private final List<Path> shards;
+        private final PackedEmployeeMap employees;
+        private final int[] shardOfOrdinal;
+
+        private ShardMerge(
+            final List<Path> shards,
+            final int recordCount) {
+
+            this.shards = shards;
+            this.employees = new PackedEmployeeMap(recordCount);
+            this.shardOfOrdinal = new int[recordCount];
+        }
+
+        private void add(
+            final int shard,
+            final Map<String, Employee> shardEmployees) {
+
+            for(Employee employee : shardEmployees.values()) {
+                final int existing = employees.ordinalOf(employee.getId());
+                if(existing != PackedEmployeeMap.NO_EMPLOYEE) {
+                    final Employee kept = employees.employeeAt(existing);
+                    if(!sameRecord(kept, employee))
+                        throw new IllegalArgumentException(
+                            "Conflicting employee records across shards | employee-id : " + employee.getId()
+                                + " | shards : " + shards.get(shardOfOrdinal[existing]) + ", " + shards.get(shard)
+                        );
+
+                    log.warn(
+                        "Duplicate employee ID found across shards, the first record is kept. employee-id : {} | shard : {}",
+                        employee.getId(),
+                        shards.get(shard)
+                    );
+                    continue;
+                }
+
+                shardOfOrdinal[employees.size()] = shard;
+                employees.add(employee);
+            }
+        }
+
+        private int crossShardManagerCount() {
+            int count = 0;
+            for(int ordinal = 0; ordinal < employees.size(); ordinal++) {
+                final int managerOrdinal = employees.managerOrdinal(ordinal);
+                if(managerOrdinal != PackedEmployeeMap.NO_EMPLOYEE && shardOfOrdinal[managerOrdinal] != shardOfOrdinal[ordinal])
+                    count++;
+            }
+            return count;
+        }
+
+        private static boolean sameRecord(
+            final Employee first,
+            final Employee second) {
+
+            return Objects.equals(first.getFirstName(), second.getFirstName())
+                && Objects.equals(first.getLastName(), second.getLastName())
+                && Objects.equals(first.getManagerId(), second.getManagerId())
+                && (Objects.isNull(first.getSalary())
+                    ? Objects.isNull(second.getSalary())
+                    : Objects.nonNull(second.getSalary()) && first.getSalary().compareTo(second.getSalary()) == 0);
+        }
+    }
+
+}
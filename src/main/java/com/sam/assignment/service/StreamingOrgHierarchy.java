@@ -0,0 +1,391 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.PackedEmployeeMap;
+import com.sam.assignment.model.Parameter;
+import com.sam.assignment.model.Response;
+import com.sam.assignment.util.ReportingLineUtil;
+import com.sam.assignment.util.SalaryBand;
+import com.sam.assignment.util.ValidationUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+
+/**
+ * Builds and analyses the organizational hierarchy while the employees are still arriving, in any order,
+ * as a {@link Flow.Subscriber} of a {@link CsvFileReader#publishEmployeeDetails publishing reader}. Every
+ * employee is linked to its manager as soon as both have arrived: an employee whose manager has not
+ * arrived yet waits in a pending orphans buffer keyed by the manager ID, and is linked when the manager
+ * arrives. The salary sum and count of every manager's direct subordinates are updated on every link, and
+ * the reporting line length of an employee is set, and the employee validated, as soon as its reporting
+ * line reaches a root, so every employee is visited once.
+ * <p>
+ * At the end of the stream only the salary bands of the managers are evaluated from their accumulators,
+ * so the response is ready after one pass over primitive arrays. The results match those of
+ * {@link OrgHierarchyImpl#buildHierarchy} and {@link OrgHierarchyImpl#analyse}: the lists are sorted by
+ * employee ID, the CEO is the last employee without a manager, a duplicate ID replaces the earlier
+ * record, and a missing manager or a cycle fails the analysis. Subordinates are listed in the order they
+ * were linked. Replacing an employee that was already linked makes the reporting line lengths be
+ * recomputed once at the end of the stream.
+ * <p>
+ * The subscriber methods must be called by one thread at a time, as a {@link Flow.Publisher} does;
+ * {@link #awaitResponse()} may be called by any thread. A subscriber can only be subscribed once.
+ */
+@Slf4j
+public class StreamingOrgHierarchy implements Flow.Subscriber<Employee> {
+
+    /**
+     * The number of employees requested at a time; half of it is requested again whenever half has arrived.
+     */
+    static final int REQUEST_BATCH_SIZE = 1 << 10;
+
+    private static final int UNKNOWN = -1;
+    private static final int PENDING_MANAGER = -2;
+    private static final int MIN_CAPACITY = 16;
+    private static final Comparator<Employee> EMPLOYEE_ORDER = Comparator.comparing(Employee::getId);
+
+    private final ValidationUtil validationUtil;
+    private final Parameter applicationParameter;
+    private final SalaryBand salaryBand;
+    private final CountDownLatch completed = new CountDownLatch(1);
+
+    private final PackedEmployeeMap employees = new PackedEmployeeMap(0);
+    private final Map<String, List<Employee>> pendingOrphans = new HashMap<>();
+    private final List<Employee> maxReportingLineLengthEmployees = new ArrayList<>();
+    private long[] subordinatesSalarySumCents = new long[MIN_CAPACITY];
+    private int[] subordinatesCounts = new int[MIN_CAPACITY];
+    private int[] managerOrdinals = new int[MIN_CAPACITY];
+    private int[] reportingLineLengths = new int[MIN_CAPACITY];
+    private int[] connectStack = new int[MIN_CAPACITY];
+    private int connectedCount;
+    private boolean replacedLinkedEmployee;
+
+    private Flow.Subscription subscription;
+    private long receivedCount;
+    private volatile Throwable failure;
+
+    /**
+     * @param validationUtil       utility for validating employee objects
+     * @param applicationParameter parameters for application-specific calculations
+     */
+    public StreamingOrgHierarchy(
+        final ValidationUtil validationUtil,
+        final Parameter applicationParameter) {
+
+        if(Objects.isNull(validationUtil))
+            throw new IllegalArgumentException("ValidationUtil cannot be null");
+
+        if(Objects.isNull(applicationParameter))
+            throw new IllegalArgumentException("Application parameter cannot be null");
+
+        this.validationUtil = validationUtil;
+        this.applicationParameter = applicationParameter;
+        this.salaryBand = SalaryBand.of(applicationParameter);
+    }
+
+    @Override
+    public void onSubscribe(
+        final Flow.Subscription subscription) {
+
+        if(Objects.nonNull(this.subscription)) {
+            subscription.cancel();
+            return;
+        }
+
+        this.subscription = subscription;
+        subscription.request(REQUEST_BATCH_SIZE);
+    }
+
+    /**
+     * Links the employee into the hierarchy. A failure cancels the subscription and is rethrown by
+     * {@link #awaitResponse()}.
+     */
+    @Override
+    public void onNext(
+        final Employee employee) {
+
+        if(Objects.nonNull(failure))
+            return;
+
+        try {
+            link(employee);
+            if(++receivedCount % (REQUEST_BATCH_SIZE / 2) == 0)
+                subscription.request(REQUEST_BATCH_SIZE / 2);
+        } catch (RuntimeException e) {
+            failure = e;
+            subscription.cancel();
+            completed.countDown();
+        }
+    }
+
+    @Override
+    public void onError(
+        final Throwable throwable) {
+
+        if(Objects.isNull(failure))
+            failure = throwable;
+        completed.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+        completed.countDown();
+    }
+
+    /**
+     * Waits for the end of the stream and completes the analysis.
+     *
+     * @return the CEO and the employees matched by every {@link AnalysisRule#RESPONSE_RULES response rule},
+     *         each list sorted by employee ID
+     * @throws InterruptedException     if the thread is interrupted while waiting
+     * @throws IllegalArgumentException if an employee is invalid or its manager is not found
+     * @throws IllegalStateException    if a reporting line contains a cycle, or the stream failed
+     */
+    public Response<Employee> awaitResponse() throws InterruptedException {
+        completed.await();
+        if(Objects.nonNull(failure)) {
+            if(failure instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            if(failure instanceof Error error)
+                throw error;
+            throw new IllegalStateException("Streaming hierarchy build failed", failure);
+        }
+
+        if(replacedLinkedEmployee)
+            recomputeReportingLineLengths();
+        else if(connectedCount != employees.size())
+            throw unconnectedEmployeeFailure();
+
+        final List<Employee> leastPaidManagers = new ArrayList<>();
+        final List<Employee> overPaidManagers = new ArrayList<>();
+        Employee ceo = null;
+        for(int ordinal = 0; ordinal < employees.size(); ordinal++) {
+            final Employee employee = employees.employeeAt(ordinal);
+            if(managerOrdinals[ordinal] == ReportingLineUtil.NO_MANAGER)
+                ceo = employee;
+
+            if(subordinatesCounts[ordinal] == 0)
+                continue;
+
+            final long differenceCents = salaryBand.differenceCents(
+                SalaryBand.toCents(employee.getSalary()),
+                SalaryBand.averageCents(subordinatesSalarySumCents[ordinal], subordinatesCounts[ordinal])
+            );
+            if(differenceCents == 0)
+                continue;
+
+            employee.setDifferenceOfSubordinatesAverageSalary(BigDecimal.valueOf(differenceCents, 2));
+            validationUtil.validate(employee);
+            if(AnalysisRule.LEAST_PAID_MANAGER.matches(employee, applicationParameter))
+                leastPaidManagers.add(employee);
+            else
+                overPaidManagers.add(employee);
+        }
+
+        leastPaidManagers.sort(EMPLOYEE_ORDER);
+        overPaidManagers.sort(EMPLOYEE_ORDER);
+        maxReportingLineLengthEmployees.sort(EMPLOYEE_ORDER);
+        log.info(
+            "Successfully built the organizational hierarchy from the stream | employee-count : {} | pending-orphan-manager-count : {}",
+            employees.size(),
+            pendingOrphans.size()
+        );
+        return new Response<>(
+            ceo,
+            applicationParameter,
+            leastPaidManagers,
+            overPaidManagers,
+            new ArrayList<>(maxReportingLineLengthEmployees)
+        );
+    }
+
+    /**
+     * @return the number of distinct employees received so far
+     */
+    public int size() {
+        return employees.size();
+    }
+
+    /**
+     * Indexes the employee, links it to its manager or parks it as an orphan, and links the orphans
+     * waiting for it.
+     */
+    private void link(
+        final Employee employee) {
+
+        int ordinal = employees.ordinalOf(employee.getId());
+        if(ordinal != PackedEmployeeMap.NO_EMPLOYEE) {
+            replace(ordinal, employee);
+        } else {
+            ordinal = employees.size();
+            employees.add(employee);
+            ensureCapacity(ordinal + 1);
+            reportingLineLengths[ordinal] = UNKNOWN;
+        }
+
+        final int managerOrdinal = employees.managerOrdinal(ordinal);
+        if(!employees.hasManager(ordinal)) {
+            managerOrdinals[ordinal] = ReportingLineUtil.NO_MANAGER;
+            connect(ordinal, 0);
+        } else if(managerOrdinal == PackedEmployeeMap.NO_EMPLOYEE) {
+            managerOrdinals[ordinal] = PENDING_MANAGER;
+            pendingOrphans.computeIfAbsent(employee.getManagerId(), managerId -> new ArrayList<>()).add(employee);
+        } else {
+            attach(ordinal, managerOrdinal);
+        }
+
+        final List<Employee> orphans = pendingOrphans.remove(employee.getId());
+        if(Objects.nonNull(orphans))
+            for(Employee orphan : orphans) {
+                final int orphanOrdinal = employees.ordinalOf(orphan.getId());
+                if(employees.employeeAt(orphanOrdinal) == orphan && managerOrdinals[orphanOrdinal] == PENDING_MANAGER)
+                    attach(orphanOrdinal, ordinal);
+            }
+    }
+
+    /**
+     * Replaces the employee of the ordinal by a later record with the same ID, which takes over the
+     * subordinates of the earlier record and is linked anew. An orphan entry of the earlier record is
+     * left behind and skipped when its manager arrives. Once a replaced employee had been connected to a
+     * root, reporting line lengths are no longer set on the fly.
+     */
+    private void replace(
+        final int ordinal,
+        final Employee employee) {
+
+        final Employee previous = employees.employeeAt(ordinal);
+        final int previousManagerOrdinal = managerOrdinals[ordinal];
+        if(previousManagerOrdinal >= 0) {
+            employees.employeeAt(previousManagerOrdinal).getSubordinates().remove(previous);
+            if(Objects.nonNull(previous.getSalary()))
+                subordinatesSalarySumCents[previousManagerOrdinal] -= SalaryBand.toCents(previous.getSalary());
+            subordinatesCounts[previousManagerOrdinal]--;
+        }
+        if(reportingLineLengths[ordinal] != UNKNOWN)
+            replacedLinkedEmployee = true;
+
+        employee.getSubordinates().addAll(previous.getSubordinates());
+        employees.put(employee.getId(), employee);
+        log.warn("Duplicate employee ID found, the last record wins. employee-id : {}", employee.getId());
+    }
+
+    private void attach(
+        final int ordinal,
+        final int managerOrdinal) {
+
+        final Employee employee = employees.employeeAt(ordinal);
+        employees.employeeAt(managerOrdinal).getSubordinates().add(employee);
+        if(Objects.nonNull(employee.getSalary()))
+            subordinatesSalarySumCents[managerOrdinal] = Math.addExact(
+                subordinatesSalarySumCents[managerOrdinal],
+                SalaryBand.toCents(employee.getSalary())
+            );
+        subordinatesCounts[managerOrdinal]++;
+        managerOrdinals[ordinal] = managerOrdinal;
+        if(reportingLineLengths[managerOrdinal] != UNKNOWN && !replacedLinkedEmployee)
+            connect(ordinal, reportingLineLengths[managerOrdinal] + 1);
+    }
+
+    /**
+     * Sets the reporting line length of an employee that has just been connected to a root, and of all
+     * its subordinates linked so far, validating and evaluating every one of them once.
+     */
+    private void connect(
+        final int ordinal,
+        final int reportingLineLength) {
+
+        if(replacedLinkedEmployee)
+            return;
+
+        reportingLineLengths[ordinal] = reportingLineLength;
+        int pendingCount = 0;
+        connectStack[pendingCount++] = ordinal;
+        while(pendingCount > 0) {
+            final int current = connectStack[--pendingCount];
+            final Employee employee = employees.employeeAt(current);
+            employee.setReportingLineLength(reportingLineLengths[current]);
+            validationUtil.validate(employee);
+            if(AnalysisRule.MAX_REPORTING_LINE_LENGTH.matches(employee, applicationParameter))
+                maxReportingLineLengthEmployees.add(employee);
+            connectedCount++;
+
+            for(Employee subordinate : employee.getSubordinates()) {
+                final int subordinateOrdinal = employees.ordinalOf(subordinate.getId());
+                if(reportingLineLengths[subordinateOrdinal] == UNKNOWN) {
+                    reportingLineLengths[subordinateOrdinal] = reportingLineLengths[current] + 1;
+                    connectStack[pendingCount++] = subordinateOrdinal;
+                }
+            }
+        }
+    }
+
+    /**
+     * Recomputes every reporting line length after an already linked employee was replaced, which may
+     * have moved its subtree.
+     */
+    private void recomputeReportingLineLengths() {
+        for(int ordinal = 0; ordinal < employees.size(); ordinal++)
+            if(managerOrdinals[ordinal] == PENDING_MANAGER)
+                throw unconnectedEmployeeFailure();
+
+        final int[] lengths = ReportingLineUtil.computeReportingLineLengths(
+            Arrays.copyOf(managerOrdinals, employees.size()),
+            ordinal -> employees.employeeAt(ordinal).getId()
+        );
+        maxReportingLineLengthEmployees.clear();
+        for(int ordinal = 0; ordinal < employees.size(); ordinal++) {
+            final Employee employee = employees.employeeAt(ordinal);
+            employee.setReportingLineLength(lengths[ordinal]);
+            validationUtil.validate(employee);
+            if(AnalysisRule.MAX_REPORTING_LINE_LENGTH.matches(employee, applicationParameter))
+                maxReportingLineLengthEmployees.add(employee);
+        }
+    }
+
+    /**
+     * @return the failure for the first employee that is not connected to a root: its manager was not
+     *         found, or its reporting line contains a cycle
+     */
+    private RuntimeException unconnectedEmployeeFailure() {
+        for(int ordinal = 0; ordinal < employees.size(); ordinal++) {
+            if(managerOrdinals[ordinal] == PENDING_MANAGER)
+                return new IllegalArgumentException(
+                    "Manager not found | employee-id : " + employees.employeeAt(ordinal).getId() +
+                    " | manager-id : " + employees.employeeAt(ordinal).getManagerId()
+                );
+        }
+
+        for(int ordinal = 0; ordinal < employees.size(); ordinal++) {
+            if(reportingLineLengths[ordinal] == UNKNOWN)
+                return new IllegalStateException(
+                    "Cyclic reporting line detected | employee-id : " + employees.employeeAt(ordinal).getId()
+                );
+        }
+
+        return new IllegalStateException("Every employee is connected to a root");
+    }
+
+    private void ensureCapacity(
+        final int capacity) {
+
+        if(capacity <= managerOrdinals.length)
+            return;
+
+        final int grown = Math.max(capacity, managerOrdinals.length * 2);
+        subordinatesSalarySumCents = Arrays.copyOf(subordinatesSalarySumCents, grown);
+        subordinatesCounts = Arrays.copyOf(subordinatesCounts, grown);
+        managerOrdinals = Arrays.copyOf(managerOrdinals, grown);
+        reportingLineLengths = Arrays.copyOf(reportingLineLengths, grown);
+        connectStack = new int[grown];
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.sam.assignment.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Splits application arguments into the mandatory positional arguments and optional
+ * {@code --name=value} flags, which may appear anywhere on the command line.
+ */
+public final class ArgumentUtil {
+
+    private static final String OPTION_PREFIX = "--";
+
+    private ArgumentUtil() {
+    }
+
+    /**
+     * Returns the positional arguments, i.e. every argument that is not an optional flag.
+     *
+     * @param applicationArguments command line arguments
+     * @return the positional arguments in their original order
+     */
+    public static String[] positionalArguments(
+        final String[] applicationArguments) {
+
+        if (Objects.isNull(applicationArguments))
+            return new String[0];
+
+        return Arrays.stream(applicationArguments)
+            .filter(argument -> Objects.isNull(argument) || !argument.startsWith(OPTION_PREFIX))
+            .toArray(String[]::new);
+    }
+
+    /**
+     * Returns whether the arguments describe a scenario sweep, i.e. whether any of the percentage and
+     * threshold arguments holds a comma-separated list of values. The file path is not considered, as
+     * it may contain commas, e.g. in a brace glob such as {@code data/{a,b}.csv}.
+     *
+     * @param applicationArguments command line arguments
+     * @return whether any positional argument after the file path holds a comma
+     */
+    public static boolean isScenarioSweep(
+        final String[] applicationArguments) {
+
+        final String[] positionalArguments = positionalArguments(applicationArguments);
+        for (int argument = 1; argument < positionalArguments.length; argument++)
+            if (Objects.nonNull(positionalArguments[argument]) && positionalArguments[argument].contains(","))
+                return true;
+
+        return false;
+    }
+
+    /**
+     * Returns the value of the optional flag {@code --name=value}. A bare {@code --name} flag yields {@code "true"}.
+     *
+     * @param applicationArguments command line arguments
+     * @param name                 the flag name, without the leading dashes
+     * @param defaultValue         the value returned when the flag is absent
+     * @return the flag value, or the default value when the flag is absent
+     */
+    public static String optionValue(
+        final String[] applicationArguments,
+        final String name,
+        final String defaultValue) {
+
+        if (Objects.isNull(applicationArguments))
+            return defaultValue;
+
+        final String flag = OPTION_PREFIX + name;
+        for (String argument : applicationArguments) {
+            if (Objects.isNull(argument))
+                continue;
+
+            if (argument.equals(flag))
+                return Boolean.TRUE.toString();
+
+            if (argument.startsWith(flag + "="))
+                return argument.substring(flag.length() + 1);
+        }
+
+        return defaultValue;
+    }
+
+    /**
+     * Returns the port of the optional flag {@code --name=<port>}.
+     *
+     * @param applicationArguments command line arguments
+     * @param name                 the flag name, without the leading dashes
+     * @return the port, or {@code null} when the flag is absent
+     * @throws IllegalArgumentException if the flag has no value or its value is not a port from 0 to 65535
+     */
+    public static Integer portValue(
+        final String[] applicationArguments,
+        final String name) {
+
+        final String value = optionValue(applicationArguments, name, null);
+        if (Objects.isNull(value))
+            return null;
+
+        try {
+            final int port = Integer.parseInt(value.trim());
+            if (port >= 0 && port <= 65535)
+                return port;
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+
+        throw new IllegalArgumentException(
+            "Usage: " + OPTION_PREFIX + name + "=<port>, with a port from 0 to 65535 | " + name + " : " +
+            (Boolean.TRUE.toString().equals(value) ? "(no port)" : value)
+        );
+    }
+
+}
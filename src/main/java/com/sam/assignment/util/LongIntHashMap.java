@@ -0,0 +1,171 @@
+package com.sam.assignment.util;
+
+/**
+ * Open-addressing hash map from primitive {@code long} keys to non-negative {@code int} values, used
+ * to index employees by packed ID without boxing. Uses linear probing over parallel key/value arrays
+ * and keeps the load factor at or below one half. The key {@code 0} is reserved as the empty marker.
+ * Removals shift the following entries of the probe run back, so no tombstones are left behind.
+ * <p>
+ * This map is not thread-safe.
+ */
+public final class LongIntHashMap {
+
+    /**
+     * Returned by lookups when the key is absent.
+     */
+    public static final int MISSING = -1;
+
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    public LongIntHashMap(
+        final int expectedSize) {
+
+        if (expectedSize < 0)
+            throw new IllegalArgumentException("Expected size cannot be negative");
+
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * @param key the key to look up
+     * @return the value mapped to the key, or {@link #MISSING}
+     */
+    public int get(
+        final long key) {
+
+        int slot = slot(key);
+        while (true) {
+            final long current = keys[slot];
+            if (current == key)
+                return values[slot];
+            if (current == EMPTY)
+                return MISSING;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Maps the key to the value, replacing any previous mapping.
+     *
+     * @param key   the key, which cannot be 0
+     * @param value the value, which cannot be negative
+     * @return the previous value, or {@link #MISSING}
+     */
+    public int put(
+        final long key,
+        final int value) {
+
+        if (key == EMPTY)
+            throw new IllegalArgumentException("Key 0 is reserved");
+
+        if (value < 0)
+            throw new IllegalArgumentException("Value cannot be negative");
+
+        int slot = slot(key);
+        while (true) {
+            final long current = keys[slot];
+            if (current == key) {
+                final int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            if (current == EMPTY) {
+                keys[slot] = key;
+                values[slot] = value;
+                if (++size * 2 > keys.length)
+                    rehash(keys.length * 2);
+                return MISSING;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Removes the mapping of the key.
+     *
+     * @param key the key
+     * @return the removed value, or {@link #MISSING}
+     */
+    public int remove(
+        final long key) {
+
+        int slot = slot(key);
+        while (keys[slot] != key) {
+            if (keys[slot] == EMPTY)
+                return MISSING;
+            slot = (slot + 1) & mask;
+        }
+
+        final int previous = values[slot];
+        int free = slot;
+        for (int next = (free + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            // the entry may move back unless its home slot lies after the freed slot in the probe run
+            if (((next - slot(keys[next])) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                values[free] = values[next];
+                free = next;
+            }
+        }
+        keys[free] = EMPTY;
+        size--;
+        return previous;
+    }
+
+    /**
+     * @return the number of mappings
+     */
+    public int size() {
+        return size;
+    }
+
+    private int slot(
+        final long key) {
+
+        long hash = key * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 32;
+        return (int) hash & mask;
+    }
+
+    private void rehash(
+        final int capacity) {
+
+        final long[] oldKeys = keys;
+        final int[] oldValues = values;
+        allocate(capacity);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] == EMPTY)
+                continue;
+
+            int target = slot(oldKeys[slot]);
+            while (keys[target] != EMPTY)
+                target = (target + 1) & mask;
+            keys[target] = oldKeys[slot];
+            values[target] = oldValues[slot];
+        }
+    }
+
+    private void allocate(
+        final int capacity) {
+
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int capacityFor(
+        final int expectedSize) {
+
+        final long required = Math.max(16L, (long) expectedSize * 2);
+        final long capacity = Long.highestOneBit(required - 1) << 1;
+        if (capacity > 1 << 30)
+            throw new IllegalArgumentException("Expected size is too large : " + expectedSize);
+
+        return (int) capacity;
+    }
+
+}
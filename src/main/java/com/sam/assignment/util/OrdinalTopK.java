@@ -0,0 +1,148 @@
+package com.sam.assignment.util;
+
+import java.util.Arrays;
+
+/**
+ * Bounded selection of the first {@code k} ordinals of an order, like {@link TopK}, without boxing. Every
+ * ordinal is offered with its two sort keys, e.g. a severity and an ID sort key, which are kept beside it
+ * in the heap, so a comparison reads two {@code long}s and never recomputes them. Ordinals are ordered by
+ * ascending primary key, then by ascending secondary key; negate a key for a descending order.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class OrdinalTopK {
+
+    private final int k;
+    private int[] ordinals;
+    private long[] primaryKeys;
+    private long[] secondaryKeys;
+    private int size;
+
+    /**
+     * @param k the maximum number of ordinals to keep
+     */
+    public OrdinalTopK(
+        final int k) {
+
+        if (k < 0)
+            throw new IllegalArgumentException("K cannot be negative | k : " + k);
+
+        this.k = k;
+        final int capacity = Math.max(1, Math.min(k, 1 << 16));
+        this.ordinals = new int[capacity];
+        this.primaryKeys = new long[capacity];
+        this.secondaryKeys = new long[capacity];
+    }
+
+    /**
+     * @param ordinal      the ordinal to offer
+     * @param primaryKey   the key the ordinals are ordered by first
+     * @param secondaryKey the key that orders ordinals with equal primary keys
+     * @return whether the ordinal is kept, for now
+     */
+    public boolean offer(
+        final int ordinal,
+        final long primaryKey,
+        final long secondaryKey) {
+
+        if (size < k) {
+            if (size == ordinals.length) {
+                final int capacity = (int) Math.min(k, 2L * size);
+                ordinals = Arrays.copyOf(ordinals, capacity);
+                primaryKeys = Arrays.copyOf(primaryKeys, capacity);
+                secondaryKeys = Arrays.copyOf(secondaryKeys, capacity);
+            }
+            set(size, ordinal, primaryKey, secondaryKey);
+            siftUp(size++);
+            return true;
+        }
+
+        // the head is the worst kept ordinal
+        if (k == 0 || compare(primaryKey, secondaryKey, 0) >= 0)
+            return false;
+
+        set(0, ordinal, primaryKey, secondaryKey);
+        siftDown(0);
+        return true;
+    }
+
+    /**
+     * Removes the kept ordinals, leaving the selection empty.
+     *
+     * @return the kept ordinals, best first
+     */
+    public int[] drainSorted() {
+        final int[] sorted = new int[size];
+        while (size > 0) {
+            sorted[size - 1] = ordinals[0];
+            set(0, ordinals[size - 1], primaryKeys[size - 1], secondaryKeys[size - 1]);
+            size--;
+            siftDown(0);
+        }
+
+        return sorted;
+    }
+
+    private void siftUp(
+        final int index) {
+
+        final int ordinal = ordinals[index];
+        final long primaryKey = primaryKeys[index];
+        final long secondaryKey = secondaryKeys[index];
+        int child = index;
+        while (child > 0) {
+            final int parent = (child - 1) >>> 1;
+            if (compare(primaryKey, secondaryKey, parent) <= 0)
+                break;
+
+            set(child, ordinals[parent], primaryKeys[parent], secondaryKeys[parent]);
+            child = parent;
+        }
+        set(child, ordinal, primaryKey, secondaryKey);
+    }
+
+    private void siftDown(
+        final int index) {
+
+        final int ordinal = ordinals[index];
+        final long primaryKey = primaryKeys[index];
+        final long secondaryKey = secondaryKeys[index];
+        int parent = index;
+        int child;
+        while ((child = 2 * parent + 1) < size) {
+            if (child + 1 < size && compare(primaryKeys[child + 1], secondaryKeys[child + 1], child) > 0)
+                child++;
+            if (compare(primaryKey, secondaryKey, child) >= 0)
+                break;
+
+            set(parent, ordinals[child], primaryKeys[child], secondaryKeys[child]);
+            parent = child;
+        }
+        set(parent, ordinal, primaryKey, secondaryKey);
+    }
+
+    /**
+     * @return the order of the given keys relative to the entry at {@code index}; the heap keeps the
+     *         greatest at its head
+     */
+    private int compare(
+        final long primaryKey,
+        final long secondaryKey,
+        final int index) {
+
+        final int primary = Long.compare(primaryKey, primaryKeys[index]);
+        return primary != 0 ? primary : Long.compare(secondaryKey, secondaryKeys[index]);
+    }
+
+    private void set(
+        final int index,
+        final int ordinal,
+        final long primaryKey,
+        final long secondaryKey) {
+
+        ordinals[index] = ordinal;
+        primaryKeys[index] = primaryKey;
+        secondaryKeys[index] = secondaryKey;
+    }
+
+}
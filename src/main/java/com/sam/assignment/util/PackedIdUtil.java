@@ -0,0 +1,206 @@
+package com.sam.assignment.util;
+
+import java.util.Objects;
+
+/**
+ * Encodes alphanumeric IDs of up to 10 characters losslessly into a {@code long}, using bijective
+ * base-62 numeration (digits 1..62). Every distinct ID, including IDs with leading zeros such as
+ * {@code "0000000123"}, maps to a distinct positive value, and the empty ID maps to {@link #NO_ID}.
+ */
+public final class PackedIdUtil {
+
+    /**
+     * The packed value of an absent or empty ID.
+     */
+    public static final long NO_ID = 0L;
+
+    /**
+     * The maximum length of an ID that can be packed.
+     */
+    public static final int MAX_LENGTH = 10;
+
+    /**
+     * Returned by {@link #tryEncode(String)} for an ID that cannot be packed.
+     */
+    public static final long NOT_PACKABLE = -1L;
+
+    private static final int RADIX = 62;
+    private static final int SORT_RADIX = RADIX + 1;
+    private static final long[] SORT_WEIGHTS = new long[MAX_LENGTH + 1];
+
+    static {
+        SORT_WEIGHTS[0] = 1;
+        for (int length = 1; length <= MAX_LENGTH; length++)
+            SORT_WEIGHTS[length] = SORT_WEIGHTS[length - 1] * SORT_RADIX;
+    }
+    private static final char[] DIGITS =
+        "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    private PackedIdUtil() {
+    }
+
+    /**
+     * Packs an ID into a {@code long}.
+     *
+     * @param id the alphanumeric ID, at most 10 characters; {@code null} or empty packs to {@link #NO_ID}
+     * @return the packed ID
+     * @throws IllegalArgumentException if the ID is too long or not alphanumeric
+     */
+    public static long encode(
+        final String id) {
+
+        if (Objects.isNull(id) || id.isEmpty())
+            return NO_ID;
+
+        if (id.length() > MAX_LENGTH)
+            throw new IllegalArgumentException("ID must be at most " + MAX_LENGTH + " characters : " + id);
+
+        final long packed = tryEncode(id);
+        if (packed == NOT_PACKABLE)
+            throw new IllegalArgumentException("ID must be alphanumeric : " + id);
+
+        return packed;
+    }
+
+    /**
+     * Packs an ID into a {@code long} without failing, e.g. to look up keys of unknown origin.
+     *
+     * @param id the ID; {@code null} or empty packs to {@link #NO_ID}
+     * @return the packed ID, or {@link #NOT_PACKABLE} if the ID is too long or not alphanumeric
+     */
+    public static long tryEncode(
+        final String id) {
+
+        if (Objects.isNull(id) || id.isEmpty())
+            return NO_ID;
+
+        if (id.length() > MAX_LENGTH)
+            return NOT_PACKABLE;
+
+        long packed = 0;
+        for (int index = 0; index < id.length(); index++) {
+            final int digit = digit(id.charAt(index));
+            if (digit < 0)
+                return NOT_PACKABLE;
+            packed = packed * RADIX + digit;
+        }
+
+        return packed;
+    }
+
+    /**
+     * Unpacks an ID previously packed by {@link #encode(String)}.
+     *
+     * @param packed the packed ID
+     * @return the ID, or {@code null} for {@link #NO_ID}
+     */
+    public static String decode(
+        final long packed) {
+
+        if (packed == NO_ID)
+            return null;
+
+        final char[] characters = new char[MAX_LENGTH];
+        int start = MAX_LENGTH;
+        long remaining = packed;
+        while (remaining > 0) {
+            final long digit = (remaining - 1) % RADIX;
+            characters[--start] = DIGITS[(int) digit];
+            remaining = (remaining - 1 - digit) / RADIX;
+        }
+
+        return new String(characters, start, MAX_LENGTH - start);
+    }
+
+    /**
+     * Maps a packed ID to a key whose numeric order is the {@link String} order of the IDs. The packed
+     * value itself orders shorter IDs first, e.g. {@code "9"} before {@code "10"}, so the digits are
+     * left-aligned in a field of {@link #MAX_LENGTH} base-63 positions instead, padded with 0, which is
+     * below every digit. The digits 1..62 follow the character order of {@code 0-9A-Z a-z}, so comparing
+     * two keys compares the IDs character by character, and a prefix sorts before its extensions.
+     *
+     * @param packed the packed ID
+     * @return the sort key, positive for every ID and 0 for {@link #NO_ID}
+     */
+    public static long sortKey(
+        final long packed) {
+
+        long key = 0;
+        int length = 0;
+        long remaining = packed;
+        while (remaining > 0) {
+            final long digit = (remaining - 1) % RADIX;
+            key += (digit + 1) * SORT_WEIGHTS[length++];
+            remaining = (remaining - 1 - digit) / RADIX;
+        }
+
+        return key * SORT_WEIGHTS[MAX_LENGTH - length];
+    }
+
+    /**
+     * Maps any string, e.g. a paging cursor, to the greatest {@link #sortKey(long)} of a packable ID that
+     * is not greater than it in {@link String} order, so {@code id.compareTo(bound) <= 0} holds exactly when
+     * {@code sortKey(encode(id)) <= floorSortKey(bound)}.
+     *
+     * @param bound the string to compare IDs with
+     * @return the greatest sort key not above the bound, or 0 if every ID is above it
+     */
+    public static long floorSortKey(
+        final String bound) {
+
+        long key = 0;
+        final int length = Math.min(bound.length(), MAX_LENGTH);
+        for (int index = 0; index < length; index++) {
+            final int digit = digit(bound.charAt(index));
+            if (digit >= 0) {
+                key = key * SORT_RADIX + digit;
+                continue;
+            }
+
+            // the greatest ID below the bound keeps the prefix, takes the greatest lower character and ends with 'z'
+            final int lower = lowerDigit(bound.charAt(index));
+            if (lower < 0)
+                return key * SORT_WEIGHTS[MAX_LENGTH - index];
+
+            key = key * SORT_RADIX + lower;
+            for (int position = index + 1; position < MAX_LENGTH; position++)
+                key = key * SORT_RADIX + RADIX;
+            return key;
+        }
+
+        return key * SORT_WEIGHTS[MAX_LENGTH - length];
+    }
+
+    /**
+     * @return the digit of the greatest alphanumeric character below a non-alphanumeric one, or -1 if there is none
+     */
+    private static int lowerDigit(
+        final char character) {
+
+        if (character > 'z')
+            return digit('z');
+        if (character > 'Z')
+            return digit('Z');
+        if (character > '9')
+            return digit('9');
+
+        return -1;
+    }
+
+    /**
+     * @return the bijective base-62 digit (1..62) of the character, or -1 if it is not alphanumeric
+     */
+    private static int digit(
+        final char character) {
+
+        if (character >= '0' && character <= '9')
+            return character - '0' + 1;
+        if (character >= 'A' && character <= 'Z')
+            return character - 'A' + 11;
+        if (character >= 'a' && character <= 'z')
+            return character - 'a' + 37;
+
+        return -1;
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.sam.assignment.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event of one phase recorded by {@link RunMetrics}, so phases line up with GC, allocation and
+ * thread events in a flight recording.
+ */
+@Name("com.sam.assignment.Phase")
+@Label("Orchestration Phase")
+@Category("Organizational Hierarchy")
+@Description("A timed phase of the orchestration pipeline")
+class PhaseEvent extends jdk.jfr.Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("CPU Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long cpuNanos;
+
+    @Label("Allocated")
+    @DataAmount(DataAmount.BYTES)
+    long allocatedBytes;
+
+}
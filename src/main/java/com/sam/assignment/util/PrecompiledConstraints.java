@@ -0,0 +1,282 @@
+package com.sam.assignment.util;
+
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.Parameter;
+import com.sam.assignment.model.Response;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Hand-written equivalents of the Jakarta Bean Validation constraints declared on {@link Employee},
+ * {@link Parameter} and {@link Response}, so that objects can be validated without bootstrapping a
+ * reflective {@code Validator}. Every check reports the message of the annotation it replaces, with the
+ * same null handling: only {@code @NotNull} and {@code @NotEmpty} reject a missing value.
+ * <p>
+ * Violations are reported in field declaration order. When cascading, the {@code @Valid} members are
+ * followed depth first with an explicit stack, so deep reporting lines cannot overflow it. As with the
+ * reflective validator, an object reached through several paths is reported once per path, and an object
+ * already on the current path is not followed again.
+ * <p>
+ * The checks must be kept in sync with the model annotations; {@code PrecompiledConstraintsTest} compares
+ * both on invalid objects.
+ */
+public final class PrecompiledConstraints {
+
+    private static final BigDecimal ONE_BILLION = new BigDecimal("1000000000");
+    private static final int EMPLOYEE_ID_LENGTH = 10;
+    private static final int MAX_NAME_LENGTH = 50;
+    private static final int MAX_REPORTING_LINE_LENGTH = 1000;
+    private static final int MAX_SUBORDINATES_COUNT = 999;
+
+    private PrecompiledConstraints() {
+    }
+
+    /**
+     * Validates an object.
+     *
+     * @param object  the object to validate
+     * @param cascade whether the {@code @Valid} members are validated too
+     * @return the messages of the violated constraints, empty if the object is valid
+     * @throws IllegalArgumentException if the object is null or its constraints are not precompiled
+     */
+    public static List<String> violations(
+        final Object object,
+        final boolean cascade) {
+
+        if (Objects.isNull(object))
+            throw new IllegalArgumentException("The object to be validated must not be null.");
+
+        final List<String> violations = new ArrayList<>(0);
+        if (!cascade) {
+            check(object, violations, null);
+            return violations;
+        }
+
+        final Set<Object> path = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Deque<Object> pending = new ArrayDeque<>();
+        pending.push(object);
+        while (!pending.isEmpty()) {
+            final Object next = pending.pop();
+            if (next instanceof PathExit exit) {
+                path.remove(exit.object);
+            } else if (path.add(next)) {
+                pending.push(new PathExit(next));
+                check(next, violations, pending);
+            }
+        }
+        return violations;
+    }
+
+    private static void check(
+        final Object object,
+        final List<String> violations,
+        final Deque<Object> cascaded) {
+
+        if (object instanceof Employee employee) {
+            checkEmployee(employee, violations);
+            if (Objects.nonNull(cascaded) && Objects.nonNull(employee.getSubordinates()))
+                cascade(employee.getSubordinates(), cascaded);
+        } else if (object instanceof Parameter parameter) {
+            checkParameter(parameter, violations);
+        } else if (object instanceof Response<?> response) {
+            checkResponse(response, violations);
+            if (Objects.nonNull(cascaded)) {
+                cascade(response.getMaxReportingLineLengthEmployees(), cascaded);
+                cascade(response.getOverPaidManagers(), cascaded);
+                cascade(response.getLeastPaidManagers(), cascaded);
+                cascade(Collections.singletonList(response.getApplicationParameter()), cascaded);
+                cascade(Collections.singletonList(response.getCeo()), cascaded);
+            }
+        } else {
+            throw new IllegalArgumentException("No precompiled constraints for type : " + object.getClass().getName());
+        }
+    }
+
+    /**
+     * Pushes the non-null members in reverse, so that they are validated in list order.
+     */
+    private static void cascade(
+        final List<?> members,
+        final Deque<Object> cascaded) {
+
+        if (Objects.isNull(members))
+            return;
+
+        for (int member = members.size() - 1; member >= 0; member--) {
+            final Object value = members.get(member);
+            if (Objects.nonNull(value))
+                cascaded.push(value);
+        }
+    }
+
+    private static void checkEmployee(
+        final Employee employee,
+        final List<String> violations) {
+
+        final String id = employee.getId();
+        if (isEmpty(id))
+            violations.add("Employee ID cannot be empty");
+        if (Objects.nonNull(id) && id.length() != EMPLOYEE_ID_LENGTH)
+            violations.add("Employee ID must be exactly 10 characters");
+        if (Objects.nonNull(id) && !isAlphanumeric(id, false))
+            violations.add("Employee ID must be alphanumeric");
+
+        checkName(employee.getFirstName(), "Employee First Name", violations);
+        checkName(employee.getLastName(), "Employee Last Name", violations);
+
+        final String managerId = employee.getManagerId();
+        if (Objects.nonNull(managerId) && managerId.length() > EMPLOYEE_ID_LENGTH)
+            violations.add("Manager ID must be at most 10 characters");
+        if (Objects.nonNull(managerId) && !isAlphanumeric(managerId, true))
+            violations.add("Manager ID must be alphanumeric");
+
+        final BigDecimal salary = employee.getSalary();
+        if (Objects.isNull(salary)) {
+            violations.add("Salary cannot be null");
+        } else {
+            if (salary.compareTo(ONE_BILLION) > 0)
+                violations.add("Salary cannot be more than 1 billion");
+            if (salary.signum() < 0)
+                violations.add("Salary cannot be negative");
+        }
+
+        final BigDecimal difference = employee.getDifferenceOfSubordinatesAverageSalary();
+        if (Objects.isNull(difference))
+            violations.add("Difference of subordinates average salary cannot be null");
+        else if (difference.compareTo(ONE_BILLION) > 0)
+            violations.add("Difference Of Subordinates Average Salary cannot be more than 1 billion");
+
+        final Integer reportingLineLength = employee.getReportingLineLength();
+        if (Objects.isNull(reportingLineLength)) {
+            violations.add("Reporting line length cannot be null");
+        } else {
+            if (reportingLineLength < 0)
+                violations.add("Reporting line length cannot be negative");
+            if (reportingLineLength > MAX_REPORTING_LINE_LENGTH)
+                violations.add("Reporting line length cannot be more than 1000");
+        }
+
+        if (Objects.isNull(employee.getSubordinates()))
+            violations.add("Number of subordinates cannot be null");
+    }
+
+    private static void checkName(
+        final String name,
+        final String fieldName,
+        final List<String> violations) {
+
+        if (isEmpty(name))
+            violations.add(fieldName + " cannot be empty");
+        if (Objects.nonNull(name) && name.length() > MAX_NAME_LENGTH)
+            violations.add(fieldName + " must be at most 50 characters");
+        if (Objects.nonNull(name) && !isLetters(name))
+            violations.add(fieldName + " must contain only letters");
+    }
+
+    private static void checkParameter(
+        final Parameter parameter,
+        final List<String> violations) {
+
+        if (isEmpty(parameter.getFilePath()))
+            violations.add("File path cannot be empty");
+        if (Objects.isNull(parameter.getManagerLeastPayPercentage()))
+            violations.add("Manager least pay percentage cannot be null");
+        if (Objects.isNull(parameter.getManagerOverPayPercentage()))
+            violations.add("Manager over pay percentage cannot be null");
+
+        final Integer maxSubordinatesCount = parameter.getMaxSubordinatesCount();
+        if (Objects.isNull(maxSubordinatesCount)) {
+            violations.add("Max subordinates count cannot be null");
+        } else {
+            if (maxSubordinatesCount < 0)
+                violations.add("Max subordinates count cannot be negative");
+            if (maxSubordinatesCount > MAX_SUBORDINATES_COUNT)
+                violations.add("Reporting line length cannot be more than 999");
+        }
+    }
+
+    private static void checkResponse(
+        final Response<?> response,
+        final List<String> violations) {
+
+        if (Objects.isNull(response.getCeo()))
+            violations.add("CEO cannot be null");
+        if (Objects.isNull(response.getApplicationParameter()))
+            violations.add("Application Parameter cannot be null");
+        if (Objects.isNull(response.getLeastPaidManagers()))
+            violations.add("Least Paid Managers cannot be null");
+        if (Objects.isNull(response.getOverPaidManagers()))
+            violations.add("Over Paid Managers cannot be null");
+        if (Objects.isNull(response.getMaxReportingLineLengthEmployees()))
+            violations.add("Max Reporting Line Length Employees cannot be null");
+    }
+
+    private static boolean isEmpty(
+        final String value) {
+
+        return Objects.isNull(value) || value.isEmpty();
+    }
+
+    /**
+     * @return whether the value matches {@code ^[a-zA-Z0-9]+$}, or {@code ^[a-zA-Z0-9]*$} if it may be empty
+     */
+    private static boolean isAlphanumeric(
+        final String value,
+        final boolean mayBeEmpty) {
+
+        if (value.isEmpty())
+            return mayBeEmpty;
+
+        for (int index = 0; index < value.length(); index++) {
+            final char character = value.charAt(index);
+            if (!isAsciiLetter(character) && (character < '0' || character > '9'))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return whether the value matches {@code ^[a-zA-Z]+$}
+     */
+    private static boolean isLetters(
+        final String value) {
+
+        if (value.isEmpty())
+            return false;
+
+        for (int index = 0; index < value.length(); index++) {
+            if (!isAsciiLetter(value.charAt(index)))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean isAsciiLetter(
+        final char character) {
+
+        return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z');
+    }
+
+    /**
+     * Marks where the depth first walk leaves an object, which is then removed from the current path.
+     */
+    private static final class PathExit {
+
+        private final Object object;
+
+        private PathExit(
+            final Object object) {
+
+            this.object = object;
+        }
+    }
+
+}
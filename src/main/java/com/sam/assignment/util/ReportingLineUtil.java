@@ -0,0 +1,146 @@
+package com.sam.assignment.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Computes reporting line lengths (number of managers up to the root) for employees addressed by a
+ * dense ordinal, given the ordinal of each employee's manager.
+ */
+public final class ReportingLineUtil {
+
+    /**
+     * Marks an employee without a manager, i.e. a root of the hierarchy.
+     */
+    public static final int NO_MANAGER = -1;
+
+    private static final int UNKNOWN = -1;
+    private static final int IN_PROGRESS = -2;
+
+    /**
+     * Levels smaller than this are expanded sequentially, as forking costs more than it saves.
+     */
+    private static final int PARALLEL_LEVEL_THRESHOLD = 1 << 12;
+
+    private ReportingLineUtil() {
+    }
+
+    /**
+     * Computes the reporting line length of every employee in one linear pass. Each manager chain
+     * is walked only up to the first employee whose length is already known, and the lengths of the
+     * walked employees are then filled in on the way back down, so every employee is visited once.
+     *
+     * @param managerOrdinals the manager ordinal of each employee, or {@link #NO_MANAGER} for a root
+     * @param idResolver      resolves an ordinal to the employee ID, used for error reporting
+     * @return the reporting line length of each employee, indexed by ordinal
+     * @throws IllegalStateException if a manager chain contains a cycle
+     */
+    public static int[] computeReportingLineLengths(
+        final int[] managerOrdinals,
+        final IntFunction<String> idResolver) {
+
+        if (Objects.isNull(managerOrdinals))
+            throw new IllegalArgumentException("Manager ordinals cannot be null");
+
+        final int size = managerOrdinals.length;
+        final int[] reportingLineLengths = new int[size];
+        final int[] path = new int[size];
+        Arrays.fill(reportingLineLengths, UNKNOWN);
+
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            int pathLength = 0;
+            int current = ordinal;
+            while (current != NO_MANAGER && reportingLineLengths[current] == UNKNOWN) {
+                reportingLineLengths[current] = IN_PROGRESS;
+                path[pathLength++] = current;
+                current = managerOrdinals[current];
+            }
+
+            if (current != NO_MANAGER && reportingLineLengths[current] == IN_PROGRESS)
+                throw new IllegalStateException(
+                    "Cyclic reporting line detected | employee-id : " + idResolver.apply(current)
+                );
+
+            int reportingLineLength = current == NO_MANAGER ? -1 : reportingLineLengths[current];
+            while (pathLength > 0)
+                reportingLineLengths[path[--pathLength]] = ++reportingLineLength;
+        }
+
+        return reportingLineLengths;
+    }
+
+    /**
+     * Computes the reporting line length of every employee level by level, starting from the roots.
+     * Each level is expanded in parallel from the children index, so the number of sequential steps is
+     * the length of the longest reporting line rather than the number of employees. Every employee
+     * that is not reached from a root is part of, or reports into, a cycle.
+     *
+     * @param managerOrdinals the manager ordinal of each employee, or {@link #NO_MANAGER} for a root
+     * @param childStarts     for each employee, the offset of its first direct subordinate in {@code children};
+     *                        the last element is the length of {@code children}
+     * @param children        the ordinals of all direct subordinates, grouped by manager
+     * @param idResolver      resolves an ordinal to the employee ID, used for error reporting
+     * @return the reporting line length of each employee, indexed by ordinal
+     * @throws IllegalStateException if a manager chain contains a cycle
+     */
+    public static int[] computeReportingLineLengthsByLevel(
+        final int[] managerOrdinals,
+        final int[] childStarts,
+        final int[] children,
+        final IntFunction<String> idResolver) {
+
+        if (Objects.isNull(managerOrdinals) || Objects.isNull(childStarts) || Objects.isNull(children))
+            throw new IllegalArgumentException("Manager ordinals and children index cannot be null");
+
+        if (childStarts.length != managerOrdinals.length + 1)
+            throw new IllegalArgumentException("Children index must hold one offset per employee plus one");
+
+        final int size = managerOrdinals.length;
+        final int[] reportingLineLengths = new int[size];
+        Arrays.fill(reportingLineLengths, UNKNOWN);
+
+        int[] level = IntStream.range(0, size)
+            .parallel()
+            .filter(ordinal -> managerOrdinals[ordinal] == NO_MANAGER)
+            .toArray();
+        int reachedCount = 0;
+        for (int depth = 0; level.length > 0; depth++) {
+            final int[] currentLevel = level;
+            final int[] offsets = new int[currentLevel.length + 1];
+            for (int index = 0; index < currentLevel.length; index++) {
+                reportingLineLengths[currentLevel[index]] = depth;
+                offsets[index + 1] = offsets[index]
+                    + childStarts[currentLevel[index] + 1] - childStarts[currentLevel[index]];
+            }
+            reachedCount += currentLevel.length;
+
+            final int[] nextLevel = new int[offsets[currentLevel.length]];
+            IntStream indices = IntStream.range(0, currentLevel.length);
+            if (nextLevel.length >= PARALLEL_LEVEL_THRESHOLD)
+                indices = indices.parallel();
+            indices.forEach(index -> {
+                final int manager = currentLevel[index];
+                System.arraycopy(
+                    children,
+                    childStarts[manager],
+                    nextLevel,
+                    offsets[index],
+                    childStarts[manager + 1] - childStarts[manager]
+                );
+            });
+            level = nextLevel;
+        }
+
+        if (reachedCount != size)
+            for (int ordinal = 0; ordinal < size; ordinal++)
+                if (reportingLineLengths[ordinal] == UNKNOWN)
+                    throw new IllegalStateException(
+                        "Cyclic reporting line detected | employee-id : " + idResolver.apply(ordinal)
+                    );
+
+        return reportingLineLengths;
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.sam.assignment.util;
+
+/**
+ * Formats in which the analysis results are reported.
+ */
+public enum ResultFormat {
+
+    /**
+     * Logs one line per flagged manager or employee, for reading on the console.
+     */
+    LOG,
+
+    /**
+     * Streams one CSV row per flagged manager or employee to the result file, after a header row.
+     */
+    CSV,
+
+    /**
+     * Streams one JSON object per line and per flagged manager or employee to the result file.
+     */
+    JSONL,
+
+    /**
+     * Streams the results to the result file in a compact little-endian binary layout.
+     */
+    BINARY
+
+}
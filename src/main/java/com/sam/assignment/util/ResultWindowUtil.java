@@ -0,0 +1,73 @@
+package com.sam.assignment.util;
+
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.ResultWindow;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Applies a {@link ResultWindow} to a list of reported employees that is ordered by ID.
+ */
+public final class ResultWindowUtil {
+
+    private ResultWindowUtil() {
+    }
+
+    /**
+     * @param employeesById the reported employees, ordered by ID
+     * @param window        the wanted part of the list
+     * @param ranking       the severity order of the list, most severe first
+     * @return the entries of the window: the list itself if the window is unbounded, the most severe
+     *         entries first for a top-K window, or the entries after the cursor in ID order for a page
+     */
+    public static List<Employee> apply(
+        final List<Employee> employeesById,
+        final ResultWindow window,
+        final Comparator<? super Employee> ranking) {
+
+        if (Objects.isNull(window) || window.isUnbounded())
+            return employeesById;
+
+        if (window.isTop())
+            return Collections.unmodifiableList(TopK.select(employeesById, window.getTop(), ranking));
+
+        final int from = Objects.isNull(window.getPageAfter()) ? 0 : firstIndexAfter(employeesById, window.getPageAfter());
+        final int to = (int) Math.min(employeesById.size(), (long) from + window.getPageSize());
+        return List.copyOf(employeesById.subList(from, to));
+    }
+
+    /**
+     * @param page   the entries of a page
+     * @param window the page window
+     * @return the cursor of the next page, or {@code null} if the page is not full and therefore the last one
+     */
+    public static String nextPageAfter(
+        final List<Employee> page,
+        final ResultWindow window) {
+
+        if (Objects.isNull(window) || !window.isPage() || page.size() < window.getPageSize())
+            return null;
+
+        return page.get(page.size() - 1).getId();
+    }
+
+    private static int firstIndexAfter(
+        final List<Employee> employeesById,
+        final String pageAfter) {
+
+        int low = 0;
+        int high = employeesById.size();
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (employeesById.get(middle).getId().compareTo(pageAfter) <= 0)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+}
@@ -0,0 +1,348 @@
+package com.sam.assignment.util;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Records the phases of one run with their wall time, CPU time and allocated bytes, together with named
+ * counters and histograms, and renders them as a JSON run report. Phases can also be emitted as JFR events
+ * ({@code com.sam.assignment.Phase}), which are recorded whenever a flight recording is running.
+ * <p>
+ * CPU time and allocated bytes are measured on the thread running the phase, so work handed to other
+ * threads (e.g. a parallel build) is only visible in the wall time; they are {@code -1} if the JVM does
+ * not support measuring them. A {@link #DISABLED} instance records nothing and its phases are a shared
+ * no-op, so instrumented code costs one call per phase when metrics are off.
+ * <p>
+ * This class is not thread-safe; phases are meant to be opened and closed by the orchestrating thread.
+ */
+public final class RunMetrics {
+
+    /**
+     * The instance recording nothing.
+     */
+    public static final RunMetrics DISABLED = new RunMetrics(false, false);
+
+    private static final Phase NO_PHASE = new Phase(null, false);
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final boolean enabled;
+    private final boolean jfrEvents;
+    private final List<Phase> phases = new ArrayList<>();
+    private final Map<String, Number> counters = new LinkedHashMap<>();
+    private final Map<String, Histogram> histograms = new LinkedHashMap<>();
+
+    private RunMetrics(
+        final boolean enabled,
+        final boolean jfrEvents) {
+
+        this.enabled = enabled;
+        this.jfrEvents = jfrEvents;
+    }
+
+    /**
+     * @param jfrEvents whether the phases are also emitted as JFR events
+     * @return an instance recording the phases, counters and histograms of one run
+     */
+    public static RunMetrics enabled(
+        final boolean jfrEvents) {
+
+        return new RunMetrics(true, jfrEvents);
+    }
+
+    /**
+     * @return whether this instance records anything, so that callers can skip computing counters and
+     *         histograms that would be discarded
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts a phase, which ends when it is closed.
+     *
+     * @param name the phase name
+     * @return the running phase
+     */
+    public Phase phase(
+        final String name) {
+
+        if (!enabled)
+            return NO_PHASE;
+
+        final Phase phase = new Phase(name, jfrEvents);
+        phases.add(phase);
+        return phase;
+    }
+
+    /**
+     * Sets a counter, replacing its previous value.
+     *
+     * @param name  the counter name
+     * @param value the counter value
+     */
+    public void count(
+        final String name,
+        final Number value) {
+
+        if (enabled)
+            counters.put(name, value);
+    }
+
+    /**
+     * @param name the histogram name
+     * @return the histogram of the name, created on first use, or a discarded histogram if metrics are off
+     */
+    public Histogram histogram(
+        final String name) {
+
+        if (!enabled)
+            return new Histogram();
+
+        return histograms.computeIfAbsent(name, histogramName -> new Histogram());
+    }
+
+    /**
+     * @return the recorded phases, in the order they were started
+     */
+    public List<Phase> getPhases() {
+        return List.copyOf(phases);
+    }
+
+    /**
+     * @param name the counter name
+     * @return the counter value, or {@code null} if it is not set
+     */
+    public Number getCounter(
+        final String name) {
+
+        return counters.get(name);
+    }
+
+    /**
+     * Renders the run report as JSON: the phases, the counters and the histograms with their maximum and
+     * bucket counts. Buckets are exact up to {@value Histogram#EXACT_BUCKETS} and powers of two above.
+     *
+     * @return the run report
+     */
+    public String toJson() {
+        final StringBuilder json = new StringBuilder(512).append("{\"phases\":[");
+        for (int phase = 0; phase < phases.size(); phase++) {
+            if (phase > 0)
+                json.append(',');
+            phases.get(phase).appendJson(json);
+        }
+
+        json.append("],\"counters\":{");
+        String separator = "";
+        for (Map.Entry<String, Number> counter : counters.entrySet()) {
+            json.append(separator).append('"').append(counter.getKey()).append("\":").append(counter.getValue());
+            separator = ",";
+        }
+
+        json.append("},\"histograms\":{");
+        separator = "";
+        for (Map.Entry<String, Histogram> histogram : histograms.entrySet()) {
+            json.append(separator).append('"').append(histogram.getKey()).append("\":");
+            histogram.getValue().appendJson(json);
+            separator = ",";
+        }
+        return json.append("}}").toString();
+    }
+
+    /**
+     * Writes the run report, replacing an existing file.
+     *
+     * @param filePath the report file path
+     * @throws IOException if the file cannot be written
+     */
+    public void writeReport(
+        final String filePath) throws IOException {
+
+        Files.writeString(Path.of(filePath), toJson(), StandardCharsets.UTF_8);
+    }
+
+    private static long currentThreadCpuNanos() {
+        return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        return THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean allocationBean
+            && allocationBean.isThreadAllocatedMemorySupported()
+            ? allocationBean.getCurrentThreadAllocatedBytes()
+            : -1;
+    }
+
+    /**
+     * One timed phase of a run.
+     */
+    public static final class Phase implements AutoCloseable {
+
+        private final String name;
+        private final PhaseEvent event;
+        private final long startNanos;
+        private final long startCpuNanos;
+        private final long startAllocatedBytes;
+        private long wallNanos = -1;
+        private long cpuNanos = -1;
+        private long allocatedBytes = -1;
+
+        private Phase(
+            final String name,
+            final boolean jfrEvent) {
+
+            this.name = name;
+            if (Objects.isNull(name)) {
+                this.event = null;
+                this.startNanos = 0;
+                this.startCpuNanos = -1;
+                this.startAllocatedBytes = -1;
+                return;
+            }
+
+            this.event = jfrEvent ? new PhaseEvent() : null;
+            if (Objects.nonNull(event))
+                event.begin();
+            this.startCpuNanos = currentThreadCpuNanos();
+            this.startAllocatedBytes = currentThreadAllocatedBytes();
+            this.startNanos = System.nanoTime();
+        }
+
+        /**
+         * Ends the phase. Closing a phase again has no effect.
+         */
+        @Override
+        public void close() {
+            if (Objects.isNull(name) || wallNanos >= 0)
+                return;
+
+            wallNanos = System.nanoTime() - startNanos;
+            final long endCpuNanos = currentThreadCpuNanos();
+            final long endAllocatedBytes = currentThreadAllocatedBytes();
+            cpuNanos = startCpuNanos < 0 || endCpuNanos < 0 ? -1 : endCpuNanos - startCpuNanos;
+            allocatedBytes = startAllocatedBytes < 0 || endAllocatedBytes < 0 ? -1 : endAllocatedBytes - startAllocatedBytes;
+
+            if (Objects.nonNull(event)) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.phase = name;
+                    event.cpuNanos = cpuNanos;
+                    event.allocatedBytes = allocatedBytes;
+                    event.commit();
+                }
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the wall time of the phase, or {@code -1} while it is running or if metrics are off
+         */
+        public long getWallNanos() {
+            return wallNanos;
+        }
+
+        public long getCpuNanos() {
+            return cpuNanos;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        private void appendJson(
+            final StringBuilder json) {
+
+            json.append("{\"name\":\"").append(name)
+                .append("\",\"wallNanos\":").append(wallNanos)
+                .append(",\"cpuNanos\":").append(cpuNanos)
+                .append(",\"allocatedBytes\":").append(allocatedBytes)
+                .append('}');
+        }
+    }
+
+    /**
+     * Counts non-negative values in buckets that are exact for small values and powers of two above.
+     */
+    public static final class Histogram {
+
+        static final int EXACT_BUCKETS = 16;
+
+        private final long[] counts = new long[EXACT_BUCKETS + Long.SIZE];
+        private long max = -1;
+
+        private Histogram() {
+        }
+
+        /**
+         * @param value the non-negative value to count
+         */
+        public void record(
+            final long value) {
+
+            if (value < 0)
+                throw new IllegalArgumentException("Histogram value cannot be negative | value : " + value);
+
+            counts[bucket(value)]++;
+            max = Math.max(max, value);
+        }
+
+        /**
+         * @return the largest recorded value, or {@code -1} if nothing is recorded
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * @param value a value
+         * @return the number of recorded values in the bucket of the value
+         */
+        public long getCount(
+            final long value) {
+
+            return counts[bucket(value)];
+        }
+
+        private static int bucket(
+            final long value) {
+
+            return value < EXACT_BUCKETS
+                ? (int) value
+                : EXACT_BUCKETS + 63 - Long.numberOfLeadingZeros(value) - Integer.numberOfTrailingZeros(EXACT_BUCKETS);
+        }
+
+        private void appendJson(
+            final StringBuilder json) {
+
+            json.append("{\"max\":").append(max).append(",\"buckets\":{");
+            String separator = "";
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                if (counts[bucket] == 0)
+                    continue;
+
+                json.append(separator).append('"');
+                if (bucket < EXACT_BUCKETS) {
+                    json.append(bucket);
+                } else {
+                    final long lower = 1L << (bucket - EXACT_BUCKETS + Integer.numberOfTrailingZeros(EXACT_BUCKETS));
+                    json.append(lower).append('-').append(lower + (lower - 1));
+                }
+                json.append("\":").append(counts[bucket]);
+                separator = ",";
+            }
+            json.append("}}");
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.sam.assignment.util;
+
+import com.sam.assignment.model.Parameter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * Fixed-point evaluation of a manager's salary band, with salaries held as {@code long} cents. The
+ * pay percentages of a {@link Parameter} are converted once into exact rationals, so evaluating a
+ * manager allocates nothing and produces exactly the same cents as the {@link BigDecimal} computation
+ * of {@link SalaryBandUtil}: the subordinates' average and both band limits are rounded half-up to
+ * cents. Every multiplication is overflow-checked, and the rare evaluation that would overflow falls
+ * back to {@link SalaryBandUtil}.
+ */
+public final class SalaryBand {
+
+    private static final long HUNDRED = 100;
+
+    private final Parameter applicationParameter;
+    private final long leastPayNumerator;
+    private final long overPayNumerator;
+    private final long denominator;
+
+    private SalaryBand(
+        final Parameter applicationParameter,
+        final long leastPayNumerator,
+        final long overPayNumerator,
+        final long denominator) {
+
+        this.applicationParameter = applicationParameter;
+        this.leastPayNumerator = leastPayNumerator;
+        this.overPayNumerator = overPayNumerator;
+        this.denominator = denominator;
+    }
+
+    /**
+     * @param applicationParameter parameters holding the least and over pay percentages
+     * @return the salary band of the parameters
+     */
+    public static SalaryBand of(
+        final Parameter applicationParameter) {
+
+        if (Objects.isNull(applicationParameter))
+            throw new IllegalArgumentException("Application parameter cannot be null");
+
+        // (percentage + 100) / 100 as numerator / denominator over a common scale
+        final BigDecimal leastPayFactor = applicationParameter.getManagerLeastPayPercentage().add(BigDecimal.valueOf(HUNDRED));
+        final BigDecimal overPayFactor = applicationParameter.getManagerOverPayPercentage().add(BigDecimal.valueOf(HUNDRED));
+        final int scale = Math.max(0, Math.max(leastPayFactor.scale(), overPayFactor.scale()));
+        return new SalaryBand(
+            applicationParameter,
+            leastPayFactor.setScale(scale, RoundingMode.UNNECESSARY).unscaledValue().longValueExact(),
+            overPayFactor.setScale(scale, RoundingMode.UNNECESSARY).unscaledValue().longValueExact(),
+            BigDecimal.valueOf(HUNDRED).movePointRight(scale).longValueExact()
+        );
+    }
+
+    /**
+     * @param salary the salary
+     * @return the salary in cents, rounded half-up
+     * @throws ArithmeticException if the salary does not fit into a {@code long} of cents
+     */
+    public static long toCents(
+        final BigDecimal salary) {
+
+        return salary.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * @param subordinatesSalarySumCents the sum of the salaries of the direct subordinates, in cents
+     * @param subordinatesCount          the number of direct subordinates
+     * @return the average salary in cents, rounded half-up, or zero if there are no subordinates
+     */
+    public static long averageCents(
+        final long subordinatesSalarySumCents,
+        final int subordinatesCount) {
+
+        return subordinatesCount == 0 ? 0 : divideHalfUp(subordinatesSalarySumCents, subordinatesCount);
+    }
+
+    /**
+     * Calculates how far a manager's salary lies outside the band around the subordinates' average.
+     *
+     * @param salaryCents              the manager's salary in cents
+     * @param subordinatesAverageCents the average salary of the manager's direct subordinates in cents
+     * @return a negative difference in cents if the manager earns less than the band, a positive
+     *         difference if the manager earns more than the band, or zero if the salary lies within it
+     */
+    public long differenceCents(
+        final long salaryCents,
+        final long subordinatesAverageCents) {
+
+        try {
+            final long minSalaryCents = divideHalfUp(Math.multiplyExact(subordinatesAverageCents, leastPayNumerator), denominator);
+            if (salaryCents < minSalaryCents)
+                return Math.subtractExact(salaryCents, minSalaryCents);
+
+            final long maxSalaryCents = divideHalfUp(Math.multiplyExact(subordinatesAverageCents, overPayNumerator), denominator);
+            if (salaryCents > maxSalaryCents)
+                return Math.subtractExact(salaryCents, maxSalaryCents);
+
+            return 0;
+        } catch (ArithmeticException e) {
+            return toCents(SalaryBandUtil.differenceOfAverageSalary(
+                BigDecimal.valueOf(salaryCents, 2),
+                BigDecimal.valueOf(subordinatesAverageCents, 2),
+                applicationParameter
+            ));
+        }
+    }
+
+    /**
+     * Divides and rounds half-up (away from zero on a tie), as {@link RoundingMode#HALF_UP} does.
+     */
+    private static long divideHalfUp(
+        final long dividend,
+        final long divisor) {
+
+        final long quotient = dividend / divisor;
+        final long remainder = Math.abs(dividend % divisor);
+        if (remainder >= divisor - remainder)
+            return dividend < 0 ? quotient - 1 : quotient + 1;
+
+        return quotient;
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.sam.assignment.util;
+
+import com.sam.assignment.model.Parameter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Evaluates a manager's salary against the band derived from the average salary of the manager's
+ * direct subordinates in {@link BigDecimal} arithmetic. The hierarchy backends evaluate the band with
+ * {@link SalaryBand} in fixed-point cents, which falls back to this class when a value would overflow.
+ */
+public final class SalaryBandUtil {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private SalaryBandUtil() {
+    }
+
+    /**
+     * Calculates how far a manager's salary lies outside the band of
+     * [average * (100 + least-pay-percentage) / 100, average * (100 + over-pay-percentage) / 100].
+     *
+     * @param salary                the manager's salary
+     * @param subordinatesSalarySum the sum of the salaries of the manager's direct subordinates
+     * @param subordinatesCount     the number of direct subordinates
+     * @param applicationParameter  parameters holding the least and over pay percentages
+     * @return a negative difference if the manager earns less than the band, a positive difference if
+     *         the manager earns more than the band, or zero if the salary lies within the band
+     */
+    public static BigDecimal differenceOfSubordinatesAverageSalary(
+        final BigDecimal salary,
+        final BigDecimal subordinatesSalarySum,
+        final int subordinatesCount,
+        final Parameter applicationParameter) {
+
+        return differenceOfAverageSalary(
+            salary,
+            subordinatesAverageSalary(subordinatesSalarySum, subordinatesCount),
+            applicationParameter
+        );
+    }
+
+    /**
+     * Calculates the average salary of a manager's direct subordinates, rounded half-up to cents.
+     * The average does not depend on the pay percentages, so it can be computed once and evaluated
+     * against many parameter sets with {@link #differenceOfAverageSalary(BigDecimal, BigDecimal, Parameter)}.
+     *
+     * @param subordinatesSalarySum the sum of the salaries of the manager's direct subordinates
+     * @param subordinatesCount     the number of direct subordinates
+     * @return the average salary, or zero if there are no subordinates
+     */
+    public static BigDecimal subordinatesAverageSalary(
+        final BigDecimal subordinatesSalarySum,
+        final int subordinatesCount) {
+
+        return subordinatesCount == 0
+            ? BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP)
+            : subordinatesSalarySum.divide(BigDecimal.valueOf(subordinatesCount), 2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Calculates how far a manager's salary lies outside the band around a precomputed subordinates'
+     * average salary.
+     *
+     * @param salary                    the manager's salary
+     * @param subordinatesAverageSalary the average salary of the manager's direct subordinates
+     * @param applicationParameter      parameters holding the least and over pay percentages
+     * @return a negative difference if the manager earns less than the band, a positive difference if
+     *         the manager earns more than the band, or zero if the salary lies within the band
+     */
+    public static BigDecimal differenceOfAverageSalary(
+        final BigDecimal salary,
+        final BigDecimal subordinatesAverageSalary,
+        final Parameter applicationParameter) {
+
+        BigDecimal minSalary = subordinatesAverageSalary
+                .multiply(applicationParameter.getManagerLeastPayPercentage().add(HUNDRED))
+                .divide(HUNDRED, 2, RoundingMode.HALF_UP);
+        BigDecimal maxSalary = subordinatesAverageSalary
+                .multiply(applicationParameter.getManagerOverPayPercentage().add(HUNDRED))
+                .divide(HUNDRED, 2, RoundingMode.HALF_UP);
+
+        if (salary.compareTo(minSalary) < 0)
+            return salary.subtract(minSalary);
+        if (salary.compareTo(maxSalary) > 0)
+            return salary.subtract(maxSalary);
+
+        return BigDecimal.ZERO;
+    }
+
+}
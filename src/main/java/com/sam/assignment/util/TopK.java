@@ -0,0 +1,87 @@
+package com.sam.assignment.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Bounded selection of the first {@code k} elements of an order, in O(n log k) time and O(k) memory.
+ * The elements are offered one by one and only the best {@code k} seen so far are kept, in a heap whose
+ * head is the worst of them.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @param <T> the type of the elements
+ */
+public final class TopK<T> {
+
+    private final int k;
+    private final Comparator<? super T> order;
+    private final PriorityQueue<T> heap;
+
+    /**
+     * @param k     the maximum number of elements to keep
+     * @param order the order in which the first elements are the best
+     */
+    public TopK(
+        final int k,
+        final Comparator<? super T> order) {
+
+        if (k < 0)
+            throw new IllegalArgumentException("K cannot be negative | k : " + k);
+
+        this.k = k;
+        this.order = order;
+        this.heap = new PriorityQueue<>(Math.max(1, Math.min(k, 1 << 16)), order.reversed());
+    }
+
+    /**
+     * @param element the element to offer
+     * @return whether the element is kept, for now
+     */
+    public boolean offer(
+        final T element) {
+
+        if (heap.size() < k) {
+            heap.add(element);
+            return true;
+        }
+
+        if (k == 0 || order.compare(element, heap.peek()) >= 0)
+            return false;
+
+        heap.poll();
+        heap.add(element);
+        return true;
+    }
+
+    /**
+     * @return the kept elements, best first
+     */
+    public List<T> toSortedList() {
+        final List<T> elements = new ArrayList<>(heap);
+        elements.sort(order);
+        return elements;
+    }
+
+    /**
+     * @param elements the elements to select from
+     * @param k        the maximum number of elements to select
+     * @param order    the order in which the first elements are the best
+     * @param <T>      the type of the elements
+     * @return the first {@code k} elements of the order, best first
+     */
+    public static <T> List<T> select(
+        final Iterable<? extends T> elements,
+        final int k,
+        final Comparator<? super T> order) {
+
+        final TopK<T> topK = new TopK<>(k, order);
+        for (T element : elements)
+            topK.offer(element);
+
+        return topK.toSortedList();
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.sam.assignment.util;
+
+/**
+ * Strategies supported by {@link ValidationUtil} for validating objects.
+ */
+public enum ValidationMode {
+
+    /**
+     * Validates every object and cascades into {@code @Valid} members (e.g. an employee's subordinates).
+     */
+    FULL,
+
+    /**
+     * Validates only the directly declared constraints of every object, without cascading.
+     */
+    SHALLOW,
+
+    /**
+     * Shallow-validates one object out of every {@code sampleRate} validation requests.
+     */
+    SAMPLED,
+
+    /**
+     * Skips validation entirely.
+     */
+    OFF
+
+}
@@ -2,24 +2,76 @@ package com.sam.assignment.util;
 
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
+import jakarta.validation.metadata.PropertyDescriptor;
 
+import java.lang.reflect.Field;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 public class ValidationUtil {
 
     private final Validator validator;
+    private final ValidationMode mode;
+    private final int sampleRate;
+
+    private final Map<Class<?>, List<Field>> constrainedFields = new ConcurrentHashMap<>();
+    private final AtomicLong requestedCount = new AtomicLong();
+    private final LongAdder validatedCount = new LongAdder();
+    private final LongAdder validationNanos = new LongAdder();
 
     public ValidationUtil(
         final Validator validator) {
-        if (Objects.isNull(validator))
+        this(validator, ValidationMode.FULL, 1);
+    }
+
+    public ValidationUtil(
+        final Validator validator,
+        final ValidationMode mode,
+        final int sampleRate) {
+        this(validator, mode, sampleRate, false);
+    }
+
+    /**
+     * Validates with the {@link PrecompiledConstraints} instead of a reflective {@link Validator}, which
+     * avoids bootstrapping Hibernate Validator and Jakarta EL. Only {@code Employee}, {@code Parameter} and
+     * {@code Response} objects can be validated.
+     *
+     * @param mode       the validation mode
+     * @param sampleRate the sample rate of the SAMPLED mode
+     */
+    public ValidationUtil(
+        final ValidationMode mode,
+        final int sampleRate) {
+        this(null, mode, sampleRate, true);
+    }
+
+    private ValidationUtil(
+        final Validator validator,
+        final ValidationMode mode,
+        final int sampleRate,
+        final boolean precompiled) {
+        if (!precompiled && Objects.isNull(validator))
             throw new IllegalArgumentException("Validator cannot be null");
 
+        if (Objects.isNull(mode))
+            throw new IllegalArgumentException("Validation mode cannot be null");
+
+        if (sampleRate < 1)
+            throw new IllegalArgumentException("Validation sample rate must be at least 1");
+
         this.validator = validator;
+        this.mode = mode;
+        this.sampleRate = sampleRate;
     }
 
     /**
-     * Validates the given object using the configured validator.
+     * Validates the given object according to the configured {@link ValidationMode}.
      *
      * @param object the object to validate
      * @param <T>    the type of the object
@@ -28,15 +80,135 @@ public class ValidationUtil {
     public <T> void validate(
         final T object) {
 
-        Set<ConstraintViolation<T>> violations = validator.validate(object);
-        if (!violations.isEmpty())
-            throw new IllegalArgumentException(
-                "Validation failed for object: " +
-                    violations.stream()
-                        .map(ConstraintViolation::getMessage)
-                        .reduce((msg1, msg2) -> msg1 + ", " + msg2)
-                        .orElse("Unknown validation error")
-            );
+        validate(object, mode == ValidationMode.FULL);
+    }
+
+    /**
+     * Validates the given object like {@link #validate(Object)}, but never cascades into {@code @Valid}
+     * members, even in the FULL mode, so the cost does not depend on the size of the object graph below
+     * it, e.g. when only one employee of a large hierarchy has changed.
+     *
+     * @param object the object to validate
+     * @param <T>    the type of the object
+     * @throws IllegalArgumentException if validation fails, containing details of the violations
+     */
+    public <T> void validateShallow(
+        final T object) {
+
+        validate(object, false);
+    }
+
+    private <T> void validate(
+        final T object,
+        final boolean cascade) {
+
+        final long requestNumber = requestedCount.getAndIncrement();
+        if (mode == ValidationMode.OFF
+                || (mode == ValidationMode.SAMPLED && requestNumber % sampleRate != 0))
+            return;
+
+        final long startNanos = System.nanoTime();
+        try {
+            final List<String> messages;
+            if (Objects.isNull(validator)) {
+                messages = PrecompiledConstraints.violations(object, cascade);
+            } else {
+                Set<ConstraintViolation<T>> violations = cascade
+                    ? validator.validate(object)
+                    : shallowViolations(object);
+                messages = violations.stream().map(ConstraintViolation::getMessage).toList();
+            }
+
+            if (!messages.isEmpty())
+                throw new IllegalArgumentException("Validation failed for object: " + String.join(", ", messages));
+        } finally {
+            validatedCount.increment();
+            validationNanos.add(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Validates only the constraints declared directly on the object's properties. Cascaded
+     * ({@code @Valid}) members are not followed, so the cost does not depend on the object graph size.
+     *
+     * @param object the object to validate
+     * @param <T>    the type of the object
+     * @return the constraint violations found
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Set<ConstraintViolation<T>> shallowViolations(
+        final T object) {
+
+        if (Objects.isNull(object))
+            throw new IllegalArgumentException("The object to be validated must not be null.");
+
+        final Class<T> clazz = (Class<T>) object.getClass();
+        final Set<ConstraintViolation<T>> violations = new HashSet<>();
+        for (Field field : constrainedFields.computeIfAbsent(clazz, this::resolveConstrainedFields)) {
+            try {
+                violations.addAll(validator.validateValue(clazz, field.getName(), field.get(object)));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Unable to read property for validation : " + field.getName(), e);
+            }
+        }
+
+        return violations;
+    }
+
+    /**
+     * Resolves the fields backing the constrained properties of the given class.
+     *
+     * @param clazz the class to inspect
+     * @return the accessible fields carrying constraints
+     */
+    private List<Field> resolveConstrainedFields(
+        final Class<?> clazz) {
+
+        return validator.getConstraintsForClass(clazz)
+            .getConstrainedProperties()
+            .stream()
+            .filter(PropertyDescriptor::hasConstraints)
+            .map(descriptor -> {
+                for (Class<?> type = clazz; Objects.nonNull(type); type = type.getSuperclass()) {
+                    try {
+                        Field field = type.getDeclaredField(descriptor.getPropertyName());
+                        field.setAccessible(true);
+                        return field;
+                    } catch (NoSuchFieldException e) {
+                        // declared on a superclass
+                    }
+                }
+                throw new IllegalStateException("Unable to resolve constrained property : " + descriptor.getPropertyName());
+            })
+            .toList();
+    }
+
+    /**
+     * @return the configured validation mode
+     */
+    public ValidationMode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return the number of objects that were actually validated
+     */
+    public long getValidatedCount() {
+        return validatedCount.sum();
+    }
+
+    /**
+     * @return the number of validation requests skipped by the configured mode
+     */
+    public long getSkippedCount() {
+        return requestedCount.get() - validatedCount.sum();
+    }
+
+    /**
+     * @return the total time spent validating, in nanoseconds
+     */
+    public long getValidationNanos() {
+        return validationNanos.sum();
     }
 
 }
@@ -0,0 +1,70 @@
+package com.sam.assignment.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedEmployeeMapTest {
+
+    private static Employee employee(String id, String managerId) {
+        return new Employee(id, "Joe", "Doe", managerId, new BigDecimal("1000"), BigDecimal.ZERO, 0);
+    }
+
+    @Test
+    void testMap_BehavesLikeHashMapAndLinksManagers() {
+        PackedEmployeeMap employees = new PackedEmployeeMap(0);
+        Map<String, Employee> expected = new HashMap<>();
+        for (int i = 1; i <= 100; i++) {
+            Employee employee = employee(String.format("%010d", i), i == 1 ? null : String.format("%010d", i / 2));
+            assertTrue(employees.add(employee));
+            expected.put(employee.getId(), employee);
+        }
+
+        Employee replacement = employee("0000000007", "0000000001");
+        assertFalse(employees.add(replacement));
+        expected.put(replacement.getId(), replacement);
+        assertSame(replacement, employees.get("0000000007"));
+        assertEquals(6, employees.ordinalOf("0000000007"));
+        assertEquals(0, employees.managerOrdinal(6));
+
+        assertEquals(expected.get("0000000010"), employees.remove("0000000010"));
+        expected.remove("0000000010");
+        employees.values().removeIf(employee -> employee.getId().endsWith("5"));
+        expected.values().removeIf(employee -> employee.getId().endsWith("5"));
+        assertEquals(expected, employees);
+        assertEquals(expected.hashCode(), employees.hashCode());
+
+        int ordinal = employees.ordinalOf("0000000020");
+        assertEquals(PackedEmployeeMap.NO_EMPLOYEE, employees.managerOrdinal(ordinal));
+        assertEquals(employees.ordinalOf("0000000021"), employees.managerOrdinal(employees.ordinalOf("0000000042")));
+        assertFalse(employees.hasManager(employees.ordinalOf("0000000001")));
+
+        assertNull(employees.get("not-packable!"));
+        assertNull(employees.get(42));
+        assertFalse(employees.containsKey(""));
+        assertThrows(IllegalArgumentException.class, () -> employees.put("00000000001", employee("00000000001", null)));
+        assertSame(employees, PackedEmployeeMap.of(employees));
+        assertEquals(expected, PackedEmployeeMap.of(expected));
+    }
+
+    @Test
+    void testEmployee_EqualityAndHashUseTheIdOnly() {
+        Employee manager = employee("0000000001", null);
+        Employee copy = employee("0000000001", "0000000009");
+        int hashCode = manager.hashCode();
+
+        manager.getSubordinates().addAll(List.of(employee("0000000002", "0000000001"), employee("0000000003", "0000000001")));
+        manager.setReportingLineLength(4);
+
+        assertEquals(hashCode, manager.hashCode());
+        assertEquals(copy, manager);
+        assertEquals(copy.hashCode(), manager.hashCode());
+        assertNotEquals(employee("0000000002", null), manager);
+    }
+
+}
@@ -0,0 +1,230 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.CompactOrg;
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.OrgIndex;
+import com.sam.assignment.model.Parameter;
+import com.sam.assignment.model.Response;
+import com.sam.assignment.model.ResultWindow;
+import com.sam.assignment.util.ResultWindowUtil;
+import com.sam.assignment.util.ValidationUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CompactOrgHierarchyTest {
+
+    private CompactOrgHierarchy compactOrgHierarchy;
+    private ValidationUtil validationUtil;
+
+    @BeforeEach
+    void setUp() {
+        compactOrgHierarchy = new CompactOrgHierarchy();
+        validationUtil = mock(ValidationUtil.class);
+    }
+
+    private static List<Employee> sampleEmployees() {
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee("0000000001", "Alice", "Smith", null, new BigDecimal("9000.00"), BigDecimal.ZERO, 0));
+        for (int i = 2; i <= 200; i++)
+            employees.add(new Employee(String.format("%010d", i), "Bob", "Jones",
+                    String.format("%010d", i / 2), new BigDecimal(1000 + i * 7 + ".25"), BigDecimal.ZERO, 0));
+        return employees;
+    }
+
+    private static Set<String> ids(List<Employee> employees) {
+        Set<String> ids = new TreeSet<>();
+        employees.forEach(employee -> ids.add(employee.getId()));
+        return ids;
+    }
+
+    @Test
+    void testPopulateResponse_MatchesObjectGraphHierarchy() {
+        Parameter param = new Parameter("file.csv", BigDecimal.valueOf(20), BigDecimal.valueOf(50), 4);
+
+        Map<String, Employee> employees = new LinkedHashMap<>();
+        CompactOrg org = new CompactOrg(0);
+        sampleEmployees().forEach(employee -> {
+            employees.put(employee.getId(), employee);
+            org.add(employee);
+        });
+
+        OrgHierarchyImpl<Employee> orgHierarchy = new OrgHierarchyImpl<>();
+        orgHierarchy.buildHierarchy(employees, validationUtil, param);
+        List<Employee> expectedDeep = orgHierarchy.populateMaxReportingLineLength(employees, validationUtil, param);
+
+        Employee ceo = compactOrgHierarchy.buildHierarchy(org);
+        Response<Employee> response = compactOrgHierarchy.populateResponse(org, ceo, validationUtil, param);
+
+        assertEquals("0000000001", ceo.getId());
+        assertEquals(ids(orgHierarchy.populateLeastPaidManagers(employees)), ids(response.getLeastPaidManagers()));
+        assertEquals(ids(orgHierarchy.populateOverPaidManagers(employees)), ids(response.getOverPaidManagers()));
+        assertEquals(ids(expectedDeep), ids(response.getMaxReportingLineLengthEmployees()));
+        response.getLeastPaidManagers().forEach(manager -> assertEquals(
+                employees.get(manager.getId()).getDifferenceOfSubordinatesAverageSalary(),
+                manager.getDifferenceOfSubordinatesAverageSalary()));
+        assertTrue(org.columnBytes() / org.size() < 64);
+    }
+
+    @Test
+    void testOrgIndex_MatchesManagerChainsForBothModels() {
+        Map<String, Employee> employees = new LinkedHashMap<>();
+        CompactOrg org = new CompactOrg(0);
+        sampleEmployees().forEach(employee -> {
+            employees.put(employee.getId(), employee);
+            org.add(employee);
+        });
+        Parameter param = new Parameter("file.csv", BigDecimal.valueOf(20), BigDecimal.valueOf(50), 4);
+        Employee ceo = new OrgHierarchyImpl<>().buildHierarchy(employees, validationUtil, param);
+        compactOrgHierarchy.buildHierarchy(org);
+
+        for (OrgIndex orgIndex : List.of(OrgIndex.of(org), OrgIndex.of(ceo))) {
+            for (int i = 1; i <= 200; i++) {
+                int ordinal = orgIndex.ordinalOf(String.format("%010d", i));
+                List<Integer> chain = new ArrayList<>();
+                for (int manager = i / 2; manager >= 1; manager /= 2)
+                    chain.add(orgIndex.ordinalOf(String.format("%010d", manager)));
+
+                assertEquals(chain.size(), orgIndex.getDepth(ordinal));
+                for (int k = 1; k <= chain.size(); k++)
+                    assertEquals(chain.get(k - 1), orgIndex.kthManager(ordinal, k));
+                assertEquals(CompactOrg.NO_EMPLOYEE, orgIndex.kthManager(ordinal, chain.size() + 1));
+
+                for (int j = 1; j <= 200; j++) {
+                    int other = orgIndex.ordinalOf(String.format("%010d", j));
+                    assertEquals(chain.contains(other), orgIndex.reportsTo(ordinal, other));
+                }
+            }
+
+            int ordinal = orgIndex.ordinalOf("0000000002");
+            long salaryCents = 0;
+            int headCount = 0;
+            for (int i = 1; i <= 200; i++) {
+                int other = orgIndex.ordinalOf(String.format("%010d", i));
+                if (other == ordinal || orgIndex.reportsTo(other, ordinal)) {
+                    headCount++;
+                    salaryCents += new BigDecimal(i == 1 ? "9000.00" : 1000 + i * 7 + ".25").movePointRight(2).longValueExact();
+                }
+            }
+            assertEquals(headCount, orgIndex.getSubtreeSize(ordinal));
+            assertEquals(salaryCents, orgIndex.getSubtreeSalaryCents(ordinal));
+            assertEquals(6, orgIndex.getSubtreeMaxDepth(ordinal));
+            assertEquals(2, orgIndex.getSpanOfControl(ordinal));
+            assertEquals(200, orgIndex.getSubtreeSize(orgIndex.ordinalOf("0000000001")));
+        }
+    }
+
+    @Test
+    void testPopulateResponse_WindowsMatchTheObjectGraphAnalysis() {
+        Parameter param = new Parameter("file.csv", BigDecimal.valueOf(20), BigDecimal.valueOf(30), 3);
+        Map<String, Employee> employees = new LinkedHashMap<>();
+        CompactOrg org = new CompactOrg(0);
+        sampleEmployees().forEach(employee -> {
+            employees.put(employee.getId(), employee);
+            org.add(employee);
+        });
+        OrgHierarchyImpl<Employee> orgHierarchy = new OrgHierarchyImpl<>();
+        orgHierarchy.buildHierarchy(employees, validationUtil, param);
+        List<List<Employee>> expected = orgHierarchy.analyse(employees, AnalysisRule.RESPONSE_RULES, validationUtil, param);
+        Employee ceo = compactOrgHierarchy.buildHierarchy(org);
+
+        Response<Employee> top = compactOrgHierarchy.populateResponse(org, ceo, validationUtil, param, ResultWindow.top(5));
+        List<List<Employee>> topLists = List.of(top.getLeastPaidManagers(), top.getOverPaidManagers(), top.getMaxReportingLineLengthEmployees());
+        for (int list = 0; list < 3; list++) {
+            List<Employee> expectedTop = ResultWindowUtil.apply(expected.get(list), ResultWindow.top(5), AnalysisRule.RESPONSE_RANKINGS.get(list));
+            assertEquals(Math.min(5, expected.get(list).size()), expectedTop.size());
+            assertEquals(expectedTop.stream().map(Employee::getId).toList(), topLists.get(list).stream().map(Employee::getId).toList());
+            for (int i = 0; i < expectedTop.size(); i++)
+                assertEquals(expectedTop.get(i).getDifferenceOfSubordinatesAverageSalary(), topLists.get(list).get(i).getDifferenceOfSubordinatesAverageSalary());
+        }
+
+        for (int list = 0; list < 3; list++) {
+            List<String> pagedIds = new ArrayList<>();
+            String pageAfter = null;
+            do {
+                Response<Employee> page = compactOrgHierarchy.populateResponse(org, ceo, validationUtil, param, ResultWindow.page(7, pageAfter));
+                List<Employee> entries = List.of(page.getLeastPaidManagers(), page.getOverPaidManagers(), page.getMaxReportingLineLengthEmployees()).get(list);
+                assertEquals(ResultWindowUtil.apply(expected.get(list), ResultWindow.page(7, pageAfter), AnalysisRule.RESPONSE_RANKINGS.get(list)).stream().map(Employee::getId).toList(),
+                        entries.stream().map(Employee::getId).toList());
+                entries.forEach(employee -> pagedIds.add(employee.getId()));
+                pageAfter = ResultWindowUtil.nextPageAfter(entries, ResultWindow.page(7, pageAfter));
+            } while (Objects.nonNull(pageAfter));
+            assertEquals(expected.get(list).stream().map(Employee::getId).toList(), pagedIds);
+        }
+    }
+
+    @Test
+    void testBuildHierarchy_MissingManagerIsReported() {
+        CompactOrg org = new CompactOrg(0);
+        org.add("0000000001", "Alice", "Smith", 500000, null);
+        org.add("0000000002", "Bob", "Jones", 300000, "0000000009");
+
+        IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+                () -> compactOrgHierarchy.buildHierarchy(org));
+        assertEquals("Manager not found | employee-id : 0000000002 | manager-id : 0000000009", iae.getMessage());
+    }
+
+    @Test
+    void testPopulateResponses_MatchesOneResponsePerScenario() {
+        CompactOrg org = new CompactOrg(0);
+        sampleEmployees().forEach(org::add);
+        Employee ceo = compactOrgHierarchy.buildHierarchy(org);
+
+        List<Parameter> scenarios = List.of(
+                new Parameter("file.csv", BigDecimal.valueOf(10), BigDecimal.valueOf(30), 2),
+                new Parameter("file.csv", BigDecimal.valueOf(20), BigDecimal.valueOf(50), 4),
+                new Parameter("file.csv", BigDecimal.valueOf(40), BigDecimal.valueOf(90), 6)
+        );
+        List<Response<Employee>> responses = compactOrgHierarchy.populateResponses(org, validationUtil, scenarios);
+
+        assertEquals(scenarios.size(), responses.size());
+        for (int scenario = 0; scenario < scenarios.size(); scenario++)
+            assertEquals(
+                    compactOrgHierarchy.populateResponse(org, org.toEmployee(org.getCeo()), validationUtil, scenarios.get(scenario)),
+                    responses.get(scenario)
+            );
+        assertNotSame(responses.get(0).getCeo(), responses.get(1).getCeo());
+        assertEquals(ceo.getId(), responses.get(2).getCeo().getId());
+        assertThrows(IllegalArgumentException.class,
+                () -> compactOrgHierarchy.populateResponses(org, validationUtil, List.of()));
+    }
+
+    @Test
+    void testPopulateResponse_ListsAreSortedByIdWhateverTheFileOrder() {
+        Parameter param = new Parameter("file.csv", BigDecimal.valueOf(20), BigDecimal.valueOf(50), 4);
+        List<Employee> shuffled = sampleEmployees();
+        Collections.shuffle(shuffled, new Random(11));
+
+        Map<String, Employee> employees = new LinkedHashMap<>();
+        CompactOrg org = new CompactOrg(0);
+        shuffled.forEach(employee -> {
+            employees.put(employee.getId(), employee);
+            org.add(employee);
+        });
+
+        OrgHierarchyImpl<Employee> orgHierarchy = new OrgHierarchyImpl<>();
+        orgHierarchy.buildHierarchy(employees, validationUtil, param);
+        List<List<Employee>> expected = orgHierarchy.analyse(employees, AnalysisRule.RESPONSE_RULES, validationUtil, param);
+
+        Response<Employee> response = compactOrgHierarchy.populateResponse(org, compactOrgHierarchy.buildHierarchy(org), validationUtil, param);
+        List<List<Employee>> actual = List.of(
+                response.getLeastPaidManagers(),
+                response.getOverPaidManagers(),
+                response.getMaxReportingLineLengthEmployees()
+        );
+
+        for (int rule = 0; rule < expected.size(); rule++) {
+            assertFalse(actual.get(rule).isEmpty());
+            assertEquals(
+                    expected.get(rule).stream().map(Employee::getId).toList(),
+                    actual.get(rule).stream().map(Employee::getId).toList()
+            );
+        }
+    }
+
+}
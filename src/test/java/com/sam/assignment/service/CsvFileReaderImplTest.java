@@ -7,8 +7,11 @@ import org.junit.jupiter.api.*;
 
 import java.io.*;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -48,4 +51,78 @@ class CsvFileReaderImplTest {
         verify(validationUtil, times(2)).validate(any(Employee.class));
         Files.deleteIfExists(tempFile.toPath());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testReadEmployeeDetails_QuotedFieldsExactCentsAndSmallBuffer() throws IOException {
+        File tempFile = File.createTempFile("employees", ".csv");
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(tempFile))) {
+            writer.write("id,firstName,lastName,salary,managerId\r\n");
+            writer.write("0000000001, \"Alice\" ,Smith,12345.675,\r\n");
+            writer.write("\r\n");
+            writer.write("0000000002,\"Bob\",\"Jo\"\"nes\",1500.1,0000000001");
+        }
+
+        Parameter param = new Parameter(tempFile.getAbsolutePath(), BigDecimal.ZERO, BigDecimal.ZERO, 0);
+
+        Map<String, Employee> employees = new CsvFileReaderImpl(StandardCharsets.UTF_8, 8)
+                .readEmployeeDetails(param, validationUtil);
+
+        assertEquals(2, employees.size());
+        assertEquals(new BigDecimal("12345.68"), employees.get("0000000001").getSalary());
+        assertEquals("Alice", employees.get("0000000001").getFirstName());
+        assertNull(employees.get("0000000001").getManagerId());
+        assertEquals(new BigDecimal("1500.10"), employees.get("0000000002").getSalary());
+        assertEquals("Jo\"nes", employees.get("0000000002").getLastName());
+        assertEquals("0000000001", employees.get("0000000002").getManagerId());
+        Files.deleteIfExists(tempFile.toPath());
+    }
+
+    @Test
+    void testReadEmployeeDetails_InvalidSalary() throws IOException {
+        File tempFile = File.createTempFile("employees", ".csv");
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(tempFile))) {
+            writer.write("id,firstName,lastName,salary,managerId\n");
+            writer.write("0000000001,Alice,Smith,12a45,\n");
+        }
+
+        Parameter param = new Parameter(tempFile.getAbsolutePath(), BigDecimal.ZERO, BigDecimal.ZERO, 0);
+
+        NumberFormatException nfe = assertThrows(NumberFormatException.class,
+                () -> csvFileReader.readEmployeeDetails(param, validationUtil));
+        assertEquals("For input string: \"12a45\" | record-number : 2", nfe.getMessage());
+        Files.deleteIfExists(tempFile.toPath());
+    }
+
+    @Test
+    void testReadEmployeeDetails_GzipMembersMatchPlainFile() throws IOException {
+        StringBuilder csv = new StringBuilder("id,firstName,lastName,salary,managerId\n0000000001,Alice,Smith,2000,\n");
+        for (int i = 2; i <= 500; i++)
+            csv.append(String.format("%010d,Bob,Jones,%d.5,0000000001%n", i, 1000 + i));
+        byte[] content = csv.toString().getBytes(StandardCharsets.UTF_8);
+        File plainFile = File.createTempFile("employees", ".csv");
+        File gzipFile = File.createTempFile("employees", ".csv.gz");
+        Files.write(plainFile.toPath(), content);
+        try (OutputStream outputStream = new FileOutputStream(gzipFile)) {
+            for (int member = 0; member < content.length; member += 1000) {
+                GZIPOutputStream gzip = new GZIPOutputStream(outputStream);
+                gzip.write(content, member, Math.min(1000, content.length - member));
+                gzip.finish();
+            }
+        }
+
+        Map<String, Employee> expected = csvFileReader.readEmployeeDetails(
+                new Parameter(plainFile.getAbsolutePath(), BigDecimal.ZERO, BigDecimal.ZERO, 0), validationUtil);
+        Parameter param = new Parameter(gzipFile.getAbsolutePath(), BigDecimal.ZERO, BigDecimal.ZERO, 0);
+
+        assertEquals(500, expected.size());
+        assertEquals(expected, new CsvFileReaderImpl(StandardCharsets.UTF_8, 8).readEmployeeDetails(param, validationUtil));
+        assertEquals(expected, new MappedCsvFileReaderImpl().readEmployeeDetails(param, validationUtil));
+        assertEquals(new BigDecimal("1500.50"), csvFileReader.readEmployeeDetails(param, validationUtil).get("0000000500").getSalary());
+
+        byte[] compressed = Files.readAllBytes(gzipFile.toPath());
+        Files.write(gzipFile.toPath(), Arrays.copyOf(compressed, compressed.length - 20));
+        assertThrows(EOFException.class, () -> csvFileReader.readEmployeeDetails(param, validationUtil));
+        Files.deleteIfExists(plainFile.toPath());
+        Files.deleteIfExists(gzipFile.toPath());
+    }
+}
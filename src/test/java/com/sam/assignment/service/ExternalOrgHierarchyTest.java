@@ -0,0 +1,94 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.CompactOrg;
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.Parameter;
+import com.sam.assignment.model.Response;
+import com.sam.assignment.util.ValidationUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ExternalOrgHierarchyTest {
+
+    private final ValidationUtil validationUtil = mock(ValidationUtil.class);
+    private final CsvFileReader csvFileReader = new CsvFileReaderImpl();
+
+    private static String csv(int employeeCount) {
+        StringBuilder csv = new StringBuilder("Id,firstName,lastName,salary,managerId\n");
+        for (int i = employeeCount; i >= 1; i--)
+            csv.append(String.format("%010d", i)).append(",First,Last,").append(1000 + (i * 37) % 900 * 11).append(',')
+                    .append(i == 1 ? "" : String.format("%010d", (i + 1) / 3)).append('\n');
+        return csv.append("0000000005,Dup,Licate,99999,0000000001\n").toString();
+    }
+
+    private static List<String> summary(List<Employee> employees) {
+        return employees.stream()
+                .sorted(Comparator.comparing(Employee::getId))
+                .map(employee -> employee.getId() + "|" + employee.getDifferenceOfSubordinatesAverageSalary()
+                        + "|" + employee.getReportingLineLength() + "|" + employee.getSalary())
+                .toList();
+    }
+
+    @Test
+    void testPopulateResponse_MatchesCompactHierarchy(@TempDir Path tempDir) throws IOException {
+        Path spillDirectory = Files.createDirectory(tempDir.resolve("spill"));
+        String file = Files.writeString(tempDir.resolve("employees.csv"), csv(2000)).toString();
+        Parameter param = new Parameter(file, BigDecimal.valueOf(20), BigDecimal.valueOf(50), 5);
+
+        CompactOrg org = csvFileReader.readCompactOrg(param, validationUtil);
+        CompactOrgHierarchy compactOrgHierarchy = new CompactOrgHierarchy();
+        Employee ceo = compactOrgHierarchy.buildHierarchy(org);
+        Response<Employee> expected = compactOrgHierarchy.populateResponse(org, ceo, validationUtil, param);
+
+        for (int partitionCount : new int[] {1, 7}) {
+            Response<Employee> response = new ExternalOrgHierarchy(csvFileReader, spillDirectory, partitionCount)
+                    .populateResponse(param, validationUtil);
+
+            assertEquals("0000000001", response.getCeo().getId());
+            assertFalse(response.getLeastPaidManagers().isEmpty());
+            assertFalse(response.getOverPaidManagers().isEmpty());
+            assertFalse(response.getMaxReportingLineLengthEmployees().isEmpty());
+            assertEquals(summary(expected.getLeastPaidManagers()), summary(response.getLeastPaidManagers()));
+            assertEquals(summary(expected.getOverPaidManagers()), summary(response.getOverPaidManagers()));
+            assertEquals(summary(expected.getMaxReportingLineLengthEmployees()), summary(response.getMaxReportingLineLengthEmployees()));
+            assertEquals("Dup", response.getOverPaidManagers().stream()
+                    .filter(employee -> employee.getId().equals("0000000005")).findFirst().orElseThrow().getFirstName());
+            try (Stream<Path> spillFiles = Files.list(spillDirectory)) {
+                assertEquals(0, spillFiles.count());
+            }
+        }
+    }
+
+    @Test
+    void testPopulateResponse_Failure_MissingManagerAndCycle(@TempDir Path tempDir) throws IOException {
+        ExternalOrgHierarchy externalOrgHierarchy = new ExternalOrgHierarchy(csvFileReader, tempDir, 4);
+
+        String missing = Files.writeString(tempDir.resolve("missing.csv"),
+                "Id,firstName,lastName,salary,managerId\n1,Joe,Doe,60000,\n2,Ann,Lee,40000,9\n").toString();
+        IllegalArgumentException iae = assertThrows(IllegalArgumentException.class, () -> externalOrgHierarchy.populateResponse(
+                new Parameter(missing, BigDecimal.valueOf(20), BigDecimal.valueOf(50), 4), validationUtil));
+        assertEquals("Manager not found | employee-id : 2 | manager-id : 9", iae.getMessage());
+
+        String cyclic = Files.writeString(tempDir.resolve("cyclic.csv"),
+                "Id,firstName,lastName,salary,managerId\n1,Joe,Doe,60000,\n2,Ann,Lee,40000,3\n3,Tom,Ray,40000,2\n").toString();
+        IllegalStateException ise = assertThrows(IllegalStateException.class, () -> externalOrgHierarchy.populateResponse(
+                new Parameter(cyclic, BigDecimal.valueOf(20), BigDecimal.valueOf(50), 4), validationUtil));
+        assertTrue(ise.getMessage().startsWith("Cyclic reporting line detected | employee-id : "));
+
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+}
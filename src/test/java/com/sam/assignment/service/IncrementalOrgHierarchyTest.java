@@ -0,0 +1,133 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.EmployeeChange;
+import com.sam.assignment.model.Parameter;
+import com.sam.assignment.model.Response;
+import com.sam.assignment.model.ResponseDelta;
+import com.sam.assignment.util.ValidationUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class IncrementalOrgHierarchyTest {
+
+    private final Parameter param = new Parameter("file.csv", BigDecimal.valueOf(20), BigDecimal.valueOf(50), 2);
+    private IncrementalOrgHierarchy incrementalOrgHierarchy;
+    private ValidationUtil validationUtil;
+
+    @BeforeEach
+    void setUp() {
+        validationUtil = mock(ValidationUtil.class);
+        incrementalOrgHierarchy = new IncrementalOrgHierarchy(new OrgHierarchyImpl<>(), validationUtil);
+    }
+
+    private static Employee employee(String id, String managerId, String salary) {
+        return new Employee(id, "Bob", "Jones", managerId, new BigDecimal(salary), BigDecimal.ZERO, 0);
+    }
+
+    // 1 -> 2 -> 3 -> 4, 1 -> 5
+    private static Map<String, Employee> snapshot() {
+        Map<String, Employee> employees = new HashMap<>();
+        employees.put("1", employee("1", null, "9000.00"));
+        employees.put("2", employee("2", "1", "5000.00"));
+        employees.put("3", employee("3", "2", "4000.00"));
+        employees.put("4", employee("4", "3", "3000.00"));
+        employees.put("5", employee("5", "1", "5000.00"));
+        return employees;
+    }
+
+    private static List<String> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).toList();
+    }
+
+    private Response<Employee> fullAnalysis(Map<String, Employee> employees) {
+        OrgHierarchyImpl<Employee> orgHierarchy = new OrgHierarchyImpl<>();
+        Employee ceo = orgHierarchy.buildHierarchy(employees, validationUtil, param);
+        List<List<Employee>> analyses = orgHierarchy.analyse(employees, AnalysisRule.RESPONSE_RULES, validationUtil, param);
+        return new Response<>(ceo, param, analyses.get(0), analyses.get(1), analyses.get(2));
+    }
+
+    @Test
+    void testApply_MatchesFullAnalysis() {
+        ResponseDelta<Employee> loaded = incrementalOrgHierarchy.load(snapshot(), param);
+        assertEquals(List.of("4"), ids(loaded.getMaxReportingLineLengthEmployees().getAdded()));
+
+        ResponseDelta<Employee> delta = incrementalOrgHierarchy.apply(List.of(
+                EmployeeChange.upsert(employee("3", "5", "4000.00")),
+                EmployeeChange.upsert(employee("5", "1", "3000.00")),
+                EmployeeChange.upsert(employee("6", "4", "2000.00")),
+                EmployeeChange.delete("4"),
+                EmployeeChange.upsert(employee("6", "3", "2000.00"))
+        ));
+
+        Map<String, Employee> expectedEmployees = snapshot();
+        expectedEmployees.remove("4");
+        expectedEmployees.put("3", employee("3", "5", "4000.00"));
+        expectedEmployees.put("5", employee("5", "1", "3000.00"));
+        expectedEmployees.put("6", employee("6", "3", "2000.00"));
+        Response<Employee> expected = fullAnalysis(expectedEmployees);
+        Response<Employee> actual = incrementalOrgHierarchy.getResponse();
+
+        assertEquals(ids(expected.getLeastPaidManagers()), ids(actual.getLeastPaidManagers()));
+        assertEquals(ids(expected.getOverPaidManagers()), ids(actual.getOverPaidManagers()));
+        assertEquals(ids(expected.getMaxReportingLineLengthEmployees()), ids(actual.getMaxReportingLineLengthEmployees()));
+        assertEquals("1", actual.getCeo().getId());
+
+        // 5 is now paid less than 3, 3 more than 6, the CEO's band moved, and 4 left while 6 joined too deep
+        assertEquals(List.of("5"), ids(delta.getLeastPaidManagers().getAdded()));
+        assertEquals(List.of("3"), ids(delta.getOverPaidManagers().getAdded()));
+        assertEquals(List.of("1"), ids(delta.getOverPaidManagers().getUpdated()));
+        assertEquals(List.of("6"), ids(delta.getMaxReportingLineLengthEmployees().getAdded()));
+        assertEquals(List.of("4"), delta.getMaxReportingLineLengthEmployees().getRemovedIds());
+        expected.getMaxReportingLineLengthEmployees().forEach(employee ->
+                assertEquals(employee.getReportingLineLength(), actual.getMaxReportingLineLengthEmployees().get(0).getReportingLineLength()));
+    }
+
+    @Test
+    void testApplySnapshot_OnlyChangedRecordsAreReported() {
+        incrementalOrgHierarchy.load(snapshot(), param);
+
+        Map<String, Employee> unchanged = snapshot();
+        ResponseDelta<Employee> delta = incrementalOrgHierarchy.applySnapshot(unchanged);
+        assertTrue(delta.getLeastPaidManagers().isEmpty());
+        assertTrue(delta.getOverPaidManagers().isEmpty());
+        assertTrue(delta.getMaxReportingLineLengthEmployees().isEmpty());
+
+        Map<String, Employee> raised = snapshot();
+        raised.put("4", employee("4", "3", "3100.00"));
+        delta = incrementalOrgHierarchy.applySnapshot(raised);
+        assertEquals(List.of("4"), ids(delta.getMaxReportingLineLengthEmployees().getUpdated()));
+        assertEquals(new BigDecimal("3100.00"),
+                incrementalOrgHierarchy.getResponse().getMaxReportingLineLengthEmployees().get(0).getSalary());
+    }
+
+    @Test
+    void testApply_InvalidBatchesAreRejectedWithoutChanges() {
+        incrementalOrgHierarchy.load(snapshot(), param);
+        Response<Employee> before = incrementalOrgHierarchy.getResponse();
+
+        IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+                () -> incrementalOrgHierarchy.apply(List.of(EmployeeChange.delete("3"))));
+        assertEquals("Subordinates of a deleted employee must be deleted or moved | employee-id : 3 | subordinate-id : 4",
+                iae.getMessage());
+
+        iae = assertThrows(IllegalArgumentException.class,
+                () -> incrementalOrgHierarchy.apply(List.of(EmployeeChange.upsert(employee("6", "9", "1000.00")))));
+        assertEquals("Manager not found | employee-id : 6 | manager-id : 9", iae.getMessage());
+
+        IllegalStateException ise = assertThrows(IllegalStateException.class,
+                () -> incrementalOrgHierarchy.apply(List.of(EmployeeChange.upsert(employee("2", "4", "5000.00")))));
+        assertEquals("Cyclic reporting line detected | employee-id : 2", ise.getMessage());
+
+        assertEquals(before, incrementalOrgHierarchy.getResponse());
+        assertThrows(IllegalStateException.class,
+                () -> new IncrementalOrgHierarchy(new OrgHierarchyImpl<>(), validationUtil).apply(List.of()));
+    }
+
+}
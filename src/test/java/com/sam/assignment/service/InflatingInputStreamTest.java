@@ -0,0 +1,94 @@
+package com.sam.assignment.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InflatingInputStreamTest {
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(content);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static byte[] content(int length) {
+        byte[] content = new byte[length];
+        for (int index = 0; index < length; index++)
+            content[index] = (byte) ('a' + index % 26);
+        return content;
+    }
+
+    @Test
+    void testRead_SingleBytesMatchTheContent() throws IOException {
+        byte[] content = content(10_000);
+
+        try (InputStream inputStream = InflatingInputStream.open(new ByteArrayInputStream(gzip(content)), 64, 2)) {
+            ByteArrayOutputStream inflated = new ByteArrayOutputStream();
+            for (int read = inputStream.read(); read >= 0; read = inputStream.read())
+                inflated.write(read);
+            assertArrayEquals(content, inflated.toByteArray());
+        }
+    }
+
+    @Test
+    void testRead_CorruptDataIsRethrownByTheReader() throws IOException {
+        byte[] compressed = gzip(content(10_000));
+        Arrays.fill(compressed, 12, compressed.length, (byte) 0xff);
+
+        try (InputStream inputStream = InflatingInputStream.open(new ByteArrayInputStream(compressed), 64, 2)) {
+            assertThrows(IOException.class, inputStream::readAllBytes);
+            assertThrows(IOException.class, inputStream::read);
+        }
+    }
+
+    @Test
+    void testClose_StopsAnInflaterWaitingForTheReader() throws IOException {
+        InputStream inputStream = InflatingInputStream.open(new ByteArrayInputStream(gzip(content(100_000))), 64, 2);
+        assertEquals('a', inputStream.read());
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), inputStream::close);
+    }
+
+    @Test
+    void testClose_ReturnsWhileTheSourceBlocksUninterruptibly() throws IOException {
+        byte[] compressed = gzip(content(100));
+        CountDownLatch released = new CountDownLatch(1);
+        // like the standard input, the rest of the stream blocks until data arrives and ignores interrupts and close
+        InputStream blocking = new InputStream() {
+            @Override
+            public int read() {
+                while (true) {
+                    try {
+                        released.await();
+                        return -1;
+                    } catch (InterruptedException e) {
+                        // keep blocking
+                    }
+                }
+            }
+        };
+
+        try {
+            InputStream inputStream = InflatingInputStream.open(
+                new SequenceInputStream(new ByteArrayInputStream(compressed, 0, 10), blocking), 64, 2);
+
+            assertTimeoutPreemptively(Duration.ofSeconds(5), inputStream::close);
+        } finally {
+            released.countDown();
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.Parameter;
+import com.sam.assignment.util.ValidationUtil;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MappedCsvFileReaderImplTest {
+
+    private ValidationUtil validationUtil;
+    private ForkJoinPool forkJoinPool;
+
+    @BeforeEach
+    void setUp() {
+        validationUtil = mock(ValidationUtil.class);
+        forkJoinPool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        forkJoinPool.shutdown();
+    }
+
+    @Test
+    void testReadEmployeeDetails_MatchesStreamingReaderAcrossChunks() throws IOException {
+        File tempFile = File.createTempFile("employees", ".csv");
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(tempFile))) {
+            writer.write("id,firstName,lastName,salary,managerId\n");
+            writer.write("0000000001,Alice,Smith,2000,\n");
+            for (int i = 2; i <= 50; i++)
+                writer.write(String.format("%010d,Bob,Jones,%d.5,0000000001%n", i, 1000 + i));
+            writer.write("0000000002,Carol,White,1234.565,0000000001");
+        }
+
+        Parameter param = new Parameter(tempFile.getAbsolutePath(), BigDecimal.ZERO, BigDecimal.ZERO, 0);
+
+        Map<String, Employee> expected = new CsvFileReaderImpl().readEmployeeDetails(param, validationUtil);
+        Map<String, Employee> employees = new MappedCsvFileReaderImpl(StandardCharsets.UTF_8, forkJoinPool, 64)
+                .readEmployeeDetails(param, validationUtil);
+
+        assertEquals(50, employees.size());
+        assertEquals(expected, employees);
+        assertEquals("Carol", employees.get("0000000002").getFirstName());
+        assertEquals(new BigDecimal("1234.57"), employees.get("0000000002").getSalary());
+        assertNull(employees.get("0000000001").getManagerId());
+        verify(validationUtil, times(2 * 51)).validate(any(Employee.class));
+        Files.deleteIfExists(tempFile.toPath());
+    }
+
+    @Test
+    void testReadEmployeeDetails_Failure_InvalidPath() {
+        Parameter param = new Parameter("wrong.csv", BigDecimal.ZERO, BigDecimal.ZERO, 0);
+
+        assertThrows(FileNotFoundException.class,
+                () -> new MappedCsvFileReaderImpl().readEmployeeDetails(param, validationUtil));
+    }
+}
@@ -2,15 +2,23 @@ package com.sam.assignment.service;
 
 import com.sam.assignment.model.Employee;
 import com.sam.assignment.model.Response;
+import com.sam.assignment.model.ResponseDelta;
+import com.sam.assignment.util.RunMetrics;
 import com.sam.assignment.util.ValidationUtil;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import jakarta.validation.ValidatorFactory;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -71,6 +79,218 @@ class OrchestrationServiceIntegrationTest {
         assertEquals("0000000124", response.getLeastPaidManagers().get(0).getId());
     }
 
+    @Test
+    void testDoOrchestration_Success_20_40_2_Parallel() throws IOException {
+        URL resourceUrl = getClass().getResource("/employee-details.csv");
+        assert resourceUrl != null;
+        String[] args = {resourceUrl.getPath(), "20", "40", "2", "--parallel"};
+
+        // Act
+        Response<Employee> response = orchestrationService.doOrchestration(args);
+
+        // Assert
+        assertTrue(response.getApplicationParameter().isParallel());
+        assertEquals("0000000123", response.getCeo().getId());
+        assertEquals("0000000124", response.getLeastPaidManagers().get(0).getId());
+        assertEquals("0000000300", response.getOverPaidManagers().get(0).getId());
+        assertEquals("0000000305", response.getMaxReportingLineLengthEmployees().get(0).getId());
+    }
+
+    @Test
+    void testDoCompactOrchestration_Success_20_40_2() throws IOException {
+        URL resourceUrl = getClass().getResource("/employee-details.csv");
+        assert resourceUrl != null;
+        String[] args = {resourceUrl.getPath(), "20", "40", "2", "--backend=compact"};
+
+        // Act
+        Response<Employee> response = orchestrationService.doCompactOrchestration(args);
+
+        // Assert
+        assertEquals("0000000123", response.getCeo().getId());
+        assertEquals(1, response.getLeastPaidManagers().size());
+        assertEquals(1, response.getOverPaidManagers().size());
+        assertEquals(1, response.getMaxReportingLineLengthEmployees().size());
+        assertEquals("0000000124", response.getLeastPaidManagers().get(0).getId());
+        assertEquals(new BigDecimal("-15000.00"), response.getLeastPaidManagers().get(0).getDifferenceOfSubordinatesAverageSalary());
+        assertEquals("0000000300", response.getOverPaidManagers().get(0).getId());
+        assertEquals("0000000305", response.getMaxReportingLineLengthEmployees().get(0).getId());
+        assertEquals(3, response.getMaxReportingLineLengthEmployees().get(0).getReportingLineLength());
+    }
+
+    @Test
+    void testDoStreamingOrchestration_Success_20_40_2() throws IOException {
+        URL resourceUrl = getClass().getResource("/employee-details.csv");
+        assert resourceUrl != null;
+        String[] args = {resourceUrl.getPath(), "20", "40", "2", "--backend=streaming"};
+
+        // Act
+        Response<Employee> response = orchestrationService.doStreamingOrchestration(args);
+
+        // Assert
+        assertEquals("0000000123", response.getCeo().getId());
+        assertEquals(1, response.getLeastPaidManagers().size());
+        assertEquals(1, response.getOverPaidManagers().size());
+        assertEquals(1, response.getMaxReportingLineLengthEmployees().size());
+        assertEquals("0000000124", response.getLeastPaidManagers().get(0).getId());
+        assertEquals(new BigDecimal("-15000.00"), response.getLeastPaidManagers().get(0).getDifferenceOfSubordinatesAverageSalary());
+        assertEquals("0000000300", response.getOverPaidManagers().get(0).getId());
+        assertEquals("0000000305", response.getMaxReportingLineLengthEmployees().get(0).getId());
+        assertEquals(3, response.getMaxReportingLineLengthEmployees().get(0).getReportingLineLength());
+    }
+
+    @Test
+    void testDoForestOrchestration_Success_20_40_2() throws IOException {
+        URL resourceUrl = getClass().getResource("/employee-details.csv");
+        assert resourceUrl != null;
+        String[] args = {resourceUrl.getPath(), "20", "40", "2", "--forest"};
+
+        // Act
+        List<Response<Employee>> responses = orchestrationService.doForestOrchestration(args);
+
+        // Assert
+        assertEquals(1, responses.size());
+        Response<Employee> response = responses.get(0);
+        assertEquals("0000000123", response.getCeo().getId());
+        assertEquals("0000000124", response.getLeastPaidManagers().get(0).getId());
+        assertEquals("0000000300", response.getOverPaidManagers().get(0).getId());
+        assertEquals("0000000305", response.getMaxReportingLineLengthEmployees().get(0).getId());
+        assertEquals(3, response.getMaxReportingLineLengthEmployees().get(0).getReportingLineLength());
+    }
+
+    @Test
+    void testDoIncrementalOrchestration_AppliesChangeFilesWithoutReadingTheCsvFile(@TempDir Path tempDir) throws IOException {
+        URL resourceUrl = getClass().getResource("/employee-details.csv");
+        assert resourceUrl != null;
+        Path employees = Files.copy(Path.of(resourceUrl.getPath()), tempDir.resolve("employees.csv"));
+        Path changes = Files.writeString(tempDir.resolve("changes.csv"), """
+                change,Id,firstName,lastName,salary,managerId
+                UPSERT,0000000124,Martin,Chekov,30000,0000000123
+                DELETE,0000000305
+                """);
+        String[] args = {employees.toString(), "20", "40", "2", "--incremental", "--changes=" + changes};
+
+        ResponseDelta<Employee> loaded = orchestrationService.doIncrementalOrchestration(args);
+        assertEquals(List.of("0000000124"), loaded.getLeastPaidManagers().getAdded().stream().map(Employee::getId).toList());
+        Files.delete(employees);
+
+        ResponseDelta<Employee> applied = orchestrationService.doIncrementalOrchestration(args);
+        assertEquals(List.of("0000000124"), applied.getLeastPaidManagers().getUpdated().stream().map(Employee::getId).toList());
+        assertEquals(List.of("0000000300"), applied.getOverPaidManagers().getRemovedIds());
+        assertEquals(List.of("0000000305"), applied.getMaxReportingLineLengthEmployees().getRemovedIds());
+
+        // same size and modification time: the change file is not read again
+        FileTime appliedTime = Files.getLastModifiedTime(changes);
+        String invalid = "change,Id\nMOVE,0000000125\n";
+        Files.writeString(changes, invalid + " ".repeat((int) Files.size(changes) - invalid.length()));
+        Files.setLastModifiedTime(changes, appliedTime);
+        ResponseDelta<Employee> reapplied = orchestrationService.doIncrementalOrchestration(args);
+        assertTrue(reapplied.getLeastPaidManagers().isEmpty());
+        assertTrue(reapplied.getOverPaidManagers().isEmpty());
+        assertTrue(reapplied.getMaxReportingLineLengthEmployees().isEmpty());
+
+        Files.writeString(changes, "change,Id\nMOVE,0000000125\n");
+        assertThrows(IllegalArgumentException.class, () -> orchestrationService.doIncrementalOrchestration(args));
+    }
+
+    @Test
+    void testDoCompactOrchestration_SnapshotRoundTrip(@TempDir Path tempDir) throws IOException {
+        URL resourceUrl = getClass().getResource("/employee-details.csv");
+        assert resourceUrl != null;
+        String snapshot = tempDir.resolve("employee-details.orgs").toString();
+
+        // Act
+        Response<Employee> written = orchestrationService.doCompactOrchestration(
+                new String[] {resourceUrl.getPath(), "20", "40", "2", "--snapshot-out=" + snapshot});
+        Response<Employee> reloaded = orchestrationService.doCompactOrchestration(
+                new String[] {resourceUrl.getPath(), "20", "40", "2", "--snapshot-in=" + snapshot});
+        Response<Employee> reanalysed = orchestrationService.doCompactOrchestration(
+                new String[] {"not-read.csv", "20", "50", "4", "--snapshot-in=" + snapshot});
+
+        // Assert
+        assertEquals(written, reloaded);
+        assertEquals("0000000123", reanalysed.getCeo().getId());
+        assertEquals(1, reanalysed.getLeastPaidManagers().size());
+        assertEquals(0, reanalysed.getOverPaidManagers().size());
+        assertEquals(0, reanalysed.getMaxReportingLineLengthEmployees().size());
+    }
+
+    @Test
+    void testDoScenarioOrchestration_OneResponsePerCombination() throws IOException {
+        URL resourceUrl = getClass().getResource("/employee-details.csv");
+        assert resourceUrl != null;
+        String[] args = {resourceUrl.getPath(), "20", "40,50", "2,4"};
+
+        // Act
+        List<Response<Employee>> responses = orchestrationService.doScenarioOrchestration(args);
+
+        // Assert
+        assertEquals(4, responses.size());
+        assertEquals(
+                orchestrationService.doCompactOrchestration(new String[] {resourceUrl.getPath(), "20", "40", "2"}),
+                responses.get(0)
+        );
+        assertEquals(
+                orchestrationService.doCompactOrchestration(new String[] {resourceUrl.getPath(), "20", "50", "4"}),
+                responses.get(3)
+        );
+        assertThrows(IllegalArgumentException.class, () -> orchestrationService.doOrchestration(args));
+    }
+
+    @Test
+    void testDoOrchestration_ResultWindows() throws IOException {
+        URL resourceUrl = getClass().getResource("/employee-details.csv");
+        assert resourceUrl != null;
+
+        Response<Employee> top = orchestrationService.doOrchestration(new String[] {resourceUrl.getPath(), "20", "40", "2", "--top=0"});
+        assertTrue(top.getLeastPaidManagers().isEmpty());
+        assertTrue(top.getOverPaidManagers().isEmpty());
+        assertTrue(top.getMaxReportingLineLengthEmployees().isEmpty());
+
+        Response<Employee> page = orchestrationService.doCompactOrchestration(
+                new String[] {resourceUrl.getPath(), "20", "40", "2", "--page-size=1", "--page-after=0000000124"});
+        assertTrue(page.getLeastPaidManagers().isEmpty());
+        assertEquals("0000000300", page.getOverPaidManagers().get(0).getId());
+        assertEquals("0000000305", page.getMaxReportingLineLengthEmployees().get(0).getId());
+
+        IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+                () -> orchestrationService.doOrchestration(new String[] {resourceUrl.getPath(), "20", "40", "2", "--top=1", "--page-size=1"}));
+        assertEquals("Top and page size cannot be combined", iae.getMessage());
+    }
+
+    @Test
+    void testDoOrchestration_RunMetrics() throws IOException {
+        URL resourceUrl = getClass().getResource("/employee-details.csv");
+        assert resourceUrl != null;
+        String[] args = {resourceUrl.getPath(), "20", "40", "2"};
+
+        for (boolean compact : new boolean[] {false, true}) {
+            RunMetrics runMetrics = RunMetrics.enabled(true);
+            OrchestrationService instrumented = new OrchestrationService(
+                    validationUtil, csvFileReader, orgHierarchy, new CompactOrgHierarchy(), new OrgSnapshotStore(), runMetrics);
+            Response<Employee> response = compact ? instrumented.doCompactOrchestration(args) : instrumented.doOrchestration(args);
+
+            assertEquals("0000000124", response.getLeastPaidManagers().get(0).getId());
+            assertEquals(List.of("parse-arguments", "csv-read", "hierarchy-build", "analysis", "response-validation"),
+                    runMetrics.getPhases().stream().map(RunMetrics.Phase::getName).toList());
+            assertTrue(runMetrics.getPhases().stream().allMatch(phase -> phase.getWallNanos() >= 0));
+            assertEquals(5, runMetrics.getCounter("employee-count"));
+            assertTrue(runMetrics.getCounter("ingest-rows-per-second").longValue() > 0);
+            assertEquals(2, runMetrics.histogram("fan-out").getMax());
+            assertEquals(2, runMetrics.histogram("fan-out").getCount(0));
+            assertEquals(2, runMetrics.histogram("fan-out").getCount(1));
+            assertTrue(runMetrics.toJson().contains("\"fan-out\":{\"max\":2,\"buckets\":{\"0\":2,\"1\":2,\"2\":1}}"));
+            assertEquals(3, runMetrics.histogram("reporting-line-length").getMax());
+            assertEquals(1, runMetrics.histogram("reporting-line-length").getCount(0));
+            assertEquals(2, runMetrics.histogram("reporting-line-length").getCount(1));
+            assertEquals(1, runMetrics.histogram("reporting-line-length").getCount(2));
+            assertEquals(1, runMetrics.histogram("reporting-line-length").getCount(3));
+        }
+
+        orchestrationService.doOrchestration(args);
+        assertTrue(RunMetrics.DISABLED.getPhases().isEmpty());
+        assertEquals("{\"phases\":[],\"counters\":{},\"histograms\":{}}", RunMetrics.DISABLED.toJson());
+    }
+
     @Test
     void testDoOrchestration_Failure_InvalidPath() {
         String[] args = {"wrong.csv", "20", "50", "4"};
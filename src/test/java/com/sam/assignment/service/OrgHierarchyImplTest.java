@@ -1,7 +1,9 @@
 package com.sam.assignment.service;
 
 import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.OrgTree;
 import com.sam.assignment.model.Parameter;
+import com.sam.assignment.util.ValidationMode;
 import com.sam.assignment.util.ValidationUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -58,6 +60,29 @@ class OrgHierarchyImplTest {
         verify(validationUtil, atLeastOnce()).validate(any());
     }
 
+    @Test
+    void testBuildHierarchy_PopulatesSalaryBandOncePerManager() {
+        Employee ceo = new Employee("1", "Alice", "Smith", null, new BigDecimal("5000.00"), BigDecimal.ZERO, 0);
+        Employee emp1 = new Employee("2", "Bob", "Jones", "1", new BigDecimal("3000.00"), BigDecimal.ZERO, 0);
+        Employee emp2 = new Employee("3", "Carol", "White", "1", new BigDecimal("3001.00"), BigDecimal.ZERO, 0);
+        Employee emp3 = new Employee("4", "Dave", "Black", "1", new BigDecimal("3000.00"), BigDecimal.ZERO, 0);
+
+        Map<String, Employee> employees = new LinkedHashMap<>();
+        employees.put(ceo.getId(), ceo);
+        employees.put(emp1.getId(), emp1);
+        employees.put(emp2.getId(), emp2);
+        employees.put(emp3.getId(), emp3);
+
+        Parameter param = new Parameter("file.csv", BigDecimal.valueOf(20), BigDecimal.valueOf(50), 4);
+
+        orgHierarchy.buildHierarchy(employees, validationUtil, param);
+
+        // average 3000.33 -> max band 4500.50 (rounded half-up) -> 5000.00 - 4500.50
+        assertEquals(3, ceo.getSubordinates().size());
+        assertEquals(new BigDecimal("499.50"), ceo.getDifferenceOfSubordinatesAverageSalary());
+        verify(validationUtil, times(1)).validate(ceo);
+    }
+
     @Test
     void testPopulateMaxReportingLineLength_ReturnsCorrectEmployees() {
         // CEO
@@ -116,4 +141,224 @@ class OrgHierarchyImplTest {
         verify(validationUtil, atLeast(1)).validate(any(Employee.class));
     }
 
-}
\ No newline at end of file
+    @Test
+    void testPopulateMaxReportingLineLength_CyclicReportingLineIsReported() {
+        Employee ceo = new Employee("1", "Alice", "Smith", null, new BigDecimal("5000"), BigDecimal.ZERO, 0);
+        Employee mgr = new Employee("2", "Bob", "Jones", "3", new BigDecimal("3000"), BigDecimal.ZERO, 0);
+        Employee emp = new Employee("3", "Carol", "White", "2", new BigDecimal("2000"), BigDecimal.ZERO, 0);
+
+        Map<String, Employee> employees = new LinkedHashMap<>();
+        employees.put(ceo.getId(), ceo);
+        employees.put(mgr.getId(), mgr);
+        employees.put(emp.getId(), emp);
+
+        Parameter param = new Parameter("file.csv", BigDecimal.ZERO, BigDecimal.valueOf(40), 1);
+
+        IllegalStateException ise = assertThrows(IllegalStateException.class,
+                () -> orgHierarchy.populateMaxReportingLineLength(employees, validationUtil, param));
+        assertTrue(ise.getMessage().startsWith("Cyclic reporting line detected"));
+        assertThrows(IllegalStateException.class,
+                () -> orgHierarchy.getReportingLineLength(emp, employees));
+    }
+
+    @Test
+    void testAnalyse_EvaluatesAllRulesInOnePass() {
+        Employee ceo = new Employee("1", "Alice", "Smith", null, new BigDecimal("9000.00"), BigDecimal.ZERO, 0);
+        Employee manager = new Employee("2", "Bob", "Jones", "1", new BigDecimal("1000.00"), BigDecimal.ZERO, 0);
+        Employee emp = new Employee("3", "Carol", "White", "2", new BigDecimal("2000.00"), BigDecimal.ZERO, 0);
+
+        Map<String, Employee> employees = new LinkedHashMap<>();
+        employees.put(ceo.getId(), ceo);
+        employees.put(manager.getId(), manager);
+        employees.put(emp.getId(), emp);
+
+        Parameter param = new Parameter("file.csv", BigDecimal.valueOf(20), BigDecimal.valueOf(50), 1);
+        orgHierarchy.buildHierarchy(employees, validationUtil, param);
+        clearInvocations(validationUtil);
+
+        AnalysisRule lastNameStartsWithW = (employee, parameter) -> employee.getLastName().startsWith("W");
+        List<List<Employee>> analyses = orgHierarchy.analyse(
+                employees,
+                List.of(
+                        AnalysisRule.LEAST_PAID_MANAGER,
+                        AnalysisRule.OVER_PAID_MANAGER,
+                        AnalysisRule.MAX_REPORTING_LINE_LENGTH,
+                        lastNameStartsWithW
+                ),
+                validationUtil,
+                param
+        );
+
+        assertEquals(List.of(manager), analyses.get(0));
+        assertEquals(List.of(ceo), analyses.get(1));
+        assertEquals(List.of(emp), analyses.get(2));
+        assertEquals(List.of(emp), analyses.get(3));
+        assertEquals(2, emp.getReportingLineLength());
+        verify(validationUtil, times(3)).validate(argThat(employees::containsValue));
+    }
+
+    @Test
+    void testAnalyse_NoRules() {
+        Parameter param = new Parameter("file.csv", BigDecimal.ZERO, BigDecimal.ZERO, 0);
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> orgHierarchy.analyse(new HashMap<>(), List.of(), validationUtil, param)
+        );
+    }
+
+    private static Map<String, Employee> generatedEmployees() {
+        Map<String, Employee> employees = new HashMap<>();
+        employees.put("0000000001", new Employee("0000000001", "Alice", "Smith", null, new BigDecimal("9000.00"), BigDecimal.ZERO, 0));
+        for (int i = 2; i <= 5000; i++)
+            employees.put(String.format("%010d", i), new Employee(String.format("%010d", i), "Bob", "Jones",
+                    String.format("%010d", (i + 1) / 3), new BigDecimal(1000 + (i * 37) % 5000 + ".25"), BigDecimal.ZERO, 0));
+        return employees;
+    }
+
+    private static List<String> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).toList();
+    }
+
+    @Test
+    void testParallelMode_MatchesSequentialMode() {
+        Parameter sequentialParam = new Parameter("file.csv", BigDecimal.valueOf(20), BigDecimal.valueOf(50), 4);
+        Parameter parallelParam = new Parameter("file.csv", BigDecimal.valueOf(20), BigDecimal.valueOf(50), 4, true);
+        List<AnalysisRule> rules = List.of(
+                AnalysisRule.LEAST_PAID_MANAGER,
+                AnalysisRule.OVER_PAID_MANAGER,
+                AnalysisRule.MAX_REPORTING_LINE_LENGTH
+        );
+
+        Map<String, Employee> sequentialEmployees = generatedEmployees();
+        Employee sequentialCeo = orgHierarchy.buildHierarchy(sequentialEmployees, validationUtil, sequentialParam);
+        List<List<Employee>> sequential = orgHierarchy.analyse(sequentialEmployees, rules, validationUtil, sequentialParam);
+
+        Map<String, Employee> parallelEmployees = generatedEmployees();
+        Employee parallelCeo = orgHierarchy.buildHierarchy(parallelEmployees, validationUtil, parallelParam);
+        List<List<Employee>> parallel = orgHierarchy.analyse(parallelEmployees, rules, validationUtil, parallelParam);
+
+        assertEquals(sequentialCeo.getId(), parallelCeo.getId());
+        for (int rule = 0; rule < rules.size(); rule++) {
+            assertFalse(sequential.get(rule).isEmpty());
+            assertEquals(ids(sequential.get(rule)), ids(parallel.get(rule)));
+        }
+        assertEquals(ids(sequential.get(2)).stream().sorted().toList(), ids(parallel.get(2)));
+        sequentialEmployees.forEach((id, employee) -> {
+            Employee parallelEmployee = parallelEmployees.get(id);
+            assertEquals(employee.getReportingLineLength(), parallelEmployee.getReportingLineLength());
+            assertEquals(employee.getDifferenceOfSubordinatesAverageSalary(), parallelEmployee.getDifferenceOfSubordinatesAverageSalary());
+            assertEquals(ids(employee.getSubordinates()).stream().sorted().toList(), ids(parallelEmployee.getSubordinates()));
+        });
+    }
+
+    @Test
+    void testParallelMode_FullValidationCascadesOverTheCompleteHierarchy() {
+        ValidationUtil fullValidationUtil = new ValidationUtil(ValidationMode.FULL, 1);
+        Parameter parallelParam = new Parameter("file.csv", BigDecimal.valueOf(20), BigDecimal.valueOf(50), 4, true);
+        List<AnalysisRule> rules = List.of(
+                AnalysisRule.LEAST_PAID_MANAGER,
+                AnalysisRule.OVER_PAID_MANAGER,
+                AnalysisRule.MAX_REPORTING_LINE_LENGTH
+        );
+
+        Map<String, Employee> sequentialEmployees = generatedEmployees();
+        orgHierarchy.buildHierarchy(sequentialEmployees, validationUtil, new Parameter("file.csv", BigDecimal.valueOf(20), BigDecimal.valueOf(50), 4));
+        List<List<Employee>> sequential = orgHierarchy.analyse(sequentialEmployees, rules, validationUtil, parallelParam);
+
+        for (int run = 0; run < 5; run++) {
+            Map<String, Employee> parallelEmployees = generatedEmployees();
+            Employee parallelCeo = orgHierarchy.buildHierarchy(parallelEmployees, fullValidationUtil, parallelParam);
+            List<List<Employee>> parallel = orgHierarchy.analyse(parallelEmployees, rules, fullValidationUtil, parallelParam);
+
+            assertEquals("0000000001", parallelCeo.getId());
+            for (int rule = 0; rule < rules.size(); rule++)
+                assertEquals(ids(sequential.get(rule)), ids(parallel.get(rule)));
+        }
+        assertTrue(fullValidationUtil.getValidatedCount() > 0);
+    }
+
+    @Test
+    void testParallelMode_CyclicAndMissingManagersAreReported() {
+        Parameter param = new Parameter("file.csv", BigDecimal.ZERO, BigDecimal.valueOf(40), 1, true);
+
+        Map<String, Employee> cyclic = new HashMap<>();
+        cyclic.put("1", new Employee("1", "Alice", "Smith", null, new BigDecimal("5000"), BigDecimal.ZERO, 0));
+        cyclic.put("2", new Employee("2", "Bob", "Jones", "3", new BigDecimal("3000"), BigDecimal.ZERO, 0));
+        cyclic.put("3", new Employee("3", "Carol", "White", "2", new BigDecimal("2000"), BigDecimal.ZERO, 0));
+
+        IllegalStateException ise = assertThrows(IllegalStateException.class,
+                () -> orgHierarchy.populateMaxReportingLineLength(cyclic, validationUtil, param));
+        assertEquals("Cyclic reporting line detected | employee-id : 2", ise.getMessage());
+
+        Map<String, Employee> orphaned = new HashMap<>();
+        orphaned.put("1", new Employee("1", "Alice", "Smith", null, new BigDecimal("5000"), BigDecimal.ZERO, 0));
+        orphaned.put("2", new Employee("2", "Bob", "Jones", "9", new BigDecimal("3000"), BigDecimal.ZERO, 0));
+
+        assertEquals("1", orgHierarchy.buildHierarchy(orphaned, validationUtil, param).getId());
+        IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+                () -> orgHierarchy.populateMaxReportingLineLength(orphaned, validationUtil, param));
+        assertEquals("Manager not found | employee-id : 2 | manager-id : 9", iae.getMessage());
+    }
+
+
+    @Test
+    void testBuildForest_RootsAndOrphanedTreesAreAnalysedIndependently() {
+        Parameter param = new Parameter("file.csv", BigDecimal.valueOf(20), BigDecimal.valueOf(50), 1);
+
+        Map<String, Employee> employees = new HashMap<>();
+        employees.put("1", new Employee("1", "Alice", "Smith", null, new BigDecimal("5000"), BigDecimal.ZERO, 0));
+        employees.put("2", new Employee("2", "Bob", "Jones", "1", new BigDecimal("3000"), BigDecimal.ZERO, 0));
+        employees.put("3", new Employee("3", "Carol", "White", "2", new BigDecimal("3000"), BigDecimal.ZERO, 0));
+        employees.put("4", new Employee("4", "Dan", "Brown", "3", new BigDecimal("1000"), BigDecimal.ZERO, 0));
+        employees.put("5", new Employee("5", "Eve", "Green", null, new BigDecimal("1000"), BigDecimal.ZERO, 0));
+        employees.put("6", new Employee("6", "Finn", "Gray", "5", new BigDecimal("2000"), BigDecimal.ZERO, 0));
+        employees.put("7", new Employee("7", "Gina", "Blue", "9", new BigDecimal("8000"), BigDecimal.ZERO, 0));
+        employees.put("8", new Employee("8", "Hal", "Black", "7", new BigDecimal("2000"), BigDecimal.ZERO, 0));
+
+        List<OrgTree> forest = orgHierarchy.buildForest(employees, validationUtil, param);
+
+        assertEquals(List.of("1", "5", "7"), forest.stream().map(tree -> tree.getRoot().getId()).toList());
+        assertEquals(List.of(false, false, true), forest.stream().map(OrgTree::isOrphaned).toList());
+        assertEquals(List.of(4, 2, 2), forest.stream().map(OrgTree::getEmployeeCount).toList());
+
+        List<List<List<Employee>>> analyses = orgHierarchy.analyseForest(forest, AnalysisRule.RESPONSE_RULES, validationUtil, param);
+
+        assertEquals(3, analyses.size());
+        assertEquals(List.of(List.of("2"), List.of("1", "3"), List.of("3", "4")), analyses.get(0).stream().map(OrgHierarchyImplTest::ids).toList());
+        assertEquals(List.of(List.of("5"), List.of(), List.of()), analyses.get(1).stream().map(OrgHierarchyImplTest::ids).toList());
+        assertEquals(List.of(List.of(), List.of("7"), List.of()), analyses.get(2).stream().map(OrgHierarchyImplTest::ids).toList());
+        assertEquals(0, employees.get("7").getReportingLineLength());
+        assertEquals(1, employees.get("8").getReportingLineLength());
+
+        Map<String, Employee> cyclic = new HashMap<>();
+        cyclic.put("1", new Employee("1", "Alice", "Smith", null, new BigDecimal("5000"), BigDecimal.ZERO, 0));
+        cyclic.put("2", new Employee("2", "Bob", "Jones", "3", new BigDecimal("3000"), BigDecimal.ZERO, 0));
+        cyclic.put("3", new Employee("3", "Carol", "White", "2", new BigDecimal("2000"), BigDecimal.ZERO, 0));
+
+        IllegalStateException ise = assertThrows(IllegalStateException.class,
+                () -> orgHierarchy.buildForest(cyclic, validationUtil, param));
+        assertTrue(ise.getMessage().startsWith("Cyclic reporting line detected"));
+    }
+
+    @Test
+    void testAnalyseForest_SingleTreeMatchesAnalyse() {
+        Parameter param = new Parameter("file.csv", BigDecimal.valueOf(20), BigDecimal.valueOf(50), 4);
+
+        Map<String, Employee> employees = generatedEmployees();
+        Employee ceo = orgHierarchy.buildHierarchy(employees, validationUtil, param);
+        List<List<Employee>> expected = orgHierarchy.analyse(employees, AnalysisRule.RESPONSE_RULES, validationUtil, param);
+
+        Map<String, Employee> forestEmployees = generatedEmployees();
+        List<OrgTree> forest = orgHierarchy.buildForest(forestEmployees, validationUtil, param);
+        List<List<List<Employee>>> analyses = orgHierarchy.analyseForest(forest, AnalysisRule.RESPONSE_RULES, validationUtil, param);
+
+        assertEquals(1, forest.size());
+        assertEquals(ceo.getId(), forest.get(0).getRoot().getId());
+        assertEquals(employees.size(), forest.get(0).getEmployeeCount());
+        for (int rule = 0; rule < expected.size(); rule++)
+            assertEquals(ids(expected.get(rule)), ids(analyses.get(0).get(rule)));
+        assertThrows(IllegalArgumentException.class,
+                () -> orgHierarchy.analyseForest(forest, List.of(), validationUtil, param));
+    }
+}
@@ -0,0 +1,184 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.SubtreeSummary;
+import com.sam.assignment.util.ValidationUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OrgQueryServiceTest {
+
+    private static final String CSV = """
+            Id,firstName,lastName,salary,managerId
+            1,Joe,Doe,60000,
+            2,Martin,Chekov,45000,1
+            3,Bob,Ronstad,47000,1
+            4,Alice,Hasacat,50000,2
+            5,Brett,Hardleaf,34000,4
+            6,Anne,Smith,10000,5
+            """;
+
+    private final ValidationUtil validationUtil = mock(ValidationUtil.class);
+
+    private OrgQueryService orgQueryService(Path dataRoot, int maxResidentOrgs) throws IOException {
+        return new OrgQueryService(new CsvFileReaderImpl(), new CompactOrgHierarchy(), validationUtil, dataRoot, maxResidentOrgs, 8);
+    }
+
+    private static List<String> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).toList();
+    }
+
+    @Test
+    void testQueries_AnswerFromTheResidentOrganization(@TempDir Path tempDir) throws IOException {
+        String file = Files.writeString(tempDir.resolve("employees.csv"), CSV).toString();
+        OrgQueryService orgQueryService = orgQueryService(tempDir, 2);
+
+        List<Employee> leastPaidManagers = orgQueryService.findLeastPaidManagers(file, BigDecimal.valueOf(20), BigDecimal.valueOf(50));
+        assertEquals(List.of("2"), ids(leastPaidManagers));
+        assertEquals(new BigDecimal("-15000.00"), leastPaidManagers.get(0).getDifferenceOfSubordinatesAverageSalary());
+        List<Employee> overPaidManagers = orgQueryService.findOverPaidManagers(file, BigDecimal.valueOf(20), BigDecimal.valueOf(50));
+        assertEquals(List.of("5"), ids(overPaidManagers));
+        assertEquals(new BigDecimal("19000.00"), overPaidManagers.get(0).getDifferenceOfSubordinatesAverageSalary());
+        assertSame(leastPaidManagers, orgQueryService.findLeastPaidManagers(file, BigDecimal.valueOf(20), BigDecimal.valueOf(50)));
+        assertSame(leastPaidManagers, orgQueryService.findLeastPaidManagers(file, new BigDecimal("20.0"), new BigDecimal("5E+1")));
+
+        List<Employee> chain = orgQueryService.findReportingChain(file, "6");
+        assertEquals(List.of("6", "5", "4", "2", "1"), ids(chain));
+        assertEquals(List.of("5", "6"), ids(orgQueryService.findMaxReportingLineLengthEmployees(file, chain.get(2).getReportingLineLength())));
+        assertEquals(List.of(), ids(orgQueryService.findMaxReportingLineLengthEmployees(file, chain.get(0).getReportingLineLength())));
+
+        assertEquals(new SubtreeSummary("2", 4, new BigDecimal("139000.00"), 3, 1), orgQueryService.findSubtreeSummary(file, "2"));
+        assertEquals(new SubtreeSummary("1", 6, new BigDecimal("246000.00"), 4, 2), orgQueryService.findSubtreeSummary(file, "1"));
+        assertEquals("4", orgQueryService.findManager(file, "6", 2).getId());
+        assertThrows(NoSuchElementException.class, () -> orgQueryService.findManager(file, "6", 5));
+        assertTrue(orgQueryService.reportsTo(file, "6", "2"));
+        assertFalse(orgQueryService.reportsTo(file, "3", "2"));
+        assertFalse(orgQueryService.reportsTo(file, "2", "2"));
+
+        NoSuchElementException nsee = assertThrows(NoSuchElementException.class,
+                () -> orgQueryService.findSubtreeSummary(file, "7"));
+        assertEquals("Employee not found | employee-id : 7", nsee.getMessage());
+        assertEquals(1, orgQueryService.residentOrgCount());
+    }
+
+    @Test
+    void testResidentOrg_ReloadsChangedFilesAndEvictsTheLeastRecentlyUsed(@TempDir Path tempDir) throws IOException {
+        Path path = Files.writeString(tempDir.resolve("employees.csv"), CSV);
+        String file = path.toString();
+        String other = Files.writeString(tempDir.resolve("other.csv"), CSV).toString();
+        OrgQueryService orgQueryService = orgQueryService(tempDir, 1);
+
+        assertEquals(6, orgQueryService.findSubtreeSummary(file, "1").getEmployeeCount());
+        Files.writeString(path, CSV + "7,Tom,Jones,20000,3\n");
+        Files.setLastModifiedTime(path, FileTime.fromMillis(Files.getLastModifiedTime(path).toMillis() + 1000));
+        assertEquals(7, orgQueryService.findSubtreeSummary(file, "1").getEmployeeCount());
+
+        assertEquals(6, orgQueryService.findSubtreeSummary(other, "1").getEmployeeCount());
+        assertEquals(1, orgQueryService.residentOrgCount());
+    }
+
+    @Test
+    void testServer_AnswersQueriesAsJson(@TempDir Path tempDir) throws IOException, InterruptedException {
+        String file = URLEncoder.encode(Files.writeString(tempDir.resolve("employees.csv"), CSV).toString(), StandardCharsets.UTF_8);
+        OrgQueryServer orgQueryServer = new OrgQueryServer(orgQueryService(tempDir, 2), 0, 2);
+        orgQueryServer.start();
+        try {
+            String base = "http://localhost:" + orgQueryServer.getPort();
+
+            HttpURLConnection connection = (HttpURLConnection) URI.create(base + "/employees/subtree?file=" + file + "&id=2").toURL().openConnection();
+            assertEquals(200, connection.getResponseCode());
+            assertEquals("{\"employeeId\":\"2\",\"employeeCount\":4,\"salaryTotal\":139000.00,\"maxDepth\":3,\"spanOfControl\":1}",
+                    new String(connection.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+
+            connection = (HttpURLConnection) URI.create(base + "/managers/least-paid?file=" + file + "&least=20&over=50").toURL().openConnection();
+            assertEquals(200, connection.getResponseCode());
+            assertTrue(new String(connection.getInputStream().readAllBytes(), StandardCharsets.UTF_8)
+                    .contains("\"id\":\"2\",\"firstName\":\"Martin\""));
+
+            connection = (HttpURLConnection) URI.create(base + "/employees/max-reporting-line-length?file=" + file + "&threshold=1&page-size=2").toURL().openConnection();
+            assertEquals(200, connection.getResponseCode());
+            assertEquals("5", connection.getHeaderField("X-Next-Page-After"));
+            connection = (HttpURLConnection) URI.create(base + "/employees/max-reporting-line-length?file=" + file + "&threshold=1&top=1").toURL().openConnection();
+            assertTrue(new String(connection.getInputStream().readAllBytes(), StandardCharsets.UTF_8).startsWith("[{\"id\":\"6\""));
+
+            connection = (HttpURLConnection) URI.create(base + "/employees/reporting-chain?file=" + file + "&id=9").toURL().openConnection();
+            assertEquals(404, connection.getResponseCode());
+
+            connection = (HttpURLConnection) URI.create(base + "/managers/over-paid?file=" + file + "&least=abc&over=50").toURL().openConnection();
+            assertEquals(400, connection.getResponseCode());
+
+            Files.writeString(tempDir.resolve("invalid.csv"), "Id,firstName,lastName,salary,managerId\n1,Joe,Doe,top-secret,\n");
+            connection = (HttpURLConnection) URI.create(base + "/employees/subtree?file=invalid.csv&id=1").toURL().openConnection();
+            assertEquals(400, connection.getResponseCode());
+            assertEquals("{\"error\":\"Organization file is invalid | file-path : invalid.csv\"}",
+                    new String(connection.getErrorStream().readAllBytes(), StandardCharsets.UTF_8));
+
+            connection = (HttpURLConnection) URI.create(base + "/employees/subtree?file=missing.csv&id=1").toURL().openConnection();
+            assertEquals(404, connection.getResponseCode());
+            assertEquals("{\"error\":\"Organization file not found\"}",
+                    new String(connection.getErrorStream().readAllBytes(), StandardCharsets.UTF_8));
+        } finally {
+            orgQueryServer.stop();
+            orgQueryServer.awaitStop();
+        }
+    }
+
+    @Test
+    void testResidentOrg_RejectsFilesOutsideTheDataRoot(@TempDir Path tempDir) throws IOException {
+        Path dataRoot = Files.createDirectory(tempDir.resolve("data"));
+        Files.writeString(dataRoot.resolve("employees.csv"), CSV);
+        Path outside = Files.writeString(tempDir.resolve("outside.csv"), CSV);
+        OrgQueryService orgQueryService = orgQueryService(dataRoot, 2);
+
+        assertEquals(6, orgQueryService.findSubtreeSummary("employees.csv", "1").getEmployeeCount());
+        for (String file : List.of("../outside.csv", outside.toString(), "")) {
+            IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+                    () -> orgQueryService.findSubtreeSummary(file, "1"));
+            assertTrue(iae.getMessage().startsWith("File path"));
+        }
+
+        try {
+            Files.createSymbolicLink(dataRoot.resolve("link.csv"), outside);
+        } catch (UnsupportedOperationException | IOException e) {
+            return;
+        }
+        assertThrows(IllegalArgumentException.class, () -> orgQueryService.findSubtreeSummary("link.csv", "1"));
+    }
+
+    @Test
+    void testResidentOrg_ReloadsRewrittenShardsOfDirectoriesAndGlobs(@TempDir Path tempDir) throws IOException {
+        Path shards = Files.createDirectory(tempDir.resolve("shards"));
+        Files.writeString(shards.resolve("org-a.csv"), "Id,firstName,lastName,salary,managerId\n1,Joe,Doe,60000,\n2,Martin,Chekov,45000,1\n");
+        Path shard = Files.writeString(shards.resolve("org-b.csv"), "Id,firstName,lastName,salary,managerId\n3,Bob,Ronstad,47000,1\n");
+        OrgQueryService orgQueryService = new OrgQueryService(
+                new ShardedCsvFileReaderImpl(new CsvFileReaderImpl(), 2), new CompactOrgHierarchy(), validationUtil, tempDir, 2, 8);
+
+        assertEquals(3, orgQueryService.findSubtreeSummary("shards", "1").getEmployeeCount());
+        assertEquals(3, orgQueryService.findSubtreeSummary("shards/org-*.csv", "1").getEmployeeCount());
+
+        Files.writeString(shard, "Id,firstName,lastName,salary,managerId\n3,Bob,Ronstad,47000,1\n4,Tom,Jones,20000,3\n");
+        Files.setLastModifiedTime(shard, FileTime.fromMillis(Files.getLastModifiedTime(shard).toMillis() + 1000));
+        Files.setLastModifiedTime(shards, FileTime.fromMillis(0));
+
+        assertEquals(4, orgQueryService.findSubtreeSummary("shards", "1").getEmployeeCount());
+        assertEquals(4, orgQueryService.findSubtreeSummary("shards/org-*.csv", "1").getEmployeeCount());
+        assertThrows(FileNotFoundException.class, () -> orgQueryService.findSubtreeSummary("shards/none-*.csv", "1"));
+    }
+
+}
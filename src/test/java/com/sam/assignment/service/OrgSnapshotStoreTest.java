@@ -0,0 +1,129 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.CompactOrg;
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.Parameter;
+import com.sam.assignment.model.Response;
+import com.sam.assignment.util.ValidationUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OrgSnapshotStoreTest {
+
+    private final OrgSnapshotStore orgSnapshotStore = new OrgSnapshotStore();
+    private final CompactOrgHierarchy compactOrgHierarchy = new CompactOrgHierarchy();
+    private final ValidationUtil validationUtil = mock(ValidationUtil.class);
+
+    private static CompactOrg linkedOrg(CompactOrgHierarchy compactOrgHierarchy) {
+        CompactOrg org = new CompactOrg(0);
+        org.add(new Employee("0000000001", "Alice", "Smith", null, new BigDecimal("9000.00"), BigDecimal.ZERO, 0));
+        for (int i = 2; i <= 300; i++)
+            org.add(new Employee(String.format("%010d", i), i % 2 == 0 ? "Bob" : "Zoë", "Jones",
+                    String.format("%010d", i / 2), new BigDecimal(1000 + i * 7 + ".25"), BigDecimal.ZERO, 0));
+        compactOrgHierarchy.buildHierarchy(org);
+        return org;
+    }
+
+    @Test
+    void testWriteAndRead_RestoresTheLinkedOrganization(@TempDir Path tempDir) throws IOException {
+        CompactOrg org = linkedOrg(compactOrgHierarchy);
+        String snapshot = tempDir.resolve("org.orgs").toString();
+
+        orgSnapshotStore.write(org, snapshot);
+        CompactOrg reloaded = orgSnapshotStore.read(snapshot);
+
+        assertTrue(reloaded.isLinked());
+        assertEquals(org.size(), reloaded.size());
+        assertEquals(org.getCeo(), reloaded.getCeo());
+        for (int ordinal = 0; ordinal < org.size(); ordinal++) {
+            assertEquals(org.toEmployee(ordinal), reloaded.toEmployee(ordinal));
+            assertEquals(org.getFirstSubordinate(ordinal), reloaded.getFirstSubordinate(ordinal));
+            assertEquals(org.getNextSibling(ordinal), reloaded.getNextSibling(ordinal));
+        }
+
+        Parameter param = new Parameter("file.csv", BigDecimal.valueOf(20), BigDecimal.valueOf(50), 4);
+        Response<Employee> expected = compactOrgHierarchy.populateResponse(org, org.toEmployee(org.getCeo()), validationUtil, param);
+        Response<Employee> actual = compactOrgHierarchy.populateResponse(reloaded, reloaded.toEmployee(reloaded.getCeo()), validationUtil, param);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testRead_RejectsForeignAndTruncatedFiles(@TempDir Path tempDir) throws IOException {
+        Path foreign = tempDir.resolve("foreign.orgs");
+        Files.writeString(foreign, "Id,firstName,lastName,salary,managerId\n");
+        IOException ioe = assertThrows(IOException.class,
+                () -> orgSnapshotStore.read(foreign.toString()));
+        assertEquals("Not an organization snapshot | file-path : " + foreign, ioe.getMessage());
+
+        Path truncated = tempDir.resolve("truncated.orgs");
+        orgSnapshotStore.write(linkedOrg(compactOrgHierarchy), truncated.toString());
+        byte[] bytes = Files.readAllBytes(truncated);
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 4));
+        ioe = assertThrows(IOException.class,
+                () -> orgSnapshotStore.read(truncated.toString()));
+        assertTrue(ioe.getMessage().startsWith("Truncated organization snapshot"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> orgSnapshotStore.write(new CompactOrg(0), tempDir.resolve("unlinked.orgs").toString()));
+    }
+
+    @Test
+    void testRead_RejectsOutOfRangeNamesAndOrdinals(@TempDir Path tempDir) throws IOException {
+        CompactOrg org = linkedOrg(compactOrgHierarchy);
+        Path snapshot = tempDir.resolve("org.orgs");
+        orgSnapshotStore.write(org, snapshot.toString());
+        byte[] valid = Files.readAllBytes(snapshot);
+        int nameBytes = ByteBuffer.wrap(valid).order(ByteOrder.LITTLE_ENDIAN).getInt(20);
+        int columnsOffset = 24 + nameBytes + (8 - (24 + nameBytes) % 8) % 8;
+        int size = org.size();
+
+        // ceo, first name length, last name reference, manager, next sibling
+        int[][] corruptions = {
+            {12, size},
+            {24, nameBytes},
+            {columnsOffset + 2 * size * 8 + size * 4 + 7 * 4, org.getNames().size()},
+            {columnsOffset + 2 * size * 8 + 2 * size * 4 + 3 * 4, size + 5},
+            {columnsOffset + 2 * size * 8 + 4 * size * 4 + 9 * 4, -2}
+        };
+        for (int[] corruption : corruptions) {
+            Files.write(snapshot, ByteBuffer.wrap(valid.clone()).order(ByteOrder.LITTLE_ENDIAN)
+                    .putInt(corruption[0], corruption[1]).array());
+
+            IOException ioe = assertThrows(IOException.class, () -> orgSnapshotStore.read(snapshot.toString()));
+            assertTrue(ioe.getMessage().startsWith("Corrupt organization snapshot | file-path : " + snapshot), ioe.getMessage());
+        }
+    }
+
+    @Test
+    void testWrite_FailedWriteKeepsThePreviousSnapshot(@TempDir Path tempDir) throws IOException {
+        CompactOrg org = linkedOrg(compactOrgHierarchy);
+        Path snapshot = tempDir.resolve("org.orgs");
+        orgSnapshotStore.write(org, snapshot.toString());
+        byte[] previous = Files.readAllBytes(snapshot);
+
+        CompactOrg failing = spy(linkedOrg(compactOrgHierarchy));
+        doThrow(new IllegalStateException("disk full")).when(failing).getReportingLineLength(anyInt());
+        assertThrows(IllegalStateException.class, () -> orgSnapshotStore.write(failing, snapshot.toString()));
+
+        assertArrayEquals(previous, Files.readAllBytes(snapshot));
+        try (var files = Files.list(tempDir)) {
+            assertEquals(List.of(snapshot), files.toList());
+        }
+
+        orgSnapshotStore.write(org, snapshot.toString());
+        assertEquals(org.size(), orgSnapshotStore.read(snapshot.toString()).size());
+    }
+
+}
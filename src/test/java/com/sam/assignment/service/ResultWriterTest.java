@@ -0,0 +1,93 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.Parameter;
+import com.sam.assignment.model.Response;
+import com.sam.assignment.util.ResultFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultWriterTest {
+
+    private static Response<Employee> response() {
+        Employee ceo = new Employee("0000000001", "Alice", "Smith", null, new BigDecimal("9000.00"), new BigDecimal("-0.50"), 0);
+        Employee manager = new Employee("0000000002", "Bob", "O\"Hara, Jr", "0000000001", new BigDecimal("70000"), new BigDecimal("15000.25"), 1);
+        Employee employee = new Employee("0000000003", "Zoë", "Łukasz", "0000000002", new BigDecimal("1234.5"), BigDecimal.ZERO, 5);
+        Parameter parameter = new Parameter("employees.csv", BigDecimal.valueOf(20), new BigDecimal("50.5"), 4);
+        return new Response<>(ceo, parameter, List.of(ceo), List.of(manager), List.of(employee));
+    }
+
+    private static Path write(Path tempDir, ResultFormat resultFormat) throws IOException {
+        Path path = tempDir.resolve("results." + resultFormat.name().toLowerCase());
+        try (ResultWriter resultWriter = ResultWriter.open(resultFormat, path.toString())) {
+            resultWriter.write(response());
+        }
+        return path;
+    }
+
+    @Test
+    void testWrite_TextFormatsEncodeEveryEntry(@TempDir Path tempDir) throws IOException {
+        assertEquals(List.of(
+            CsvResultWriterImpl.HEADER.strip(),
+            "20,50.5,4,least-paid-managers,0000000001,Alice,Smith,,9000.00,-0.50,0",
+            "20,50.5,4,over-paid-managers,0000000002,Bob,\"O\"\"Hara, Jr\",0000000001,70000.00,15000.25,1",
+            "20,50.5,4,max-reporting-line-length-employees,0000000003,Zoë,Łukasz,0000000002,1234.50,0.00,5"
+        ), Files.readAllLines(write(tempDir, ResultFormat.CSV), StandardCharsets.UTF_8));
+
+        List<String> lines = Files.readAllLines(write(tempDir, ResultFormat.JSONL), StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        assertEquals("{\"managerLeastPayPercentage\":20,\"managerOverPayPercentage\":50.5,\"thresholdReportingLineLength\":4,"
+            + "\"list\":\"over-paid-managers\",\"id\":\"0000000002\",\"firstName\":\"Bob\",\"lastName\":\"O\\\"Hara, Jr\","
+            + "\"managerId\":\"0000000001\",\"salary\":70000.00,\"differenceOfSubordinatesAverageSalary\":15000.25,"
+            + "\"reportingLineLength\":1}", lines.get(1));
+        assertTrue(lines.get(0).contains("\"managerId\":null,\"salary\":9000.00,\"differenceOfSubordinatesAverageSalary\":-0.50"));
+        assertTrue(lines.get(2).contains("\"firstName\":\"Zoë\",\"lastName\":\"Łukasz\""));
+    }
+
+    @Test
+    void testWrite_BinaryFormatReadsBack(@TempDir Path tempDir) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(write(tempDir, ResultFormat.BINARY))).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(BinaryResultWriterImpl.MAGIC, buffer.getInt());
+        assertEquals(BinaryResultWriterImpl.VERSION, buffer.getInt());
+        assertEquals("20", string(buffer));
+        assertEquals("50.5", string(buffer));
+        assertEquals(4, buffer.getInt());
+
+        for (int list = 0; list < ResultWriter.LIST_NAMES.size(); list++) {
+            Employee expected = ResultWriter.lists(response()).get(list).get(0);
+            assertEquals(1, buffer.getInt());
+            assertEquals(expected.getId(), string(buffer));
+            assertEquals(expected.getFirstName(), string(buffer));
+            assertEquals(expected.getLastName(), string(buffer));
+            assertEquals(expected.getManagerId(), string(buffer));
+            assertEquals(expected.getSalary().movePointRight(2).longValueExact(), buffer.getLong());
+            assertEquals(expected.getDifferenceOfSubordinatesAverageSalary().setScale(2).movePointRight(2).longValueExact(), buffer.getLong());
+            assertEquals(expected.getReportingLineLength(), buffer.getInt());
+        }
+        assertFalse(buffer.hasRemaining());
+
+        assertThrows(IllegalArgumentException.class, () -> ResultWriter.open(ResultFormat.CSV, null));
+    }
+
+    private static String string(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0)
+            return null;
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
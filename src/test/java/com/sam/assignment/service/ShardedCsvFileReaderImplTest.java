@@ -0,0 +1,95 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.Parameter;
+import com.sam.assignment.util.ValidationUtil;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ShardedCsvFileReaderImplTest {
+
+    private static final String HEADER = "id,firstName,lastName,salary,managerId\n";
+
+    @TempDir
+    Path directory;
+
+    private ValidationUtil validationUtil;
+    private ShardedCsvFileReaderImpl csvFileReader;
+
+    @BeforeEach
+    void setUp() {
+        validationUtil = mock(ValidationUtil.class);
+        csvFileReader = new ShardedCsvFileReaderImpl(new CsvFileReaderImpl(), 2);
+    }
+
+    private Parameter parameter(String filePath) {
+        return new Parameter(filePath, BigDecimal.ZERO, BigDecimal.ZERO, 0);
+    }
+
+    @Test
+    void testReadEmployeeDetails_MergesShardsOfDirectoryAndGlob() throws IOException {
+        Files.writeString(directory.resolve("ch.csv"), HEADER
+                + "0000000002,Bob,Jones,1500,0000000001\n"
+                + "0000000004,Dan,Brown,900,0000000003\n");
+        Files.writeString(directory.resolve("de.csv"), HEADER
+                + "0000000003,Carol,White,1200,0000000002\n"
+                + "0000000002,Bob,Jones,1500.00,0000000001\n");
+        Files.writeString(directory.resolve("hq.csv"), HEADER
+                + "0000000001,Alice,Smith,2000,\n");
+        Files.writeString(directory.resolve("notes.txt"), "not a shard");
+        Path single = directory.resolve("single.txt");
+        Files.writeString(single, HEADER
+                + "0000000002,Bob,Jones,1500,0000000001\n"
+                + "0000000004,Dan,Brown,900,0000000003\n"
+                + "0000000003,Carol,White,1200,0000000002\n"
+                + "0000000001,Alice,Smith,2000,\n");
+
+        Map<String, Employee> expected = new CsvFileReaderImpl().readEmployeeDetails(parameter(single.toString()), validationUtil);
+        Map<String, Employee> employees = csvFileReader.readEmployeeDetails(parameter(directory.toString()), validationUtil);
+
+        assertEquals(expected, employees);
+        assertEquals(4, employees.size());
+        Employee ceo = new OrgHierarchyImpl<Employee>().buildHierarchy(employees, validationUtil, parameter(directory.toString()));
+        assertEquals("0000000001", ceo.getId());
+        assertEquals(employees.get("0000000004"), employees.get("0000000003").getSubordinates().get(0));
+
+        Map<String, Employee> globbed = csvFileReader.readEmployeeDetails(parameter(directory + "/[cd]*.csv"), validationUtil);
+        assertEquals(3, globbed.size());
+        assertFalse(globbed.containsKey("0000000001"));
+        assertEquals(4, csvFileReader.readCompactOrg(parameter(directory.toString()), validationUtil).size());
+    }
+
+    @Test
+    void testReadEmployeeDetails_SingleFileIsReadByDelegate() throws IOException {
+        CsvFileReader delegate = mock(CsvFileReader.class);
+        Parameter param = parameter(directory.resolve("employees.csv").toString());
+        Files.writeString(Path.of(param.getFilePath()), HEADER);
+
+        new ShardedCsvFileReaderImpl(delegate, 4).readEmployeeDetails(param, validationUtil);
+
+        verify(delegate).readEmployeeDetails(param, validationUtil);
+    }
+
+    @Test
+    void testReadEmployeeDetails_Failure_ConflictingShardsOrNoShard() throws IOException {
+        Files.writeString(directory.resolve("a.csv"), HEADER + "0000000001,Alice,Smith,2000,\n");
+        Files.writeString(directory.resolve("b.csv"), HEADER + "0000000001,Alice,Smith,2500,\n");
+
+        IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+                () -> csvFileReader.readEmployeeDetails(parameter(directory.toString()), validationUtil));
+        assertTrue(iae.getMessage().startsWith("Conflicting employee records across shards | employee-id : 0000000001"));
+
+        assertThrows(FileNotFoundException.class,
+                () -> csvFileReader.readEmployeeDetails(parameter(directory + "/*.json"), validationUtil));
+        assertThrows(IllegalArgumentException.class, () -> new ShardedCsvFileReaderImpl(null, 1));
+    }
+}
@@ -0,0 +1,103 @@
+package com.sam.assignment.service;
+
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.Parameter;
+import com.sam.assignment.model.Response;
+import com.sam.assignment.util.ValidationUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.SubmissionPublisher;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StreamingOrgHierarchyTest {
+
+    private final Parameter param = new Parameter("file.csv", BigDecimal.valueOf(20), BigDecimal.valueOf(50), 3);
+    private ValidationUtil validationUtil;
+
+    @BeforeEach
+    void setUp() {
+        validationUtil = mock(ValidationUtil.class);
+    }
+
+    private static Employee employee(int id, int managerId, long salary) {
+        return new Employee(String.format("%010d", id), "Joe", "Doe", managerId == 0 ? null : String.format("%010d", managerId),
+                BigDecimal.valueOf(salary, 2), BigDecimal.ZERO, 0);
+    }
+
+    private static Employee copy(Employee employee) {
+        return new Employee(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getManagerId(),
+                employee.getSalary(), BigDecimal.ZERO, 0);
+    }
+
+    private Response<Employee> stream(List<Employee> employees) throws InterruptedException {
+        StreamingOrgHierarchy streamingOrgHierarchy = new StreamingOrgHierarchy(validationUtil, param);
+        try (SubmissionPublisher<Employee> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(streamingOrgHierarchy);
+            employees.forEach(publisher::submit);
+        }
+        return streamingOrgHierarchy.awaitResponse();
+    }
+
+    private static List<String> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).toList();
+    }
+
+    @Test
+    void testAwaitResponse_ShuffledStreamMatchesBatchAnalysis() throws InterruptedException {
+        Random random = new Random(42);
+        List<Employee> records = new ArrayList<>();
+        records.add(employee(1, 0, 1_000_000));
+        for (int id = 2; id <= 3000; id++)
+            records.add(employee(id, 1 + random.nextInt(Math.min(id - 1, 400)), 100_000 + random.nextInt(900_000)));
+        records.add(employee(17, 5, 5_000_000));
+        records.add(employee(250, 3, 123_456));
+        Collections.shuffle(records, random);
+
+        Map<String, Employee> batchEmployees = new LinkedHashMap<>();
+        records.forEach(record -> batchEmployees.put(record.getId(), copy(record)));
+        OrgHierarchyImpl<Employee> orgHierarchy = new OrgHierarchyImpl<>();
+        Employee batchCeo = orgHierarchy.buildHierarchy(batchEmployees, validationUtil, param);
+        List<List<Employee>> expected = orgHierarchy.analyse(batchEmployees, AnalysisRule.RESPONSE_RULES, validationUtil, param);
+
+        Response<Employee> response = stream(records);
+
+        assertEquals(batchCeo.getId(), response.getCeo().getId());
+        assertEquals(ids(expected.get(0)), ids(response.getLeastPaidManagers()));
+        assertEquals(ids(expected.get(1)), ids(response.getOverPaidManagers()));
+        assertEquals(ids(expected.get(2)), ids(response.getMaxReportingLineLengthEmployees()));
+        assertFalse(expected.get(2).isEmpty());
+        for (Employee employee : response.getOverPaidManagers())
+            assertEquals(batchEmployees.get(employee.getId()).getDifferenceOfSubordinatesAverageSalary(),
+                    employee.getDifferenceOfSubordinatesAverageSalary());
+        for (Employee employee : response.getMaxReportingLineLengthEmployees())
+            assertEquals(batchEmployees.get(employee.getId()).getReportingLineLength(), employee.getReportingLineLength());
+        Deque<Employee> pending = new ArrayDeque<>(List.of(response.getCeo()));
+        int linkedCount = 0;
+        while (!pending.isEmpty()) {
+            linkedCount++;
+            pending.addAll(pending.pop().getSubordinates());
+        }
+        assertEquals(3000, linkedCount);
+    }
+
+    @Test
+    void testAwaitResponse_Failure_MissingManagerOrCycle() {
+        IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+                () -> stream(List.of(employee(2, 1, 100), employee(3, 9, 100), employee(1, 0, 100))));
+        assertEquals("Manager not found | employee-id : 0000000003 | manager-id : 0000000009", iae.getMessage());
+
+        IllegalStateException ise = assertThrows(IllegalStateException.class,
+                () -> stream(List.of(employee(1, 0, 100), employee(2, 3, 100), employee(3, 2, 100))));
+        assertEquals("Cyclic reporting line detected | employee-id : 0000000002", ise.getMessage());
+
+        doThrow(new IllegalArgumentException("Validation failed for object: Salary cannot be negative"))
+                .when(validationUtil).validate(any());
+        iae = assertThrows(IllegalArgumentException.class, () -> stream(List.of(employee(1, 0, 100))));
+        assertEquals("Validation failed for object: Salary cannot be negative", iae.getMessage());
+    }
+}
@@ -0,0 +1,29 @@
+package com.sam.assignment.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArgumentUtilTest {
+
+    @Test
+    void testIsScenarioSweep_OnlyParameterArgumentsAreConsidered() {
+        assertTrue(ArgumentUtil.isScenarioSweep(new String[] {"employees.csv", "10,20", "50", "4"}));
+        assertTrue(ArgumentUtil.isScenarioSweep(new String[] {"--backend=compact", "employees.csv", "20", "50", "2,4"}));
+        assertFalse(ArgumentUtil.isScenarioSweep(new String[] {"data/{a,b}.csv", "20", "50", "4", "--backend=streaming"}));
+        assertFalse(ArgumentUtil.isScenarioSweep(new String[] {"employees.csv", "20", "50", "4", "--page-after=1,2"}));
+        assertFalse(ArgumentUtil.isScenarioSweep(null));
+    }
+
+    @Test
+    void testPortValue_RejectsMissingAndInvalidPorts() {
+        assertEquals(8080, ArgumentUtil.portValue(new String[] {"--serve=8080"}, "serve"));
+        assertNull(ArgumentUtil.portValue(new String[] {"employees.csv"}, "serve"));
+
+        IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+                () -> ArgumentUtil.portValue(new String[] {"--serve"}, "serve"));
+        assertEquals("Usage: --serve=<port>, with a port from 0 to 65535 | serve : (no port)", iae.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> ArgumentUtil.portValue(new String[] {"--serve=http"}, "serve"));
+        assertThrows(IllegalArgumentException.class, () -> ArgumentUtil.portValue(new String[] {"--serve=70000"}, "serve"));
+    }
+}
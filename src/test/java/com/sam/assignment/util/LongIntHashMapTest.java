@@ -0,0 +1,41 @@
+package com.sam.assignment.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongIntHashMapTest {
+
+    @Test
+    void testPutGet_GrowsAndReplaces() {
+        LongIntHashMap index = new LongIntHashMap(0);
+        for (int ordinal = 0; ordinal < 10_000; ordinal++)
+            assertEquals(LongIntHashMap.MISSING, index.put(PackedIdUtil.encode(String.format("%010d", ordinal)), ordinal));
+
+        assertEquals(10_000, index.size());
+        assertEquals(1234, index.get(PackedIdUtil.encode("0000001234")));
+        assertEquals(1234, index.put(PackedIdUtil.encode("0000001234"), 1));
+        assertEquals(LongIntHashMap.MISSING, index.get(PackedIdUtil.encode("0000010000")));
+    }
+
+    @Test
+    void testRemove_KeepsProbeRunsReachable() {
+        LongIntHashMap index = new LongIntHashMap(0);
+        for (int ordinal = 0; ordinal < 10_000; ordinal++)
+            index.put(PackedIdUtil.encode(String.format("%010d", ordinal)), ordinal);
+
+        for (int ordinal = 0; ordinal < 10_000; ordinal += 3)
+            assertEquals(ordinal, index.remove(PackedIdUtil.encode(String.format("%010d", ordinal))));
+
+        assertEquals(LongIntHashMap.MISSING, index.remove(PackedIdUtil.encode("0000000000")));
+        assertEquals(6_666, index.size());
+        for (int ordinal = 0; ordinal < 10_000; ordinal++)
+            assertEquals(ordinal % 3 == 0 ? LongIntHashMap.MISSING : ordinal, index.get(PackedIdUtil.encode(String.format("%010d", ordinal))));
+    }
+
+    @Test
+    void testPut_RejectsReservedKey() {
+        assertThrows(IllegalArgumentException.class, () -> new LongIntHashMap(4).put(0L, 1));
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.sam.assignment.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrdinalTopKTest {
+
+    @Test
+    void testDrainSorted_MatchesSortedSelection() {
+        Random random = new Random(7);
+        long[] primaryKeys = random.longs(5_000, -50, 50).toArray();
+        Comparator<Integer> order = Comparator.<Integer>comparingLong(ordinal -> primaryKeys[ordinal])
+            .thenComparingInt(ordinal -> ordinal);
+
+        for (int k : new int[] {0, 1, 10, 4_999, 5_000, 10_000}) {
+            OrdinalTopK selection = new OrdinalTopK(k);
+            for (int ordinal = 0; ordinal < primaryKeys.length; ordinal++)
+                selection.offer(ordinal, primaryKeys[ordinal], ordinal);
+
+            List<Integer> expected = IntStream.range(0, primaryKeys.length).boxed().sorted(order).limit(k).toList();
+            assertEquals(expected, IntStream.of(selection.drainSorted()).boxed().toList(), "k : " + k);
+            assertEquals(0, selection.drainSorted().length);
+        }
+    }
+
+    @Test
+    void testConstructor_RejectsNegativeK() {
+        assertThrows(IllegalArgumentException.class, () -> new OrdinalTopK(-1));
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.sam.assignment.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedIdUtilTest {
+
+    @Test
+    void testEncodeDecode_RoundTripsDistinctIds() {
+        String[] ids = {"0", "00", "0000000123", "000000123", "zzzzzzzzzz", "Ab9", "ZZZZZZZZZZ"};
+
+        for (String id : ids)
+            assertEquals(id, PackedIdUtil.decode(PackedIdUtil.encode(id)));
+
+        assertNotEquals(PackedIdUtil.encode("0000000123"), PackedIdUtil.encode("000000123"));
+        assertTrue(PackedIdUtil.encode("zzzzzzzzzz") > 0);
+        assertEquals(PackedIdUtil.NO_ID, PackedIdUtil.encode(""));
+        assertNull(PackedIdUtil.decode(PackedIdUtil.NO_ID));
+    }
+
+    @Test
+    void testEncode_RejectsInvalidIds() {
+        assertThrows(IllegalArgumentException.class, () -> PackedIdUtil.encode("00000001234"));
+        assertThrows(IllegalArgumentException.class, () -> PackedIdUtil.encode("00000-0123"));
+    }
+
+    @Test
+    void testSortKey_OrdersLikeStringCompareTo() {
+        List<String> ids = new ArrayList<>(List.of("9", "10", "0", "00", "A", "Z", "a", "z", "zzzzzzzzzz", "0000000123", "000000123"));
+        Random random = new Random(42);
+        char[] alphabet = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+        for (int count = 0; count < 2_000; count++) {
+            char[] id = new char[1 + random.nextInt(PackedIdUtil.MAX_LENGTH)];
+            for (int index = 0; index < id.length; index++)
+                id[index] = alphabet[random.nextInt(alphabet.length)];
+            ids.add(new String(id));
+        }
+
+        for (String left : ids)
+            for (String right : ids.subList(0, 200))
+                assertEquals(
+                    Integer.signum(left.compareTo(right)),
+                    Long.signum(Long.compare(sortKey(left), sortKey(right))),
+                    left + " <> " + right
+                );
+        assertEquals(0, PackedIdUtil.sortKey(PackedIdUtil.NO_ID));
+    }
+
+    @Test
+    void testFloorSortKey_MatchesStringCompareToForAnyBound() {
+        List<String> ids = List.of("0", "1", "123", "124", "12A", "9", "10", "Z", "a", "z", "zzzzzzzzzz", "0000000123");
+        List<String> bounds = List.of("", "-", "12", "123", "123-", "12:", "12[", "12{", "12~x", "9", "A", "zzzzzzzzzzz", "0000000123", "\u00e9");
+
+        for (String bound : bounds)
+            for (String id : ids)
+                assertEquals(
+                    id.compareTo(bound) <= 0,
+                    sortKey(id) <= PackedIdUtil.floorSortKey(bound),
+                    id + " <= " + bound
+                );
+    }
+
+    private static long sortKey(String id) {
+        return PackedIdUtil.sortKey(PackedIdUtil.encode(id));
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.sam.assignment.util;
+
+import com.sam.assignment.model.Employee;
+import com.sam.assignment.model.Parameter;
+import com.sam.assignment.model.Response;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrecompiledConstraintsTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private static Employee employee(String id, String firstName, String lastName, String managerId,
+                                     BigDecimal salary, BigDecimal difference, Integer reportingLineLength) {
+        return new Employee(id, firstName, lastName, managerId, salary, difference, reportingLineLength);
+    }
+
+    private static List<Object> objects() {
+        BigDecimal salary = new BigDecimal("5000");
+        BigDecimal overBillion = new BigDecimal("1000000000.01");
+        List<Object> objects = new ArrayList<>(List.of(
+            employee("0000000001", "Alice", "Smith", null, salary, BigDecimal.ZERO, 0),
+            employee("", "", "", "", salary, BigDecimal.ZERO, 0),
+            employee("12345", "B0b", "Jones", "12345678901", salary, BigDecimal.ZERO, 0),
+            employee("00000000!1", "Zoë", "Jones\n", "ab-", BigDecimal.valueOf(-1), overBillion, -1),
+            employee("000000000a", "A".repeat(51), "B".repeat(50), "0000000001", overBillion, BigDecimal.ONE.negate(), 1001),
+            new Parameter("", null, null, null),
+            new Parameter("employees.csv", BigDecimal.ONE, BigDecimal.ONE, -1),
+            new Parameter("employees.csv", BigDecimal.ONE, BigDecimal.ONE, 1000),
+            new Response<Employee>(null, null, null, null, null)
+        ));
+        objects.add(employee(null, null, null, null, null, null, null));
+
+        Employee ceo = employee("0000000001", "Alice", "Smith", null, salary, BigDecimal.ZERO, 0);
+        Employee manager = employee("0000000002", "Bob", "Jones", "0000000001", salary, BigDecimal.ZERO, 0);
+        Employee invalid = employee("0000000003", "C4rl", "Young", "0000000002", BigDecimal.valueOf(-5), BigDecimal.ZERO, 1);
+        ceo.getSubordinates().add(manager);
+        manager.getSubordinates().add(invalid);
+        objects.add(new Response<>(ceo, new Parameter("", BigDecimal.ONE, BigDecimal.ONE, 2),
+            List.of(manager), List.of(invalid), List.of(invalid)));
+        return objects;
+    }
+
+    private List<String> reflective(Object object, boolean cascade) {
+        List<String> messages = new ArrayList<>();
+        if (cascade) {
+            validator.validate(object).forEach(violation -> messages.add(violation.getMessage()));
+            return messages;
+        }
+        validator.getConstraintsForClass(object.getClass()).getConstrainedProperties().forEach(property -> {
+            try {
+                var field = object.getClass().getDeclaredField(property.getPropertyName());
+                field.setAccessible(true);
+                for (ConstraintViolation<?> violation : validator.validateValue(object.getClass(), field.getName(), field.get(object)))
+                    messages.add(violation.getMessage());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        return messages;
+    }
+
+    @Test
+    void testViolations_MatchReflectiveValidator() {
+        for (Object object : objects()) {
+            for (boolean cascade : new boolean[] {false, true}) {
+                List<String> expected = reflective(object, cascade);
+                List<String> actual = new ArrayList<>(PrecompiledConstraints.violations(object, cascade));
+                expected.sort(null);
+                actual.sort(null);
+                assertEquals(expected, actual, object + " | cascade : " + cascade);
+            }
+        }
+    }
+
+    @Test
+    void testViolations_Failure_NullOrUnsupportedObject() {
+        IllegalArgumentException iae = assertThrows(IllegalArgumentException.class, () -> PrecompiledConstraints.violations(null, true));
+        assertEquals("The object to be validated must not be null.", iae.getMessage());
+
+        iae = assertThrows(IllegalArgumentException.class, () -> PrecompiledConstraints.violations("text", false));
+        assertEquals("No precompiled constraints for type : java.lang.String", iae.getMessage());
+    }
+
+}
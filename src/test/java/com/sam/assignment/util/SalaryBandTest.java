@@ -0,0 +1,60 @@
+package com.sam.assignment.util;
+
+import com.sam.assignment.model.Parameter;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalaryBandTest {
+
+    @Test
+    void testDifferenceCents_MatchesBigDecimalBand() {
+        List<Parameter> parameters = List.of(
+                new Parameter("file.csv", BigDecimal.valueOf(20), BigDecimal.valueOf(50), 4),
+                new Parameter("file.csv", new BigDecimal("12.5"), new BigDecimal("33.333"), 4),
+                new Parameter("file.csv", BigDecimal.valueOf(-10), BigDecimal.ZERO, 4)
+        );
+
+        for (Parameter parameter : parameters) {
+            SalaryBand salaryBand = SalaryBand.of(parameter);
+            for (long sumCents = 0; sumCents < 200_000; sumCents += 997) {
+                for (int count = 1; count <= 7; count++) {
+                    long averageCents = SalaryBand.averageCents(sumCents, count);
+                    BigDecimal average = SalaryBandUtil.subordinatesAverageSalary(BigDecimal.valueOf(sumCents, 2), count);
+                    assertEquals(average, BigDecimal.valueOf(averageCents, 2));
+
+                    for (long salaryCents = averageCents - 2_000; salaryCents <= averageCents * 2; salaryCents += 313) {
+                        BigDecimal expected = SalaryBandUtil.differenceOfAverageSalary(BigDecimal.valueOf(salaryCents, 2), average, parameter);
+                        assertEquals(0, expected.compareTo(BigDecimal.valueOf(salaryBand.differenceCents(salaryCents, averageCents), 2)),
+                                "salary : " + salaryCents + " | average : " + averageCents + " | parameter : " + parameter);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testDifferenceCents_HalfUpAtBandEdges() {
+        SalaryBand salaryBand = SalaryBand.of(new Parameter("file.csv", BigDecimal.valueOf(20), BigDecimal.valueOf(50), 4));
+
+        // average 0.05: min 0.06, max 0.075 rounds half-up to 0.08
+        assertEquals(-1, salaryBand.differenceCents(5, 5));
+        assertEquals(0, salaryBand.differenceCents(8, 5));
+        assertEquals(1, salaryBand.differenceCents(9, 5));
+        assertEquals(2, SalaryBand.averageCents(3, 2));
+        assertEquals(-2, SalaryBand.averageCents(-3, 2));
+    }
+
+    @Test
+    void testDifferenceCents_FallsBackOnOverflow() {
+        Parameter parameter = new Parameter("file.csv", BigDecimal.valueOf(20), BigDecimal.valueOf(50), 4);
+        long averageCents = Long.MAX_VALUE / 100;
+
+        BigDecimal expected = SalaryBandUtil.differenceOfAverageSalary(BigDecimal.ZERO, BigDecimal.valueOf(averageCents, 2), parameter);
+        assertEquals(SalaryBand.toCents(expected), SalaryBand.of(parameter).differenceCents(0, averageCents));
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.sam.assignment.util;
+
+import com.sam.assignment.model.Employee;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationUtilTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private Employee managerWithInvalidSubordinate() {
+        Employee manager = new Employee("0000000001", "Alice", "Smith", null, new BigDecimal("5000"), BigDecimal.ZERO, 0);
+        manager.getSubordinates().add(
+            new Employee("0000000002", "B0b", "Jones", "0000000001", new BigDecimal("2000"), BigDecimal.ZERO, 0)
+        );
+        return manager;
+    }
+
+    @Test
+    void testValidate_FullModeCascadesIntoSubordinates() {
+        ValidationUtil validationUtil = new ValidationUtil(validator);
+
+        IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+                () -> validationUtil.validate(managerWithInvalidSubordinate()));
+
+        assertTrue(iae.getMessage().contains("Employee First Name must contain only letters"));
+        assertEquals(1, validationUtil.getValidatedCount());
+    }
+
+    @Test
+    void testValidate_ShallowModeDoesNotCascade() {
+        ValidationUtil validationUtil = new ValidationUtil(validator, ValidationMode.SHALLOW, 1);
+
+        validationUtil.validate(managerWithInvalidSubordinate());
+
+        IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+                () -> validationUtil.validate(managerWithInvalidSubordinate().getSubordinates().get(0)));
+        assertEquals("Validation failed for object: Employee First Name must contain only letters", iae.getMessage());
+    }
+
+    @Test
+    void testValidate_PrecompiledConstraintsWithoutValidator() {
+        ValidationUtil full = new ValidationUtil(ValidationMode.FULL, 1);
+        ValidationUtil shallow = new ValidationUtil(ValidationMode.SHALLOW, 1);
+
+        IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+                () -> full.validate(managerWithInvalidSubordinate()));
+        assertEquals("Validation failed for object: Employee First Name must contain only letters", iae.getMessage());
+
+        shallow.validate(managerWithInvalidSubordinate());
+        assertEquals(1, full.getValidatedCount());
+        assertEquals(1, shallow.getValidatedCount());
+    }
+
+    @Test
+    void testValidateShallow_FullModeDoesNotCascade() {
+        for (ValidationUtil validationUtil : new ValidationUtil[] {
+                new ValidationUtil(validator), new ValidationUtil(ValidationMode.FULL, 1)}) {
+            validationUtil.validateShallow(managerWithInvalidSubordinate());
+
+            IllegalArgumentException iae = assertThrows(IllegalArgumentException.class,
+                    () -> validationUtil.validateShallow(managerWithInvalidSubordinate().getSubordinates().get(0)));
+            assertEquals("Validation failed for object: Employee First Name must contain only letters", iae.getMessage());
+            assertEquals(2, validationUtil.getValidatedCount());
+        }
+    }
+
+    @Test
+    void testValidate_SampledModeValidatesOneOutOfSampleRate() {
+        ValidationUtil validationUtil = new ValidationUtil(validator, ValidationMode.SAMPLED, 3);
+
+        for (int i = 0; i < 7; i++)
+            validationUtil.validate(managerWithInvalidSubordinate());
+
+        assertEquals(3, validationUtil.getValidatedCount());
+        assertEquals(4, validationUtil.getSkippedCount());
+    }
+
+    @Test
+    void testValidate_OffModeSkipsEverything() {
+        ValidationUtil validationUtil = new ValidationUtil(validator, ValidationMode.OFF, 1);
+
+        validationUtil.validate(managerWithInvalidSubordinate().getSubordinates().get(0));
+
+        assertEquals(0, validationUtil.getValidatedCount());
+        assertEquals(1, validationUtil.getSkippedCount());
+        assertEquals(0, validationUtil.getValidationNanos());
+    }
+
+}